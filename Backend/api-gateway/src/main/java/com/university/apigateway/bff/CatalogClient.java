@@ -0,0 +1,40 @@
+package com.university.apigateway.bff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Llamadas GET al catálogo de Matriculas Service para las respuestas agregadas. Pasa por el
+ * balanceador ({@code lb://}) y nunca termina con error: los timeouts y fallos de conexión
+ * se devuelven como {@link LegResult} fallido para poder responder de forma parcial.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CatalogClient {
+
+    private final WebClient webClient;
+
+    public Mono<LegResult> get(String name, Duration timeout, String uriTemplate, Object... uriVariables) {
+        return webClient.get()
+                .uri(uriTemplate, uriVariables)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchangeToMono(response -> response.bodyToMono(JsonNode.class)
+                        .map(body -> LegResult.ok(name, response.statusCode(), body, response.headers().asHttpHeaders()))
+                        .defaultIfEmpty(LegResult.ok(name, response.statusCode(), null, response.headers().asHttpHeaders())))
+                .timeout(timeout)
+                .onErrorResume(error -> {
+                    boolean timedOut = error instanceof TimeoutException;
+                    log.warn("Llamada {} al catálogo fallida ({}): {}", name,
+                            timedOut ? LegResult.ERROR_TIMEOUT : LegResult.ERROR_UNAVAILABLE, error.toString());
+                    return Mono.just(LegResult.failed(name,
+                            timedOut ? LegResult.ERROR_TIMEOUT : LegResult.ERROR_UNAVAILABLE));
+                });
+    }
+}
@@ -0,0 +1,205 @@
+package com.university.apigateway.bff;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.university.apigateway.cache.CachedResponse;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Filtro {@code FacultadDetalle}: responde en una sola llamada lo que la página de una facultad
+ * pedía en dos seguidas ({@code /facultades/{id}} y {@code /carreras/facultad/{id}}). Ambas se
+ * hacen en paralelo y se combinan en facultad + carreras activas + conteos.
+ * <ul>
+ *     <li>Si una de las dos falla o excede {@code timeout}, se responde 200 con la otra parte,
+ *     {@code "parcial": true}, la parte omitida en {@code omitidos} y sin caché
+ *     ({@code no-store}, cabecera {@code X-Partial-Response}).</li>
+ *     <li>Si fallan ambas: 504 si las dos agotaron el tiempo y 502 en otro caso. Si la facultad
+ *     no existe: 404.</li>
+ *     <li>La respuesta completa lleva ETag y el {@code Cache-Control} más restrictivo de las dos
+ *     partes, así la caché de respuestas del gateway puede guardarla como cualquier otra ruta.</li>
+ * </ul>
+ * La ruta no tiene upstream propio ({@code uri: no://op}): el filtro escribe la respuesta.
+ */
+@Slf4j
+@Component
+public class FacultadDetalleGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<FacultadDetalleGatewayFilterFactory.Config> {
+
+    public static final String HEADER_PARTIAL = "X-Partial-Response";
+
+    static final String PART_FACULTAD = "facultad";
+    static final String PART_CARRERAS = "carreras";
+
+    // Tope de vigencia para el Cache-Control combinado (la caché aplica además su max-ttl)
+    private static final Duration MAX_SHARED_AGE = Duration.ofHours(1);
+
+    private final CatalogClient catalogClient;
+    private final ObjectMapper objectMapper;
+
+    public FacultadDetalleGatewayFilterFactory(CatalogClient catalogClient, ObjectMapper objectMapper) {
+        super(Config.class);
+        this.catalogClient = catalogClient;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            String id = ServerWebExchangeUtils.getUriTemplateVariables(exchange).get("id");
+            if (id == null || id.isEmpty() || !id.chars().allMatch(Character::isDigit)) {
+                return error(exchange, HttpStatus.BAD_REQUEST, "ID de facultad inválido");
+            }
+
+            Mono<LegResult> facultad = catalogClient.get(PART_FACULTAD, config.getTimeout(), "/facultades/{id}", id);
+            Mono<LegResult> carreras = catalogClient.get(PART_CARRERAS, config.getTimeout(), "/carreras/facultad/{id}", id);
+            return Mono.zip(facultad, carreras)
+                    .flatMap(parts -> respond(exchange, id, parts.getT1(), parts.getT2()));
+        };
+    }
+
+    private Mono<Void> respond(ServerWebExchange exchange, String id, LegResult facultad, LegResult carreras) {
+        if (facultad.isNotFound()) {
+            return error(exchange, HttpStatus.NOT_FOUND, "Facultad no encontrada con ID: " + id);
+        }
+        if (!facultad.isOk() && !carreras.isOk()) {
+            HttpStatus status = facultad.isTimeout() && carreras.isTimeout()
+                    ? HttpStatus.GATEWAY_TIMEOUT : HttpStatus.BAD_GATEWAY;
+            return error(exchange, status, "No se pudo obtener la facultad");
+        }
+
+        ObjectNode body = compose(facultad, carreras);
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            return error(exchange, HttpStatus.INTERNAL_SERVER_ERROR, "No se pudo componer la respuesta");
+        }
+
+        if (body.get("parcial").asBoolean()) {
+            log.debug("Respuesta parcial para la facultad {}: {}", id, body.get("omitidos"));
+            headers.setCacheControl("no-store");
+            headers.set(HEADER_PARTIAL, "true");
+        } else {
+            String eTag = "W/\"" + DigestUtils.md5DigestAsHex(bytes) + "\"";
+            headers.setETag(eTag);
+            headers.setCacheControl(cacheControl(facultad, carreras));
+            if (exchange.getRequest().getHeaders().getIfNoneMatch().contains(eTag)) {
+                response.setStatusCode(HttpStatus.NOT_MODIFIED);
+                return response.setComplete();
+            }
+        }
+        response.setStatusCode(HttpStatus.OK);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+    }
+
+    private ObjectNode compose(LegResult facultad, LegResult carreras) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.set(PART_FACULTAD, facultad.isOk() ? facultad.body() : null);
+
+        ArrayNode activas = null;
+        Long totales = null;
+        if (carreras.isOk() && carreras.body() != null && carreras.body().isArray()) {
+            activas = objectMapper.createArrayNode();
+            for (JsonNode carrera : carreras.body()) {
+                if (carrera.path("activo").asBoolean(false)) {
+                    activas.add(carrera);
+                }
+            }
+            totales = (long) carreras.body().size();
+        }
+        body.set(PART_CARRERAS, activas);
+
+        // Sin la lista de carreras, el conteo de activas sale de la propia facultad
+        ObjectNode conteos = body.putObject("conteos");
+        if (activas != null) {
+            conteos.put("carrerasActivas", activas.size());
+        } else if (facultad.isOk() && facultad.body() != null && facultad.body().hasNonNull("cantidadCarreras")) {
+            conteos.put("carrerasActivas", facultad.body().get("cantidadCarreras").asLong());
+        } else {
+            conteos.putNull("carrerasActivas");
+        }
+        if (totales != null) {
+            conteos.put("carrerasTotales", totales);
+        } else {
+            conteos.putNull("carrerasTotales");
+        }
+
+        List<LegResult> omitted = List.of(facultad, carreras).stream().filter(part -> !part.isOk()).toList();
+        body.put("parcial", !omitted.isEmpty());
+        ArrayNode omitidos = body.putArray("omitidos");
+        omitted.forEach(part -> omitidos.addObject()
+                .put("parte", part.name())
+                .put("motivo", part.error()));
+        return body;
+    }
+
+    /**
+     * Vigencia de la respuesta combinada: la menor de las dos partes; si alguna no se puede
+     * guardar, tampoco la combinada.
+     */
+    static String cacheControl(LegResult... parts) {
+        long freshness = Long.MAX_VALUE;
+        for (LegResult part : parts) {
+            long partFreshness = CachedResponse.freshnessMillis(part.headers().getCacheControl(), MAX_SHARED_AGE);
+            if (partFreshness < 0) {
+                return "no-store";
+            }
+            freshness = Math.min(freshness, partFreshness);
+        }
+        return freshness > 0
+                ? "max-age=0, must-revalidate, s-maxage=" + Duration.ofMillis(freshness).toSeconds()
+                : "no-cache";
+    }
+
+    private Mono<Void> error(ServerWebExchange exchange, HttpStatus status, String message) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setCacheControl("no-store");
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", status.value());
+        body.put("message", message);
+        body.put("details", status.getReasonPhrase());
+        body.put("timestamp", LocalDateTime.now().withNano(0).toString());
+        body.put("path", exchange.getRequest().getPath().value());
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(body);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+        } catch (JsonProcessingException e) {
+            return response.setComplete();
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+
+        /** Tiempo máximo de cada llamada al catálogo; al vencer se responde sin esa parte. */
+        private Duration timeout = Duration.ofSeconds(2);
+    }
+}
@@ -0,0 +1,44 @@
+package com.university.apigateway.bff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * Resultado de una de las llamadas que componen una respuesta agregada.
+ *
+ * @param name    nombre de la parte en la respuesta ({@code facultad}, {@code carreras})
+ * @param status  estado HTTP del servicio; {@code null} si no hubo respuesta
+ * @param body    cuerpo JSON; {@code null} si no hubo respuesta o no era 2xx
+ * @param headers cabeceras del servicio (vacías si no hubo respuesta)
+ * @param error   motivo del fallo ({@code timeout}, {@code unavailable}, {@code status 5xx}) o {@code null}
+ */
+public record LegResult(String name, HttpStatusCode status, JsonNode body, HttpHeaders headers, String error) {
+
+    public static final String ERROR_TIMEOUT = "timeout";
+    public static final String ERROR_UNAVAILABLE = "unavailable";
+
+    public static LegResult ok(String name, HttpStatusCode status, JsonNode body, HttpHeaders headers) {
+        if (!status.is2xxSuccessful()) {
+            return new LegResult(name, status, null, headers, "status " + status.value());
+        }
+        return new LegResult(name, status, body, headers, null);
+    }
+
+    public static LegResult failed(String name, String error) {
+        return new LegResult(name, null, null, HttpHeaders.EMPTY, error);
+    }
+
+    public boolean isOk() {
+        return error == null;
+    }
+
+    public boolean isNotFound() {
+        return status != null && status.value() == HttpStatus.NOT_FOUND.value();
+    }
+
+    public boolean isTimeout() {
+        return ERROR_TIMEOUT.equals(error);
+    }
+}
@@ -0,0 +1,151 @@
+package com.university.apigateway.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Respuesta 200 del upstream guardada en {@link ResponseCache}.
+ *
+ * @param headers    cabeceras de la representación (sin hop-by-hop ni CORS)
+ * @param body       cuerpo completo
+ * @param eTag       ETag del upstream; {@code null} si no envió uno
+ * @param storedAt   instante en que se guardó o revalidó (epoch en ms)
+ * @param freshUntil hasta cuándo se sirve sin consultar al upstream (epoch en ms)
+ */
+public record CachedResponse(HttpHeaders headers, byte[] body, String eTag, long storedAt, long freshUntil) {
+
+    // No describen la representación: las pone cada salto o el propio gateway
+    private static final Set<String> EXCLUDED_HEADERS = Set.of(
+            "connection", "keep-alive", "transfer-encoding", "te", "trailer", "upgrade",
+            "proxy-authenticate", "proxy-authorization", "date", "age", "vary");
+
+    // Las que un 304 actualiza en la entrada guardada; el resto describe el cuerpo, que no cambia
+    private static final List<String> REVALIDATION_HEADERS = List.of(
+            HttpHeaders.CACHE_CONTROL, HttpHeaders.ETAG, HttpHeaders.EXPIRES, HttpHeaders.DATE);
+
+    private static final List<MediaType> STREAMING_TYPES = List.of(
+            MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM);
+
+    public boolean isFresh(long now) {
+        return now < freshUntil;
+    }
+
+    public long ageSeconds(long now) {
+        return Math.max(0L, (now - storedAt) / 1000);
+    }
+
+    /**
+     * Entrada para una respuesta 200 según su {@code Cache-Control}, o {@code null} si no se
+     * puede guardar: {@code no-store}, {@code private}, {@code Set-Cookie}, {@code Vary: *},
+     * o sin vigencia ({@code s-maxage}/{@code max-age}) ni ETag con que revalidarla.
+     */
+    public static CachedResponse of(HttpHeaders upstream, byte[] body, long now, Duration maxTtl) {
+        if (!isStorable(upstream, maxTtl)) {
+            return null;
+        }
+        long freshness = freshnessMillis(upstream.getCacheControl(), maxTtl);
+        String eTag = upstream.getETag();
+
+        HttpHeaders headers = new HttpHeaders();
+        upstream.forEach((name, values) -> {
+            String lower = name.toLowerCase(Locale.ROOT);
+            if (!EXCLUDED_HEADERS.contains(lower) && !lower.startsWith("access-control-")) {
+                headers.put(name, values);
+            }
+        });
+        return new CachedResponse(HttpHeaders.readOnlyHttpHeaders(headers), body, eTag, now, now + freshness);
+    }
+
+    /**
+     * Si una respuesta 200 con estas cabeceras se puede guardar, antes de leer el cuerpo: las
+     * mismas condiciones que {@link #of}, y además que no sea un stream ({@code application/x-ndjson},
+     * {@code text/event-stream}), que nunca se guarda entero.
+     */
+    public static boolean isStorable(HttpHeaders upstream, Duration maxTtl) {
+        MediaType contentType = upstream.getContentType();
+        if (contentType != null && STREAMING_TYPES.stream().anyMatch(contentType::isCompatibleWith)) {
+            return false;
+        }
+        if (upstream.containsKey(HttpHeaders.SET_COOKIE) || upstream.getVary().contains("*")) {
+            return false;
+        }
+        long freshness = freshnessMillis(upstream.getCacheControl(), maxTtl);
+        return freshness > 0 || (freshness == 0 && upstream.getETag() != null);
+    }
+
+    /**
+     * La misma representación tras un 304 del upstream: se conserva el cuerpo, se toman del 304
+     * {@code Cache-Control}, {@code ETag}, {@code Expires} y {@code Date}, y se renueva la vigencia.
+     * Devuelve {@code null} si con esas cabeceras ya no se puede guardar ({@code no-store},
+     * {@code private}): la entrada debe descartarse.
+     */
+    public CachedResponse revalidated(HttpHeaders notModified, long now, Duration maxTtl) {
+        CachedResponse updated = updatedBy(notModified, now);
+        long freshness = freshnessMillis(updated.headers().getCacheControl(), maxTtl);
+        if (freshness < 0) {
+            return null;
+        }
+        return new CachedResponse(updated.headers(), body, updated.eTag(), now, now + freshness);
+    }
+
+    /**
+     * La representación con las cabeceras de caché de un 304 y ya vencida: para responder a la
+     * petición que revalidó cuando la entrada no se puede seguir guardando.
+     */
+    public CachedResponse updatedBy(HttpHeaders notModified, long now) {
+        HttpHeaders merged = new HttpHeaders();
+        merged.putAll(headers);
+        for (String name : REVALIDATION_HEADERS) {
+            List<String> values = notModified.get(name);
+            if (values != null && !values.isEmpty()) {
+                merged.put(name, values);
+            }
+        }
+        String updatedETag = notModified.getETag() != null ? notModified.getETag() : eTag;
+        return new CachedResponse(HttpHeaders.readOnlyHttpHeaders(merged), body, updatedETag, now, now);
+    }
+
+    /**
+     * Vigencia en ms según {@code Cache-Control} (con tope {@code maxTtl}); 0 si hay que
+     * revalidar siempre y -1 si la respuesta no se puede guardar.
+     */
+    public static long freshnessMillis(String cacheControl, Duration maxTtl) {
+        if (cacheControl == null || cacheControl.isBlank()) {
+            return 0L;
+        }
+        long maxAge = -1L;
+        long sharedMaxAge = -1L;
+        boolean noCache = false;
+        for (String directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+            String value = directive.trim();
+            if (value.equals("no-store") || value.equals("private")) {
+                return -1L;
+            } else if (value.equals("no-cache")) {
+                noCache = true;
+            } else if (value.startsWith("s-maxage=")) {
+                sharedMaxAge = seconds(value.substring("s-maxage=".length()));
+            } else if (value.startsWith("max-age=")) {
+                maxAge = seconds(value.substring("max-age=".length()));
+            }
+        }
+        // s-maxage se dirige a cachés compartidas como esta y prevalece sobre max-age
+        long seconds = sharedMaxAge >= 0 ? sharedMaxAge : maxAge;
+        if (noCache || seconds <= 0) {
+            return 0L;
+        }
+        return Math.min(Duration.ofSeconds(seconds).toMillis(), maxTtl.toMillis());
+    }
+
+    private static long seconds(String value) {
+        try {
+            return Long.parseLong(value.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.university.apigateway.cache;
+
+import com.university.common.constants.EventHeaders;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.annotation.KafkaListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * Vacía la caché de respuestas cuando cambia el catálogo, sin esperar a que venzan las entradas.
+ * Un cambio de facultad afecta a los listados de carreras (muestran su nombre) y uno de carrera
+ * a los de facultades (cantidad de carreras), así que cualquier evento invalida todas las rutas.
+ * Cada instancia del gateway usa un group-id propio para recibir todos los eventos; el payload
+ * no se deserializa.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CatalogEventsInvalidationListener {
+
+    private static final Set<String> CATALOG_ENTITIES = Set.of("FACULTY", "CAREER");
+
+    private final ResponseCache responseCache;
+
+    @KafkaListener(
+            id = "gateway-cache-catalog-events",
+            topics = "${kafka.topics.catalog-events}",
+            groupId = "${gateway.response-cache.invalidation.group-id}"
+    )
+    public void onCatalogEvent(ConsumerRecord<String, byte[]> consumerRecord) {
+        Header entityType = consumerRecord.headers().lastHeader(EventHeaders.ENTITY_TYPE);
+        if (entityType != null
+                && !CATALOG_ENTITIES.contains(new String(entityType.value(), StandardCharsets.UTF_8))) {
+            return;
+        }
+        invalidate(consumerRecord.topic());
+    }
+
+    /**
+     * Topics por tipo (faculty.*, career.*): solo mientras dure la migración al stream único.
+     */
+    @KafkaListener(
+            id = "gateway-cache-legacy-topics",
+            topics = {
+                    "${kafka.topics.faculty-created}",
+                    "${kafka.topics.faculty-updated}",
+                    "${kafka.topics.faculty-deleted}",
+                    "${kafka.topics.career-created}",
+                    "${kafka.topics.career-updated}",
+                    "${kafka.topics.career-deleted}"
+            },
+            groupId = "${gateway.response-cache.invalidation.group-id}",
+            autoStartup = "${kafka.events.legacy-topics:false}"
+    )
+    public void onLegacyCatalogEvent(ConsumerRecord<String, byte[]> consumerRecord) {
+        invalidate(consumerRecord.topic());
+    }
+
+    private void invalidate(String topic) {
+        log.debug("Evento de catálogo en {}: se invalida la caché de respuestas", topic);
+        responseCache.invalidateAll();
+    }
+}
@@ -0,0 +1,151 @@
+package com.university.apigateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Almacén acotado (por bytes de cuerpo) de respuestas GET del gateway.
+ * <p>
+ * Además de las entradas guarda las peticiones al upstream en curso por clave, para que los
+ * fallos concurrentes esperen a una sola respuesta, y una generación que se incrementa con cada
+ * invalidación: una respuesta pedida antes de invalidar no se guarda después.
+ */
+@Slf4j
+public class ResponseCache {
+
+    public static final String RESULT_HIT = "hit";
+    public static final String RESULT_MISS = "miss";
+    public static final String RESULT_REVALIDATED = "revalidated";
+    public static final String RESULT_COALESCED = "coalesced";
+
+    private final Cache<String, CachedResponse> entries;
+    private final Map<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Duration maxTtl;
+    private final long maxEntryBytes;
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong saved = new AtomicLong();
+    private final Counter invalidations;
+
+    public ResponseCache(long maxBytes, long maxEntryBytes, Duration maxTtl, MeterRegistry meterRegistry) {
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse entry) -> key.length() + entry.body().length)
+                // Las entradas sin vigencia se conservan hasta maxTtl para revalidarlas con su ETag
+                .expireAfterWrite(maxTtl)
+                .build();
+        this.maxTtl = maxTtl;
+        this.maxEntryBytes = maxEntryBytes;
+        this.meterRegistry = meterRegistry;
+        this.invalidations = Counter.builder("gateway.cache.invalidations")
+                .description("Invalidaciones de la caché de respuestas por eventos del catálogo")
+                .register(meterRegistry);
+
+        Gauge.builder("gateway.cache.size", entries, Cache::estimatedSize)
+                .description("Respuestas guardadas en la caché del gateway")
+                .register(meterRegistry);
+        Gauge.builder("gateway.cache.hit.ratio", this, ResponseCache::hitRatio)
+                .description("Fracción de peticiones cacheables atendidas sin llamar al upstream")
+                .register(meterRegistry);
+    }
+
+    public CachedResponse get(String key) {
+        return entries.getIfPresent(key);
+    }
+
+    /**
+     * Guarda la entrada salvo que la caché se haya invalidado desde {@code expectedGeneration}.
+     */
+    public boolean put(String key, CachedResponse entry, long expectedGeneration) {
+        if (entry.body().length > maxEntryBytes || generation.get() != expectedGeneration) {
+            return false;
+        }
+        entries.put(key, entry);
+        // Una invalidación entre la comprobación y el put no debe dejar la entrada vieja
+        if (generation.get() != expectedGeneration) {
+            entries.invalidate(key);
+            return false;
+        }
+        return true;
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Registra esta petición como la que irá al upstream para la clave. Devuelve {@code null}
+     * si queda como líder, o el resultado de la petición en curso que debe esperar.
+     */
+    public Sinks.One<CachedResponse> joinInFlight(String key, Sinks.One<CachedResponse> leader) {
+        return inFlight.putIfAbsent(key, leader);
+    }
+
+    /**
+     * Fin de la petición líder: las que esperaban reciben la entrada, o nada si no se pudo
+     * guardar (y entonces van al upstream por su cuenta).
+     */
+    public void completeInFlight(String key, Sinks.One<CachedResponse> leader, CachedResponse entry) {
+        inFlight.remove(key, leader);
+        if (entry != null) {
+            leader.tryEmitValue(entry);
+        } else {
+            leader.tryEmitEmpty();
+        }
+    }
+
+    public void evict(String key) {
+        entries.invalidate(key);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        long size = entries.estimatedSize();
+        entries.invalidateAll();
+        invalidations.increment();
+        log.debug("Caché de respuestas invalidada ({} entradas)", size);
+    }
+
+    public Duration maxTtl() {
+        return maxTtl;
+    }
+
+    public long maxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    public void record(String routeId, String result) {
+        Counter.builder("gateway.cache.requests")
+                .description("Peticiones cacheables por resultado")
+                .tag("route", routeId)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+        served.incrementAndGet();
+        if (RESULT_HIT.equals(result) || RESULT_COALESCED.equals(result)) {
+            saved.incrementAndGet();
+            Counter.builder("gateway.cache.upstream.saved")
+                    .description("Llamadas al upstream evitadas por la caché")
+                    .tag("route", routeId)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private double hitRatio() {
+        long total = served.get();
+        return total == 0 ? 0.0 : (double) saved.get() / total;
+    }
+}
@@ -0,0 +1,252 @@
+package com.university.apigateway.cache;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Caché de respuestas para los GET anónimos de las rutas configuradas
+ * ({@code gateway.response-cache.routes}), con clave ruta + query (y Accept).
+ * <ul>
+ *     <li>Entrada vigente según el {@code Cache-Control} del upstream: se responde sin llamarlo.</li>
+ *     <li>Entrada vencida con ETag: se revalida con {@code If-None-Match} y un 304 renueva la entrada.</li>
+ *     <li>Fallos concurrentes de la misma clave: solo uno va al upstream y el resto espera su respuesta.</li>
+ * </ul>
+ * Las peticiones con {@code Authorization} no se cachean. El {@code If-None-Match} del cliente
+ * se responde aquí con el ETag de la entrada.
+ */
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    public static final String HEADER_CACHE = "X-Cache";
+
+    private final ResponseCache cache;
+    private final Set<String> routeIds;
+    private final Clock clock;
+
+    public ResponseCacheFilter(ResponseCache cache, Collection<String> routeIds) {
+        this(cache, routeIds, Clock.systemUTC());
+    }
+
+    ResponseCacheFilter(ResponseCache cache, Collection<String> routeIds, Clock clock) {
+        this.cache = cache;
+        this.routeIds = Set.copyOf(routeIds);
+        this.clock = clock;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null || !routeIds.contains(route.getId())
+                || !HttpMethod.GET.equals(request.getMethod())
+                || request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+            return chain.filter(exchange);
+        }
+
+        String routeId = route.getId();
+        String key = key(request);
+        CachedResponse cached = cache.get(key);
+        if (cached != null && cached.isFresh(clock.millis())) {
+            cache.record(routeId, ResponseCache.RESULT_HIT);
+            return serve(exchange, cached, ResponseCache.RESULT_HIT);
+        }
+
+        Sinks.One<CachedResponse> leader = Sinks.one();
+        Sinks.One<CachedResponse> inFlight = cache.joinInFlight(key, leader);
+        if (inFlight != null) {
+            return inFlight.asMono()
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(shared -> {
+                        if (shared.isPresent()) {
+                            cache.record(routeId, ResponseCache.RESULT_COALESCED);
+                            return serve(exchange, shared.get(), ResponseCache.RESULT_COALESCED);
+                        }
+                        // La respuesta del líder no se pudo guardar: esta petición va por su cuenta
+                        cache.record(routeId, ResponseCache.RESULT_MISS);
+                        return chain.filter(exchange);
+                    });
+        }
+        return fetch(exchange, chain, routeId, key, cached, leader);
+    }
+
+    @Override
+    public int getOrder() {
+        // Antes de que NettyWriteResponseFilter escriba el cuerpo, para poder capturarlo
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    private Mono<Void> fetch(ServerWebExchange exchange, GatewayFilterChain chain, String routeId, String key,
+                             CachedResponse stale, Sinks.One<CachedResponse> leader) {
+        CachedResponse revalidating = stale != null && stale.eTag() != null ? stale : null;
+        // Sin las condiciones del cliente: la entrada necesita el cuerpo completo
+        ServerHttpRequest upstream = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    headers.remove(HttpHeaders.IF_NONE_MATCH);
+                    headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                    if (revalidating != null) {
+                        headers.setIfNoneMatch(revalidating.eTag());
+                    }
+                })
+                .build();
+        CachingResponse response = new CachingResponse(exchange, routeId, key, revalidating,
+                cache.generation(), leader);
+
+        return chain.filter(exchange.mutate().request(upstream).response(response).build())
+                // Error, cancelación o respuesta no cacheable: liberar a las que esperan
+                .doFinally(signal -> cache.completeInFlight(key, leader, null));
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, CachedResponse entry, String result) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.OK);
+        HttpHeaders headers = response.getHeaders();
+        headers.putAll(entry.headers());
+        headers.set(HttpHeaders.AGE, Long.toString(entry.ageSeconds(clock.millis())));
+        headers.set(HEADER_CACHE, result.toUpperCase(Locale.ROOT));
+
+        if (entry.eTag() != null && exchange.checkNotModified(entry.eTag())) {
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            return response.setComplete();
+        }
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(entry.body())));
+    }
+
+    /**
+     * Ruta y query, más el Accept: el catálogo sirve JSON o NDJSON en la misma URL.
+     */
+    private static String key(ServerHttpRequest request) {
+        String query = request.getURI().getRawQuery();
+        String path = request.getURI().getRawPath();
+        String key = query != null ? path + "?" + query : path;
+        String accept = request.getHeaders().getFirst(HttpHeaders.ACCEPT);
+        return accept != null ? key + " " + accept : key;
+    }
+
+    private static byte[] toBytes(List<? extends DataBuffer> buffers) {
+        int size = buffers.stream().mapToInt(DataBuffer::readableByteCount).sum();
+        byte[] bytes = new byte[size];
+        int offset = 0;
+        for (DataBuffer buffer : buffers) {
+            int count = buffer.readableByteCount();
+            buffer.read(bytes, offset, count);
+            offset += count;
+            DataBufferUtils.release(buffer);
+        }
+        return bytes;
+    }
+
+    /**
+     * Respuesta del upstream para la petición líder: guarda los 200 cacheables y, ante un 304
+     * de revalidación, responde con el cuerpo de la entrada guardada.
+     */
+    private final class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerWebExchange original;
+        private final String routeId;
+        private final String key;
+        private final CachedResponse revalidating;
+        private final long generation;
+        private final Sinks.One<CachedResponse> leader;
+
+        CachingResponse(ServerWebExchange original, String routeId, String key, CachedResponse revalidating,
+                        long generation, Sinks.One<CachedResponse> leader) {
+            super(original.getResponse());
+            this.original = original;
+            this.routeId = routeId;
+            this.key = key;
+            this.revalidating = revalidating;
+            this.generation = generation;
+            this.leader = leader;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            if (revalidating != null && HttpStatus.NOT_MODIFIED.equals(status)) {
+                return Flux.from(body).doOnNext(DataBufferUtils::release).then(Mono.defer(() -> {
+                    long now = clock.millis();
+                    CachedResponse refreshed = revalidating.revalidated(getHeaders(), now, cache.maxTtl());
+                    boolean stored = refreshed != null && cache.put(key, refreshed, generation);
+                    if (refreshed == null) {
+                        // El 304 ya no permite guardarla: se responde esta vez y se descarta
+                        cache.evict(key);
+                        refreshed = revalidating.updatedBy(getHeaders(), now);
+                    }
+                    cache.completeInFlight(key, leader, stored ? refreshed : null);
+                    cache.record(routeId, ResponseCache.RESULT_REVALIDATED);
+                    return serve(original, refreshed, ResponseCache.RESULT_REVALIDATED);
+                }));
+            }
+
+            cache.record(routeId, ResponseCache.RESULT_MISS);
+            if (!HttpStatus.OK.equals(status)) {
+                return super.writeWith(body);
+            }
+            long contentLength = getHeaders().getContentLength();
+            if (!CachedResponse.isStorable(getHeaders(), cache.maxTtl()) || contentLength > cache.maxEntryBytes()) {
+                return passThrough(body);
+            }
+
+            // Sin Content-Length se acumula como mucho maxEntryBytes; si se supera, se reenvía lo leído y el resto
+            AtomicLong read = new AtomicLong();
+            return Flux.<DataBuffer>from(body)
+                    .bufferUntil(buffer -> read.addAndGet(buffer.readableByteCount()) > cache.maxEntryBytes())
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .switchOnFirst((first, chunks) -> {
+                        if (read.get() > cache.maxEntryBytes()) {
+                            return passThrough(chunks.flatMapIterable(Function.identity()));
+                        }
+                        byte[] bytes = first.hasValue() ? toBytes(first.get()) : new byte[0];
+                        return chunks.then(Mono.defer(() -> store(bytes)));
+                    })
+                    .then();
+        }
+
+        private Mono<Void> store(byte[] bytes) {
+            CachedResponse entry = CachedResponse.of(getHeaders(), bytes, clock.millis(), cache.maxTtl());
+            boolean stored = entry != null && cache.put(key, entry, generation);
+            cache.completeInFlight(key, leader, stored ? entry : null);
+            if (stored) {
+                return serve(original, entry, ResponseCache.RESULT_MISS);
+            }
+            getHeaders().set(HEADER_CACHE, ResponseCache.RESULT_MISS.toUpperCase(Locale.ROOT));
+            return getDelegate().writeWith(Mono.just(bufferFactory().wrap(bytes)));
+        }
+
+        /**
+         * Respuesta que no se guarda: se libera ya a las que esperan y el cuerpo pasa sin acumularse.
+         */
+        private Mono<Void> passThrough(Publisher<? extends DataBuffer> body) {
+            cache.completeInFlight(key, leader, null);
+            getHeaders().set(HEADER_CACHE, ResponseCache.RESULT_MISS.toUpperCase(Locale.ROOT));
+            return getDelegate().writeWith(body);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.university.apigateway.config;
+
+import com.university.apigateway.bff.CatalogClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Cliente del catálogo para las rutas de composición (BFF) del gateway. Usa el mismo
+ * balanceador que las rutas {@code lb://}, sin registrar un {@code WebClient.Builder} balanceado
+ * que afectaría a otros usos de WebClient.
+ */
+@Configuration
+public class BffConfig {
+
+    @Bean
+    public CatalogClient catalogClient(WebClient.Builder webClientBuilder,
+                                       ReactorLoadBalancerExchangeFilterFunction loadBalancerFunction,
+                                       @Value("${gateway.bff.catalog-uri:http://matriculas-service}") String catalogUri) {
+        return new CatalogClient(webClientBuilder.clone()
+                .baseUrl(catalogUri)
+                .filter(loadBalancerFunction)
+                .build());
+    }
+}
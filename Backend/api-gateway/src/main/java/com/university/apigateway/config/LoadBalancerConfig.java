@@ -0,0 +1,34 @@
+package com.university.apigateway.config;
+
+import com.university.apigateway.loadbalancer.InstanceStatsRegistry;
+import com.university.apigateway.loadbalancer.LoadBalancerStatsFilter;
+import com.university.apigateway.loadbalancer.PowerOfTwoChoicesConfiguration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Balanceo por latencia para las rutas {@code lb://} ({@code gateway.load-balancer.p2c.enabled}).
+ * Sin esta configuración se usa el round-robin por defecto de Spring Cloud LoadBalancer.
+ */
+@Configuration
+@ConditionalOnProperty(name = "gateway.load-balancer.p2c.enabled", havingValue = "true")
+@LoadBalancerClients(defaultConfiguration = PowerOfTwoChoicesConfiguration.class)
+public class LoadBalancerConfig {
+
+    @Bean
+    public InstanceStatsRegistry instanceStatsRegistry(
+            @Value("${gateway.load-balancer.p2c.error-penalty:2s}") Duration errorPenalty,
+            @Value("${gateway.load-balancer.p2c.latency-decay:10s}") Duration latencyDecay) {
+        return new InstanceStatsRegistry(errorPenalty, latencyDecay);
+    }
+
+    @Bean
+    public LoadBalancerStatsFilter loadBalancerStatsFilter(InstanceStatsRegistry instanceStatsRegistry) {
+        return new LoadBalancerStatsFilter(instanceStatsRegistry);
+    }
+}
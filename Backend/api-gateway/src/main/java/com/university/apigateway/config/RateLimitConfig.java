@@ -0,0 +1,57 @@
+package com.university.apigateway.config;
+
+import com.university.apigateway.ratelimit.LocalRateLimitStore;
+import com.university.apigateway.ratelimit.RateLimitStore;
+import com.university.apigateway.ratelimit.TokenBucketRateLimiter;
+import com.university.apigateway.ratelimit.UserOrIpKeyResolver;
+import com.university.common.security.JwtVerifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Límite de peticiones por usuario o IP para el filtro {@code RequestRateLimiter} de las rutas
+ * ({@code gateway.rate-limit.*}). Los beans existen siempre porque las rutas referencian el
+ * filtro; con {@code enabled=false} el limitador deja pasar todo.
+ */
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(RateLimitStore.class)
+    public LocalRateLimitStore rateLimitStore(@Value("${gateway.rate-limit.max-keys:100000}") long maxKeys,
+                                              @Value("${gateway.rate-limit.idle-expiry:10m}") Duration idleExpiry) {
+        return new LocalRateLimitStore(maxKeys, idleExpiry);
+    }
+
+    @Bean
+    public TokenBucketRateLimiter tokenBucketRateLimiter(
+            RateLimitStore rateLimitStore,
+            @Value("${gateway.rate-limit.enabled:true}") boolean enabled,
+            @Value("${gateway.rate-limit.default.replenish-rate:10}") double replenishRate,
+            @Value("${gateway.rate-limit.default.burst-capacity:20}") int burstCapacity,
+            ConfigurationService configurationService,
+            MeterRegistry meterRegistry) {
+        TokenBucketRateLimiter.Config defaults = new TokenBucketRateLimiter.Config();
+        defaults.setReplenishRate(replenishRate);
+        defaults.setBurstCapacity(burstCapacity);
+        return new TokenBucketRateLimiter(rateLimitStore, defaults, enabled, configurationService, meterRegistry);
+    }
+
+    @Bean
+    public UserOrIpKeyResolver userOrIpKeyResolver(JwtVerifier jwtVerifier,
+                                                   @Value("${gateway.rate-limit.trusted-proxies:0}") int trustedProxies) {
+        // Solo se confía en X-Forwarded-For si hay proxies propios delante (ngrok, balanceador)
+        RemoteAddressResolver addressResolver = trustedProxies > 0
+                ? XForwardedRemoteAddressResolver.maxTrustedIndex(trustedProxies)
+                : new RemoteAddressResolver() { };
+        return new UserOrIpKeyResolver(jwtVerifier, addressResolver);
+    }
+}
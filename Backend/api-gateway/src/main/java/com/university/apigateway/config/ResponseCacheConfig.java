@@ -0,0 +1,42 @@
+package com.university.apigateway.config;
+
+import com.university.apigateway.cache.CatalogEventsInvalidationListener;
+import com.university.apigateway.cache.ResponseCache;
+import com.university.apigateway.cache.ResponseCacheFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Caché de respuestas del gateway para las rutas públicas del catálogo
+ * ({@code gateway.response-cache.enabled}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "gateway.response-cache.enabled", havingValue = "true")
+public class ResponseCacheConfig {
+
+    @Bean
+    public ResponseCache responseCache(@Value("${gateway.response-cache.max-size:16MB}") DataSize maxSize,
+                                       @Value("${gateway.response-cache.max-entry-size:1MB}") DataSize maxEntrySize,
+                                       @Value("${gateway.response-cache.max-ttl:10m}") Duration maxTtl,
+                                       MeterRegistry meterRegistry) {
+        return new ResponseCache(maxSize.toBytes(), maxEntrySize.toBytes(), maxTtl, meterRegistry);
+    }
+
+    @Bean
+    public ResponseCacheFilter responseCacheFilter(ResponseCache responseCache,
+                                                   @Value("${gateway.response-cache.routes}") List<String> routes) {
+        return new ResponseCacheFilter(responseCache, routes);
+    }
+
+    @Bean
+    public CatalogEventsInvalidationListener catalogEventsInvalidationListener(ResponseCache responseCache) {
+        return new CatalogEventsInvalidationListener(responseCache);
+    }
+}
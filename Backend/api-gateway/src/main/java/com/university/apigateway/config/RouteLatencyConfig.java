@@ -0,0 +1,38 @@
+package com.university.apigateway.config;
+
+import com.university.apigateway.latency.RouteLatencyEndpoint;
+import com.university.apigateway.latency.RouteLatencyFilter;
+import com.university.apigateway.latency.RouteLatencyRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Telemetría de latencia por ruta ({@code gateway.latency.enabled}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "gateway.latency.enabled", havingValue = "true")
+public class RouteLatencyConfig {
+
+    @Bean
+    public RouteLatencyRegistry routeLatencyRegistry(@Value("${gateway.latency.window:1m}") Duration window,
+                                                     @Value("${gateway.latency.window-slots:6}") int slots,
+                                                     MeterRegistry meterRegistry) {
+        return new RouteLatencyRegistry(window, slots, meterRegistry);
+    }
+
+    @Bean
+    public RouteLatencyFilter routeLatencyFilter(RouteLatencyRegistry routeLatencyRegistry) {
+        return new RouteLatencyFilter(routeLatencyRegistry);
+    }
+
+    @Bean
+    public RouteLatencyEndpoint routeLatencyEndpoint(RouteLatencyRegistry routeLatencyRegistry,
+                                                     @Value("${gateway.latency.top-routes:5}") int topRoutes) {
+        return new RouteLatencyEndpoint(routeLatencyRegistry, topRoutes);
+    }
+}
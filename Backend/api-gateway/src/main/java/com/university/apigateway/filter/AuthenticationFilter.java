@@ -1,7 +1,8 @@
 package com.university.apigateway.filter;
 
-import com.university.apigateway.util.JwtUtil;
+import com.university.common.security.JwtVerifier;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
@@ -18,7 +19,7 @@ import reactor.core.publisher.Mono;
 public class AuthenticationFilter extends AbstractGatewayFilterFactory<AuthenticationFilter.Config> {
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private JwtVerifier jwtVerifier;
 
     public AuthenticationFilter() {
         super(Config.class);
@@ -42,14 +43,16 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
 
             String token = authHeader.substring(7);
 
+            // Validar token y extraer información (una sola verificación por token; los revocados
+            // se rechazan consultando la lista local, sin llamar a Auth Service)
+            Claims claims;
             try {
-                // Validar token
-                if (!jwtUtil.isTokenValid(token)) {
-                    return onError(exchange, "Invalid or expired token", HttpStatus.UNAUTHORIZED);
-                }
+                claims = jwtVerifier.verify(token);
+            } catch (JwtException e) {
+                return onError(exchange, "Invalid or expired token", HttpStatus.UNAUTHORIZED);
+            }
 
-                // Extraer información del token
-                Claims claims = jwtUtil.extractAllClaims(token);
+            try {
                 String userId = claims.getSubject();
                 String email = claims.get("email", String.class);
                 String role = claims.get("role", String.class);
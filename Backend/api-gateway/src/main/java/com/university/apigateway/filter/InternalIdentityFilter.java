@@ -0,0 +1,79 @@
+package com.university.apigateway.filter;
+
+import com.university.common.security.InternalIdentity;
+import com.university.common.security.InternalIdentitySigner;
+import com.university.common.security.JwtVerifier;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Propaga a los servicios la identidad del usuario ya verificada en el gateway.
+ * <p>
+ * En todas las rutas se elimina la cabecera {@code X-Internal-Identity} que envíe el cliente.
+ * Con {@code security.internal-identity.enabled=true}, si la petición trae un JWT válido se
+ * agrega esa cabecera firmada: el servicio la acepta con una comprobación HMAC y no vuelve a
+ * verificar el JWT. Un token inválido no se rechaza aquí; el servicio decide como antes.
+ */
+@Slf4j
+@Component
+public class InternalIdentityFilter implements GlobalFilter, Ordered {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtVerifier jwtVerifier;
+    private final InternalIdentitySigner signer;
+
+    public InternalIdentityFilter(JwtVerifier jwtVerifier, ObjectProvider<InternalIdentitySigner> signer) {
+        this.jwtVerifier = jwtVerifier;
+        this.signer = signer.getIfAvailable();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String identity = signer != null ? signIdentity(request) : null;
+        if (identity == null && !request.getHeaders().containsKey(InternalIdentity.HEADER)) {
+            return chain.filter(exchange);
+        }
+
+        ServerHttpRequest forwarded = request.mutate()
+                .headers(headers -> {
+                    headers.remove(InternalIdentity.HEADER);
+                    if (identity != null) {
+                        headers.set(InternalIdentity.HEADER, identity);
+                    }
+                })
+                .build();
+        return chain.filter(exchange.mutate().request(forwarded).build());
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private String signIdentity(ServerHttpRequest request) {
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        try {
+            Claims claims = jwtVerifier.verify(authHeader.substring(BEARER_PREFIX.length()));
+            return signer.sign(claims.getSubject(), claims.get("userId", Long.class),
+                    claims.get("email", String.class), claims.get("role", String.class));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("JWT no válido, la petición continúa sin identidad interna: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.university.apigateway.latency;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencias (en µs) de una ruta o de una ruta + estado en una ventana deslizante.
+ * <p>
+ * Las peticiones escriben en un {@link Recorder} de HdrHistogram, sin bloqueos ni reservas de
+ * memoria. Cada {@link #rotate()} cierra el intervalo en curso y lo guarda en un anillo de
+ * {@code slots} histogramas; las lecturas usan la suma del anillo, así que no incluyen el
+ * intervalo todavía abierto (como máximo {@code window / slots} de retraso).
+ */
+public class LatencyWindow {
+
+    // 2 cifras significativas (error < 1 %) mantienen cada histograma en unos pocos KB
+    private static final int SIGNIFICANT_DIGITS = 2;
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final Histogram[] slots;
+    private final Histogram aggregate = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final long slotMillis;
+
+    private int next;
+    private int filled;
+
+    public LatencyWindow(int slots, long slotMillis) {
+        this.slots = new Histogram[slots];
+        this.slotMillis = slotMillis;
+    }
+
+    public void record(long micros) {
+        recorder.recordValue(Math.min(Math.max(micros, 0L), HIGHEST_TRACKABLE_MICROS));
+    }
+
+    /**
+     * Cierra el intervalo en curso; el más antiguo sale de la ventana y su histograma se reutiliza.
+     */
+    public synchronized void rotate() {
+        slots[next] = recorder.getIntervalHistogram(slots[next]);
+        next = (next + 1) % slots.length;
+        filled = Math.min(filled + 1, slots.length);
+
+        aggregate.reset();
+        for (Histogram slot : slots) {
+            if (slot != null) {
+                aggregate.add(slot);
+            }
+        }
+    }
+
+    public synchronized long getCount() {
+        return aggregate.getTotalCount();
+    }
+
+    /**
+     * Peticiones por segundo en la parte de la ventana ya cerrada.
+     */
+    public synchronized double getRate() {
+        return filled == 0 ? 0.0 : aggregate.getTotalCount() * 1000.0 / (filled * slotMillis);
+    }
+
+    public synchronized long getPercentileMicros(double percentile) {
+        return aggregate.getValueAtPercentile(percentile);
+    }
+
+    public synchronized Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("count", aggregate.getTotalCount());
+        snapshot.put("ratePerSecond", Math.round(getRate() * 100) / 100.0);
+        snapshot.put("p50Ms", millis(aggregate.getValueAtPercentile(50.0)));
+        snapshot.put("p90Ms", millis(aggregate.getValueAtPercentile(90.0)));
+        snapshot.put("p99Ms", millis(aggregate.getValueAtPercentile(99.0)));
+        snapshot.put("p999Ms", millis(aggregate.getValueAtPercentile(99.9)));
+        snapshot.put("maxMs", millis(aggregate.getMaxValue()));
+        return snapshot;
+    }
+
+    static double millis(long micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+}
@@ -0,0 +1,78 @@
+package com.university.apigateway.latency;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+/**
+ * Ventanas de latencia de una ruta: una para todas sus respuestas y una por código de estado.
+ * Las ventanas por estado están en un arreglo indexado por el código, sin objetos de clave
+ * por petición; el índice 0 agrupa los códigos fuera de rango.
+ */
+public class RouteLatency {
+
+    private static final int MAX_STATUS = 600;
+
+    private final String routeId;
+    private final LatencyWindow all;
+    private final AtomicReferenceArray<LatencyWindow> byStatus = new AtomicReferenceArray<>(MAX_STATUS);
+    private final IntFunction<LatencyWindow> windowFactory;
+
+    RouteLatency(String routeId, LatencyWindow all, IntFunction<LatencyWindow> windowFactory) {
+        this.routeId = routeId;
+        this.all = all;
+        this.windowFactory = windowFactory;
+    }
+
+    void record(int status, long micros) {
+        all.record(micros);
+        int index = status >= 100 && status < MAX_STATUS ? status : 0;
+        LatencyWindow window = byStatus.get(index);
+        if (window == null) {
+            window = create(index);
+        }
+        window.record(micros);
+    }
+
+    // Solo la primera respuesta con cada código; la fábrica registra los gauges una única vez
+    private synchronized LatencyWindow create(int index) {
+        LatencyWindow window = byStatus.get(index);
+        if (window == null) {
+            window = windowFactory.apply(index);
+            byStatus.set(index, window);
+        }
+        return window;
+    }
+
+    void rotate() {
+        all.rotate();
+        for (int i = 0; i < MAX_STATUS; i++) {
+            LatencyWindow window = byStatus.get(i);
+            if (window != null) {
+                window.rotate();
+            }
+        }
+    }
+
+    public String getRouteId() {
+        return routeId;
+    }
+
+    public LatencyWindow getAll() {
+        return all;
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> statuses = new LinkedHashMap<>();
+        for (int i = 0; i < MAX_STATUS; i++) {
+            LatencyWindow window = byStatus.get(i);
+            if (window != null && window.getCount() > 0) {
+                statuses.put(i == 0 ? "other" : Integer.toString(i), window.snapshot());
+            }
+        }
+        Map<String, Object> snapshot = all.snapshot();
+        snapshot.put("statuses", statuses);
+        return snapshot;
+    }
+}
@@ -0,0 +1,34 @@
+package com.university.apigateway.latency;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/latency}: percentiles y tasa por ruta y estado, y las rutas más lentas.
+ */
+@Endpoint(id = "latency")
+@RequiredArgsConstructor
+public class RouteLatencyEndpoint {
+
+    private final RouteLatencyRegistry registry;
+    private final int topRoutes;
+
+    @ReadOperation
+    public Map<String, Object> latency() {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("window", registry.getWindow().toString());
+        latency.put("slowest", registry.slowest(topRoutes));
+        latency.put("routes", registry.snapshot());
+        return latency;
+    }
+
+    @ReadOperation
+    public Map<String, Object> route(@Selector String routeId) {
+        return registry.snapshot(routeId);
+    }
+}
@@ -0,0 +1,55 @@
+package com.university.apigateway.latency;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Mide cada petición enrutada desde que entra en la cadena de filtros hasta que termina y la
+ * registra en {@link RouteLatencyRegistry} con el código de estado final. Va primero para
+ * incluir al resto de filtros (caché, resiliencia, balanceo).
+ * <p>
+ * Sin estado de respuesta se registra 500 si hubo error y 499 si el cliente canceló.
+ */
+@RequiredArgsConstructor
+public class RouteLatencyFilter implements GlobalFilter, Ordered {
+
+    static final int STATUS_CLIENT_CLOSED = 499;
+
+    private final RouteLatencyRegistry registry;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+
+        long startedAt = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal ->
+                registry.record(route.getId(), status(exchange, signal), System.nanoTime() - startedAt));
+    }
+
+    private static int status(ServerWebExchange exchange, SignalType signal) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        if (signal == SignalType.CANCEL) {
+            return STATUS_CLIENT_CLOSED;
+        }
+        if (signal == SignalType.ON_ERROR && (status == null || !status.isError())) {
+            return 500;
+        }
+        return status != null ? status.value() : 200;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
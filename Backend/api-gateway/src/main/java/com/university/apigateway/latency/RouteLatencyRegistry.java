@@ -0,0 +1,158 @@
+package com.university.apigateway.latency;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencias por ruta y estado en ventanas deslizantes de {@code window}, divididas en
+ * {@code slots} intervalos que se rotan en un hilo propio.
+ * <p>
+ * Publica en Micrometer {@code gateway.route.latency} (p50/p90/p99/p999, en segundos) y
+ * {@code gateway.route.requests.rate} por ruta y estado ({@code status=all} para la ruta completa).
+ */
+@Slf4j
+public class RouteLatencyRegistry implements DisposableBean {
+
+    static final String STATUS_ALL = "all";
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+
+    private final Map<String, RouteLatency> routes = new ConcurrentHashMap<>();
+    private final Duration window;
+    private final int slots;
+    private final long slotMillis;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledExecutorService rotation;
+
+    public RouteLatencyRegistry(Duration window, int slots, MeterRegistry meterRegistry) {
+        this(window, slots, meterRegistry, true);
+    }
+
+    RouteLatencyRegistry(Duration window, int slots, MeterRegistry meterRegistry, boolean scheduleRotation) {
+        this.window = window;
+        this.slots = slots;
+        this.slotMillis = Math.max(1L, window.toMillis() / slots);
+        this.meterRegistry = meterRegistry;
+        if (scheduleRotation) {
+            this.rotation = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "gateway-latency-rotation");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.rotation.scheduleAtFixedRate(this::rotate, slotMillis, slotMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.rotation = null;
+        }
+    }
+
+    /**
+     * Registra una petición; {@code status} es el código HTTP final (0 si no lo hubo).
+     */
+    public void record(String routeId, int status, long nanos) {
+        RouteLatency route = routes.get(routeId);
+        if (route == null) {
+            route = routes.computeIfAbsent(routeId, this::newRoute);
+        }
+        route.record(status, TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    void rotate() {
+        try {
+            routes.values().forEach(RouteLatency::rotate);
+        } catch (RuntimeException e) {
+            // Una excepción cancelaría la tarea periódica y la ventana quedaría congelada
+            log.warn("No se pudo rotar la ventana de latencias: {}", e.getMessage());
+        }
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new TreeMap<>();
+        routes.forEach((routeId, route) -> snapshot.put(routeId, route.snapshot()));
+        return snapshot;
+    }
+
+    public Map<String, Object> snapshot(String routeId) {
+        RouteLatency route = routes.get(routeId);
+        return route != null ? route.snapshot() : null;
+    }
+
+    /**
+     * Las {@code limit} rutas con mayor p99 en la ventana (las que no tuvieron tráfico no cuentan).
+     */
+    public List<Map<String, Object>> slowest(int limit) {
+        Comparator<RouteLatency> byP99 = Comparator.comparingLong(route -> route.getAll().getPercentileMicros(99.0));
+        PriorityQueue<RouteLatency> top = new PriorityQueue<>(limit + 1, byP99);
+        for (RouteLatency route : routes.values()) {
+            if (route.getAll().getCount() == 0) {
+                continue;
+            }
+            top.add(route);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<RouteLatency> ordered = new ArrayList<>(top);
+        ordered.sort(byP99.reversed());
+        List<Map<String, Object>> slowest = new ArrayList<>(ordered.size());
+        for (RouteLatency route : ordered) {
+            LatencyWindow all = route.getAll();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("route", route.getRouteId());
+            entry.put("p99Ms", LatencyWindow.millis(all.getPercentileMicros(99.0)));
+            entry.put("p999Ms", LatencyWindow.millis(all.getPercentileMicros(99.9)));
+            entry.put("ratePerSecond", Math.round(all.getRate() * 100) / 100.0);
+            slowest.add(entry);
+        }
+        return slowest;
+    }
+
+    @Override
+    public void destroy() {
+        if (rotation != null) {
+            rotation.shutdownNow();
+        }
+    }
+
+    private RouteLatency newRoute(String routeId) {
+        return new RouteLatency(routeId, newWindow(routeId, STATUS_ALL),
+                status -> newWindow(routeId, status == 0 ? "other" : Integer.toString(status)));
+    }
+
+    private LatencyWindow newWindow(String routeId, String status) {
+        LatencyWindow latencyWindow = new LatencyWindow(slots, slotMillis);
+        for (double percentile : PERCENTILES) {
+            Gauge.builder("gateway.route.latency", latencyWindow, w -> w.getPercentileMicros(percentile) / 1_000_000.0)
+                    .description("Latencia del gateway por ruta y estado en la ventana deslizante")
+                    .baseUnit("seconds")
+                    .tag("route", routeId)
+                    .tag("status", status)
+                    .tag("quantile", Double.toString(percentile / 100))
+                    .register(meterRegistry);
+        }
+        Gauge.builder("gateway.route.requests.rate", latencyWindow, LatencyWindow::getRate)
+                .description("Peticiones por segundo por ruta y estado en la ventana deslizante")
+                .tag("route", routeId)
+                .tag("status", status)
+                .register(meterRegistry);
+        return latencyWindow;
+    }
+}
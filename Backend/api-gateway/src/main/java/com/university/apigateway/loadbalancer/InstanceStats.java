@@ -0,0 +1,92 @@
+package com.university.apigateway.loadbalancer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Estado de una instancia visto desde el gateway: peticiones en curso, latencia EWMA y
+ * penalización tras un error. Los tiempos son de {@code System.nanoTime()}.
+ * <p>
+ * La EWMA sube de golpe con una muestra mayor (una pausa de GC se nota en la primera respuesta
+ * lenta) y baja suavemente con las rápidas. Sin muestras recientes decae con el tiempo, para
+ * que una instancia que fue lenta vuelva a recibir alguna petición y pueda demostrar que se
+ * recuperó.
+ */
+public class InstanceStats {
+
+    private static final double ALPHA = 0.3;
+
+    private final long decayNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private double ewmaNanos;
+    private long lastSampleAt;
+    private boolean sampled;
+    private volatile long penalizedUntil;
+
+    InstanceStats(long decayNanos) {
+        this.decayNanos = decayNanos;
+    }
+
+    void start() {
+        inFlight.incrementAndGet();
+    }
+
+    void complete() {
+        inFlight.decrementAndGet();
+    }
+
+    synchronized void sample(long latencyNanos, long now) {
+        if (!sampled || latencyNanos > ewmaNanos) {
+            ewmaNanos = latencyNanos;
+        } else {
+            ewmaNanos += ALPHA * (latencyNanos - ewmaNanos);
+        }
+        sampled = true;
+        lastSampleAt = now;
+    }
+
+    void penalize(long until) {
+        penalizedUntil = until;
+    }
+
+    public boolean isPenalized(long now) {
+        return now - penalizedUntil < 0;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Latencia estimada (ns) con el decaimiento por inactividad aplicado.
+     */
+    public synchronized double latencyNanos(long now) {
+        if (!sampled) {
+            return 0.0;
+        }
+        long idle = Math.max(0L, now - lastSampleAt);
+        return ewmaNanos * Math.exp(-(double) idle / decayNanos);
+    }
+
+    /**
+     * Coste de enviarle una petición más: latencia esperada por cola (en curso + la nueva).
+     * Una instancia sin muestras es la más barata mientras esté libre, para medirla cuanto
+     * antes; con peticiones en curso espera a la primera respuesta.
+     */
+    public double cost(long now) {
+        int pending = inFlight.get();
+        double latency = latencyNanos(now);
+        if (latency == 0.0) {
+            return pending == 0 ? 0.0 : Double.MAX_VALUE / 2;
+        }
+        return latency * (pending + 1);
+    }
+
+    @Override
+    public String toString() {
+        long now = System.nanoTime();
+        return "InstanceStats{inFlight=" + inFlight.get()
+                + ", latencyMs=" + TimeUnit.NANOSECONDS.toMillis((long) latencyNanos(now))
+                + ", penalized=" + isPenalized(now) + "}";
+    }
+}
@@ -0,0 +1,73 @@
+package com.university.apigateway.loadbalancer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Estadísticas por instancia compartidas por los balanceadores de todos los servicios.
+ * La clave es servicio + host:puerto (el instance-id de Eureka se repite entre réplicas
+ * que usan el mismo puerto). Las instancias que dejan de usarse se olvidan solas.
+ */
+@Slf4j
+public class InstanceStatsRegistry {
+
+    private final Cache<String, InstanceStats> stats;
+    private final long penaltyNanos;
+    private final long decayNanos;
+    private final LongSupplier nanoTime;
+
+    public InstanceStatsRegistry(Duration penalty, Duration decay) {
+        this(penalty, decay, System::nanoTime);
+    }
+
+    InstanceStatsRegistry(Duration penalty, Duration decay, LongSupplier nanoTime) {
+        this.stats = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(30))
+                .build();
+        this.penaltyNanos = penalty.toNanos();
+        this.decayNanos = decay.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    public InstanceStats stats(ServiceInstance instance) {
+        return stats.get(key(instance), key -> new InstanceStats(decayNanos));
+    }
+
+    public long now() {
+        return nanoTime.getAsLong();
+    }
+
+    /**
+     * Marca el inicio de una petición; devuelve el instante para {@link #onComplete}.
+     */
+    public long onStart(ServiceInstance instance) {
+        stats(instance).start();
+        return now();
+    }
+
+    /**
+     * Fin de una petición. Los errores (5xx o sin respuesta) penalizan la instancia durante un
+     * tiempo breve; las cancelaciones del cliente ({@code sample = false}) no aportan muestra.
+     */
+    public void onComplete(ServiceInstance instance, long startedAt, boolean failed, boolean sample) {
+        InstanceStats instanceStats = stats(instance);
+        instanceStats.complete();
+        long now = now();
+        if (failed) {
+            instanceStats.penalize(now + penaltyNanos);
+            log.debug("Instancia {} penalizada tras un error: {}", key(instance), instanceStats);
+        }
+        if (sample) {
+            instanceStats.sample(now - startedAt, now);
+        }
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getServiceId() + "@" + instance.getHost() + ":" + instance.getPort();
+    }
+}
@@ -0,0 +1,25 @@
+package com.university.apigateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Configuración de cada cliente de balanceo (un contexto hijo por servicio). No lleva
+ * {@code @Configuration} para que el escaneo de componentes no la cargue en el contexto principal;
+ * se registra con {@code @LoadBalancerClients(defaultConfiguration = ...)}.
+ */
+public class PowerOfTwoChoicesConfiguration {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> powerOfTwoChoicesLoadBalancer(Environment environment,
+                                                                              LoadBalancerClientFactory clientFactory,
+                                                                              InstanceStatsRegistry stats) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new PowerOfTwoChoicesLoadBalancer(serviceId,
+                clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class), stats);
+    }
+}
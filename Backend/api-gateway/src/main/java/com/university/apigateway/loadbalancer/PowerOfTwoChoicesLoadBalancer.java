@@ -0,0 +1,94 @@
+package com.university.apigateway.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Balanceo "power of two choices": se eligen dos instancias al azar y gana la de menor coste
+ * (latencia EWMA × peticiones en curso, ver {@link InstanceStats#cost}). Una instancia en pausa
+ * de GC o con el JIT frío acumula peticiones en curso y latencia, y deja de recibir tráfico en
+ * cuanto se compara con otra sana; las penalizadas por errores recientes solo se eligen si la
+ * otra también lo está.
+ */
+public class PowerOfTwoChoicesLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final String serviceId;
+    private final ObjectProvider<ServiceInstanceListSupplier> suppliers;
+    private final InstanceStatsRegistry stats;
+    private final Random random;
+
+    public PowerOfTwoChoicesLoadBalancer(String serviceId, ObjectProvider<ServiceInstanceListSupplier> suppliers,
+                                         InstanceStatsRegistry stats) {
+        this(serviceId, suppliers, stats, null);
+    }
+
+    PowerOfTwoChoicesLoadBalancer(String serviceId, ObjectProvider<ServiceInstanceListSupplier> suppliers,
+                                  InstanceStatsRegistry stats, Random random) {
+        this.serviceId = serviceId;
+        this.suppliers = suppliers;
+        this.stats = stats;
+        this.random = random;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = suppliers.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(instances -> {
+            Response<ServiceInstance> response = choose(instances);
+            if (supplier instanceof SelectedInstanceCallback callback && response.hasServer()) {
+                callback.selectedServiceInstance(response.getServer());
+            }
+            return response;
+        });
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+
+        int size = instances.size();
+        int first = nextInt(size);
+        int second = nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        return new DefaultResponse(better(instances.get(first), instances.get(second)));
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    private ServiceInstance better(ServiceInstance a, ServiceInstance b) {
+        long now = stats.now();
+        InstanceStats statsA = stats.stats(a);
+        InstanceStats statsB = stats.stats(b);
+        boolean penalizedA = statsA.isPenalized(now);
+        boolean penalizedB = statsB.isPenalized(now);
+        if (penalizedA != penalizedB) {
+            return penalizedA ? b : a;
+        }
+        return statsA.cost(now) <= statsB.cost(now) ? a : b;
+    }
+
+    private int nextInt(int bound) {
+        return random != null ? random.nextInt(bound) : ThreadLocalRandom.current().nextInt(bound);
+    }
+}
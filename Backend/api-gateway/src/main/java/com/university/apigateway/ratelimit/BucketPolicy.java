@@ -0,0 +1,20 @@
+package com.university.apigateway.ratelimit;
+
+/**
+ * Límite de una ruta: {@code replenishRate} fichas por segundo, hasta {@code burstCapacity}
+ * acumuladas, y {@code requestedTokens} por petición.
+ */
+public record BucketPolicy(double replenishRate, int burstCapacity, int requestedTokens) {
+
+    public BucketPolicy {
+        if (replenishRate <= 0 || burstCapacity < requestedTokens || requestedTokens < 1) {
+            throw new IllegalArgumentException("Límite inválido: replenishRate=" + replenishRate
+                    + ", burstCapacity=" + burstCapacity + ", requestedTokens=" + requestedTokens);
+        }
+    }
+
+    /** Nanosegundos que tarda en reponerse una ficha. */
+    long nanosPerToken() {
+        return Math.max(1L, Math.round(1_000_000_000L / replenishRate));
+    }
+}
@@ -0,0 +1,35 @@
+package com.university.apigateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sin bloqueos con el algoritmo GCRA: el estado es un solo {@code long}, el
+ * instante teórico en que el bucket vuelve a estar lleno, y se actualiza con CAS. Equivale a un
+ * bucket de {@code burstCapacity} fichas que se repone a {@code replenishRate} por segundo.
+ */
+class GcraBucket {
+
+    private final AtomicLong fullAt;
+
+    GcraBucket(long now) {
+        this.fullAt = new AtomicLong(now);
+    }
+
+    RateLimitDecision tryConsume(BucketPolicy policy, long now) {
+        long interval = policy.nanosPerToken();
+        long tolerance = interval * policy.burstCapacity();
+        long cost = interval * policy.requestedTokens();
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + cost;
+            long debt = next - now;
+            if (debt > tolerance) {
+                long remaining = Math.max(0L, (tolerance - (Math.max(current, now) - now)) / interval);
+                return new RateLimitDecision(false, remaining, debt - tolerance);
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return new RateLimitDecision(true, (tolerance - debt) / interval, 0L);
+            }
+        }
+    }
+}
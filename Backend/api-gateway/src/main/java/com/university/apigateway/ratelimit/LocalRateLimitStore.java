@@ -0,0 +1,47 @@
+package com.university.apigateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Buckets en memoria, uno por clave (ruta + usuario o IP), en una caché Caffeine con tamaño
+ * máximo: la memoria queda acotada aunque lleguen claves de muchas IPs distintas. Un bucket sin
+ * uso durante {@code idleExpiry} se descarta; al volver se crea lleno, que es el mismo estado
+ * que tendría si {@code idleExpiry} cubre el tiempo de reponer la ráfaga completa.
+ */
+public class LocalRateLimitStore implements RateLimitStore {
+
+    private final Cache<String, GcraBucket> buckets;
+    private final LongSupplier nanoTime;
+
+    public LocalRateLimitStore(long maxKeys, Duration idleExpiry) {
+        this(maxKeys, idleExpiry, System::nanoTime);
+    }
+
+    LocalRateLimitStore(long maxKeys, Duration idleExpiry, LongSupplier nanoTime) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleExpiry)
+                .build();
+        this.nanoTime = nanoTime;
+    }
+
+    @Override
+    public Mono<RateLimitDecision> tryConsume(String key, BucketPolicy policy) {
+        long now = nanoTime.getAsLong();
+        GcraBucket bucket = buckets.get(key, ignored -> new GcraBucket(now));
+        return Mono.just(bucket.tryConsume(policy, now));
+    }
+
+    public long size() {
+        return buckets.estimatedSize();
+    }
+
+    void cleanUp() {
+        buckets.cleanUp();
+    }
+}
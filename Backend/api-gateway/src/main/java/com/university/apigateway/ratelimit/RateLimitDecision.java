@@ -0,0 +1,11 @@
+package com.university.apigateway.ratelimit;
+
+/**
+ * Resultado de consumir fichas de un bucket.
+ *
+ * @param allowed         si la petición pasa
+ * @param remaining       fichas que quedan tras la petición
+ * @param retryAfterNanos espera hasta que la petición rechazada pasaría (0 si se permitió)
+ */
+public record RateLimitDecision(boolean allowed, long remaining, long retryAfterNanos) {
+}
@@ -0,0 +1,13 @@
+package com.university.apigateway.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Dónde viven los buckets. Por defecto {@link LocalRateLimitStore}, en memoria de cada
+ * instancia: con N gateways el límite efectivo es N veces el configurado. Para un límite
+ * global basta con registrar un bean de este tipo respaldado por un almacén compartido.
+ */
+public interface RateLimitStore {
+
+    Mono<RateLimitDecision> tryConsume(String key, BucketPolicy policy);
+}
@@ -0,0 +1,107 @@
+package com.university.apigateway.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code RateLimiter} de Spring Cloud Gateway con token buckets por ruta y clave, para el filtro
+ * {@code RequestRateLimiter}. Cada ruta define su límite con
+ * {@code token-bucket-rate-limiter.replenish-rate}, {@code .burst-capacity} y
+ * {@code .requested-tokens}; las rutas sin límite propio usan {@code defaultConfig}.
+ * <p>
+ * El filtro responde 429 al rechazar; aquí se agregan las cabeceras {@code X-RateLimit-*} y,
+ * en los rechazos, {@code Retry-After} con los segundos hasta que la petición pasaría.
+ */
+@Slf4j
+public class TokenBucketRateLimiter extends AbstractRateLimiter<TokenBucketRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "token-bucket-rate-limiter";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+
+    private final RateLimitStore store;
+    private final Config defaultConfig;
+    private final boolean enabled;
+    private final MeterRegistry meterRegistry;
+
+    public TokenBucketRateLimiter(RateLimitStore store, Config defaultConfig, boolean enabled,
+                                  ConfigurationService configurationService, MeterRegistry meterRegistry) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.store = store;
+        this.defaultConfig = defaultConfig;
+        this.enabled = enabled;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        if (!enabled) {
+            // Desactivado: las rutas conservan el filtro, pero todo pasa y sin cabeceras
+            return Mono.just(new Response(true, Map.of()));
+        }
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        BucketPolicy policy = config.toPolicy();
+        return store.tryConsume(routeId + ":" + id, policy)
+                .map(decision -> {
+                    Map<String, String> headers = new LinkedHashMap<>();
+                    headers.put(REMAINING_HEADER, Long.toString(decision.remaining()));
+                    headers.put(REPLENISH_RATE_HEADER, formatRate(policy.replenishRate()));
+                    headers.put(BURST_CAPACITY_HEADER, Integer.toString(policy.burstCapacity()));
+                    if (!decision.allowed()) {
+                        headers.put(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds(decision.retryAfterNanos())));
+                        rejected(routeId).increment();
+                        log.debug("Límite de peticiones excedido en la ruta {} para {}", routeId, id);
+                    }
+                    return new Response(decision.allowed(), headers);
+                });
+    }
+
+    private Counter rejected(String routeId) {
+        return Counter.builder("gateway.ratelimit.rejected")
+                .description("Peticiones rechazadas con 429 por el límite de la ruta")
+                .tag("route", routeId)
+                .register(meterRegistry);
+    }
+
+    private static long retryAfterSeconds(long nanos) {
+        return Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(nanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    private static String formatRate(double rate) {
+        return rate == Math.rint(rate) ? Long.toString((long) rate) : Double.toString(rate);
+    }
+
+    @Getter
+    @Setter
+    @Validated
+    public static class Config {
+
+        /** Fichas por segundo (peticiones sostenidas). */
+        private double replenishRate = 10;
+
+        /** Fichas acumulables: ráfaga permitida tras un periodo sin tráfico. */
+        @Min(1)
+        private int burstCapacity = 20;
+
+        @Min(1)
+        private int requestedTokens = 1;
+
+        BucketPolicy toPolicy() {
+            return new BucketPolicy(replenishRate, burstCapacity, requestedTokens);
+        }
+    }
+}
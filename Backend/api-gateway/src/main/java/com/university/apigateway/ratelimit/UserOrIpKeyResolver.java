@@ -0,0 +1,56 @@
+package com.university.apigateway.ratelimit;
+
+import com.university.common.security.JwtVerifier;
+import io.jsonwebtoken.JwtException;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Clave del límite de peticiones: el usuario del JWT ({@code user:<id>}, el mismo valor que
+ * {@code AuthenticationFilter} propaga en {@code X-User-Id}) o, si no hay un token válido, la IP
+ * del cliente ({@code ip:<dirección>}).
+ * <p>
+ * El token se verifica aquí en lugar de leer {@code X-User-Id}, que el cliente puede enviar en
+ * las rutas sin {@code AuthenticationFilter}; la verificación usa la caché de {@link JwtVerifier}.
+ */
+public class UserOrIpKeyResolver implements KeyResolver {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtVerifier jwtVerifier;
+    private final RemoteAddressResolver addressResolver;
+
+    public UserOrIpKeyResolver(JwtVerifier jwtVerifier, RemoteAddressResolver addressResolver) {
+        this.jwtVerifier = jwtVerifier;
+        this.addressResolver = addressResolver;
+    }
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        String userId = userId(exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+        if (userId != null) {
+            return Mono.just("user:" + userId);
+        }
+        InetSocketAddress address = addressResolver.resolve(exchange);
+        if (address == null) {
+            return Mono.just("ip:unknown");
+        }
+        return Mono.just("ip:" + (address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString()));
+    }
+
+    private String userId(String authorization) {
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        try {
+            return jwtVerifier.verify(authorization.substring(BEARER_PREFIX.length())).getSubject();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
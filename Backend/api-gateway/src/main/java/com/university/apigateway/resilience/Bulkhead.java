@@ -0,0 +1,41 @@
+package com.university.apigateway.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Límite de peticiones concurrentes de una ruta. No encola: si está lleno se rechaza al
+ * momento, para que una ruta lenta no retenga conexiones que necesitan las demás.
+ */
+public class Bulkhead {
+
+    private final int maxConcurrent;
+    private final AtomicInteger inUse = new AtomicInteger();
+
+    public Bulkhead(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inUse.get();
+            if (current >= maxConcurrent) {
+                return false;
+            }
+            if (inUse.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inUse.decrementAndGet();
+    }
+
+    public int getInUse() {
+        return inUse.get();
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+}
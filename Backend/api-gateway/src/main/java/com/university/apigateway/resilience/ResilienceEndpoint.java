@@ -0,0 +1,34 @@
+package com.university.apigateway.resilience;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/resilience}: circuit breaker, bulkhead y presupuesto de reintentos por ruta.
+ */
+@Component
+@Endpoint(id = "resilience")
+@RequiredArgsConstructor
+public class ResilienceEndpoint {
+
+    private final ResilienceRegistry registry;
+
+    @ReadOperation
+    public Map<String, Object> routes() {
+        Map<String, Object> routes = new LinkedHashMap<>();
+        registry.all().forEach((routeId, route) -> routes.put(routeId, route.snapshot()));
+        return routes;
+    }
+
+    @ReadOperation
+    public Map<String, Object> route(@Selector String routeId) {
+        RouteResilience route = registry.get(routeId);
+        return route != null ? route.snapshot() : null;
+    }
+}
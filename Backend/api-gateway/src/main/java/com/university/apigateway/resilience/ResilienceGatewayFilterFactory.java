@@ -0,0 +1,207 @@
+package com.university.apigateway.resilience;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Filtro {@code Resilience} por ruta: bulkhead, circuit breaker con respuesta de fallback y
+ * reintentos limitados por un presupuesto. El tiempo máximo de respuesta de cada intento se
+ * configura en los metadatos de la ruta ({@code response-timeout}, {@code connect-timeout}).
+ * <p>
+ * Orden: el bulkhead cuenta la petición con todos sus reintentos; el circuit breaker registra
+ * un único resultado por petición. Solo se reintentan métodos idempotentes, ante 502/503/504 o
+ * errores de conexión y timeouts, y solo si el presupuesto de la ruta lo permite. Entre intentos
+ * el intercambio se restablece con {@link ServerWebExchangeUtils#reset(ServerWebExchange)}.
+ */
+@Slf4j
+@Component
+public class ResilienceGatewayFilterFactory extends AbstractGatewayFilterFactory<ResilienceGatewayFilterFactory.Config> {
+
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS = Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS);
+    private static final Set<HttpStatus> RETRYABLE_STATUSES =
+            Set.of(HttpStatus.BAD_GATEWAY, HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.GATEWAY_TIMEOUT);
+
+    private final ResilienceRegistry registry;
+    private final ObjectMapper objectMapper;
+
+    public ResilienceGatewayFilterFactory(ResilienceRegistry registry, ObjectMapper objectMapper) {
+        super(Config.class);
+        this.registry = registry;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        RouteResilience route = registry.register(config.getRouteId(), config);
+        GatewayFilter retry = config.getRetries() > 0 ? retryFilter(route) : null;
+
+        GatewayFilter filter = (exchange, chain) -> {
+            if (!route.getBulkhead().tryAcquire()) {
+                route.getRejectedByBulkhead().increment();
+                log.warn("Ruta {} saturada ({} peticiones en curso): se rechaza {}",
+                        route.getRouteId(), route.getBulkhead().getInUse(), exchange.getRequest().getPath());
+                return fallback(exchange, HttpStatus.SERVICE_UNAVAILABLE, "Servicio saturado, intente nuevamente", 1L);
+            }
+            CircuitBreaker circuitBreaker = route.getCircuitBreaker();
+            if (!circuitBreaker.tryAcquire()) {
+                route.getBulkhead().release();
+                route.getRejectedByCircuit().increment();
+                return fallback(exchange, HttpStatus.SERVICE_UNAVAILABLE, "Servicio temporalmente no disponible",
+                        circuitBreaker.secondsUntilHalfOpen());
+            }
+
+            route.getRetryBudget().onRequest();
+            Mono<Void> call = retry != null ? retry.filter(exchange, chain) : chain.filter(exchange);
+            return call
+                    .doOnSuccess(ignored -> {
+                        HttpStatusCode status = exchange.getResponse().getStatusCode();
+                        if (status != null && status.is5xxServerError()) {
+                            circuitBreaker.onFailure();
+                        } else {
+                            circuitBreaker.onSuccess();
+                        }
+                    })
+                    // Todo error cuenta, también con la respuesta ya enviada, en que no hay fallback
+                    .doOnError(error -> {
+                        circuitBreaker.onFailure();
+                        log.warn("Fallo en la ruta {} ({}): {}", route.getRouteId(),
+                                circuitBreaker.getState(), error.toString());
+                    })
+                    .onErrorResume(error -> !exchange.getResponse().isCommitted(), error ->
+                            isTimeout(error)
+                                ? fallback(exchange, HttpStatus.GATEWAY_TIMEOUT, "El servicio no respondió a tiempo", null)
+                                : fallback(exchange, HttpStatus.SERVICE_UNAVAILABLE, "Servicio temporalmente no disponible", 1L))
+                    .doOnCancel(circuitBreaker::onIgnored)
+                    .doFinally(signal -> route.getBulkhead().release());
+        };
+        // Primero en la ruta: el bulkhead y el circuito envuelven los reintentos y el resto de filtros
+        return new OrderedGatewayFilter(filter, config.getOrder()) {
+            @Override
+            public String toString() {
+                return ResilienceGatewayFilterFactory.this.name() + " " + route.snapshot();
+            }
+        };
+    }
+
+    private GatewayFilter retryFilter(RouteResilience route) {
+        Config config = route.getConfig();
+        Duration backoff = config.getRetryBackoff();
+
+        return (exchange, chain) -> {
+            // Reintentos ya hechos en esta petición, sumando los de estado y los de error
+            AtomicInteger retries = new AtomicInteger();
+            return Mono.defer(() -> chain.filter(exchange))
+                    .repeatWhen(completions -> completions
+                            .takeWhile(ignored -> isRetryableStatus(exchange) && allowRetry(route, exchange, retries))
+                            .delayElements(backoff)
+                            .doOnNext(ignored -> ServerWebExchangeUtils.reset(exchange)))
+                    .retryWhen(Retry.fixedDelay(config.getRetries(), backoff)
+                            .filter(error -> isRetryableError(error) && allowRetry(route, exchange, retries))
+                            .doBeforeRetry(signal -> ServerWebExchangeUtils.reset(exchange))
+                            .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                    .then();
+        };
+    }
+
+    private boolean allowRetry(RouteResilience route, ServerWebExchange exchange, AtomicInteger retries) {
+        if (!IDEMPOTENT_METHODS.contains(exchange.getRequest().getMethod())
+                || retries.get() >= route.getConfig().getRetries()) {
+            return false;
+        }
+        if (!route.getRetryBudget().tryWithdraw()) {
+            route.getRetriesDenied().increment();
+            log.debug("Presupuesto de reintentos agotado en la ruta {}", route.getRouteId());
+            return false;
+        }
+        retries.incrementAndGet();
+        route.getRetries().increment();
+        return true;
+    }
+
+    private static boolean isRetryableStatus(ServerWebExchange exchange) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        return status != null && RETRYABLE_STATUSES.contains(HttpStatus.resolve(status.value()));
+    }
+
+    private static boolean isRetryableError(Throwable error) {
+        return isTimeout(error) || error instanceof IOException || error.getCause() instanceof IOException;
+    }
+
+    private static boolean isTimeout(Throwable error) {
+        return error instanceof TimeoutException || error.getCause() instanceof TimeoutException;
+    }
+
+    private Mono<Void> fallback(ServerWebExchange exchange, HttpStatus status, String message, Long retryAfterSeconds) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        if (retryAfterSeconds != null) {
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", status.value());
+        body.put("message", message);
+        body.put("details", status.getReasonPhrase());
+        body.put("timestamp", LocalDateTime.now().withNano(0).toString());
+        body.put("path", exchange.getRequest().getPath().value());
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(body);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+        } catch (JsonProcessingException e) {
+            return response.setComplete();
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Config implements HasRouteId {
+
+        private String routeId;
+        private int order = 0;
+
+        /** Peticiones concurrentes permitidas en la ruta. */
+        private int maxConcurrent = 200;
+
+        /** Porcentaje de fallos (5xx, timeouts, errores de conexión) que abre el circuito. */
+        private int failureRateThreshold = 50;
+        private int slidingWindowSize = 20;
+        private int minimumCalls = 10;
+        private Duration openDuration = Duration.ofSeconds(10);
+        private int halfOpenCalls = 3;
+
+        /** Reintentos por petición (0 = sin reintentos). */
+        private int retries = 0;
+        private Duration retryBackoff = Duration.ofMillis(50);
+        /** Fracción del tráfico que pueden sumar los reintentos. */
+        private double retryBudgetRatio = 0.2;
+        private double retryMinPerSecond = 1.0;
+    }
+}
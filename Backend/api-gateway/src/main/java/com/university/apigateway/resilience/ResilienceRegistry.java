@@ -0,0 +1,35 @@
+package com.university.apigateway.resilience;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estado de resiliencia por ruta, compartido por el filtro y el endpoint de actuator.
+ * Al refrescar las rutas se crea un estado nuevo con la configuración vigente.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResilienceRegistry {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteResilience> routes = new ConcurrentHashMap<>();
+
+    public RouteResilience register(String routeId, ResilienceGatewayFilterFactory.Config config) {
+        RouteResilience route = new RouteResilience(routeId, config, meterRegistry, System::nanoTime);
+        routes.put(routeId, route);
+        return route;
+    }
+
+    public RouteResilience get(String routeId) {
+        return routes.get(routeId);
+    }
+
+    public Map<String, RouteResilience> all() {
+        return new TreeMap<>(routes);
+    }
+}
@@ -0,0 +1,57 @@
+package com.university.apigateway.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Presupuesto de reintentos de una ruta (token bucket). Cada petición deposita {@code ratio}
+ * fichas y cada reintento gasta una, así que los reintentos nunca superan esa fracción del
+ * tráfico más un mínimo por segundo para rutas con poco volumen. Durante una degradación del
+ * servicio los reintentos se agotan en lugar de multiplicar la carga.
+ */
+public class RetryBudget {
+
+    private final double ratio;
+    private final double minPerSecond;
+    private final double capacity;
+    private final LongSupplier nanoTime;
+
+    private double tokens;
+    private long lastRefill;
+
+    public RetryBudget(double ratio, double minPerSecond, LongSupplier nanoTime) {
+        this.ratio = ratio;
+        this.minPerSecond = minPerSecond;
+        // Ráfaga máxima: lo que se acumula en ~10 s de mínimo, y al menos 10 reintentos
+        this.capacity = Math.max(10.0, minPerSecond * 10);
+        this.nanoTime = nanoTime;
+        this.tokens = capacity;
+        this.lastRefill = nanoTime.getAsLong();
+    }
+
+    public synchronized void onRequest() {
+        refill();
+        tokens = Math.min(capacity, tokens + ratio);
+    }
+
+    public synchronized boolean tryWithdraw() {
+        refill();
+        if (tokens < 1.0) {
+            return false;
+        }
+        tokens -= 1.0;
+        return true;
+    }
+
+    public synchronized double getTokens() {
+        refill();
+        return tokens;
+    }
+
+    private void refill() {
+        long now = nanoTime.getAsLong();
+        double seconds = (double) (now - lastRefill) / TimeUnit.SECONDS.toNanos(1);
+        lastRefill = now;
+        tokens = Math.min(capacity, tokens + seconds * minPerSecond);
+    }
+}
@@ -0,0 +1,91 @@
+package com.university.apigateway.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Bulkhead, circuit breaker y presupuesto de reintentos de una ruta, con sus contadores.
+ */
+@Getter
+public class RouteResilience {
+
+    public static final String REJECTED_BULKHEAD = "bulkhead";
+    public static final String REJECTED_CIRCUIT_OPEN = "circuit-open";
+
+    private final String routeId;
+    private final ResilienceGatewayFilterFactory.Config config;
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final RetryBudget retryBudget;
+
+    private final Counter rejectedByBulkhead;
+    private final Counter rejectedByCircuit;
+    private final Counter retries;
+    private final Counter retriesDenied;
+
+    public RouteResilience(String routeId, ResilienceGatewayFilterFactory.Config config,
+                           MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.routeId = routeId;
+        this.config = config;
+        this.bulkhead = new Bulkhead(config.getMaxConcurrent());
+        this.circuitBreaker = new CircuitBreaker(config.getFailureRateThreshold(), config.getSlidingWindowSize(),
+                config.getMinimumCalls(), config.getOpenDuration().toNanos(), config.getHalfOpenCalls(), nanoTime);
+        this.retryBudget = new RetryBudget(config.getRetryBudgetRatio(), config.getRetryMinPerSecond(), nanoTime);
+
+        this.rejectedByBulkhead = rejected(meterRegistry, REJECTED_BULKHEAD);
+        this.rejectedByCircuit = rejected(meterRegistry, REJECTED_CIRCUIT_OPEN);
+        this.retries = retries(meterRegistry, "attempted");
+        this.retriesDenied = retries(meterRegistry, "budget-exhausted");
+    }
+
+    /**
+     * Estado actual para el endpoint {@code /actuator/resilience}.
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> circuit = new LinkedHashMap<>();
+        circuit.put("state", circuitBreaker.getState());
+        circuit.put("failureRate", circuitBreaker.getFailureRate());
+        circuit.put("failureRateThreshold", config.getFailureRateThreshold());
+        circuit.put("openDuration", config.getOpenDuration().toString());
+        circuit.put("rejected", (long) rejectedByCircuit.count());
+
+        Map<String, Object> bulkheadState = new LinkedHashMap<>();
+        bulkheadState.put("inUse", bulkhead.getInUse());
+        bulkheadState.put("maxConcurrent", bulkhead.getMaxConcurrent());
+        bulkheadState.put("rejected", (long) rejectedByBulkhead.count());
+
+        Map<String, Object> retry = new LinkedHashMap<>();
+        retry.put("maxRetries", config.getRetries());
+        retry.put("budgetTokens", Math.floor(retryBudget.getTokens() * 100) / 100);
+        retry.put("budgetRatio", config.getRetryBudgetRatio());
+        retry.put("attempted", (long) retries.count());
+        retry.put("budgetExhausted", (long) retriesDenied.count());
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("circuitBreaker", circuit);
+        snapshot.put("bulkhead", bulkheadState);
+        snapshot.put("retry", retry);
+        return snapshot;
+    }
+
+    private Counter rejected(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("gateway.resilience.rejected")
+                .description("Peticiones rechazadas sin llamar al servicio")
+                .tag("route", routeId)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private Counter retries(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("gateway.resilience.retries")
+                .description("Reintentos por ruta: realizados o denegados por el presupuesto")
+                .tag("route", routeId)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
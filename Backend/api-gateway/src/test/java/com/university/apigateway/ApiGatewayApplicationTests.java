@@ -10,6 +10,7 @@ import org.springframework.boot.test.context.SpringBootTest;
                 "eureka.client.enabled=false",
                 "jwt.secret=test-secret-key-for-testing-purposes-only",
                 "jwt.expiration=3600000",
+                "spring.kafka.listener.auto-startup=false",
                 "server.port=0"
         }
 )
@@ -0,0 +1,121 @@
+package com.university.apigateway.bff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FacultadDetalleGatewayFilterFactoryTest {
+
+    private static final String PATH = "/api/v1/bff/facultades/1";
+    private static final String FACULTAD = "{\"facultadId\":1,\"nombre\":\"Ingeniería\",\"cantidadCarreras\":2}";
+    private static final String CARRERAS = "[{\"carreraId\":1,\"activo\":true},{\"carreraId\":2,\"activo\":false},"
+            + "{\"carreraId\":3,\"activo\":true}]";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void filter_BothParts_MergesActiveCareersWithCountsAndETag() throws Exception {
+        GatewayFilter filter = filter(Map.of(
+                "/facultades/1", json(HttpStatus.OK, FACULTAD, "max-age=0, must-revalidate, s-maxage=30"),
+                "/carreras/facultad/1", json(HttpStatus.OK, CARRERAS, "max-age=0, must-revalidate, s-maxage=10")));
+
+        MockServerWebExchange exchange = exchange(null);
+        filter.filter(exchange, ignored -> Mono.empty()).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        JsonNode body = objectMapper.readTree(exchange.getResponse().getBodyAsString().block());
+        assertThat(body.get("facultad").get("nombre").asText()).isEqualTo("Ingeniería");
+        assertThat(body.get("carreras")).hasSize(2);
+        assertThat(body.get("conteos").get("carrerasActivas").asInt()).isEqualTo(2);
+        assertThat(body.get("conteos").get("carrerasTotales").asInt()).isEqualTo(3);
+        assertThat(body.get("parcial").asBoolean()).isFalse();
+        assertThat(exchange.getResponse().getHeaders().getCacheControl())
+                .isEqualTo("max-age=0, must-revalidate, s-maxage=10");
+
+        String eTag = exchange.getResponse().getHeaders().getETag();
+        MockServerWebExchange conditional = exchange(eTag);
+        filter.filter(conditional, ignored -> Mono.empty()).block();
+        assertThat(conditional.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void filter_CareersTimeout_ReturnsPartialResponseWithoutCaching() throws Exception {
+        GatewayFilter filter = filter(Map.of(
+                "/facultades/1", json(HttpStatus.OK, FACULTAD, "max-age=0, must-revalidate, s-maxage=30"),
+                "/carreras/facultad/1", Mono.never()));
+
+        MockServerWebExchange exchange = exchange(null);
+        filter.filter(exchange, ignored -> Mono.empty()).block(Duration.ofSeconds(5));
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(exchange.getResponse().getHeaders().getCacheControl()).isEqualTo("no-store");
+        assertThat(exchange.getResponse().getHeaders().getFirst(FacultadDetalleGatewayFilterFactory.HEADER_PARTIAL))
+                .isEqualTo("true");
+        JsonNode body = objectMapper.readTree(exchange.getResponse().getBodyAsString().block());
+        assertThat(body.get("parcial").asBoolean()).isTrue();
+        assertThat(body.get("carreras").isNull()).isTrue();
+        assertThat(body.get("conteos").get("carrerasActivas").asInt()).isEqualTo(2);
+        assertThat(body.get("omitidos").get(0).get("parte").asText()).isEqualTo("carreras");
+        assertThat(body.get("omitidos").get(0).get("motivo").asText()).isEqualTo(LegResult.ERROR_TIMEOUT);
+    }
+
+    @Test
+    void filter_UnknownFaculty_Returns404() {
+        GatewayFilter filter = filter(Map.of(
+                "/facultades/1", json(HttpStatus.NOT_FOUND, "{\"status\":404}", null),
+                "/carreras/facultad/1", json(HttpStatus.OK, "[]", null)));
+
+        MockServerWebExchange exchange = exchange(null);
+        filter.filter(exchange, ignored -> Mono.empty()).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(exchange.getResponse().getHeaders().getETag()).isNull();
+    }
+
+    private GatewayFilter filter(Map<String, Mono<ClientResponse>> responses) {
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://matriculas-service")
+                .exchangeFunction(request -> responses.get(request.url().getPath()))
+                .build();
+        FacultadDetalleGatewayFilterFactory factory =
+                new FacultadDetalleGatewayFilterFactory(new CatalogClient(webClient), objectMapper);
+        FacultadDetalleGatewayFilterFactory.Config config = new FacultadDetalleGatewayFilterFactory.Config();
+        config.setTimeout(Duration.ofMillis(200));
+        return factory.apply(config);
+    }
+
+    private static Mono<ClientResponse> json(HttpStatus status, String body, String cacheControl) {
+        ClientResponse.Builder response = ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body);
+        if (cacheControl != null) {
+            response.header(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+        return Mono.just(response.build());
+    }
+
+    private static MockServerWebExchange exchange(String ifNoneMatch) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get(PATH);
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockServerWebExchange exchange = MockServerWebExchange.from(request.build());
+        ServerWebExchangeUtils.putUriTemplateVariables(exchange, Map.of("id", "1"));
+        return exchange;
+    }
+}
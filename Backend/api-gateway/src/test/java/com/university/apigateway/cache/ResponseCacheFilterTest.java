@@ -0,0 +1,279 @@
+package com.university.apigateway.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheFilterTest {
+
+    private static final String ROUTE_ID = "matriculas-facultades";
+    private static final String PATH = "/api/v1/matriculas/facultades?page=0";
+    private static final String ETAG = "\"7-abc\"";
+    private static final String BODY = "[{\"id\":1,\"nombre\":\"Ingeniería\"}]";
+    private static final String SHARED_MAX_AGE = "max-age=0, must-revalidate, s-maxage=60";
+    private static final String EXPIRES = "Thu, 01 Jan 2026 00:01:00 GMT";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResponseCache cache = new ResponseCache(1024 * 1024, 64 * 1024, Duration.ofMinutes(10), meterRegistry);
+    private final ResponseCacheFilter filter = new ResponseCacheFilter(cache, List.of(ROUTE_ID));
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final AtomicReference<String> forwardedIfNoneMatch = new AtomicReference<>();
+
+    @Test
+    void filter_FreshEntry_ServedWithoutCallingUpstream() {
+        GatewayFilterChain upstream = upstream(SHARED_MAX_AGE, Mono.empty());
+
+        MockServerWebExchange first = exchange(PATH);
+        filter.filter(first, upstream).block();
+        MockServerWebExchange second = exchange(PATH);
+        filter.filter(second, upstream).block();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(second.getResponse().getHeaders().getFirst(ResponseCacheFilter.HEADER_CACHE)).isEqualTo("HIT");
+        assertThat(second.getResponse().getHeaders().getETag()).isEqualTo(ETAG);
+        assertThat(meterRegistry.get("gateway.cache.upstream.saved").tag("route", ROUTE_ID).counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("gateway.cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    void filter_NoCacheWithETag_RevalidatesAndServesStoredBodyOn304() {
+        GatewayFilterChain upstream = upstream("no-cache", Mono.empty());
+
+        filter.filter(exchange(PATH), upstream).block();
+        MockServerWebExchange second = exchange(PATH);
+        filter.filter(second, upstream).block();
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(forwardedIfNoneMatch.get()).isEqualTo(ETAG);
+        assertThat(second.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(second.getResponse().getHeaders().getFirst(ResponseCacheFilter.HEADER_CACHE)).isEqualTo("REVALIDATED");
+    }
+
+    @Test
+    void filter_Revalidated304_UpdatesStoredCacheHeaders() {
+        GatewayFilterChain upstream = revalidatingUpstream(SHARED_MAX_AGE, "\"8-def\"");
+
+        filter.filter(exchange(PATH), upstream).block();
+        MockServerWebExchange revalidated = exchange(PATH);
+        filter.filter(revalidated, upstream).block();
+        MockServerWebExchange hit = exchange(PATH);
+        filter.filter(hit, upstream).block();
+
+        assertThat(upstreamCalls).hasValue(2);
+        for (MockServerWebExchange served : List.of(revalidated, hit)) {
+            HttpHeaders headers = served.getResponse().getHeaders();
+            assertThat(headers.getCacheControl()).isEqualTo(SHARED_MAX_AGE);
+            assertThat(headers.getETag()).isEqualTo("\"8-def\"");
+            assertThat(headers.getFirst(HttpHeaders.EXPIRES)).isEqualTo(EXPIRES);
+        }
+        assertThat(hit.getResponse().getHeaders().getFirst(ResponseCacheFilter.HEADER_CACHE)).isEqualTo("HIT");
+        assertThat(cache.get(PATH).eTag()).isEqualTo("\"8-def\"");
+    }
+
+    @Test
+    void filter_Revalidated304Private_ServesBodyAndEvictsEntry() {
+        GatewayFilterChain upstream = revalidatingUpstream("private", null);
+
+        filter.filter(exchange(PATH), upstream).block();
+        MockServerWebExchange revalidated = exchange(PATH);
+        filter.filter(revalidated, upstream).block();
+
+        assertThat(revalidated.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(revalidated.getResponse().getHeaders().getCacheControl()).isEqualTo("private");
+        assertThat(cache.get(PATH)).isNull();
+    }
+
+    @Test
+    void filter_ConcurrentMisses_ShareOneUpstreamCall() {
+        Sinks.Empty<Void> release = Sinks.empty();
+        GatewayFilterChain upstream = upstream(SHARED_MAX_AGE, release.asMono());
+
+        MockServerWebExchange first = exchange(PATH);
+        MockServerWebExchange second = exchange(PATH);
+        Mono<Void> both = Mono.when(filter.filter(first, upstream), filter.filter(second, upstream));
+        Mono.delay(Duration.ofMillis(50)).subscribe(tick -> release.tryEmitEmpty());
+        both.block(Duration.ofSeconds(5));
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(first.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(second.getResponse().getHeaders().getFirst(ResponseCacheFilter.HEADER_CACHE)).isEqualTo("COALESCED");
+    }
+
+    @Test
+    void filter_AfterInvalidation_CallsUpstreamAgain() {
+        GatewayFilterChain upstream = upstream(SHARED_MAX_AGE, Mono.empty());
+        filter.filter(exchange(PATH), upstream).block();
+
+        cache.invalidateAll();
+        filter.filter(exchange(PATH), upstream).block();
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void filter_ClientETagMatches_Returns304FromCache() {
+        GatewayFilterChain upstream = upstream(SHARED_MAX_AGE, Mono.empty());
+        filter.filter(exchange(PATH), upstream).block();
+
+        MockServerWebExchange conditional = MockServerWebExchange.from(
+                MockServerHttpRequest.get(PATH).header(HttpHeaders.IF_NONE_MATCH, ETAG));
+        conditional.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route());
+        filter.filter(conditional, upstream).block();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(conditional.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void filter_NoStoreOrAuthorization_NotCached() {
+        GatewayFilterChain noStore = upstream("no-store", Mono.empty());
+        filter.filter(exchange(PATH), noStore).block();
+        filter.filter(exchange(PATH), noStore).block();
+
+        GatewayFilterChain upstream = upstream(SHARED_MAX_AGE, Mono.empty());
+        for (int i = 0; i < 2; i++) {
+            MockServerWebExchange authenticated = MockServerWebExchange.from(
+                    MockServerHttpRequest.get("/api/v1/matriculas/facultades").header(HttpHeaders.AUTHORIZATION, "Bearer x"));
+            authenticated.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route());
+            filter.filter(authenticated, upstream).block();
+        }
+
+        assertThat(upstreamCalls).hasValue(4);
+        assertThat(cache.get(PATH)).isNull();
+    }
+
+    @Test
+    void filter_NdjsonStream_PassesThroughWithoutBuffering() {
+        AtomicInteger written = new AtomicInteger();
+        GatewayFilterChain ndjson = exchange -> {
+            upstreamCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setCacheControl(SHARED_MAX_AGE);
+            response.getHeaders().setContentType(MediaType.APPLICATION_NDJSON);
+            return response.writeWith(Flux.just("{\"id\":1}\n", "{\"id\":2}\n")
+                    .map(line -> response.bufferFactory().wrap(line.getBytes(StandardCharsets.UTF_8)))
+                    .doOnNext(buffer -> written.incrementAndGet()));
+        };
+
+        MockServerWebExchange first = exchange(PATH);
+        filter.filter(first, ndjson).block();
+        filter.filter(exchange(PATH), ndjson).block();
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(written).hasValue(4);
+        assertThat(first.getResponse().getBodyAsString().block()).isEqualTo("{\"id\":1}\n{\"id\":2}\n");
+        assertThat(first.getResponse().getHeaders().getFirst(ResponseCacheFilter.HEADER_CACHE)).isEqualTo("MISS");
+    }
+
+    @Test
+    void filter_BodyLargerThanMaxEntry_PassesThroughComplete() {
+        ResponseCache small = new ResponseCache(1024 * 1024, 16, Duration.ofMinutes(10), meterRegistry);
+        ResponseCacheFilter bounded = new ResponseCacheFilter(small, List.of(ROUTE_ID));
+        // Sin Content-Length: el límite se detecta al acumular
+        GatewayFilterChain chunked = exchange -> {
+            upstreamCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setCacheControl(SHARED_MAX_AGE);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response.writeWith(Flux.just(BODY.substring(0, 10), BODY.substring(10))
+                    .map(part -> response.bufferFactory().wrap(part.getBytes(StandardCharsets.UTF_8))));
+        };
+
+        MockServerWebExchange first = exchange(PATH);
+        bounded.filter(first, chunked).block();
+        bounded.filter(exchange(PATH), chunked).block();
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(first.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(small.get(PATH)).isNull();
+    }
+
+    /**
+     * Simula al servicio: 304 si el If-None-Match coincide, o el cuerpo con ETag y el Cache-Control indicado.
+     */
+    private GatewayFilterChain upstream(String cacheControl, Mono<Void> delay) {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            String ifNoneMatch = exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+            forwardedIfNoneMatch.set(ifNoneMatch);
+            ServerHttpResponse response = exchange.getResponse();
+            return delay.then(Mono.defer(() -> {
+                response.getHeaders().setETag(ETAG);
+                response.getHeaders().setCacheControl(cacheControl);
+                if (ETAG.equals(ifNoneMatch)) {
+                    response.setStatusCode(HttpStatus.NOT_MODIFIED);
+                    return response.writeWith(Flux.empty());
+                }
+                response.setStatusCode(HttpStatus.OK);
+                response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                return response.writeWith(Mono.just(response.bufferFactory().wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+            }));
+        };
+    }
+
+    /**
+     * Primero un 200 con {@code no-cache}; después, a cada revalidación, un 304 con el
+     * {@code Cache-Control} indicado, {@code Expires} y, si se da, un ETag nuevo.
+     */
+    private GatewayFilterChain revalidatingUpstream(String cacheControlOn304, String eTagOn304) {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            if (exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH) != null) {
+                response.setStatusCode(HttpStatus.NOT_MODIFIED);
+                response.getHeaders().setCacheControl(cacheControlOn304);
+                response.getHeaders().set(HttpHeaders.EXPIRES, EXPIRES);
+                if (eTagOn304 != null) {
+                    response.getHeaders().setETag(eTagOn304);
+                }
+                return response.writeWith(Flux.empty());
+            }
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setETag(ETAG);
+            response.getHeaders().setCacheControl("no-cache");
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+        };
+    }
+
+    private static MockServerWebExchange exchange(String path) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route());
+        return exchange;
+    }
+
+    private static Route route() {
+        return Route.async()
+                .id(ROUTE_ID)
+                .uri("lb://matriculas-service")
+                .predicate(exchange -> true)
+                .build();
+    }
+}
@@ -0,0 +1,97 @@
+package com.university.apigateway.filter;
+
+import com.university.common.security.InternalIdentity;
+import com.university.common.security.InternalIdentitySigner;
+import com.university.common.security.JwtVerifier;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InternalIdentityFilterTest {
+
+    private static final String JWT_SECRET = "test-secret-key-must-be-at-least-256-bits-long-for-hs256-algorithm";
+    private static final String IDENTITY_KEY = "clave-interna-de-pruebas-de-al-menos-32-bytes";
+
+    private final JwtVerifier jwtVerifier = new JwtVerifier(JWT_SECRET, 100);
+    private final InternalIdentitySigner signer = new InternalIdentitySigner(IDENTITY_KEY, Duration.ofSeconds(30));
+    private final AtomicReference<ServerHttpRequest> forwarded = new AtomicReference<>();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.set(exchange.getRequest());
+        return Mono.empty();
+    };
+
+    @Test
+    void filter_ValidJwt_AddsSignedIdentity() {
+        InternalIdentityFilter filter = new InternalIdentityFilter(jwtVerifier, provider(signer));
+
+        filter.filter(exchange("Bearer " + jwt(), null), chain).block();
+
+        String header = forwarded.get().getHeaders().getFirst(InternalIdentity.HEADER);
+        InternalIdentity identity = signer.verify(header).orElseThrow();
+        assertThat(identity.subject()).isEqualTo("john@test.com");
+        assertThat(identity.userId()).isEqualTo(7L);
+        assertThat(identity.role()).isEqualTo("ROLE_ADMIN");
+    }
+
+    @Test
+    void filter_ClientSuppliedIdentity_IsRemoved() {
+        InternalIdentityFilter filter = new InternalIdentityFilter(jwtVerifier, provider(signer));
+
+        filter.filter(exchange("Bearer token-invalido", "v1.falsa.firma"), chain).block();
+
+        assertThat(forwarded.get().getHeaders().containsKey(InternalIdentity.HEADER)).isFalse();
+    }
+
+    @Test
+    void filter_IdentityModeDisabled_OnlyStripsHeader() {
+        InternalIdentityFilter filter = new InternalIdentityFilter(jwtVerifier, provider(null));
+
+        filter.filter(exchange("Bearer " + jwt(), "v1.falsa.firma"), chain).block();
+
+        assertThat(forwarded.get().getHeaders().containsKey(InternalIdentity.HEADER)).isFalse();
+        assertThat(forwarded.get().getHeaders().getFirst(HttpHeaders.AUTHORIZATION)).startsWith("Bearer ");
+    }
+
+    private static MockServerWebExchange exchange(String authorization, String identity) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/v1/matriculas/facultades")
+                .header(HttpHeaders.AUTHORIZATION, authorization);
+        if (identity != null) {
+            request.header(InternalIdentity.HEADER, identity);
+        }
+        return MockServerWebExchange.from(request);
+    }
+
+    private static ObjectProvider<InternalIdentitySigner> provider(InternalIdentitySigner signer) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        if (signer != null) {
+            beanFactory.addBean("internalIdentitySigner", signer);
+        }
+        return beanFactory.getBeanProvider(InternalIdentitySigner.class);
+    }
+
+    private static String jwt() {
+        return Jwts.builder()
+                .subject("john@test.com")
+                .claim("userId", 7L)
+                .claim("email", "john@test.com")
+                .claim("role", "ROLE_ADMIN")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(JWT_SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
@@ -0,0 +1,42 @@
+package com.university.apigateway.latency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+/**
+ * Coste por petición del registro (lo que añade el filtro además de la cadena): dos lecturas
+ * de reloj, una búsqueda en el mapa y dos escrituras en Recorder. Solo informa la medición, que
+ * depende de la máquina; excluido por defecto: {@code mvn test -Dgroups=benchmark -DexcludedGroups=}.
+ */
+@Slf4j
+@Tag("benchmark")
+class RouteLatencyRegistryBenchmarkTest {
+
+    private final RouteLatencyRegistry registry =
+            new RouteLatencyRegistry(Duration.ofSeconds(30), 3, new SimpleMeterRegistry(), false);
+
+    @Test
+    void record_OverheadPerRequest() {
+        String[] routes = {"auth-login", "matriculas-service", "matriculas-facultades", "audit-service"};
+        int[] statuses = {200, 200, 200, 404, 503};
+        for (int i = 0; i < 500_000; i++) {
+            long started = System.nanoTime();
+            registry.record(routes[i & 3], statuses[i % 5], System.nanoTime() - started + 1_000_000);
+        }
+
+        int iterations = 2_000_000;
+        long begin = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            long started = System.nanoTime();
+            registry.record(routes[i & 3], statuses[i % 5], System.nanoTime() - started + 1_000_000);
+        }
+        double nanosPerRequest = (double) (System.nanoTime() - begin) / iterations;
+
+        log.info("RouteLatencyRegistry.record: {} ns por petición ({} iteraciones)",
+                String.format("%.1f", nanosPerRequest), iterations);
+    }
+}
@@ -0,0 +1,84 @@
+package com.university.apigateway.latency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.data.Percentage.withPercentage;
+
+class RouteLatencyRegistryTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RouteLatencyRegistry registry =
+            new RouteLatencyRegistry(Duration.ofSeconds(30), 3, meterRegistry, false);
+
+    @Test
+    void record_PercentilesPerRouteAndStatus_SlideOutOfTheWindow() {
+        for (int i = 1; i <= 1000; i++) {
+            registry.record("matriculas-service", 200, TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        registry.record("matriculas-service", 503, TimeUnit.SECONDS.toNanos(2));
+        registry.rotate();
+
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, Object>> statuses =
+                (Map<String, Map<String, Object>>) registry.snapshot("matriculas-service").get("statuses");
+        assertThat((double) statuses.get("200").get("p50Ms")).isCloseTo(500.0, withPercentage(1));
+        assertThat((double) statuses.get("200").get("p99Ms")).isCloseTo(990.0, withPercentage(1));
+        assertThat(statuses.get("503").get("count")).isEqualTo(1L);
+        assertThat(meterRegistry.get("gateway.route.latency")
+                .tags("route", "matriculas-service", "status", "all", "quantile", "0.99").gauge().value())
+                .isCloseTo(0.99, withPercentage(1));
+        // 1001 peticiones en el único intervalo cerrado (10 s)
+        assertThat(meterRegistry.get("gateway.route.requests.rate")
+                .tags("route", "matriculas-service", "status", "all").gauge().value()).isEqualTo(100.1);
+
+        // Tras tres intervalos sin tráfico la ventana queda vacía
+        registry.rotate();
+        registry.rotate();
+        registry.rotate();
+        assertThat(registry.snapshot("matriculas-service").get("count")).isEqualTo(0L);
+    }
+
+    @Test
+    void slowest_OrdersRoutesByP99AndSkipsIdleOnes() {
+        registry.record("auth-login", 200, TimeUnit.MILLISECONDS.toNanos(80));
+        registry.record("matriculas-facultades", 200, TimeUnit.MILLISECONDS.toNanos(5));
+        registry.record("audit-service", 200, TimeUnit.MILLISECONDS.toNanos(300));
+        registry.rotate();
+        registry.record("email-service", 200, TimeUnit.SECONDS.toNanos(1));
+
+        List<Map<String, Object>> slowest = registry.slowest(2);
+
+        assertThat(slowest).extracting(entry -> entry.get("route")).containsExactly("audit-service", "auth-login");
+    }
+
+    @Test
+    void filter_CancelledRequest_RecordedAsClientClosed() {
+        RouteLatencyFilter filter = new RouteLatencyFilter(registry);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/audit").build());
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR,
+                Route.async().id("audit-service").uri("http://audit-service").predicate(e -> true).build());
+
+        filter.filter(exchange, ignored -> Mono.never()).subscribe().dispose();
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+        filter.filter(exchange, ignored -> Mono.empty()).block();
+        registry.rotate();
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> statuses = (Map<String, Object>) registry.snapshot("audit-service").get("statuses");
+        assertThat(statuses).containsOnlyKeys("200", Integer.toString(RouteLatencyFilter.STATUS_CLIENT_CLOSED));
+    }
+}
@@ -0,0 +1,154 @@
+package com.university.apigateway.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PowerOfTwoChoicesLoadBalancerTest {
+
+    private static final String SERVICE_ID = "matriculas-service";
+
+    private final ServiceInstance fast1 = instance("10.0.0.1");
+    private final ServiceInstance fast2 = instance("10.0.0.2");
+    private final ServiceInstance slow = instance("10.0.0.3");
+
+    // Reloj virtual (ns) compartido por el registro y la simulación
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final InstanceStatsRegistry stats =
+            new InstanceStatsRegistry(Duration.ofSeconds(2), Duration.ofSeconds(10), clock::get);
+
+    @Test
+    void choose_PenalizedInstance_LosesAgainstHealthyOne() {
+        PowerOfTwoChoicesLoadBalancer balancer = p2c(List.of(fast1, fast2));
+        long started = stats.onStart(fast1);
+        stats.onComplete(fast1, started, true, false);
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(chooseServer(balancer)).isEqualTo(fast2);
+        }
+
+        clock.addAndGet(Duration.ofSeconds(3).toNanos());
+        assertThat(stats.stats(fast1).isPenalized(clock.get())).isFalse();
+    }
+
+    @Test
+    void choose_PrefersLowerLatencyTimesInFlight() {
+        PowerOfTwoChoicesLoadBalancer balancer = p2c(List.of(fast1, slow));
+        sample(fast1, 5);
+        sample(slow, 50);
+        assertThat(chooseServer(balancer)).isEqualTo(fast1);
+
+        // 5 ms × 12 en curso ya cuesta más que 50 ms × 1
+        for (int i = 0; i < 11; i++) {
+            stats.onStart(fast1);
+        }
+        assertThat(chooseServer(balancer)).isEqualTo(slow);
+    }
+
+    /**
+     * Tres réplicas simuladas en tiempo virtual, cada una con 4 workers y cola FIFO; la tercera
+     * tarda 10 veces más (JIT frío o pausas de GC). Con 1000 peticiones/s, el round-robin le
+     * manda un tercio del tráfico y su cola crece sin límite; P2C la relega.
+     */
+    @Test
+    void simulation_SlowReplica_P2CImprovesTailLatencyOverRoundRobin() {
+        List<ServiceInstance> instances = List.of(fast1, fast2, slow);
+        Map<ServiceInstance, Long> serviceTimes = Map.of(fast1, ms(4), fast2, ms(4), slow, ms(40));
+
+        // P2C primero, con el registro vacío: no aprovecha lo medido durante el round-robin
+        long p2cP99 = p99(simulate(p2c(instances), serviceTimes));
+        long roundRobinP99 = p99(simulate(new RoundRobinLoadBalancer(
+                ServiceInstanceListSuppliers.toProvider(SERVICE_ID, instances.toArray(ServiceInstance[]::new)),
+                SERVICE_ID), serviceTimes));
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(p2cP99)).isLessThan(50);
+        assertThat(p2cP99).isLessThan(roundRobinP99 / 10);
+    }
+
+    private List<Long> simulate(ReactorServiceInstanceLoadBalancer balancer, Map<ServiceInstance, Long> serviceTimes) {
+        // Instante en que queda libre cada worker de cada réplica
+        Map<ServiceInstance, long[]> workers = new HashMap<>();
+        PriorityQueue<long[]> completions = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+        List<ServiceInstance> byIndex = new ArrayList<>(serviceTimes.keySet());
+        List<Long> latencies = new ArrayList<>();
+        long start = clock.get();
+
+        for (int i = 0; i < 3000; i++) {
+            long arrival = start + ms(1) * i;
+            while (!completions.isEmpty() && completions.peek()[0] <= arrival) {
+                long[] done = completions.poll();
+                clock.set(done[0]);
+                stats.onComplete(byIndex.get((int) done[1]), done[2], false, true);
+            }
+            clock.set(arrival);
+
+            ServiceInstance chosen = balancer.choose(new DefaultRequest<>()).block().getServer();
+            long startedAt = stats.onStart(chosen);
+            long[] freeAt = workers.computeIfAbsent(chosen, key -> new long[4]);
+            int worker = 0;
+            for (int w = 1; w < freeAt.length; w++) {
+                if (freeAt[w] < freeAt[worker]) {
+                    worker = w;
+                }
+            }
+            long finish = Math.max(arrival, freeAt[worker]) + serviceTimes.get(chosen);
+            freeAt[worker] = finish;
+            latencies.add(finish - arrival);
+            completions.add(new long[]{finish, byIndex.indexOf(chosen), startedAt});
+        }
+        while (!completions.isEmpty()) {
+            long[] done = completions.poll();
+            clock.set(done[0]);
+            stats.onComplete(byIndex.get((int) done[1]), done[2], false, true);
+        }
+        return latencies;
+    }
+
+    private PowerOfTwoChoicesLoadBalancer p2c(List<ServiceInstance> instances) {
+        return new PowerOfTwoChoicesLoadBalancer(SERVICE_ID,
+                ServiceInstanceListSuppliers.toProvider(SERVICE_ID, instances.toArray(ServiceInstance[]::new)),
+                stats, new Random(42));
+    }
+
+    private void sample(ServiceInstance instance, long latencyMs) {
+        long started = stats.onStart(instance);
+        clock.addAndGet(ms(latencyMs));
+        stats.onComplete(instance, started, false, true);
+    }
+
+    private static ServiceInstance chooseServer(PowerOfTwoChoicesLoadBalancer balancer) {
+        return balancer.choose(new DefaultRequest<>()).block().getServer();
+    }
+
+    private static long p99(List<Long> latencies) {
+        Long[] sorted = latencies.toArray(Long[]::new);
+        Arrays.sort(sorted, Collections.reverseOrder());
+        return sorted[latencies.size() / 100];
+    }
+
+    private static long ms(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    private static ServiceInstance instance(String host) {
+        return new DefaultServiceInstance(SERVICE_ID + "-" + host, SERVICE_ID, host, 8082, false);
+    }
+}
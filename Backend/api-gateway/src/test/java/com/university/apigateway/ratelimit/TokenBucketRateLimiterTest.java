@@ -0,0 +1,145 @@
+package com.university.apigateway.ratelimit;
+
+import com.university.common.security.JwtVerifier;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+
+    private static final String JWT_SECRET = "test-secret-key-must-be-at-least-256-bits-long-for-hs256-algorithm";
+    private static final String ROUTE_ID = "auth-login";
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final LocalRateLimitStore store = new LocalRateLimitStore(1000, Duration.ofMinutes(10), clock::get);
+    private final TokenBucketRateLimiter limiter = limiter(store);
+
+    @Test
+    void isAllowed_BurstExhausted_RejectsWithRetryAfterUntilRefilled() {
+        limiter.getConfig().put(ROUTE_ID, config(2, 5));
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(allowed("ip:10.0.0.1").isAllowed()).isTrue();
+        }
+        RateLimiter.Response rejected = allowed("ip:10.0.0.1");
+
+        assertThat(rejected.isAllowed()).isFalse();
+        assertThat(rejected.getHeaders())
+                .containsEntry(HttpHeaders.RETRY_AFTER, "1")
+                .containsEntry(TokenBucketRateLimiter.REMAINING_HEADER, "0")
+                .containsEntry(TokenBucketRateLimiter.BURST_CAPACITY_HEADER, "5");
+        // Otra clave tiene su propio bucket
+        assertThat(allowed("ip:10.0.0.2").isAllowed()).isTrue();
+
+        // A 2 fichas/s, en 500 ms vuelve a pasar una petición
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(allowed("ip:10.0.0.1").isAllowed()).isTrue();
+        assertThat(allowed("ip:10.0.0.1").isAllowed()).isFalse();
+    }
+
+    @Test
+    void isAllowed_ConcurrentRequestsOnOneKey_NeverExceedBurst() throws Exception {
+        limiter.getConfig().put(ROUTE_ID, config(1, 50));
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Void>> workers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            workers.add(CompletableFuture.runAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 100; i++) {
+                    if (allowed("user:john@test.com").isAllowed()) {
+                        granted.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        start.countDown();
+        CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+        assertThat(granted).hasValue(50);
+    }
+
+    @Test
+    void store_ManyDistinctKeys_StaysBounded() {
+        LocalRateLimitStore bounded = new LocalRateLimitStore(100, Duration.ofMinutes(10), clock::get);
+        BucketPolicy policy = new BucketPolicy(10, 20, 1);
+        for (int i = 0; i < 10_000; i++) {
+            bounded.tryConsume("auth-login:ip:10.0." + (i / 256) + "." + (i % 256), policy).block();
+        }
+        bounded.cleanUp();
+
+        assertThat(bounded.size()).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    void keyResolver_ValidJwt_UsesUserAndOtherwiseClientIp() {
+        RemoteAddressResolver fixedAddress = new RemoteAddressResolver() {
+            @Override
+            public InetSocketAddress resolve(ServerWebExchange exchange) {
+                return new InetSocketAddress("192.168.1.20", 51000);
+            }
+        };
+        UserOrIpKeyResolver resolver = new UserOrIpKeyResolver(new JwtVerifier(JWT_SECRET, 100), fixedAddress);
+
+        assertThat(resolver.resolve(exchange("Bearer " + jwt())).block()).isEqualTo("user:john@test.com");
+        assertThat(resolver.resolve(exchange("Bearer token-invalido")).block()).isEqualTo("ip:192.168.1.20");
+        assertThat(resolver.resolve(exchange(null)).block()).isEqualTo("ip:192.168.1.20");
+    }
+
+    private RateLimiter.Response allowed(String key) {
+        return limiter.isAllowed(ROUTE_ID, key).block();
+    }
+
+    private static TokenBucketRateLimiter limiter(RateLimitStore store) {
+        return new TokenBucketRateLimiter(store, config(10, 20), true, null, new SimpleMeterRegistry());
+    }
+
+    private static TokenBucketRateLimiter.Config config(double replenishRate, int burstCapacity) {
+        TokenBucketRateLimiter.Config config = new TokenBucketRateLimiter.Config();
+        config.setReplenishRate(replenishRate);
+        config.setBurstCapacity(burstCapacity);
+        return config;
+    }
+
+    private static MockServerWebExchange exchange(String authorization) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.post("/api/v1/auth/login");
+        if (authorization != null) {
+            request.header(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        return MockServerWebExchange.from(request);
+    }
+
+    private static String jwt() {
+        return Jwts.builder()
+                .subject("john@test.com")
+                .claim("userId", 7L)
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(JWT_SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
@@ -0,0 +1,204 @@
+package com.university.apigateway.resilience;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResilienceGatewayFilterFactoryTest {
+
+    private static final String ROUTE_ID = "matriculas-service";
+    private static final String PATH = "/api/v1/matriculas/estudiantes";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResilienceRegistry registry = new ResilienceRegistry(meterRegistry);
+    private final ResilienceGatewayFilterFactory factory =
+            new ResilienceGatewayFilterFactory(registry, new ObjectMapper());
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @Test
+    void filter_BulkheadFull_RejectsWithoutCallingUpstream() {
+        ResilienceGatewayFilterFactory.Config config = config();
+        config.setMaxConcurrent(1);
+        GatewayFilter filter = factory.apply(config);
+
+        Sinks.Empty<Void> pending = Sinks.empty();
+        filter.filter(exchange(PATH), upstream(HttpStatus.OK, pending.asMono())).subscribe();
+        MockServerWebExchange rejected = exchange(PATH);
+        filter.filter(rejected, upstream(HttpStatus.OK, Mono.empty())).block();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(meterRegistry.get("gateway.resilience.rejected")
+                .tags("route", ROUTE_ID, "reason", RouteResilience.REJECTED_BULKHEAD).counter().count()).isEqualTo(1.0);
+
+        // Al terminar la primera petición se libera el hueco
+        pending.tryEmitEmpty();
+        filter.filter(exchange(PATH), upstream(HttpStatus.OK, Mono.empty())).block();
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void filter_FailureRateOverThreshold_OpensCircuitAndServesFallback() {
+        ResilienceGatewayFilterFactory.Config config = config();
+        config.setSlidingWindowSize(4);
+        config.setMinimumCalls(4);
+        GatewayFilter filter = factory.apply(config);
+
+        filter.filter(exchange(PATH), upstream(HttpStatus.OK, Mono.empty())).block();
+        filter.filter(exchange(PATH), upstream(HttpStatus.OK, Mono.empty())).block();
+        filter.filter(exchange(PATH), upstream(HttpStatus.INTERNAL_SERVER_ERROR, Mono.empty())).block();
+        filter.filter(exchange(PATH), upstream(HttpStatus.INTERNAL_SERVER_ERROR, Mono.empty())).block();
+
+        MockServerWebExchange rejected = exchange(PATH);
+        filter.filter(rejected, upstream(HttpStatus.OK, Mono.empty())).block();
+
+        assertThat(upstreamCalls).hasValue(4);
+        assertThat(registry.get(ROUTE_ID).getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("10");
+        assertThat(rejected.getResponse().getBodyAsString().block())
+                .contains("\"status\":503", "\"path\":\"" + PATH + "\"");
+    }
+
+    @Test
+    void filter_Retryable503_RetriesOnlyWhileBudgetAllows() {
+        ResilienceGatewayFilterFactory.Config config = config();
+        config.setRetries(1);
+        config.setRetryBackoff(Duration.ofMillis(1));
+        config.setRetryMinPerSecond(0.0);
+        config.setRetryBudgetRatio(0.0);
+        // Sin ratio ni mínimo el presupuesto solo tiene su ráfaga inicial de 10 fichas
+        config.setSlidingWindowSize(100);
+        config.setMinimumCalls(100);
+        GatewayFilter filter = factory.apply(config);
+
+        for (int i = 0; i < 15; i++) {
+            filter.filter(exchange(PATH), upstream(HttpStatus.SERVICE_UNAVAILABLE, Mono.empty())).block();
+        }
+
+        assertThat(upstreamCalls).hasValue(15 + 10);
+        assertThat(meterRegistry.get("gateway.resilience.retries")
+                .tags("route", ROUTE_ID, "outcome", "budget-exhausted").counter().count()).isEqualTo(5.0);
+
+        // Los métodos no idempotentes nunca se reintentan
+        upstreamCalls.set(0);
+        MockServerWebExchange post = MockServerWebExchange.from(MockServerHttpRequest.post(PATH).build());
+        filter.filter(post, upstream(HttpStatus.SERVICE_UNAVAILABLE, Mono.empty())).block();
+        assertThat(upstreamCalls).hasValue(1);
+    }
+
+    @Test
+    void filter_ConnectionError_RetriesUpToLimitThenServesFallback() {
+        ResilienceGatewayFilterFactory.Config config = config();
+        config.setRetries(2);
+        config.setRetryBackoff(Duration.ofMillis(1));
+        GatewayFilter filter = factory.apply(config);
+        GatewayFilterChain refused = exchange -> Mono.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            return Mono.error(new IOException("Connection refused"));
+        });
+
+        MockServerWebExchange exchange = exchange(PATH);
+        filter.filter(exchange, refused).block();
+
+        assertThat(upstreamCalls).hasValue(3);
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(meterRegistry.get("gateway.resilience.retries")
+                .tags("route", ROUTE_ID, "outcome", "attempted").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void circuitBreaker_HalfOpen_ClosesAfterSuccessfulProbes() {
+        AtomicLong clock = new AtomicLong();
+        CircuitBreaker circuitBreaker = new CircuitBreaker(50, 4, 2, Duration.ofSeconds(5).toNanos(), 2, clock::get);
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+        assertThat(circuitBreaker.secondsUntilHalfOpen()).isEqualTo(5);
+
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.getFailureRate()).isZero();
+    }
+
+    @Test
+    void filter_ErrorAfterResponseCommitted_StillRecordsFailure() {
+        ResilienceGatewayFilterFactory.Config config = config();
+        config.setSlidingWindowSize(2);
+        config.setMinimumCalls(2);
+        GatewayFilter filter = factory.apply(config);
+        // El cuerpo ya empezó a enviarse cuando se corta la conexión con el servicio
+        GatewayFilterChain broken = exchange -> exchange.getResponse().setComplete()
+                .then(Mono.error(new IOException("Connection reset")));
+
+        for (int i = 0; i < 2; i++) {
+            Mono<Void> call = filter.filter(exchange(PATH), broken);
+            assertThatThrownBy(call::block).hasRootCauseInstanceOf(IOException.class);
+        }
+
+        assertThat(registry.get(ROUTE_ID).getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void circuitBreaker_HalfOpenProbesWithoutResult_ReopenAfterTimeout() {
+        AtomicLong clock = new AtomicLong();
+        CircuitBreaker circuitBreaker = new CircuitBreaker(50, 4, 2, Duration.ofSeconds(5).toNanos(), 1, clock::get);
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+
+        // La prueba nunca informa su resultado
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    }
+
+    private ResilienceGatewayFilterFactory.Config config() {
+        ResilienceGatewayFilterFactory.Config config = new ResilienceGatewayFilterFactory.Config();
+        config.setRouteId(ROUTE_ID);
+        return config;
+    }
+
+    private GatewayFilterChain upstream(HttpStatus status, Mono<Void> completion) {
+        // Como NettyRoutingFilter, la llamada ocurre al suscribirse (los reintentos se resuscriben)
+        return exchange -> Mono.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(status);
+            return completion;
+        });
+    }
+
+    private static MockServerWebExchange exchange(String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path).build());
+    }
+}
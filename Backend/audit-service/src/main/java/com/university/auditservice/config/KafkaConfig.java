@@ -1,10 +1,25 @@
 package com.university.auditservice.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.auditservice.consumer.EventTypeRecordFilter;
+import com.university.common.constants.EventHeaders;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.adapter.RecordFilterStrategy;
+import org.springframework.kafka.support.converter.ByteArrayJsonMessageConverter;
+
+import java.util.List;
+import java.util.Map;
 
 @Configuration
 public class KafkaConfig {
@@ -18,6 +33,60 @@ public class KafkaConfig {
     @Value("${kafka.topics.faculty-created}")
     private String facultyCreatedTopic;
 
+    @Value("${kafka.topics.catalog-events}")
+    private String catalogEventsTopic;
+
+    @Value("${kafka.topics.user-events}")
+    private String userEventsTopic;
+
+    @Value("${audit.ignored-event-types:}")
+    private List<String> ignoredEventTypes;
+
+    @Value("${spring.kafka.listener.auto-startup:true}")
+    private boolean autoStartup;
+
+    // ==================== CONSUMER CONFIGURATION ====================
+    // Los payloads se leen como bytes y solo se convierten a AuditEvent si el filtro
+    // de cabeceras acepta el registro.
+    @Bean
+    public ConsumerFactory<String, byte[]> auditConsumerFactory(KafkaProperties kafkaProperties, SslBundles sslBundles) {
+        Map<String, Object> config = kafkaProperties.buildConsumerProperties(sslBundles);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+
+        return new DefaultKafkaConsumerFactory<>(config);
+    }
+
+    /**
+     * Streams de dominio (catalog.events, user.events): un registro por evento.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> eventStreamListenerFactory(
+            ConsumerFactory<String, byte[]> auditConsumerFactory, ObjectMapper objectMapper) {
+        return listenerFactory(auditConsumerFactory, objectMapper, new EventTypeRecordFilter(ignoredEventTypes));
+    }
+
+    /**
+     * Topic audit.events de productores aún no migrados. Los registros con cabecera event-type
+     * vienen de productores migrados en modo compatibilidad y ya se recibieron por su stream.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> legacyAuditListenerFactory(
+            ConsumerFactory<String, byte[]> auditConsumerFactory, ObjectMapper objectMapper) {
+        return listenerFactory(auditConsumerFactory, objectMapper,
+                consumerRecord -> consumerRecord.headers().lastHeader(EventHeaders.EVENT_TYPE) != null);
+    }
+
+    private ConcurrentKafkaListenerContainerFactory<String, byte[]> listenerFactory(
+            ConsumerFactory<String, byte[]> consumerFactory, ObjectMapper objectMapper,
+            RecordFilterStrategy<String, byte[]> filter) {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setRecordMessageConverter(new ByteArrayJsonMessageConverter(objectMapper));
+        factory.setRecordFilterStrategy(filter);
+        factory.setAutoStartup(autoStartup);
+        return factory;
+    }
+
     // ==================== TOPIC CREATION ====================
     @Bean
     public NewTopic auditTopic() {
@@ -42,4 +111,20 @@ public class KafkaConfig {
                 .replicas(1)
                 .build();
     }
-}
\ No newline at end of file
+
+    @Bean
+    public NewTopic catalogEventsTopic() {
+        return TopicBuilder.name(catalogEventsTopic)
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
+
+    @Bean
+    public NewTopic userEventsTopic() {
+        return TopicBuilder.name(userEventsTopic)
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
+}
@@ -18,9 +18,14 @@ public class AuditConsumer {
     private final AuditService auditService;
     private static final String CONSUMER_GROUP_ID = "${spring.kafka.consumer.group-id}";
 
+    /**
+     * Topic de auditoría de productores anteriores al stream único. Los topics por tipo
+     * (user.registered, faculty.*, career.*) ya no se escuchan: repetían los mismos eventos.
+     */
     @KafkaListener(
             topics = "${kafka.topics.audit}",
-            groupId = CONSUMER_GROUP_ID
+            groupId = CONSUMER_GROUP_ID,
+            containerFactory = "legacyAuditListenerFactory"
     )
     public void consumeAuditEvent(
             @Payload AuditEvent event,
@@ -46,100 +51,23 @@ public class AuditConsumer {
         }
     }
 
+    /**
+     * Streams de dominio: cada evento llega una sola vez, con cabeceras de tipo y entidad.
+     * Los tipos ignorados o desconocidos se descartan por cabecera sin deserializar el payload.
+     */
     @KafkaListener(
-            topics = "${kafka.topics.user-registered}",
-            groupId = CONSUMER_GROUP_ID
+            topics = {"${kafka.topics.catalog-events}", "${kafka.topics.user-events}"},
+            groupId = CONSUMER_GROUP_ID,
+            containerFactory = "eventStreamListenerFactory"
     )
-    public void consumeUserRegisteredEvent(@Payload AuditEvent event) {
-        try {
-            log.info("👤 Usuario registrado: {}", event.getUserEmail());
-            auditService.logEvent(event);
-        } catch (Exception e) {
-            log.error("Error procesando registro de usuario: {}", e.getMessage(), e);
-            throw e;
-        }
-    }
-
-    @KafkaListener(
-            topics = "${kafka.topics.faculty-created}",
-            groupId = CONSUMER_GROUP_ID
-    )
-    public void consumeFacultyCreatedEvent(@Payload AuditEvent event) {
-        try {
-            log.info("Facultad creada: {}", event.getDetails());
-            auditService.logEvent(event);
-        } catch (Exception e) {
-            log.error("Error procesando creación de facultad: {}", e.getMessage(), e);
-            throw e;
-        }
-    }
-
-    @KafkaListener(
-            topics = "${kafka.topics.faculty-updated}",
-            groupId = CONSUMER_GROUP_ID
-    )
-    public void consumeFacultyUpdatedEvent(@Payload AuditEvent event) {
-        try {
-            log.info("Facultad actualizada: {}", event.getDetails());
-            auditService.logEvent(event);
-        } catch (Exception e) {
-            log.error("Error procesando actualización de facultad: {}", e.getMessage(), e);
-            throw e;
-        }
-    }
-
-    @KafkaListener(
-            topics = "${kafka.topics.faculty-deleted}",
-            groupId = CONSUMER_GROUP_ID
-    )
-    public void consumeFacultyDeletedEvent(@Payload AuditEvent event) {
-        try {
-            log.info("Facultad eliminada: {}", event.getDetails());
-            auditService.logEvent(event);
-        } catch (Exception e) {
-            log.error("Error procesando eliminación de facultad: {}", e.getMessage(), e);
-            throw e;
-        }
-    }
-
-    @KafkaListener(
-            topics = "${kafka.topics.career-created}",
-            groupId = CONSUMER_GROUP_ID
-    )
-    public void consumeCareerCreatedEvent(@Payload AuditEvent event) {
-        try {
-            log.info("Carrera creada: {}", event.getDetails());
-            auditService.logEvent(event);
-        } catch (Exception e) {
-            log.error("Error procesando creación de carrera: {}", e.getMessage(), e);
-            throw e;
-        }
-    }
-
-    @KafkaListener(
-            topics = "${kafka.topics.career-updated}",
-            groupId = CONSUMER_GROUP_ID
-    )
-    public void consumeCareerUpdatedEvent(@Payload AuditEvent event) {
-        try {
-            log.info("Carrera actualizada: {}", event.getDetails());
-            auditService.logEvent(event);
-        } catch (Exception e) {
-            log.error("Error procesando actualización de carrera: {}", e.getMessage(), e);
-            throw e;
-        }
-    }
-
-    @KafkaListener(
-            topics = "${kafka.topics.career-deleted}",
-            groupId = CONSUMER_GROUP_ID
-    )
-    public void consumeCareerDeletedEvent(@Payload AuditEvent event) {
+    public void consumeDomainEvent(
+            @Payload AuditEvent event,
+            @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
         try {
-            log.info("Carrera eliminada: {}", event.getDetails());
+            log.info("Evento {} recibido desde {}: {}", event.getEventType(), topic, event.getDetails());
             auditService.logEvent(event);
         } catch (Exception e) {
-            log.error("Error procesando eliminación de carrera: {}", e.getMessage(), e);
+            log.error("Error procesando evento {} desde {}: {}", event.getEventType(), topic, e.getMessage(), e);
             throw e;
         }
     }
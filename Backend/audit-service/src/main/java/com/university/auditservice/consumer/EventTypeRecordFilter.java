@@ -0,0 +1,42 @@
+package com.university.auditservice.consumer;
+
+import com.university.auditservice.domain.EventType;
+import com.university.common.constants.EventHeaders;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.listener.adapter.RecordFilterStrategy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Filtro por la cabecera event-type de los streams de dominio, aplicado antes de convertir
+ * el payload: descarta los tipos configurados como ignorados y los que este servicio no
+ * conoce (publicados por versiones más nuevas de los productores), en lugar de fallar al
+ * mapearlos a {@link EventType}. Los registros sin cabecera se entregan siempre.
+ */
+public final class EventTypeRecordFilter implements RecordFilterStrategy<String, byte[]> {
+
+    private static final Set<String> KNOWN_TYPES = Arrays.stream(EventType.values())
+            .map(Enum::name)
+            .collect(Collectors.toUnmodifiableSet());
+
+    private final Set<String> ignored;
+
+    public EventTypeRecordFilter(Collection<String> ignored) {
+        this.ignored = Set.copyOf(ignored);
+    }
+
+    @Override
+    public boolean filter(ConsumerRecord<String, byte[]> consumerRecord) {
+        Header header = consumerRecord.headers().lastHeader(EventHeaders.EVENT_TYPE);
+        if (header == null) {
+            return false;
+        }
+        String eventType = new String(header.value(), StandardCharsets.UTF_8);
+        return ignored.contains(eventType) || !KNOWN_TYPES.contains(eventType);
+    }
+}
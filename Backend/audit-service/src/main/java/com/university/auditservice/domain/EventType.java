@@ -7,9 +7,11 @@ public enum EventType {
     FACULTY_CREATED,
     FACULTY_UPDATED,
     FACULTY_DELETED,
+    FACULTY_IMPORTED,
     CAREER_CREATED,
     CAREER_UPDATED,
     CAREER_DELETED,
+    CAREER_IMPORTED,
     ENROLLMENT_CREATED,
     ENROLLMENT_UPDATED,
     ENROLLMENT_DELETED,
@@ -0,0 +1,37 @@
+package com.university.auditservice.consumer;
+
+import com.university.common.constants.EventHeaders;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventTypeRecordFilterTest {
+
+    private final EventTypeRecordFilter filter = new EventTypeRecordFilter(List.of("USER_LOGIN"));
+
+    @Test
+    void filter_KnownType_IsDelivered() {
+        assertThat(filter.filter(record("FACULTY_CREATED"))).isFalse();
+    }
+
+    @Test
+    void filter_IgnoredOrUnknownType_IsDiscarded() {
+        assertThat(filter.filter(record("USER_LOGIN"))).isTrue();
+        assertThat(filter.filter(record("STUDENT_GRADUATED"))).isTrue();
+    }
+
+    @Test
+    void filter_RecordWithoutHeader_IsDelivered() {
+        assertThat(filter.filter(new ConsumerRecord<>("audit.events", 0, 0L, "1", new byte[0]))).isFalse();
+    }
+
+    private static ConsumerRecord<String, byte[]> record(String eventType) {
+        ConsumerRecord<String, byte[]> consumerRecord = new ConsumerRecord<>("user.events", 0, 0L, "1", new byte[0]);
+        consumerRecord.headers().add(EventHeaders.EVENT_TYPE, eventType.getBytes(StandardCharsets.UTF_8));
+        return consumerRecord;
+    }
+}
@@ -0,0 +1,14 @@
+package com.university.authservice.config;
+
+import com.university.common.security.TokenVerificationConfig;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Verifica los tokens de los endpoints de administración y del cierre de sesión, con la misma
+ * lista de revocaciones que el gateway y el resto de servicios.
+ */
+@Configuration
+@Import(TokenVerificationConfig.class)
+public class JwtConfig {
+}
@@ -2,6 +2,7 @@ package com.university.authservice.config;
 
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.config.TopicConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -12,6 +13,7 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -27,6 +29,28 @@ public class KafkaProducerConfig {
     @Value("${kafka.topics.user-registered}")
     private String userRegisteredTopic;
 
+    @Value("${kafka.topics.user-events}")
+    private String userEventsTopic;
+
+    @Value("${kafka.topics.token-revocations}")
+    private String tokenRevocationsTopic;
+
+    @Value("${kafka.topics.user-cache-evictions}")
+    private String userCacheEvictionsTopic;
+
+    @Value("${jwt.expiration}")
+    private long jwtExpiration;
+
+    // Acotan cuánto puede esperar el relay del outbox a un broker caído con las filas bloqueadas
+    @Value("${kafka.producer.max-block-ms:5000}")
+    private int maxBlockMs;
+
+    @Value("${kafka.producer.request-timeout-ms:5000}")
+    private int requestTimeoutMs;
+
+    @Value("${kafka.producer.delivery-timeout-ms:10000}")
+    private int deliveryTimeoutMs;
+
     // ==================== PRODUCER CONFIGURATION ====================
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
@@ -35,6 +59,9 @@ public class KafkaProducerConfig {
         config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
         config.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
+        config.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
+        config.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, requestTimeoutMs);
+        config.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, deliveryTimeoutMs);
 
         return new DefaultKafkaProducerFactory<>(config);
     }
@@ -60,4 +87,33 @@ public class KafkaProducerConfig {
                 .replicas(1)
                 .build();
     }
-}
\ No newline at end of file
+
+    @Bean
+    public NewTopic userEventsTopic() {
+        return TopicBuilder.name(userEventsTopic)
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
+
+    // Una partición: las réplicas que arrancan releen el topic entero. La retención cubre la
+    // vida de un access token, el máximo que puede hacer falta una revocación
+    @Bean
+    public NewTopic tokenRevocationsTopic() {
+        return TopicBuilder.name(tokenRevocationsTopic)
+                .partitions(1)
+                .replicas(1)
+                .config(TopicConfig.RETENTION_MS_CONFIG, String.valueOf(jwtExpiration + Duration.ofHours(1).toMillis()))
+                .build();
+    }
+
+    // Una partición que cada réplica se asigna entera; los avisos solo sirven unos segundos
+    @Bean
+    public NewTopic userCacheEvictionsTopic() {
+        return TopicBuilder.name(userCacheEvictionsTopic)
+                .partitions(1)
+                .replicas(1)
+                .config(TopicConfig.RETENTION_MS_CONFIG, String.valueOf(Duration.ofHours(1).toMillis()))
+                .build();
+    }
+}
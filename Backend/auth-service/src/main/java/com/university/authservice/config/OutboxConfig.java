@@ -0,0 +1,52 @@
+package com.university.authservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.authservice.domain.OutboxDeadLetter;
+import com.university.authservice.domain.OutboxEvent;
+import com.university.authservice.repository.OutboxDeadLetterRepository;
+import com.university.authservice.repository.OutboxEventRepository;
+import com.university.common.outbox.KafkaOutboxPublisher;
+import com.university.common.outbox.OutboxRelay;
+import com.university.common.outbox.RabbitOutboxPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Relay del outbox (common-lib) con las entidades del servicio; publica en Kafka y RabbitMQ.
+ */
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+    public OutboxRelay<OutboxEvent, OutboxDeadLetter> outboxRelay(
+            OutboxEventRepository outboxRepository,
+            OutboxDeadLetterRepository deadLetterRepository,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            RabbitTemplate rabbitTemplate,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${outbox.relay.batch-size:200}") int batchSize,
+            @Value("${outbox.relay.send-timeout-ms:10000}") long sendTimeoutMs,
+            @Value("${outbox.relay.backoff-initial-ms:1000}") long backoffInitialMs,
+            @Value("${outbox.relay.backoff-max-ms:300000}") long backoffMaxMs,
+            @Value("${outbox.relay.max-attempts:20}") int maxAttempts) {
+        // Paquetes propios: el servicio y common-lib (revocaciones de tokens)
+        OutboxRelay.Settings settings = new OutboxRelay.Settings(batchSize, Duration.ofMillis(sendTimeoutMs),
+                Duration.ofMillis(backoffInitialMs), Duration.ofMillis(backoffMaxMs), maxAttempts,
+                List.of("com.university.authservice.", "com.university.common."));
+        return new OutboxRelay<>(outboxRepository, deadLetterRepository, OutboxDeadLetter::new,
+                List.of(new KafkaOutboxPublisher(kafkaTemplate), new RabbitOutboxPublisher(rabbitTemplate)),
+                objectMapper, transactionManager, meterRegistry, settings);
+    }
+}
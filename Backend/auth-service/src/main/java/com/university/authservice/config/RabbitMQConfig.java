@@ -51,6 +51,8 @@ public class RabbitMQConfig {
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
         rabbitTemplate.setMessageConverter(jsonMessageConverter());
+        // Un mensaje sin cola enlazada se devuelve en vez de descartarse: el outbox lo reintenta
+        rabbitTemplate.setMandatory(true);
         return rabbitTemplate;
     }
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.university.authservice.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Los ids de {@code users} salían de una columna IDENTITY y ahora de {@code users_seq}, que
+ * {@code ddl-auto} crearía empezando en 1. Antes de crear el EntityManagerFactory (y por tanto
+ * antes de cualquier alta) se deja la secuencia por encima del id máximo: se crea ya alineada si
+ * no existe, o se ajusta con {@code setval} si el siguiente bloque se solaparía. En una base ya
+ * migrada solo se lee, sin consumir ningún bloque; un advisory lock evita que dos réplicas que
+ * arrancan a la vez la ajusten en paralelo.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserIdSequenceAligner implements InitializingBean {
+
+    // Igual que allocationSize de User: Hibernate usa los ids (valor - 49 .. valor)
+    private static final int ALLOCATION_SIZE = 50;
+    private static final long ADVISORY_LOCK_KEY = 7_301_150L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterPropertiesSet() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if ("PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                alignInTransaction(connection);
+            }
+            return null;
+        });
+    }
+
+    private void alignInTransaction(Connection connection) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT pg_advisory_xact_lock(" + ADVISORY_LOCK_KEY + ")");
+            align(statement);
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private void align(Statement statement) throws SQLException {
+        // Base nueva: ddl-auto crea la tabla y la secuencia desde 1
+        if (queryLong(statement, "SELECT CASE WHEN to_regclass('users') IS NULL THEN 0 ELSE 1 END") == 0) {
+            return;
+        }
+        long maxId = queryLong(statement, "SELECT COALESCE(MAX(id), 0) FROM users");
+        long target = maxId + ALLOCATION_SIZE;
+
+        if (queryLong(statement, "SELECT CASE WHEN to_regclass('users_seq') IS NULL THEN 0 ELSE 1 END") == 0) {
+            statement.execute("CREATE SEQUENCE users_seq START WITH " + target + " INCREMENT BY " + ALLOCATION_SIZE);
+            log.info("Secuencia users_seq creada en {} (id máximo existente: {})", target, maxId);
+            return;
+        }
+        long next = queryLong(statement,
+                "SELECT CASE WHEN is_called THEN last_value + " + ALLOCATION_SIZE + " ELSE last_value END FROM users_seq");
+        if (next < target) {
+            statement.execute("SELECT setval('users_seq', " + target + ", false)");
+            log.info("Secuencia users_seq ajustada a {} (id máximo existente: {})", target, maxId);
+        }
+    }
+
+    private static long queryLong(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    /**
+     * El EntityManagerFactory (ddl-auto, repositorios) espera a que la secuencia esté alineada.
+     */
+    @Component
+    static class EntityManagerFactoryDependency extends EntityManagerFactoryDependsOnPostProcessor {
+
+        EntityManagerFactoryDependency() {
+            super(UserIdSequenceAligner.class);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.university.authservice.controller;
+
+import com.university.authservice.dto.BulkProvisioningResponse;
+import com.university.authservice.dto.RegisterRequest;
+import com.university.authservice.service.BulkProvisioningService;
+import com.university.authservice.service.TokenRevocationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Operaciones de administración de usuarios (solo {@code ROLE_ADMIN}, ver SecurityConfig).
+ */
+@Slf4j
+@RestController
+@RequestMapping("/auth/admin/users")
+@RequiredArgsConstructor
+public class AdminUserController {
+
+    private final BulkProvisioningService bulkProvisioningService;
+    private final TokenRevocationService tokenRevocationService;
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkProvisioningResponse> bulkJson(@RequestBody List<RegisterRequest> rows) {
+        log.info("POST /auth/admin/users/bulk - Alta masiva de {} usuarios (JSON)", rows.size());
+        return ResponseEntity.ok(bulkProvisioningService.provision(rows));
+    }
+
+    @PostMapping(value = "/bulk", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<BulkProvisioningResponse> bulkCsv(@RequestBody String csv) {
+        log.info("POST /auth/admin/users/bulk - Alta masiva de usuarios (CSV)");
+        return ResponseEntity.ok(bulkProvisioningService.provisionCsv(csv));
+    }
+
+    // Cuenta comprometida: invalida todas sus sesiones sin rotar jwt.secret
+    @PostMapping("/{id}/revoke-tokens")
+    public ResponseEntity<Void> revokeTokens(@PathVariable Long id) {
+        log.info("POST /auth/admin/users/{}/revoke-tokens - Revocando tokens", id);
+        tokenRevocationService.revokeUser(id);
+        return ResponseEntity.noContent().build();
+    }
+}
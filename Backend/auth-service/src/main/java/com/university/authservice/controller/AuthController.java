@@ -2,13 +2,18 @@ package com.university.authservice.controller;
 
 import com.university.authservice.dto.AuthResponse;
 import com.university.authservice.dto.LoginRequest;
+import com.university.authservice.dto.RefreshTokenRequest;
 import com.university.authservice.dto.RegisterRequest;
 import com.university.authservice.service.AuthService;
+import com.university.authservice.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 @Slf4j
@@ -18,6 +23,7 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final TokenRevocationService tokenRevocationService;
 
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
@@ -27,12 +33,31 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request,
+                                              HttpServletRequest httpRequest) {
         log.info("POST /auth/login - Login para: {}", request.getEmail());
-        AuthResponse response = authService.login(request);
+        // IP del cliente: con server.forward-headers-strategy=native, la que envía el gateway en X-Forwarded-For
+        AuthResponse response = authService.login(request, httpRequest.getRemoteAddr());
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        log.info("POST /auth/refresh - Renovando token");
+        AuthResponse response = authService.refresh(request);
+        return ResponseEntity.ok(response);
+    }
+
+    // El refresh token es opcional: si llega, se revoca también su familia
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(Authentication authentication,
+                                       @RequestBody(required = false) RefreshTokenRequest request) {
+        log.info("POST /auth/logout - Cerrando sesión de: {}", authentication.getName());
+        tokenRevocationService.logout((Claims) authentication.getDetails(),
+                request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/health")
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("Auth Service is UP");
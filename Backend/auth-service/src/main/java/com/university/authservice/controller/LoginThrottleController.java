@@ -0,0 +1,30 @@
+package com.university.authservice.controller;
+
+import com.university.authservice.dto.ThrottledLoginKey;
+import com.university.authservice.security.LoginThrottle;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Emails e IPs con el login bloqueado por fallos repetidos (solo {@code ROLE_ADMIN}).
+ */
+@Slf4j
+@RestController
+@RequestMapping("/auth/admin/login-throttle")
+@RequiredArgsConstructor
+public class LoginThrottleController {
+
+    private final LoginThrottle loginThrottle;
+
+    @GetMapping
+    public ResponseEntity<List<ThrottledLoginKey>> throttledKeys() {
+        log.info("GET /auth/admin/login-throttle - Consultando claves bloqueadas");
+        return ResponseEntity.ok(loginThrottle.throttledKeys());
+    }
+}
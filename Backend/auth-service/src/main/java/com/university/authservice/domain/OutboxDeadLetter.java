@@ -0,0 +1,22 @@
+package com.university.authservice.domain;
+
+import com.university.common.outbox.DeadLetterMessage;
+import com.university.common.outbox.OutboxMessage;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Mensaje del outbox que el relay dejó de reintentar; se conserva para inspeccionarlo.
+ */
+@Entity
+@Table(name = "outbox_dead_letter")
+@NoArgsConstructor
+public class OutboxDeadLetter extends DeadLetterMessage {
+
+    public OutboxDeadLetter(OutboxMessage message, LocalDateTime deadAt) {
+        super(message, deadAt);
+    }
+}
@@ -0,0 +1,21 @@
+package com.university.authservice.domain;
+
+import com.university.common.outbox.OutboxMessage;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Mensaje pendiente de publicación (patrón outbox) hacia Kafka o RabbitMQ. Se inserta en la
+ * misma transacción que el cambio de dominio y el {@code OutboxRelay} de common-lib lo publica
+ * después del commit; la fila se elimina cuando el broker confirma la recepción.
+ */
+@Entity
+@Table(name = "outbox_event",
+        indexes = @Index(name = "idx_outbox_event_entity", columnList = "aggregate_type, aggregate_id, outbox_id"))
+@NoArgsConstructor
+@SuperBuilder
+public class OutboxEvent extends OutboxMessage {
+}
@@ -0,0 +1,54 @@
+package com.university.authservice.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Refresh token de un solo uso. Solo se guarda el SHA-256 del valor entregado al cliente.
+ * <p>
+ * Cada login abre una familia ({@code familyId}); cada renovación marca el token como usado y
+ * emite otro de la misma familia. Presentar un token ya usado indica que fue robado: se revoca
+ * la familia completa.
+ */
+@Entity
+@Table(name = "refresh_token",
+        uniqueConstraints = @UniqueConstraint(name = "uk_refresh_token_hash", columnNames = "token_hash"),
+        indexes = @Index(name = "idx_refresh_token_family", columnList = "family_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "refresh_token_seq")
+    @SequenceGenerator(name = "refresh_token_seq", sequenceName = "refresh_token_seq", allocationSize = 50)
+    @Column(name = "refresh_token_id")
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Usado en una renovación o revocado (logout, administración o con su familia)
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+
+    // Solo lo fija la renovación: distingue la reutilización de un token simplemente revocado
+    @Column(name = "used_at")
+    private LocalDateTime usedAt;
+}
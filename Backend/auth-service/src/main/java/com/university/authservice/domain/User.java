@@ -1,6 +1,7 @@
 package com.university.authservice.domain;
 
 import jakarta.persistence.*;
+import com.university.authservice.service.UserCacheEvictionListener;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -8,6 +9,7 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(UserCacheEvictionListener.class)
 @Table(name = "users", uniqueConstraints = {
         @UniqueConstraint(name = "uk_email", columnNames = "email")
 })
@@ -18,8 +20,10 @@ import java.time.LocalDateTime;
 @Builder
 public class User {
 
+    // Secuencia con bloques de 50: Hibernate agrupa los INSERT en lotes JDBC (IDENTITY lo impide)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -0,0 +1,41 @@
+package com.university.authservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkProvisioningResponse {
+    private int total;
+    private int created;
+    private int failed;
+    private long elapsedMs;
+    private double rowsPerSecond;
+    private List<RowResult> results;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowResult {
+        // Número de fila en la petición, desde 1
+        private int row;
+        private String email;
+        private RowStatus status;
+        private Long userId;
+        private String message;
+    }
+
+    public enum RowStatus {
+        CREATED,
+        INVALID,
+        DUPLICATE,
+        EXISTS,
+        FAILED
+    }
+}
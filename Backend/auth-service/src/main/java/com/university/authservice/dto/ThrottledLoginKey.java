@@ -0,0 +1,21 @@
+package com.university.authservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ThrottledLoginKey {
+    private String scope;
+    private String key;
+    private int failures;
+    private int lockouts;
+    private LocalDateTime lockedUntil;
+    private long retryAfterSeconds;
+}
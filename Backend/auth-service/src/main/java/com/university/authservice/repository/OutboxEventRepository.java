@@ -0,0 +1,9 @@
+package com.university.authservice.repository;
+
+import com.university.authservice.domain.OutboxEvent;
+import com.university.common.outbox.OutboxMessageRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxEventRepository extends OutboxMessageRepository<OutboxEvent> {
+}
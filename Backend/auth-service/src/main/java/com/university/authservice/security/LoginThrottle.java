@@ -0,0 +1,136 @@
+package com.university.authservice.security;
+
+import com.university.authservice.dto.ThrottledLoginKey;
+import com.university.authservice.exception.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Protección del login contra fuerza bruta y credential stuffing: cuenta los fallos por email
+ * y por IP de origen en ventanas deslizantes ({@link SlidingWindowLimiter}) y bloquea las claves
+ * que superan el máximo. Un login de una clave bloqueada se rechaza con 429 antes de consultar
+ * la caché de usuarios o calcular ningún hash.
+ * <p>
+ * Un login correcto limpia el contador del email, no el de la IP: una IP que prueba credenciales
+ * filtradas sigue acumulando fallos aunque acierte alguna.
+ */
+@Slf4j
+@Component
+public class LoginThrottle {
+
+    static final String SCOPE_EMAIL = "email";
+    static final String SCOPE_IP = "ip";
+
+    private final SlidingWindowLimiter byEmail;
+    private final SlidingWindowLimiter byIp;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier clock;
+
+    @Autowired
+    public LoginThrottle(@Value("${login-throttle.email.max-failures:5}") int emailMaxFailures,
+                         @Value("${login-throttle.ip.max-failures:50}") int ipMaxFailures,
+                         @Value("${login-throttle.window:15m}") Duration window,
+                         @Value("${login-throttle.window-buckets:15}") int buckets,
+                         @Value("${login-throttle.lockout:1m}") Duration lockout,
+                         @Value("${login-throttle.max-lockout:1h}") Duration maxLockout,
+                         @Value("${login-throttle.max-keys:100000}") int maxKeys,
+                         MeterRegistry meterRegistry) {
+        this(new SlidingWindowLimiter.Policy(emailMaxFailures, window, buckets, lockout, maxLockout, maxKeys),
+                new SlidingWindowLimiter.Policy(ipMaxFailures, window, buckets, lockout, maxLockout, maxKeys),
+                meterRegistry, System::currentTimeMillis);
+    }
+
+    LoginThrottle(SlidingWindowLimiter.Policy emailPolicy, SlidingWindowLimiter.Policy ipPolicy,
+                  MeterRegistry meterRegistry, LongSupplier clock) {
+        this.byEmail = new SlidingWindowLimiter(emailPolicy, clock);
+        this.byIp = new SlidingWindowLimiter(ipPolicy, clock);
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        Gauge.builder("auth.login.throttle.keys", byEmail, SlidingWindowLimiter::size)
+                .description("Claves con fallos de login recientes en memoria")
+                .tag("scope", SCOPE_EMAIL)
+                .register(meterRegistry);
+        Gauge.builder("auth.login.throttle.keys", byIp, SlidingWindowLimiter::size)
+                .tag("scope", SCOPE_IP)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @throws TooManyLoginAttemptsException si el email o la IP están bloqueados
+     */
+    public void checkAllowed(String email, String clientIp) {
+        long emailLock = byEmail.lockedFor(normalize(email));
+        long ipLock = clientIp != null ? byIp.lockedFor(clientIp) : 0L;
+        if (emailLock == 0L && ipLock == 0L) {
+            return;
+        }
+
+        meterRegistry.counter("auth.login.throttled", "scope", emailLock >= ipLock ? SCOPE_EMAIL : SCOPE_IP)
+                .increment();
+        long retryAfter = TimeUnit.MILLISECONDS.toSeconds(Math.max(emailLock, ipLock) + 999);
+        throw new TooManyLoginAttemptsException(
+                "Demasiados intentos fallidos; intente nuevamente en " + retryAfter + " s", retryAfter);
+    }
+
+    public void recordFailure(String email, String clientIp) {
+        meterRegistry.counter("auth.login.failures").increment();
+        lockoutIfNeeded(SCOPE_EMAIL, normalize(email), byEmail.recordFailure(normalize(email)));
+        if (clientIp != null) {
+            lockoutIfNeeded(SCOPE_IP, clientIp, byIp.recordFailure(clientIp));
+        }
+    }
+
+    public void recordSuccess(String email) {
+        byEmail.reset(normalize(email));
+    }
+
+    /**
+     * Claves bloqueadas en este momento, primero las que más tardan en liberarse.
+     */
+    public List<ThrottledLoginKey> throttledKeys() {
+        long now = clock.getAsLong();
+        List<ThrottledLoginKey> keys = new ArrayList<>();
+        byEmail.locked().forEach(snapshot -> keys.add(toDto(SCOPE_EMAIL, snapshot, now)));
+        byIp.locked().forEach(snapshot -> keys.add(toDto(SCOPE_IP, snapshot, now)));
+        keys.sort(Comparator.comparing(ThrottledLoginKey::getLockedUntil).reversed());
+        return keys;
+    }
+
+    private void lockoutIfNeeded(String scope, String key, long lockoutMillis) {
+        if (lockoutMillis > 0) {
+            meterRegistry.counter("auth.login.lockouts", "scope", scope).increment();
+            log.warn("Login bloqueado por {} para {} durante {} s tras demasiados fallos", scope, key,
+                    TimeUnit.MILLISECONDS.toSeconds(lockoutMillis));
+        }
+    }
+
+    private static ThrottledLoginKey toDto(String scope, SlidingWindowLimiter.Snapshot snapshot, long now) {
+        return ThrottledLoginKey.builder()
+                .scope(scope)
+                .key(snapshot.key())
+                .failures(snapshot.failures())
+                .lockouts(snapshot.lockouts())
+                .lockedUntil(LocalDateTime.ofInstant(Instant.ofEpochMilli(snapshot.lockedUntil()), ZoneId.systemDefault()))
+                .retryAfterSeconds(TimeUnit.MILLISECONDS.toSeconds(Math.max(0L, snapshot.lockedUntil() - now) + 999))
+                .build();
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.strip().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,196 @@
+package com.university.authservice.security;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Cuenta fallos por clave (email o IP) en una ventana deslizante y bloquea las claves que
+ * superan el máximo, con bloqueos que se duplican en cada reincidencia hasta un tope.
+ * <p>
+ * Cada clave guarda un anillo de {@code buckets} contadores, uno por fracción de la ventana: los
+ * fallos de los intervalos que salen de la ventana se descartan al avanzar. La tabla se divide en
+ * franjas con su propio lock (peticiones de claves distintas rara vez compiten) y cada franja es
+ * un LRU de {@code maxKeys / franjas} entradas, así que la memoria queda acotada aunque lleguen
+ * millones de claves distintas; las menos recientes se olvidan primero.
+ */
+public class SlidingWindowLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final Policy policy;
+    private final long bucketMillis;
+    private final LongSupplier clock;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    /**
+     * @param maxFailures fallos dentro de {@code window} que provocan un bloqueo
+     * @param lockout     primer bloqueo; cada reincidencia lo duplica hasta {@code maxLockout}.
+     *                    Sin bloqueos durante {@code maxLockout}, la escalada vuelve a empezar
+     */
+    public record Policy(int maxFailures, Duration window, int buckets, Duration lockout, Duration maxLockout,
+                         int maxKeys) {
+    }
+
+    /**
+     * Estado de una clave bloqueada, para el endpoint de administración.
+     */
+    public record Snapshot(String key, int failures, int lockouts, long lockedUntil) {
+    }
+
+    public SlidingWindowLimiter(Policy policy, LongSupplier clock) {
+        this.policy = policy;
+        this.bucketMillis = Math.max(1L, policy.window().toMillis() / policy.buckets());
+        this.clock = clock;
+        int keysPerStripe = Math.max(1, policy.maxKeys() / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(keysPerStripe);
+        }
+    }
+
+    /**
+     * Milisegundos de bloqueo que le quedan a la clave (0 si puede intentarlo).
+     */
+    public long lockedFor(String key) {
+        long now = clock.getAsLong();
+        Stripe stripe = stripe(key);
+        stripe.lock.lock();
+        try {
+            Window window = stripe.entries.get(key);
+            return window == null ? 0L : Math.max(0L, window.lockedUntil - now);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Registra un fallo. Devuelve la duración del bloqueo que provoca, o 0 si no bloquea.
+     */
+    public long recordFailure(String key) {
+        long now = clock.getAsLong();
+        long bucket = now / bucketMillis;
+        Stripe stripe = stripe(key);
+        stripe.lock.lock();
+        try {
+            Window window = stripe.entries.computeIfAbsent(key, k -> new Window(bucket));
+            window.advance(bucket);
+            window.counts[(int) (bucket % policy.buckets())]++;
+            if (now < window.lockedUntil || window.total() < policy.maxFailures()) {
+                return 0L;
+            }
+
+            long maxLockout = policy.maxLockout().toMillis();
+            if (now - window.lockedUntil > maxLockout) {
+                window.lockouts = 0;
+            }
+            long duration = Math.min(policy.lockout().toMillis() << Math.min(window.lockouts, 30), maxLockout);
+            window.lockedUntil = now + duration;
+            window.lockouts++;
+            // Tras el bloqueo la clave vuelve a disponer de maxFailures intentos, con el siguiente más largo
+            Arrays.fill(window.counts, 0);
+            return duration;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public void reset(String key) {
+        Stripe stripe = stripe(key);
+        stripe.lock.lock();
+        try {
+            stripe.entries.remove(key);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public List<Snapshot> locked() {
+        long now = clock.getAsLong();
+        long bucket = now / bucketMillis;
+        List<Snapshot> locked = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                stripe.entries.forEach((key, window) -> {
+                    if (window.lockedUntil > now) {
+                        window.advance(bucket);
+                        locked.add(new Snapshot(key, window.total(), window.lockouts, window.lockedUntil));
+                    }
+                });
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return locked;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.entries.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripe(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Window> entries;
+
+        private Stripe(int maxEntries) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+    }
+
+    private final class Window {
+
+        private final int[] counts = new int[policy.buckets()];
+        private long lastBucket;
+        private long lockedUntil;
+        private int lockouts;
+
+        private Window(long bucket) {
+            this.lastBucket = bucket;
+        }
+
+        // Vacía los intervalos que salieron de la ventana desde la última escritura
+        private void advance(long bucket) {
+            if (bucket - lastBucket >= counts.length) {
+                Arrays.fill(counts, 0);
+            } else {
+                for (long b = lastBucket + 1; b <= bucket; b++) {
+                    counts[(int) (b % counts.length)] = 0;
+                }
+            }
+            lastBucket = Math.max(lastBucket, bucket);
+        }
+
+        private int total() {
+            int total = 0;
+            for (int count : counts) {
+                total += count;
+            }
+            return total;
+        }
+    }
+}
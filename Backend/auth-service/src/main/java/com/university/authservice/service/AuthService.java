@@ -4,17 +4,22 @@ import com.university.authservice.domain.Role;
 import com.university.authservice.domain.User;
 import com.university.authservice.dto.*;
 import com.university.authservice.exception.InvalidCredentialsException;
+import com.university.authservice.exception.InvalidRefreshTokenException;
+import com.university.authservice.exception.PasswordHashingBusyException;
 import com.university.authservice.exception.UserAlreadyExistsException;
 import com.university.authservice.repository.UserRepository;
+import com.university.authservice.security.LoginThrottle;
+import com.university.common.constants.EventHeaders;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 @Slf4j
 @Service
@@ -22,10 +27,18 @@ import java.time.LocalDateTime;
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final UserCredentialsCache userCredentialsCache;
+    private final PasswordHasher passwordHasher;
+    private final TransactionTemplate transactionTemplate;
     private final JwtService jwtService;
-    private final RabbitTemplate rabbitTemplate;
+    private final RefreshTokenService refreshTokenService;
+    private final OutboxService outboxService;
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final LoginThrottle loginThrottle;
+
+    private static final String ENTITY_USER = "USER";
+    private static final String EVENT_USER_REGISTERED = "USER_REGISTERED";
+    private static final String EVENT_USER_LOGIN = "USER_LOGIN";
 
     @Value("${rabbitmq.exchange.email}")
     private String emailExchange;
@@ -39,71 +52,130 @@ public class AuthService {
     @Value("${kafka.topics.user-registered}")
     private String userRegisteredTopic;
 
-    @Transactional
+    @Value("${kafka.topics.user-events}")
+    private String userEventsTopic;
+
+    @Value("${kafka.events.legacy-topics:false}")
+    private boolean legacyTopics;
+
+    /**
+     * El hash se calcula antes de abrir la transacción: mientras espera en el pool de hashing la
+     * petición no retiene una conexión a la base de datos.
+     */
     public AuthResponse register(RegisterRequest request) {
         log.info("Intentando registrar usuario: {}", request.getEmail());
 
-        if (userRepository.existsByEmail(request.getEmail())) {
+        if (userCredentialsCache.findByEmail(request.getEmail()).isPresent()) {
             throw new UserAlreadyExistsException(
                     "Ya existe un usuario con el email: " + request.getEmail()
             );
         }
 
+        String encodedPassword = passwordHasher.encode(request.getPassword());
+
         User user = User.builder()
                 .fullName(request.getFullName())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(encodedPassword)
                 .role(Role.ROLE_USER)
                 .active(true)
                 .build();
 
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = transactionTemplate.execute(status -> {
+                User saved = userRepository.save(user);
+
+                // Email de bienvenida y eventos de registro van al outbox en la misma transacción:
+                // solo se envían si el usuario queda guardado, y un broker caído no los pierde
+                enqueueRegistrationMessages(saved);
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // La caché negativa puede no ver un registro hecho en otra réplica; decide uk_email
+            throw new UserAlreadyExistsException("Ya existe un usuario con el email: " + request.getEmail());
+        } finally {
+            userCredentialsCache.evict(request.getEmail());
+        }
         log.info("Usuario registrado exitosamente: {}", savedUser.getEmail());
 
-        String token = jwtService.generateToken(savedUser);
-
-        // Enviar email de bienvenida
-        sendWelcomeEmail(savedUser);
-
-        //  PUBLICAR EVENTO EN KAFKA
-        publishUserRegisteredEvent(savedUser);
-
-        return AuthResponse.builder()
-                .token(token)
-                .type("Bearer")
-                .userId(savedUser.getId())
-                .email(savedUser.getEmail())
-                .fullName(savedUser.getFullName())
-                .role(savedUser.getRole().name())
-                .build();
+        return buildAuthResponse(savedUser, refreshTokenService.issue(savedUser.getId()));
     }
 
-    @Transactional(readOnly = true)
-    public AuthResponse login(LoginRequest request) {
+    public AuthResponse login(LoginRequest request, String clientIp) {
         log.info("Intentando login para: {}", request.getEmail());
 
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new InvalidCredentialsException(
-                        "Email o contraseña incorrectos"
-                ));
+        // Email o IP bloqueados por fallos repetidos: se rechaza sin consultar la caché ni calcular hashes
+        loginThrottle.checkAllowed(request.getEmail(), clientIp);
 
-        if (!user.getActive()) {
-            throw new InvalidCredentialsException("Usuario inactivo");
+        UserCredentialsCache.UserCredentials credentials;
+        try {
+            credentials = verifyCredentials(request);
+        } catch (InvalidCredentialsException e) {
+            loginThrottle.recordFailure(request.getEmail(), clientIp);
+            throw e;
         }
+        loginThrottle.recordSuccess(request.getEmail());
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            throw new InvalidCredentialsException("Email o contraseña incorrectos");
+        User user = credentials.toUser();
+        if (passwordHasher.needsRehash(credentials.passwordHash())) {
+            rehashPassword(user, request.getPassword());
         }
 
         log.info("Login exitoso para: {}", user.getEmail());
 
-        String token = jwtService.generateToken(user);
+        AuthResponse response = buildAuthResponse(user, refreshTokenService.issue(user.getId()));
 
         //  PUBLICAR EVENTO DE LOGIN EN KAFKA
         publishLoginEvent(user);
 
+        return response;
+    }
+
+    private UserCredentialsCache.UserCredentials verifyCredentials(LoginRequest request) {
+        UserCredentialsCache.UserCredentials credentials = userCredentialsCache.findByEmail(request.getEmail())
+                .orElse(null);
+        if (credentials == null) {
+            // Mismo coste que una contraseña incorrecta: la respuesta no revela si el email existe
+            passwordHasher.matchesDummy(request.getPassword());
+            throw new InvalidCredentialsException("Email o contraseña incorrectos");
+        }
+
+        // La contraseña se comprueba siempre primero: el tiempo de respuesta ni el mensaje revelan
+        // si la cuenta está inactiva a quien no la conoce
+        if (!passwordHasher.matches(request.getPassword(), credentials.passwordHash())) {
+            throw new InvalidCredentialsException("Email o contraseña incorrectos");
+        }
+
+        if (!credentials.active()) {
+            throw new InvalidCredentialsException("Usuario inactivo");
+        }
+        return credentials;
+    }
+
+    /**
+     * Renueva el access token sin verificar la contraseña: el refresh token se consume y se
+     * devuelve otro de la misma familia.
+     */
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+
+        User user = userRepository.findById(rotation.userId())
+                .filter(User::getActive)
+                .orElse(null);
+        if (user == null) {
+            refreshTokenService.revokeFamily(rotation.familyId());
+            throw new InvalidRefreshTokenException("Usuario inactivo o inexistente");
+        }
+
+        log.debug("Token renovado para: {}", user.getEmail());
+        return buildAuthResponse(user, rotation.refreshToken());
+    }
+
+    private AuthResponse buildAuthResponse(User user, String refreshToken) {
         return AuthResponse.builder()
-                .token(token)
+                .token(jwtService.generateToken(user))
+                .refreshToken(refreshToken)
                 .type("Bearer")
                 .userId(user.getId())
                 .email(user.getEmail())
@@ -112,52 +184,70 @@ public class AuthService {
                 .build();
     }
 
-    private void sendWelcomeEmail(User user) {
+    /**
+     * Registra en el outbox el email de bienvenida y el evento de registro del usuario. Debe
+     * llamarse dentro de la transacción que lo guarda (también lo usa el alta masiva).
+     */
+    void enqueueRegistrationMessages(User user) {
+        sendWelcomeEmail(user);
+        publishUserRegisteredEvent(user);
+    }
+
+    // El coste de BCrypt cambió: se recalcula el hash con la contraseña recién verificada. Si el
+    // pool está saturado se deja para el próximo login, sin afectar a este
+    private void rehashPassword(User user, String rawPassword) {
         try {
-            EmailMessage emailMessage = EmailMessage.builder()
-                    .to(user.getEmail())
-                    .subject("Bienvenido al Sistema de Matrículas")
-                    .body(buildWelcomeEmailBody(user.getFullName()))
-                    .userName(user.getFullName())
-                    .build();
+            userRepository.updatePassword(user.getId(), passwordHasher.encode(rawPassword));
+            userCredentialsCache.evict(user.getEmail());
+            log.info("Hash de contraseña actualizado al coste configurado para: {}", user.getEmail());
+        } catch (PasswordHashingBusyException e) {
+            log.debug("Rehash pendiente para {}: pool de hashing saturado", user.getEmail());
+        }
+    }
 
-            rabbitTemplate.convertAndSend(emailExchange, emailRoutingKey, emailMessage);
+    private void sendWelcomeEmail(User user) {
+        EmailMessage emailMessage = EmailMessage.builder()
+                .to(user.getEmail())
+                .subject("Bienvenido al Sistema de Matrículas")
+                .body(buildWelcomeEmailBody(user.getFullName()))
+                .userName(user.getFullName())
+                .build();
 
-            log.info("Mensaje de email enviado a RabbitMQ para: {}", user.getEmail());
-        } catch (Exception e) {
-            log.error("Error al enviar mensaje a RabbitMQ: {}", e.getMessage());
-        }
+        outboxService.enqueueRabbit(ENTITY_USER, user.getId(), "WELCOME_EMAIL",
+                emailExchange, emailRoutingKey, emailMessage);
+
+        log.info("Email de bienvenida registrado en el outbox para: {}", user.getEmail());
     }
 
-    //  Publicar evento de registro en Kafka
+    //  Publicar evento de registro en Kafka (vía outbox)
     private void publishUserRegisteredEvent(User user) {
-        try {
-            AuditEvent event = AuditEvent.builder()
-                    .eventType("USER_REGISTERED")
-                    .userId(user.getId())
-                    .userEmail(user.getEmail())
-                    .action("Usuario registrado")
-                    .details("Nuevo usuario registrado: " + user.getFullName())
-                    .timestamp(LocalDateTime.now())
-                    .status("SUCCESS")
-                    .entityType("USER")
-                    .entityId(user.getId())
-                    .build();
-
-            kafkaTemplate.send(userRegisteredTopic, event);
-            kafkaTemplate.send(auditTopic, event);
+        AuditEvent event = AuditEvent.builder()
+                .eventType(EVENT_USER_REGISTERED)
+                .userId(user.getId())
+                .userEmail(user.getEmail())
+                .action("Usuario registrado")
+                .details("Nuevo usuario registrado: " + user.getFullName())
+                .timestamp(LocalDateTime.now())
+                .status("SUCCESS")
+                .entityType(ENTITY_USER)
+                .entityId(user.getId())
+                .build();
 
-            log.info("Evento de registro publicado en Kafka para: {}", user.getEmail());
-        } catch (Exception e) {
-            log.error("Error al publicar evento en Kafka: {}", e.getMessage());
+        // Un único envío al stream de usuarios; auditoría filtra por cabeceras
+        outboxService.enqueueKafka(ENTITY_USER, user.getId(), EVENT_USER_REGISTERED, userEventsTopic, event);
+        if (legacyTopics) {
+            outboxService.enqueueKafka(ENTITY_USER, user.getId(), EVENT_USER_REGISTERED, userRegisteredTopic, event);
         }
+
+        log.info("Evento de registro registrado en el outbox para: {}", user.getEmail());
     }
 
-    //  Publicar evento de login en Kafka
+    //  Publicar evento de login en Kafka. El login no escribe en la base de datos, así que
+    //  no hay transacción que confirmar: el evento se envía directamente, sin outbox
     private void publishLoginEvent(User user) {
         try {
             AuditEvent event = AuditEvent.builder()
-                    .eventType("USER_LOGIN")
+                    .eventType(EVENT_USER_LOGIN)
                     .userId(user.getId())
                     .userEmail(user.getEmail())
                     .action("Usuario inició sesión")
@@ -168,7 +258,10 @@ public class AuthService {
                     .entityId(user.getId())
                     .build();
 
-            kafkaTemplate.send(auditTopic, event);
+            kafkaTemplate.send(toRecord(userEventsTopic, EVENT_USER_LOGIN, user, event));
+            if (legacyTopics) {
+                kafkaTemplate.send(toRecord(auditTopic, EVENT_USER_LOGIN, user, event));
+            }
 
             log.info("Evento de login publicado en Kafka para: {}", user.getEmail());
         } catch (Exception e) {
@@ -176,6 +269,16 @@ public class AuthService {
         }
     }
 
+    private ProducerRecord<String, Object> toRecord(String topic, String eventType, User user, AuditEvent event) {
+        String userId = String.valueOf(user.getId());
+        ProducerRecord<String, Object> producerRecord = new ProducerRecord<>(topic, userId, event);
+        producerRecord.headers()
+                .add(EventHeaders.EVENT_TYPE, eventType.getBytes(StandardCharsets.UTF_8))
+                .add(EventHeaders.ENTITY_TYPE, ENTITY_USER.getBytes(StandardCharsets.UTF_8))
+                .add(EventHeaders.ENTITY_ID, userId.getBytes(StandardCharsets.UTF_8));
+        return producerRecord;
+    }
+
     private String buildWelcomeEmailBody(String fullName) {
         return String.format("""
                 Hola %s,
@@ -0,0 +1,233 @@
+package com.university.authservice.service;
+
+import com.university.authservice.domain.Role;
+import com.university.authservice.domain.User;
+import com.university.authservice.dto.BulkProvisioningResponse;
+import com.university.authservice.dto.BulkProvisioningResponse.RowResult;
+import com.university.authservice.dto.BulkProvisioningResponse.RowStatus;
+import com.university.authservice.dto.RegisterRequest;
+import com.university.authservice.exception.InvalidBulkRequestException;
+import com.university.authservice.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Alta masiva de estudiantes (CSV o JSON desde {@code /auth/admin/users/bulk}).
+ * <p>
+ * Las filas se validan y se descartan duplicados y emails ya registrados con una consulta por
+ * lote; los hashes se calculan en paralelo en un {@link ForkJoinPool} del tamaño de la CPU,
+ * separado del pool de login; y cada lote de {@code batch-size} usuarios se inserta en una sola
+ * transacción con INSERT agrupados (ids de secuencia), junto con sus mensajes de bienvenida y
+ * eventos en el outbox, que el relay publica por olas. Si un lote choca con un registro
+ * concurrente, sus filas se reintentan una a una para informar el resultado de cada una.
+ */
+@Slf4j
+@Service
+public class BulkProvisioningService {
+
+    private static final int LOOKUP_CHUNK = 1000;
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final AuthService authService;
+    private final UserCredentialsCache userCredentialsCache;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final MeterRegistry meterRegistry;
+    private final ForkJoinPool hashingPool;
+    private final int batchSize;
+    private final int maxRows;
+
+    public BulkProvisioningService(UserRepository userRepository,
+                                   PasswordEncoder passwordEncoder,
+                                   AuthService authService,
+                                   UserCredentialsCache userCredentialsCache,
+                                   TransactionTemplate transactionTemplate,
+                                   Validator validator,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${bulk-provisioning.parallelism:0}") int parallelism,
+                                   @Value("${bulk-provisioning.batch-size:500}") int batchSize,
+                                   @Value("${bulk-provisioning.max-rows:10000}") int maxRows) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.authService = authService;
+        this.userCredentialsCache = userCredentialsCache;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.meterRegistry = meterRegistry;
+        this.hashingPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.batchSize = batchSize;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * CSV con cabecera {@code fullName,email,password} (ver {@link UserCsvParser}).
+     */
+    public BulkProvisioningResponse provisionCsv(String csv) {
+        return provision(UserCsvParser.parse(csv));
+    }
+
+    public BulkProvisioningResponse provision(List<RegisterRequest> rows) {
+        if (rows == null || rows.isEmpty()) {
+            throw new InvalidBulkRequestException("La petición no contiene filas");
+        }
+        if (rows.size() > maxRows) {
+            throw new InvalidBulkRequestException(
+                    "Se admiten como máximo " + maxRows + " filas por petición (recibidas: " + rows.size() + ")");
+        }
+
+        long start = System.nanoTime();
+        RowResult[] results = new RowResult[rows.size()];
+        List<Integer> pending = excludeExisting(rows, validate(rows, results), results);
+
+        List<String> hashes = hashingPool.submit(() -> pending.parallelStream()
+                .map(index -> passwordEncoder.encode(rows.get(index).getPassword()))
+                .toList()).join();
+
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, pending.size());
+            insertBatch(rows, pending.subList(from, to), hashes.subList(from, to), results);
+        }
+        pending.forEach(index -> userCredentialsCache.evict(rows.get(index).getEmail()));
+
+        long elapsedNanos = System.nanoTime() - start;
+        List<RowResult> resultList = Arrays.asList(results);
+        int created = (int) resultList.stream().filter(result -> result.getStatus() == RowStatus.CREATED).count();
+        resultList.stream()
+                .collect(Collectors.groupingBy(RowResult::getStatus, Collectors.counting()))
+                .forEach((status, count) -> meterRegistry.counter("auth.bulk.rows", "status", status.name())
+                        .increment(count));
+        double rowsPerSecond = rows.size() / Math.max(elapsedNanos / 1e9, 1e-9);
+
+        log.info("Alta masiva: {} filas, {} creadas, {} con error en {} ms ({} filas/s)", rows.size(), created,
+                rows.size() - created, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), Math.round(rowsPerSecond));
+
+        return BulkProvisioningResponse.builder()
+                .total(rows.size())
+                .created(created)
+                .failed(rows.size() - created)
+                .elapsedMs(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .rowsPerSecond(Math.round(rowsPerSecond * 10) / 10.0)
+                .results(resultList)
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdownNow();
+    }
+
+    private List<Integer> validate(List<RegisterRequest> rows, RowResult[] results) {
+        List<Integer> valid = new ArrayList<>(rows.size());
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            RegisterRequest row = rows.get(i);
+            Set<ConstraintViolation<RegisterRequest>> violations = row == null ? Set.of() : validator.validate(row);
+            if (row == null || !violations.isEmpty()) {
+                String message = row == null ? "Fila vacía" : violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                results[i] = result(i, row, RowStatus.INVALID, null, message);
+            } else if (!seen.add(row.getEmail())) {
+                results[i] = result(i, row, RowStatus.DUPLICATE, null, "Email repetido en la petición");
+            } else {
+                valid.add(i);
+            }
+        }
+        return valid;
+    }
+
+    private List<Integer> excludeExisting(List<RegisterRequest> rows, List<Integer> pending, RowResult[] results) {
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < pending.size(); from += LOOKUP_CHUNK) {
+            List<String> emails = pending.subList(from, Math.min(from + LOOKUP_CHUNK, pending.size())).stream()
+                    .map(index -> rows.get(index).getEmail())
+                    .toList();
+            existing.addAll(userRepository.findExistingEmails(emails));
+        }
+
+        List<Integer> remaining = new ArrayList<>(pending.size());
+        for (Integer index : pending) {
+            if (existing.contains(rows.get(index).getEmail())) {
+                results[index] = result(index, rows.get(index), RowStatus.EXISTS, null, "El email ya está registrado");
+            } else {
+                remaining.add(index);
+            }
+        }
+        return remaining;
+    }
+
+    private void insertBatch(List<RegisterRequest> rows, List<Integer> batch, List<String> hashes,
+                             RowResult[] results) {
+        try {
+            List<User> saved = transactionTemplate.execute(status -> {
+                List<User> users = new ArrayList<>(batch.size());
+                for (int i = 0; i < batch.size(); i++) {
+                    users.add(newUser(rows.get(batch.get(i)), hashes.get(i)));
+                }
+                List<User> persisted = userRepository.saveAll(users);
+                persisted.forEach(authService::enqueueRegistrationMessages);
+                return persisted;
+            });
+            for (int i = 0; i < batch.size(); i++) {
+                int index = batch.get(i);
+                results[index] = result(index, rows.get(index), RowStatus.CREATED, saved.get(i).getId(), null);
+            }
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Lote de {} usuarios rechazado ({}); se reintenta fila a fila", batch.size(),
+                    e.getMostSpecificCause().getMessage());
+            for (int i = 0; i < batch.size(); i++) {
+                insertOne(rows, batch.get(i), hashes.get(i), results);
+            }
+        }
+    }
+
+    private void insertOne(List<RegisterRequest> rows, int index, String hash, RowResult[] results) {
+        RegisterRequest row = rows.get(index);
+        try {
+            User saved = transactionTemplate.execute(status -> {
+                User user = userRepository.save(newUser(row, hash));
+                authService.enqueueRegistrationMessages(user);
+                return user;
+            });
+            results[index] = result(index, row, RowStatus.CREATED, saved.getId(), null);
+        } catch (DataIntegrityViolationException e) {
+            results[index] = result(index, row, RowStatus.EXISTS, null, "El email ya está registrado");
+        } catch (RuntimeException e) {
+            log.error("Error al crear el usuario {} en alta masiva: {}", row.getEmail(), e.getMessage());
+            results[index] = result(index, row, RowStatus.FAILED, null, "Error al guardar el usuario");
+        }
+    }
+
+    private static User newUser(RegisterRequest row, String hash) {
+        return User.builder()
+                .fullName(row.getFullName())
+                .email(row.getEmail())
+                .password(hash)
+                .role(Role.ROLE_USER)
+                .active(true)
+                .build();
+    }
+
+    private static RowResult result(int index, RegisterRequest row, RowStatus status, Long userId, String message) {
+        return new RowResult(index + 1, row != null ? row.getEmail() : null, status, userId, message);
+    }
+}
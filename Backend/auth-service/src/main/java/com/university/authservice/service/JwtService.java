@@ -13,6 +13,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @Slf4j
 @Service
@@ -40,7 +41,9 @@ public class JwtService {
 
         SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
 
+        // jti: identifica el token para poder revocarlo (ver TokenRevocationService)
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .claims(claims)
                 .subject(subject)
                 .issuedAt(now)
@@ -49,6 +52,13 @@ public class JwtService {
                 .compact();
     }
 
+    /**
+     * Vigencia de los access tokens, en milisegundos.
+     */
+    public long getExpiration() {
+        return expiration;
+    }
+
     public Claims extractAllClaims(String token) {
         SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
 
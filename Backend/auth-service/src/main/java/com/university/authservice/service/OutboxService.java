@@ -0,0 +1,77 @@
+package com.university.authservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.authservice.domain.OutboxEvent;
+import com.university.authservice.repository.OutboxEventRepository;
+import com.university.common.outbox.OutboxMessagesStored;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registra los mensajes salientes (Kafka y RabbitMQ) en la tabla outbox dentro de la
+ * transacción de negocio. Si la transacción se revierte, el mensaje desaparece con ella;
+ * si confirma, el {@code OutboxRelay} lo publica en segundo plano.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxEventRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher applicationEvents;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueKafka(String aggregateType, Object aggregateId, String eventType,
+                             String topic, Object payload) {
+        String id = String.valueOf(aggregateId);
+        enqueue(aggregateType, id, eventType, OutboxEvent.DESTINATION_KAFKA, topic, id, payload);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueRabbit(String aggregateType, Object aggregateId, String eventType,
+                              String exchange, String routingKey, Object payload) {
+        enqueue(aggregateType, String.valueOf(aggregateId), eventType,
+                OutboxEvent.DESTINATION_RABBITMQ, exchange, routingKey, payload);
+    }
+
+    private void enqueue(String aggregateType, String aggregateId, String eventType, String destination,
+                         String channel, String messageKey, Object payload) {
+        LocalDateTime now = LocalDateTime.now();
+
+        OutboxEvent message = OutboxEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .eventType(eventType)
+                .destination(destination)
+                .channel(channel)
+                .messageKey(messageKey)
+                .payloadType(payload.getClass().getName())
+                .payload(toJson(payload))
+                .createdAt(now)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .build();
+
+        outboxRepository.save(message);
+        applicationEvents.publishEvent(new OutboxMessagesStored());
+
+        log.debug("Mensaje {} registrado en el outbox para {} {} ({} {})",
+                eventType, aggregateType, aggregateId, destination, channel);
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el mensaje " + payload.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.university.authservice.service;
+
+import com.university.authservice.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Ejecuta BCrypt en un pool propio del tamaño de la CPU con una cola acotada.
+ * <p>
+ * Una avalancha de logins ya no ocupa todos los hilos de Tomcat calculando hashes: como mucho
+ * {@code threads + queue-capacity} peticiones esperan su turno y las demás reciben enseguida
+ * {@link PasswordHashingBusyException} (503 con {@code Retry-After}). Quien espera más de
+ * {@code max-wait} también recibe 503 y su tarea se cancela.
+ */
+@Slf4j
+@Component
+public class PasswordHasher {
+
+    // $2a$10$..., $2b$12$...: el coste va tras la versión
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+    private final PasswordEncoder passwordEncoder;
+    private final int strength;
+    private final long maxWaitNanos;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer queueWait;
+    private final Timer encodeTime;
+    private final Timer matchesTime;
+    private final Counter rejected;
+
+    // Hash de referencia con el coste configurado; se calcula la primera vez que se necesita
+    private volatile String dummyHash;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Value("${password-hashing.strength:10}") int strength,
+                          @Value("${password-hashing.threads:0}") int threads,
+                          @Value("${password-hashing.queue-capacity:32}") int queueCapacity,
+                          @Value("${password-hashing.max-wait:2s}") Duration maxWait,
+                          MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.strength = strength;
+        this.maxWaitNanos = maxWait.toNanos();
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+
+        this.queueWait = Timer.builder("auth.password.queue.wait")
+                .description("Tiempo en cola antes de calcular el hash")
+                .register(meterRegistry);
+        this.encodeTime = hashTimer(meterRegistry, "encode");
+        this.matchesTime = hashTimer(meterRegistry, "matches");
+        this.rejected = Counter.builder("auth.password.rejected")
+                .description("Peticiones rechazadas con el pool de hashing saturado")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.queue.size", executor, pool -> pool.getQueue().size())
+                .description("Hashes en espera")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashes en cálculo")
+                .register(meterRegistry);
+
+        log.info("Pool de hashing de contraseñas: {} hilos, cola de {}, coste BCrypt {}",
+                poolSize, queueCapacity, strength);
+    }
+
+    public String encode(String rawPassword) {
+        return submit(encodeTime, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return submit(matchesTime, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Compara contra un hash de referencia con el mismo coste: un email inexistente tarda lo mismo
+     * que una contraseña incorrecta y el tiempo de respuesta no revela qué cuentas existen.
+     */
+    public void matchesDummy(String rawPassword) {
+        submit(matchesTime, () -> passwordEncoder.matches(rawPassword, dummyHash()));
+    }
+
+    /**
+     * Indica si el hash se calculó con un coste distinto al configurado (mayor o menor), para
+     * recalcularlo en el siguiente login correcto.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Timer hashTime, Supplier<T> task) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                queueWait.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.get();
+                } finally {
+                    hashTime.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Pool de hashing saturado ({} en cola): se rechaza la petición", executor.getQueue().size());
+            throw busy();
+        }
+
+        try {
+            return future.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            log.warn("Hash de contraseña sin completar tras {} ms", TimeUnit.NANOSECONDS.toMillis(maxWaitNanos));
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode(UUID.randomUUID().toString());
+            dummyHash = hash;
+        }
+        return hash;
+    }
+
+    private static PasswordHashingBusyException busy() {
+        return new PasswordHashingBusyException(
+                "El servicio está atendiendo demasiadas solicitudes. Intente nuevamente en unos segundos");
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.password.hash")
+                .description("Tiempo de cálculo de BCrypt")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
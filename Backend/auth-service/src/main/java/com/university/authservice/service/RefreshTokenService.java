@@ -0,0 +1,188 @@
+package com.university.authservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.university.authservice.domain.RefreshToken;
+import com.university.authservice.exception.InvalidRefreshTokenException;
+import com.university.authservice.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Emite y rota refresh tokens opacos (32 bytes aleatorios). La renovación no calcula ningún
+ * hash de contraseña: un UPDATE condicional consume el token y un INSERT guarda el siguiente.
+ * <p>
+ * Los datos inmutables de cada token (id, familia, usuario, expiración) se guardan en una caché
+ * acotada para evitar la consulta por hash; la vigencia siempre la decide el UPDATE.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Cache<String, CachedToken> cache;
+    private final Counter reuseDetected;
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${jwt.refresh-expiration}") long refreshExpirationMs,
+                               @Value("${jwt.refresh-cache-size:10000}") long cacheSize,
+                               MeterRegistry meterRegistry) {
+        this(refreshTokenRepository, transactionTemplate, Duration.ofMillis(refreshExpirationMs), cacheSize,
+                meterRegistry, Clock.systemDefaultZone());
+    }
+
+    RefreshTokenService(RefreshTokenRepository refreshTokenRepository, TransactionTemplate transactionTemplate,
+                        Duration ttl, long cacheSize, MeterRegistry meterRegistry, Clock clock) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.reuseDetected = Counter.builder("auth.refresh.reuse.detected")
+                .description("Refresh tokens presentados por segunda vez (familia revocada)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Abre una familia nueva para el usuario (login o registro).
+     */
+    public String issue(Long userId) {
+        Issued issued = create(userId, UUID.randomUUID().toString(), LocalDateTime.now(clock));
+        cache.put(issued.hash(), CachedToken.of(issued.token()));
+        return issued.rawToken();
+    }
+
+    /**
+     * Consume el token y devuelve otro de la misma familia. Un token desconocido, expirado o
+     * revocado es inválido; uno ya consumido en otra renovación revoca toda su familia.
+     */
+    public Rotation rotate(String rawToken) {
+        String hash = sha256(rawToken);
+        CachedToken current = cache.get(hash, key ->
+                refreshTokenRepository.findByTokenHash(key).map(CachedToken::of).orElse(null));
+        if (current == null) {
+            throw new InvalidRefreshTokenException("Refresh token inválido");
+        }
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (current.expiresAt().isBefore(now)) {
+            cache.invalidate(hash);
+            throw new InvalidRefreshTokenException("Refresh token expirado");
+        }
+
+        Issued next = transactionTemplate.execute(status ->
+                refreshTokenRepository.markUsed(current.id(), now) == 1
+                        ? create(current.userId(), current.familyId(), now)
+                        : null);
+        cache.invalidate(hash);
+
+        if (next == null) {
+            // Revocado por logout o administración sin haberse usado: no es una reutilización
+            if (refreshTokenRepository.findUsedAt(current.id()).isEmpty()) {
+                throw new InvalidRefreshTokenException("Refresh token revocado; inicie sesión nuevamente");
+            }
+            int revoked = refreshTokenRepository.revokeFamily(current.familyId(), now);
+            reuseDetected.increment();
+            log.warn("Refresh token reutilizado (usuario {}, familia {}): se revocan {} tokens",
+                    current.userId(), current.familyId(), revoked);
+            throw new InvalidRefreshTokenException("Refresh token ya utilizado; inicie sesión nuevamente");
+        }
+
+        cache.put(next.hash(), CachedToken.of(next.token()));
+        return new Rotation(current.userId(), current.familyId(), next.rawToken());
+    }
+
+    public void revokeFamily(String familyId) {
+        refreshTokenRepository.revokeFamily(familyId, LocalDateTime.now(clock));
+    }
+
+    /**
+     * Cierre de sesión: revoca la familia del token si pertenece al usuario. Un token
+     * desconocido o de otro usuario se ignora.
+     */
+    public void revoke(String rawToken, Long userId) {
+        String hash = sha256(rawToken);
+        refreshTokenRepository.findByTokenHash(hash)
+                .filter(token -> token.getUserId().equals(userId))
+                .ifPresent(token -> revokeFamily(token.getFamilyId()));
+        cache.invalidate(hash);
+    }
+
+    public int revokeUser(Long userId) {
+        return refreshTokenRepository.revokeUser(userId, LocalDateTime.now(clock));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-cleanup-interval-ms:3600000}")
+    public void deleteExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now(clock));
+        if (deleted > 0) {
+            log.info("Refresh tokens expirados eliminados: {}", deleted);
+        }
+    }
+
+    private Issued create(Long userId, String familyId, LocalDateTime now) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        String hash = sha256(rawToken);
+
+        RefreshToken token = refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash)
+                .familyId(familyId)
+                .userId(userId)
+                .createdAt(now)
+                .expiresAt(now.plus(ttl))
+                .build());
+        return new Issued(rawToken, hash, token);
+    }
+
+    static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    public record Rotation(Long userId, String familyId, String refreshToken) {
+    }
+
+    private record Issued(String rawToken, String hash, RefreshToken token) {
+    }
+
+    private record CachedToken(Long id, String familyId, Long userId, LocalDateTime expiresAt) {
+
+        static CachedToken of(RefreshToken token) {
+            return new CachedToken(token.getId(), token.getFamilyId(), token.getUserId(), token.getExpiresAt());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.university.authservice.service;
+
+import com.university.common.security.RevocationList;
+import com.university.common.security.TokenRevocation;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+
+/**
+ * Revoca access tokens antes de su expiración: uno concreto (cierre de sesión, por su
+ * {@code jti}) o todos los emitidos hasta ahora para un usuario (cuenta comprometida).
+ * <p>
+ * Cada revocación va al topic de revocaciones por el outbox, en la misma transacción que la
+ * revocación de los refresh tokens; el gateway, Matrículas y cada réplica de este servicio la
+ * aplican en su {@link RevocationList} local. Aquí se aplica además al momento, para que la
+ * réplica que atendió la petición no dependa del viaje por Kafka.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    private static final String ENTITY_TOKEN = "TOKEN";
+    private static final String ENTITY_USER = "USER";
+    private static final String EVENT_TOKEN_REVOKED = "TOKEN_REVOKED";
+    private static final String EVENT_USER_TOKENS_REVOKED = "USER_TOKENS_REVOKED";
+
+    private final OutboxService outboxService;
+    private final RefreshTokenService refreshTokenService;
+    private final RevocationList revocationList;
+    private final long accessTokenTtlMs;
+    private final String revocationsTopic;
+    private final Clock clock;
+
+    public TokenRevocationService(OutboxService outboxService,
+                                  RefreshTokenService refreshTokenService,
+                                  RevocationList revocationList,
+                                  JwtService jwtService,
+                                  @Value("${kafka.topics.token-revocations}") String revocationsTopic) {
+        this.outboxService = outboxService;
+        this.refreshTokenService = refreshTokenService;
+        this.revocationList = revocationList;
+        this.accessTokenTtlMs = jwtService.getExpiration();
+        this.revocationsTopic = revocationsTopic;
+        this.clock = Clock.systemUTC();
+    }
+
+    /**
+     * Cierra la sesión del token presentado y, si llega, la familia de su refresh token.
+     */
+    @Transactional
+    public void logout(Claims claims, String refreshToken) {
+        Long userId = claims.get("userId", Long.class);
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken, userId);
+        }
+        if (claims.getId() == null) {
+            // Token emitido antes de que existiera el jti: expira por su cuenta
+            log.warn("Cierre de sesión con un token sin jti (usuario {})", userId);
+            return;
+        }
+
+        TokenRevocation revocation = TokenRevocation.token(claims.getId(), claims.getExpiration().getTime());
+        outboxService.enqueueKafka(ENTITY_TOKEN, claims.getId(), EVENT_TOKEN_REVOKED, revocationsTopic, revocation);
+        revocationList.apply(revocation);
+        log.info("Sesión cerrada: token revocado para el usuario {}", userId);
+    }
+
+    /**
+     * Revoca todos los tokens (access y refresh) emitidos hasta ahora para el usuario.
+     */
+    @Transactional
+    public void revokeUser(Long userId) {
+        long now = clock.millis();
+        int refreshTokens = refreshTokenService.revokeUser(userId);
+
+        // El corte dura lo que un access token: después ya no queda ninguno emitido antes
+        TokenRevocation revocation = TokenRevocation.user(userId, now, now + accessTokenTtlMs);
+        outboxService.enqueueKafka(ENTITY_USER, userId, EVENT_USER_TOKENS_REVOKED, revocationsTopic, revocation);
+        revocationList.apply(revocation);
+        log.warn("Tokens del usuario {} revocados ({} refresh tokens)", userId, refreshTokens);
+    }
+}
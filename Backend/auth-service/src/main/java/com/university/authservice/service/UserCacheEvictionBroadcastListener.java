@@ -0,0 +1,33 @@
+package com.university.authservice.service;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.stereotype.Component;
+
+/**
+ * Descarta de la {@link UserCredentialsCache} local los emails que cambiaron en cualquier réplica
+ * (también en esta, lo que no hace daño).
+ * <p>
+ * El topic tiene una sola partición y cada réplica se la asigna sin pertenecer a un grupo, así
+ * que todas reciben todos los avisos. No hace falta releerlo al arrancar: la caché empieza vacía.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCacheEvictionBroadcastListener {
+
+    private final UserCredentialsCache userCredentialsCache;
+
+    @KafkaListener(
+            id = "auth-user-cache-evictions",
+            topicPartitions = @TopicPartition(topic = "${kafka.topics.user-cache-evictions}", partitions = "0"),
+            groupId = "${spring.application.name}-user-cache",
+            properties = "auto.offset.reset=latest"
+    )
+    public void onEviction(ConsumerRecord<String, byte[]> consumerRecord) {
+        if (consumerRecord.key() != null) {
+            userCredentialsCache.evictLocal(consumerRecord.key());
+        }
+    }
+}
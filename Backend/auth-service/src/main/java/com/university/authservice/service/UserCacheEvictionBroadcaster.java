@@ -0,0 +1,58 @@
+package com.university.authservice.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publica en {@code kafka.topics.user-cache-evictions} los emails cuya entrada de
+ * {@link UserCredentialsCache} cambió, para que todas las réplicas la descarten.
+ * <p>
+ * El envío sale de un hilo propio con cola acotada: con el broker caído la petición no espera
+ * a Kafka. Un aviso perdido solo alarga la entrada hasta su TTL ({@code user-cache.ttl}).
+ */
+@Slf4j
+@Component
+public class UserCacheEvictionBroadcaster {
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final String topic;
+    private final ThreadPoolExecutor executor;
+
+    public UserCacheEvictionBroadcaster(KafkaTemplate<String, Object> kafkaTemplate,
+                                        @Value("${kafka.topics.user-cache-evictions}") String topic,
+                                        @Value("${user-cache.broadcast-queue-capacity:10000}") int queueCapacity) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "user-cache-broadcast");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public void broadcast(String email) {
+        try {
+            executor.execute(() -> kafkaTemplate.send(topic, email, email).whenComplete((result, error) -> {
+                if (error != null) {
+                    log.warn("No se pudo avisar a las réplicas del cambio de {}: {}", email, error.getMessage());
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            log.warn("Cola de avisos de caché llena: {} vencerá por TTL en las demás réplicas", email);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,29 @@
+package com.university.authservice.service;
+
+import com.university.authservice.domain.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalida {@link UserCredentialsCache} cuando JPA actualiza o elimina un usuario (desactivación,
+ * cambio de contraseña o de rol). Las actualizaciones JPQL no pasan por aquí y deben invalidar
+ * la caché explícitamente.
+ */
+@Component
+public class UserCacheEvictionListener {
+
+    private final UserCredentialsCache userCredentialsCache;
+
+    // Lazy: Hibernate instancia el listener al crear el EntityManagerFactory, antes que los repositorios
+    public UserCacheEvictionListener(@Lazy UserCredentialsCache userCredentialsCache) {
+        this.userCredentialsCache = userCredentialsCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    void onChange(User user) {
+        userCredentialsCache.evict(user.getEmail());
+    }
+}
@@ -0,0 +1,153 @@
+package com.university.authservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.university.authservice.domain.Role;
+import com.university.authservice.domain.User;
+import com.university.authservice.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Caché local de credenciales por email para login y registro.
+ * <p>
+ * Guarda una copia inmutable de cada usuario ({@link UserCredentials}) durante
+ * {@code user-cache.ttl} y, para los emails que no existen, una entrada negativa durante
+ * {@code user-cache.negative-ttl} (más corto: un registro en otra réplica se ve como mucho con ese
+ * retraso). Las escrituras que cambian contraseña o estado invalidan la entrada al confirmarse la
+ * transacción, aquí y en las demás réplicas por {@link UserCacheEvictionBroadcaster}.
+ */
+@Component
+public class UserCredentialsCache {
+
+    public static final String CACHE_NAME = "auth.users";
+
+    private final UserRepository userRepository;
+    private final UserCacheEvictionBroadcaster broadcaster;
+    private final Cache<String, Optional<UserCredentials>> cache;
+    private final Counter negativeHits;
+
+    @Autowired
+    public UserCredentialsCache(UserRepository userRepository,
+                                UserCacheEvictionBroadcaster broadcaster,
+                                @Value("${user-cache.max-size:10000}") long maxSize,
+                                @Value("${user-cache.ttl:5m}") Duration ttl,
+                                @Value("${user-cache.negative-ttl:30s}") Duration negativeTtl,
+                                MeterRegistry meterRegistry) {
+        this(userRepository, broadcaster, maxSize, ttl, negativeTtl, meterRegistry, Ticker.systemTicker());
+    }
+
+    UserCredentialsCache(UserRepository userRepository, UserCacheEvictionBroadcaster broadcaster, long maxSize,
+                         Duration ttl, Duration negativeTtl, MeterRegistry meterRegistry, Ticker ticker) {
+        this.userRepository = userRepository;
+        this.broadcaster = broadcaster;
+        long ttlNanos = ttl.toNanos();
+        long negativeTtlNanos = negativeTtl.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Optional<UserCredentials>>() {
+                    @Override
+                    public long expireAfterCreate(String email, Optional<UserCredentials> value, long currentTime) {
+                        return value.isPresent() ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String email, Optional<UserCredentials> value, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(email, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String email, Optional<UserCredentials> value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .ticker(ticker)
+                .recordStats()
+                .build();
+
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("auth.user.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Fracción de búsquedas de usuario resueltas sin consultar la base de datos")
+                .register(meterRegistry);
+        this.negativeHits = Counter.builder("auth.user.cache.negative.hits")
+                .description("Búsquedas de emails inexistentes resueltas por la caché negativa")
+                .register(meterRegistry);
+    }
+
+    public Optional<UserCredentials> findByEmail(String email) {
+        boolean[] loaded = new boolean[1];
+        Optional<UserCredentials> credentials = cache.get(email, key -> {
+            loaded[0] = true;
+            return userRepository.findByEmail(key).map(UserCredentials::of);
+        });
+        if (credentials.isEmpty() && !loaded[0]) {
+            negativeHits.increment();
+        }
+        return credentials;
+    }
+
+    /**
+     * Descarta la entrada del email en todas las réplicas; dentro de una transacción, también tras
+     * el commit para que una lectura concurrente no deje en caché el valor anterior, y el aviso a
+     * las demás sale solo si la transacción confirma.
+     */
+    public void evict(String email) {
+        cache.invalidate(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(email);
+                    broadcaster.broadcast(email);
+                }
+            });
+        } else {
+            broadcaster.broadcast(email);
+        }
+    }
+
+    /**
+     * Descarta la entrada solo en esta réplica (aviso recibido de otra).
+     */
+    public void evictLocal(String email) {
+        cache.invalidate(email);
+    }
+
+    /**
+     * Copia inmutable de los campos que usan login y la emisión del JWT.
+     */
+    public record UserCredentials(Long id, String email, String fullName, String passwordHash,
+                                  Role role, boolean active) {
+
+        static UserCredentials of(User user) {
+            return new UserCredentials(user.getId(), user.getEmail(), user.getFullName(), user.getPassword(),
+                    user.getRole(), Boolean.TRUE.equals(user.getActive()));
+        }
+
+        public User toUser() {
+            return User.builder()
+                    .id(id)
+                    .email(email)
+                    .fullName(fullName)
+                    .password(passwordHash)
+                    .role(role)
+                    .active(active)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.university.authservice.service;
+
+import com.university.authservice.dto.RegisterRequest;
+import com.university.authservice.exception.InvalidBulkRequestException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Lee el CSV de alta masiva: cabecera con las columnas {@code fullName}, {@code email} y
+ * {@code password} en cualquier orden, separador coma o punto y coma y campos entre comillas
+ * dobles ({@code ""} escapa una comilla). Las filas vacías se ignoran.
+ */
+final class UserCsvParser {
+
+    private UserCsvParser() {
+    }
+
+    static List<RegisterRequest> parse(String csv) {
+        String[] lines = csv.strip().split("\\r?\\n");
+        if (lines.length == 0 || lines[0].isBlank()) {
+            throw new InvalidBulkRequestException("El CSV está vacío");
+        }
+
+        String header = lines[0].startsWith("\uFEFF") ? lines[0].substring(1) : lines[0];
+        char separator = header.indexOf(';') >= 0 && header.indexOf(',') < 0 ? ';' : ',';
+        List<String> columns = split(header, separator);
+        int fullName = column(columns, "fullname");
+        int email = column(columns, "email");
+        int password = column(columns, "password");
+
+        List<RegisterRequest> rows = new ArrayList<>(lines.length - 1);
+        for (int i = 1; i < lines.length; i++) {
+            if (lines[i].isBlank()) {
+                continue;
+            }
+            List<String> fields = split(lines[i], separator);
+            rows.add(new RegisterRequest(field(fields, fullName), field(fields, email), field(fields, password)));
+        }
+        return rows;
+    }
+
+    private static int column(List<String> columns, String name) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).strip().toLowerCase(Locale.ROOT).equals(name)) {
+                return i;
+            }
+        }
+        throw new InvalidBulkRequestException("Falta la columna " + name + " en la cabecera del CSV");
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index < fields.size() ? fields.get(index).strip() : null;
+    }
+
+    private static List<String> split(String line, char separator) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
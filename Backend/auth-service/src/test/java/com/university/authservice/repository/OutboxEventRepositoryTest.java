@@ -0,0 +1,65 @@
+package com.university.authservice.repository;
+
+import com.university.authservice.domain.OutboxEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class OutboxEventRepositoryTest {
+
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+
+    @Test
+    void lockDue_SkipsMessagesWaitingForRetryAndTheRestOfTheirEntity() {
+        LocalDateTime now = LocalDateTime.now();
+        OutboxEvent backingOff = save("1", "USER_REGISTERED", now.plusMinutes(5));
+        save("1", "USER_UPDATED", now.minusSeconds(1));
+        OutboxEvent otherEntity = save("2", "USER_REGISTERED", now.minusSeconds(1));
+        OutboxEvent otherEntityNext = save("2", "USER_UPDATED", now.minusSeconds(1));
+
+        List<OutboxEvent> due = outboxRepository.lockDue(now, Limit.of(10));
+
+        assertThat(due).extracting(OutboxEvent::getId)
+                .containsExactly(otherEntity.getId(), otherEntityNext.getId())
+                .doesNotContain(backingOff.getId());
+    }
+
+    private OutboxEvent save(String userId, String eventType, LocalDateTime nextAttemptAt) {
+        return outboxRepository.save(OutboxEvent.builder()
+                .aggregateType("USER")
+                .aggregateId(userId)
+                .eventType(eventType)
+                .destination(OutboxEvent.DESTINATION_KAFKA)
+                .channel("user.events")
+                .messageKey(userId)
+                .payloadType(String.class.getName())
+                .payload("\"x\"")
+                .createdAt(LocalDateTime.now())
+                .nextAttemptAt(nextAttemptAt)
+                .build());
+    }
+
+    // AuthServiceApplication crea el usuario admin al arrancar
+    @TestConfiguration
+    static class PasswordEncoderConfig {
+
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.university.authservice.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingWindowLimiterTest {
+
+    private static final long MINUTE = Duration.ofMinutes(1).toMillis();
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final SlidingWindowLimiter limiter = limiter(100_000);
+
+    @Test
+    void recordFailure_MaxFailuresInWindow_LocksTheKey() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.recordFailure("john@test.com")).isZero();
+        }
+        assertThat(limiter.lockedFor("john@test.com")).isZero();
+
+        assertThat(limiter.recordFailure("john@test.com")).isEqualTo(MINUTE);
+        assertThat(limiter.lockedFor("john@test.com")).isEqualTo(MINUTE);
+        assertThat(limiter.lockedFor("otro@test.com")).isZero();
+
+        clock.addAndGet(MINUTE);
+        assertThat(limiter.lockedFor("john@test.com")).isZero();
+    }
+
+    @Test
+    void recordFailure_OldFailures_SlideOutOfTheWindow() {
+        for (int i = 0; i < 4; i++) {
+            limiter.recordFailure("john@test.com");
+        }
+
+        // 15 minutos de ventana: los 4 fallos anteriores ya no cuentan
+        clock.addAndGet(15 * MINUTE);
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.recordFailure("john@test.com")).isZero();
+        }
+        assertThat(limiter.lockedFor("john@test.com")).isZero();
+    }
+
+    @Test
+    void recordFailure_RepeatedLockouts_DoubleUpToTheMaximum() {
+        long[] lockouts = new long[5];
+        for (int round = 0; round < lockouts.length; round++) {
+            for (int i = 0; i < 5; i++) {
+                lockouts[round] = Math.max(lockouts[round], limiter.recordFailure("john@test.com"));
+            }
+            clock.addAndGet(lockouts[round]);
+        }
+
+        assertThat(lockouts).containsExactly(MINUTE, 2 * MINUTE, 4 * MINUTE, 8 * MINUTE, 10 * MINUTE);
+        assertThat(limiter.locked()).isEmpty();
+
+        // Sin bloqueos durante el máximo, la escalada vuelve a empezar
+        clock.addAndGet(11 * MINUTE);
+        for (int i = 0; i < 4; i++) {
+            limiter.recordFailure("john@test.com");
+        }
+        assertThat(limiter.recordFailure("john@test.com")).isEqualTo(MINUTE);
+        assertThat(limiter.locked()).singleElement()
+                .satisfies(snapshot -> assertThat(snapshot.lockouts()).isEqualTo(1));
+    }
+
+    @Test
+    void recordFailure_ManyDistinctKeys_KeepsMemoryBounded() {
+        SlidingWindowLimiter small = limiter(640);
+        for (int i = 0; i < 100_000; i++) {
+            small.recordFailure("user" + i + "@test.com");
+        }
+
+        assertThat(small.size()).isLessThanOrEqualTo(640);
+    }
+
+    private SlidingWindowLimiter limiter(int maxKeys) {
+        return new SlidingWindowLimiter(new SlidingWindowLimiter.Policy(5, Duration.ofMinutes(15), 15,
+                Duration.ofMinutes(1), Duration.ofMinutes(10), maxKeys), clock::get);
+    }
+}
@@ -3,21 +3,30 @@ package com.university.authservice.service;
 import com.university.authservice.domain.Role;
 import com.university.authservice.domain.User;
 import com.university.authservice.dto.AuthResponse;
+import com.university.authservice.dto.EmailMessage;
 import com.university.authservice.dto.LoginRequest;
+import com.university.authservice.dto.RefreshTokenRequest;
 import com.university.authservice.dto.RegisterRequest;
 import com.university.authservice.exception.InvalidCredentialsException;
+import com.university.authservice.exception.InvalidRefreshTokenException;
+import com.university.authservice.exception.PasswordHashingBusyException;
 import com.university.authservice.exception.UserAlreadyExistsException;
+import com.university.authservice.exception.TooManyLoginAttemptsException;
 import com.university.authservice.repository.UserRepository;
+import com.university.authservice.security.LoginThrottle;
+import com.university.common.constants.EventHeaders;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Optional;
 
@@ -29,21 +38,35 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class AuthServiceTest {
 
+    private static final String CLIENT_IP = "203.0.113.7";
+
     @Mock
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private UserCredentialsCache userCredentialsCache;
+
+    @Mock
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
 
     @Mock
     private JwtService jwtService;
 
     @Mock
-    private RabbitTemplate rabbitTemplate;
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private OutboxService outboxService;
 
     @Mock
     private KafkaTemplate<String, Object> kafkaTemplate;
 
+    @Mock
+    private LoginThrottle loginThrottle;
+
     @InjectMocks
     private AuthService authService;
 
@@ -57,6 +80,9 @@ class AuthServiceTest {
         ReflectionTestUtils.setField(authService, "emailRoutingKey", "email.routing.key");
         ReflectionTestUtils.setField(authService, "auditTopic", "audit.events");
         ReflectionTestUtils.setField(authService, "userRegisteredTopic", "user.registered");
+        ReflectionTestUtils.setField(authService, "userEventsTopic", "user.events");
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
 
         user = User.builder()
                 .id(1L)
@@ -81,10 +107,11 @@ class AuthServiceTest {
 
     @Test
     void register_Success() {
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(userCredentialsCache.findByEmail(anyString())).thenReturn(Optional.empty());
+        when(passwordHasher.encode(anyString())).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(user);
         when(jwtService.generateToken(any(User.class))).thenReturn("token123");
+        when(refreshTokenService.issue(1L)).thenReturn("refresh123");
 
         AuthResponse response = authService.register(registerRequest);
 
@@ -92,69 +119,196 @@ class AuthServiceTest {
         assertThat(response.getToken()).isEqualTo("token123");
         assertThat(response.getEmail()).isEqualTo("john@test.com");
         assertThat(response.getType()).isEqualTo("Bearer");
+        assertThat(response.getRefreshToken()).isEqualTo("refresh123");
 
-        verify(userRepository).existsByEmail("john@test.com");
+        verify(userCredentialsCache).findByEmail("john@test.com");
+        // La entrada negativa del email se descarta tras el registro
+        verify(userCredentialsCache).evict("john@test.com");
         verify(userRepository).save(any(User.class));
         verify(jwtService).generateToken(any(User.class));
+        verify(outboxService).enqueueRabbit(eq("USER"), eq(1L), eq("WELCOME_EMAIL"),
+                eq("email.exchange"), eq("email.routing.key"), any(EmailMessage.class));
+        // Un solo evento, en el stream de usuarios
+        verify(outboxService).enqueueKafka(eq("USER"), eq(1L), eq("USER_REGISTERED"), eq("user.events"), any());
+        verify(outboxService, never()).enqueueKafka(any(), any(), any(), eq("user.registered"), any());
+        verifyNoInteractions(kafkaTemplate);
     }
 
     @Test
     void register_UserAlreadyExists_ThrowsException() {
-        when(userRepository.existsByEmail(anyString())).thenReturn(true);
+        when(userCredentialsCache.findByEmail(anyString())).thenReturn(Optional.of(credentials(user)));
 
         assertThatThrownBy(() -> authService.register(registerRequest))
                 .isInstanceOf(UserAlreadyExistsException.class)
                 .hasMessageContaining("Ya existe un usuario con el email");
 
         verify(userRepository, never()).save(any(User.class));
+        verifyNoInteractions(outboxService, passwordHasher);
     }
 
     @Test
     void login_Success() {
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
+        when(userCredentialsCache.findByEmail(anyString())).thenReturn(Optional.of(credentials(user)));
+        when(passwordHasher.matches(anyString(), anyString())).thenReturn(true);
         when(jwtService.generateToken(any(User.class))).thenReturn("token123");
 
-        AuthResponse response = authService.login(loginRequest);
+        AuthResponse response = authService.login(loginRequest, CLIENT_IP);
 
         assertThat(response).isNotNull();
         assertThat(response.getToken()).isEqualTo("token123");
         assertThat(response.getEmail()).isEqualTo("john@test.com");
 
-        verify(userRepository).findByEmail("john@test.com");
-        verify(passwordEncoder).matches("password123", "encodedPassword");
+        verify(userCredentialsCache).findByEmail("john@test.com");
+        verifyNoInteractions(userRepository);
+        verify(passwordHasher).matches("password123", "encodedPassword");
+        verify(kafkaTemplate).send(argThat((ProducerRecord<String, Object> sent) ->
+                "user.events".equals(sent.topic())
+                        && sent.headers().lastHeader(EventHeaders.EVENT_TYPE) != null));
+        verifyNoMoreInteractions(kafkaTemplate);
+    }
+
+    @Test
+    void login_HashWithOutdatedCost_IsRehashed() {
+        when(userCredentialsCache.findByEmail(anyString())).thenReturn(Optional.of(credentials(user)));
+        when(passwordHasher.matches(anyString(), anyString())).thenReturn(true);
+        when(passwordHasher.needsRehash("encodedPassword")).thenReturn(true);
+        when(passwordHasher.encode("password123")).thenReturn("rehashedPassword");
+        when(jwtService.generateToken(any(User.class))).thenReturn("token123");
+
+        authService.login(loginRequest, CLIENT_IP);
+
+        verify(userRepository).updatePassword(1L, "rehashedPassword");
+        verify(userCredentialsCache).evict("john@test.com");
+    }
+
+    @Test
+    void login_RehashWithBusyPool_StillSucceeds() {
+        when(userCredentialsCache.findByEmail(anyString())).thenReturn(Optional.of(credentials(user)));
+        when(passwordHasher.matches(anyString(), anyString())).thenReturn(true);
+        when(passwordHasher.needsRehash("encodedPassword")).thenReturn(true);
+        when(passwordHasher.encode("password123")).thenThrow(new PasswordHashingBusyException("saturado"));
+        when(jwtService.generateToken(any(User.class))).thenReturn("token123");
+
+        AuthResponse response = authService.login(loginRequest, CLIENT_IP);
+
+        assertThat(response.getToken()).isEqualTo("token123");
+        verify(userRepository, never()).updatePassword(any(), any());
+    }
+
+    @Test
+    void refresh_ValidToken_IssuesTokensWithoutHashing() {
+        when(refreshTokenService.rotate("refresh123"))
+                .thenReturn(new RefreshTokenService.Rotation(1L, "family-1", "refresh456"));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(jwtService.generateToken(user)).thenReturn("token456");
+
+        AuthResponse response = authService.refresh(new RefreshTokenRequest("refresh123"));
+
+        assertThat(response.getToken()).isEqualTo("token456");
+        assertThat(response.getRefreshToken()).isEqualTo("refresh456");
+        verifyNoInteractions(passwordHasher, kafkaTemplate);
+    }
+
+    @Test
+    void refresh_InactiveUser_RevokesFamily() {
+        user.setActive(false);
+        when(refreshTokenService.rotate("refresh123"))
+                .thenReturn(new RefreshTokenService.Rotation(1L, "family-1", "refresh456"));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        assertThatThrownBy(() -> authService.refresh(new RefreshTokenRequest("refresh123")))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+
+        verify(refreshTokenService).revokeFamily("family-1");
+        verify(jwtService, never()).generateToken(any(User.class));
     }
 
     @Test
     void login_UserNotFound_ThrowsException() {
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
+        when(userCredentialsCache.findByEmail(anyString())).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> authService.login(loginRequest))
+        assertThatThrownBy(() -> authService.login(loginRequest, CLIENT_IP))
                 .isInstanceOf(InvalidCredentialsException.class)
                 .hasMessageContaining("Email o contraseña incorrectos");
 
-        verify(passwordEncoder, never()).matches(anyString(), anyString());
+        verify(passwordHasher, never()).matches(anyString(), anyString());
+        // Un email inexistente paga el mismo BCrypt que una contraseña incorrecta
+        verify(passwordHasher).matchesDummy("password123");
+    }
+
+    @Test
+    void register_DuplicateFromAnotherReplica_ThrowsUserAlreadyExists() {
+        when(userCredentialsCache.findByEmail(anyString())).thenReturn(Optional.empty());
+        when(passwordHasher.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("uk_email"));
+
+        assertThatThrownBy(() -> authService.register(registerRequest))
+                .isInstanceOf(UserAlreadyExistsException.class);
+
+        verify(userCredentialsCache).evict("john@test.com");
     }
 
     @Test
     void login_WrongPassword_ThrowsException() {
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(false);
+        when(userCredentialsCache.findByEmail(anyString())).thenReturn(Optional.of(credentials(user)));
+        when(passwordHasher.matches(anyString(), anyString())).thenReturn(false);
 
-        assertThatThrownBy(() -> authService.login(loginRequest))
+        assertThatThrownBy(() -> authService.login(loginRequest, CLIENT_IP))
                 .isInstanceOf(InvalidCredentialsException.class)
                 .hasMessageContaining("Email o contraseña incorrectos");
 
         verify(jwtService, never()).generateToken(any(User.class));
     }
 
+    @Test
+    void login_ThrottledEmailOrIp_IsRejectedBeforeAnyLookupOrHash() {
+        doThrow(new TooManyLoginAttemptsException("Demasiados intentos fallidos", 60))
+                .when(loginThrottle).checkAllowed("john@test.com", CLIENT_IP);
+
+        assertThatThrownBy(() -> authService.login(loginRequest, CLIENT_IP))
+                .isInstanceOf(TooManyLoginAttemptsException.class);
+
+        verifyNoInteractions(userCredentialsCache, passwordHasher);
+        verify(loginThrottle, never()).recordFailure(anyString(), anyString());
+    }
+
+    @Test
+    void login_FailureAndSuccess_AreRecordedInTheThrottle() {
+        when(userCredentialsCache.findByEmail(anyString())).thenReturn(Optional.of(credentials(user)));
+        when(passwordHasher.matches(anyString(), anyString())).thenReturn(false, true);
+        when(jwtService.generateToken(any(User.class))).thenReturn("token123");
+
+        assertThatThrownBy(() -> authService.login(loginRequest, CLIENT_IP))
+                .isInstanceOf(InvalidCredentialsException.class);
+        verify(loginThrottle).recordFailure("john@test.com", CLIENT_IP);
+
+        authService.login(loginRequest, CLIENT_IP);
+        verify(loginThrottle).recordSuccess("john@test.com");
+    }
+
     @Test
     void login_InactiveUser_ThrowsException() {
         user.setActive(false);
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
+        when(userCredentialsCache.findByEmail(anyString())).thenReturn(Optional.of(credentials(user)));
+        when(passwordHasher.matches(anyString(), anyString())).thenReturn(true);
 
-        assertThatThrownBy(() -> authService.login(loginRequest))
+        assertThatThrownBy(() -> authService.login(loginRequest, CLIENT_IP))
                 .isInstanceOf(InvalidCredentialsException.class)
                 .hasMessageContaining("Usuario inactivo");
     }
-}
\ No newline at end of file
+
+    @Test
+    void login_InactiveUserWrongPassword_ChecksPasswordAndHidesTheState() {
+        user.setActive(false);
+        when(userCredentialsCache.findByEmail(anyString())).thenReturn(Optional.of(credentials(user)));
+
+        assertThatThrownBy(() -> authService.login(loginRequest, CLIENT_IP))
+                .isInstanceOf(InvalidCredentialsException.class)
+                .hasMessageContaining("Email o contraseña incorrectos");
+        verify(passwordHasher).matches("password123", "encodedPassword");
+    }
+
+    private static UserCredentialsCache.UserCredentials credentials(User user) {
+        return UserCredentialsCache.UserCredentials.of(user);
+    }
+}
@@ -0,0 +1,163 @@
+package com.university.authservice.service;
+
+import com.university.authservice.domain.User;
+import com.university.authservice.dto.BulkProvisioningResponse;
+import com.university.authservice.dto.BulkProvisioningResponse.RowResult;
+import com.university.authservice.dto.BulkProvisioningResponse.RowStatus;
+import com.university.authservice.dto.RegisterRequest;
+import com.university.authservice.exception.InvalidBulkRequestException;
+import com.university.authservice.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Los lotes se confirman en transacciones propias, como en producción; el usuario admin que crea
+ * AuthServiceApplication al arrancar hace de email ya registrado.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkProvisioningServiceTest {
+
+    private static final String ADMIN_EMAIL = "admin@university.com";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AuthService authService = mock(AuthService.class);
+    private final UserCredentialsCache userCredentialsCache = mock(UserCredentialsCache.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BulkProvisioningService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BulkProvisioningService(userRepository, passwordEncoder, authService, userCredentialsCache,
+                new TransactionTemplate(transactionManager), Validation.buildDefaultValidatorFactory().getValidator(),
+                meterRegistry, 2, 2, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        // DELETE en bloque: sin callbacks de entidad (no hay UserCredentialsCache en el contexto)
+        userRepository.deleteAllInBatch(userRepository.findAll().stream()
+                .filter(user -> !ADMIN_EMAIL.equals(user.getEmail()))
+                .toList());
+    }
+
+    @Test
+    void provision_MixedRows_ReportsTheResultOfEachRow() {
+        BulkProvisioningResponse response = service.provision(List.of(
+                row("Ana Torres", "ana@test.com"),
+                row("Luis Ramos", "luis@test.com"),
+                row("Ana Repetida", "ana@test.com"),
+                row("X", "no-es-un-email"),
+                row("Administrador", ADMIN_EMAIL),
+                row("Eva Soto", "eva@test.com")));
+
+        assertThat(response.getResults()).extracting(RowResult::getStatus).containsExactly(
+                RowStatus.CREATED, RowStatus.CREATED, RowStatus.DUPLICATE,
+                RowStatus.INVALID, RowStatus.EXISTS, RowStatus.CREATED);
+        assertThat(response.getResults()).extracting(RowResult::getRow).containsExactly(1, 2, 3, 4, 5, 6);
+        assertThat(response.getResults().get(3).getMessage()).contains("Email inválido");
+        assertThat(response.getTotal()).isEqualTo(6);
+        assertThat(response.getCreated()).isEqualTo(3);
+        assertThat(response.getFailed()).isEqualTo(3);
+        assertThat(response.getRowsPerSecond()).isPositive();
+
+        User ana = userRepository.findByEmail("ana@test.com").orElseThrow();
+        assertThat(response.getResults().get(0).getUserId()).isEqualTo(ana.getId());
+        assertThat(passwordEncoder.matches("secreto123", ana.getPassword())).isTrue();
+        verify(authService, times(3)).enqueueRegistrationMessages(any(User.class));
+        verify(userCredentialsCache).evict("eva@test.com");
+        assertThat(meterRegistry.get("auth.bulk.rows").tag("status", "CREATED").counter().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void provision_BatchRejected_RetriesRowByRow() {
+        // El lote choca con un alta concurrente: se revierte entero y se reintenta fila a fila
+        doThrow(new IllegalStateException("outbox caído"))
+                .when(authService).enqueueRegistrationMessages(argThat(user -> "luis@test.com".equals(user.getEmail())));
+        doThrow(new DataIntegrityViolationException("duplicado"))
+                .doNothing()
+                .when(authService).enqueueRegistrationMessages(argThat(user -> "ana@test.com".equals(user.getEmail())));
+
+        BulkProvisioningResponse response = service.provision(List.of(
+                row("Ana Torres", "ana@test.com"),
+                row("Luis Ramos", "luis@test.com")));
+
+        assertThat(response.getResults()).extracting(RowResult::getStatus)
+                .containsExactly(RowStatus.CREATED, RowStatus.FAILED);
+        assertThat(userRepository.findByEmail("ana@test.com")).isPresent();
+        assertThat(userRepository.findByEmail("luis@test.com")).isEmpty();
+    }
+
+    @Test
+    void provisionCsv_HeaderInAnyOrder_CreatesTheUsers() {
+        String csv = "\uFEFFemail;password;fullName\n"
+                + "ana@test.com;secreto123;\"Torres; Ana\"\n"
+                + "luis@test.com;secreto123;Luis Ramos\n";
+
+        BulkProvisioningResponse response = service.provisionCsv(csv);
+
+        assertThat(response.getCreated()).isEqualTo(2);
+        assertThat(userRepository.findByEmail("ana@test.com"))
+                .hasValueSatisfying(user -> assertThat(user.getFullName()).isEqualTo("Torres; Ana"));
+    }
+
+    @Test
+    void provision_TooManyRows_IsRejectedBeforeHashing() {
+        List<RegisterRequest> rows = IntStream.range(0, 11)
+                .mapToObj(i -> row("Usuario " + i, "user" + i + "@test.com"))
+                .toList();
+
+        assertThatThrownBy(() -> service.provision(rows))
+                .isInstanceOf(InvalidBulkRequestException.class)
+                .hasMessageContaining("como máximo 10");
+        assertThatThrownBy(() -> service.provisionCsv("email,password\n"))
+                .isInstanceOf(InvalidBulkRequestException.class);
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    // AuthServiceApplication crea el usuario admin al arrancar
+    @TestConfiguration
+    static class PasswordEncoderConfig {
+
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+
+    private static RegisterRequest row(String fullName, String email) {
+        return new RegisterRequest(fullName, email, "secreto123");
+    }
+}
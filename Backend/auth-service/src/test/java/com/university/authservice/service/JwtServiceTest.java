@@ -37,6 +37,15 @@ class JwtServiceTest {
         assertThat(token).isNotEmpty();
     }
 
+    @Test
+    void generateToken_EachTokenHasItsOwnJti() {
+        String first = jwtService.generateToken(user);
+        String second = jwtService.generateToken(user);
+
+        assertThat(jwtService.extractAllClaims(first).getId()).isNotBlank()
+                .isNotEqualTo(jwtService.extractAllClaims(second).getId());
+    }
+
     @Test
     void extractEmail_FromValidToken_ReturnsEmail() {
         String token = jwtService.generateToken(user);
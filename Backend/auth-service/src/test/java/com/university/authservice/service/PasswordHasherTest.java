@@ -0,0 +1,111 @@
+package com.university.authservice.service;
+
+import com.university.authservice.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        if (hasher != null) {
+            hasher.shutdown();
+        }
+    }
+
+    @Test
+    void encodeAndMatches_RunOnPoolAndRecordMetrics() {
+        hasher = new PasswordHasher(new BCryptPasswordEncoder(4), 4, 2, 4, Duration.ofSeconds(5), meterRegistry);
+
+        String encoded = hasher.encode("password123");
+
+        assertThat(hasher.matches("password123", encoded)).isTrue();
+        assertThat(hasher.matches("otra", encoded)).isFalse();
+        assertThat(meterRegistry.get("auth.password.hash").tag("operation", "matches").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("auth.password.queue.wait").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void needsRehash_OnlyWhenCostDiffersFromConfigured() {
+        hasher = new PasswordHasher(new BCryptPasswordEncoder(5), 5, 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        assertThat(hasher.needsRehash(new BCryptPasswordEncoder(5).encode("x"))).isFalse();
+        assertThat(hasher.needsRehash(new BCryptPasswordEncoder(4).encode("x"))).isTrue();
+        assertThat(hasher.needsRehash(new BCryptPasswordEncoder(6).encode("x"))).isTrue();
+        assertThat(hasher.needsRehash("texto-plano")).isFalse();
+    }
+
+    @Test
+    void encode_PoolAndQueueFull_RejectsImmediately() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        hasher = new PasswordHasher(blockingEncoder(started, release), 10, 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        // Uno ocupa el único hilo y otro la única plaza de la cola
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.encode("b"));
+        waitForQueueSize(1);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> hasher.encode("c")).isInstanceOf(PasswordHashingBusyException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(500));
+        assertThat(meterRegistry.get("auth.password.rejected").counter().count()).isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash-a");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash-b");
+    }
+
+    @Test
+    void encode_WaitExceedsMaxWait_FailsWithBusy() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        hasher = new PasswordHasher(blockingEncoder(started, release), 10, 1, 4, Duration.ofMillis(100), meterRegistry);
+
+        assertThatThrownBy(() -> hasher.encode("a")).isInstanceOf(PasswordHashingBusyException.class);
+        release.countDown();
+    }
+
+    private void waitForQueueSize(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("auth.password.queue.size").gauge().value() < expected
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash-" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals(encode(rawPassword));
+            }
+        };
+    }
+}
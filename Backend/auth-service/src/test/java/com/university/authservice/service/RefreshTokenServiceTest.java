@@ -0,0 +1,162 @@
+package com.university.authservice.service;
+
+import com.university.authservice.exception.InvalidRefreshTokenException;
+import com.university.authservice.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Cada operación confirma su propia transacción, como en producción: el consumo del token
+ * depende del UPDATE condicional sobre la tabla.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RefreshTokenServiceTest {
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final MutableClock clock = new MutableClock();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RefreshTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        service = newService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAll();
+    }
+
+    @Test
+    void rotate_ValidToken_ConsumesItAndIssuesAnotherOfTheSameFamily() {
+        String first = service.issue(7L);
+
+        RefreshTokenService.Rotation rotation = service.rotate(first);
+
+        assertThat(rotation.userId()).isEqualTo(7L);
+        assertThat(rotation.refreshToken()).isNotEqualTo(first);
+        assertThat(refreshTokenRepository.findByTokenHash(RefreshTokenService.sha256(first)))
+                .hasValueSatisfying(token -> assertThat(token.getRevokedAt()).isNotNull());
+        assertThat(refreshTokenRepository.findByTokenHash(RefreshTokenService.sha256(rotation.refreshToken())))
+                .hasValueSatisfying(token -> assertThat(token.getFamilyId()).isEqualTo(rotation.familyId()));
+    }
+
+    @Test
+    void rotate_ReusedToken_RevokesTheWholeFamily() {
+        String stolen = service.issue(7L);
+        String legitimate = service.rotate(stolen).refreshToken();
+
+        assertThatThrownBy(() -> service.rotate(stolen))
+                .isInstanceOf(InvalidRefreshTokenException.class)
+                .hasMessageContaining("ya utilizado");
+        // El último token emitido también queda revocado, sin contar como otra reutilización
+        assertThatThrownBy(() -> service.rotate(legitimate))
+                .isInstanceOf(InvalidRefreshTokenException.class)
+                .hasMessageContaining("revocado");
+        assertThat(meterRegistry.get("auth.refresh.reuse.detected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void rotate_TokenRevokedByLogout_IsRejectedWithoutCountingReuse() {
+        String token = service.issue(7L);
+
+        service.revoke(token, 7L);
+
+        assertThatThrownBy(() -> service.rotate(token))
+                .isInstanceOf(InvalidRefreshTokenException.class)
+                .hasMessageContaining("revocado");
+        assertThat(meterRegistry.get("auth.refresh.reuse.detected").counter().count()).isZero();
+    }
+
+    @Test
+    void rotate_ColdCache_LooksUpTheTable() {
+        String token = service.issue(7L);
+
+        RefreshTokenService.Rotation rotation = newService().rotate(token);
+
+        assertThat(rotation.userId()).isEqualTo(7L);
+    }
+
+    @Test
+    void rotate_ExpiredOrUnknownToken_IsRejected() {
+        String token = service.issue(7L);
+        clock.advance(Duration.ofDays(8));
+
+        assertThatThrownBy(() -> service.rotate(token))
+                .isInstanceOf(InvalidRefreshTokenException.class)
+                .hasMessageContaining("expirado");
+        assertThatThrownBy(() -> service.rotate("desconocido"))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+
+        service.deleteExpired();
+        assertThat(refreshTokenRepository.count()).isZero();
+    }
+
+    // AuthServiceApplication crea el usuario admin al arrancar
+    @TestConfiguration
+    static class PasswordEncoderConfig {
+
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+
+    private RefreshTokenService newService() {
+        return new RefreshTokenService(refreshTokenRepository, new TransactionTemplate(transactionManager),
+                Duration.ofDays(7), 100, meterRegistry, clock);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2026-03-01T10:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.university.authservice.service;
+
+import com.university.authservice.domain.Role;
+import com.university.authservice.domain.User;
+import com.university.common.security.RevocationList;
+import com.university.common.security.TokenRevocation;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationServiceTest {
+
+    private static final String TOPIC = "auth.revocations";
+
+    private final OutboxService outboxService = mock(OutboxService.class);
+    private final RefreshTokenService refreshTokenService = mock(RefreshTokenService.class);
+    private final RevocationList revocationList = new RevocationList(1000, 0.001);
+    private final JwtService jwtService = new JwtService();
+    private TokenRevocationService service;
+    private Claims claims;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtService, "secret",
+                "test-secret-key-must-be-at-least-256-bits-long-for-hs256-algorithm");
+        ReflectionTestUtils.setField(jwtService, "expiration", 3600000L);
+        service = new TokenRevocationService(outboxService, refreshTokenService, revocationList, jwtService, TOPIC);
+
+        User user = User.builder()
+                .id(7L)
+                .fullName("John Doe")
+                .email("john@test.com")
+                .role(Role.ROLE_USER)
+                .build();
+        claims = jwtService.extractAllClaims(jwtService.generateToken(user));
+    }
+
+    @Test
+    void logout_RevokesTheTokenLocallyAndPublishesIt() {
+        service.logout(claims, "refresh");
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(outboxService).enqueueKafka(eq("TOKEN"), eq(claims.getId()), eq("TOKEN_REVOKED"), eq(TOPIC),
+                payload.capture());
+        assertThat(payload.getValue()).isEqualTo(
+                TokenRevocation.token(claims.getId(), claims.getExpiration().getTime()));
+        verify(refreshTokenService).revoke("refresh", 7L);
+        assertThat(revocationList.isRevoked(claims)).isTrue();
+    }
+
+    @Test
+    void logout_WithoutRefreshToken_OnlyRevokesTheAccessToken() {
+        service.logout(claims, null);
+
+        verify(refreshTokenService, never()).revoke(anyString(), any());
+        assertThat(revocationList.revokedTokens()).isEqualTo(1);
+    }
+
+    @Test
+    void revokeUser_RevokesEveryTokenIssuedSoFar() {
+        service.revokeUser(7L);
+
+        verify(refreshTokenService).revokeUser(7L);
+        verify(outboxService).enqueueKafka(eq("USER"), eq(7L), eq("USER_TOKENS_REVOKED"), eq(TOPIC),
+                any(TokenRevocation.class));
+        assertThat(revocationList.isRevoked(claims)).isTrue();
+    }
+}
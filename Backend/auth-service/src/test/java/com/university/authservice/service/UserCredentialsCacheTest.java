@@ -0,0 +1,86 @@
+package com.university.authservice.service;
+
+import com.university.authservice.domain.Role;
+import com.university.authservice.domain.User;
+import com.university.authservice.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class UserCredentialsCacheTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserCacheEvictionBroadcaster broadcaster = mock(UserCacheEvictionBroadcaster.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong ticker = new AtomicLong();
+    private final UserCredentialsCache cache = new UserCredentialsCache(userRepository, broadcaster, 100,
+            Duration.ofMinutes(5), Duration.ofSeconds(30), meterRegistry, ticker::get);
+
+    @Test
+    void findByEmail_RepeatedLookups_HitTheDatabaseOnce() {
+        when(userRepository.findByEmail("john@test.com")).thenReturn(Optional.of(user()));
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(cache.findByEmail("john@test.com"))
+                    .hasValueSatisfying(credentials -> assertThat(credentials.passwordHash()).isEqualTo("hash"));
+        }
+
+        verify(userRepository, times(1)).findByEmail("john@test.com");
+        assertThat(meterRegistry.get("auth.user.cache.hit.ratio").gauge().value()).isEqualTo(0.8);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(4.0);
+    }
+
+    @Test
+    void findByEmail_UnknownEmail_IsNegativelyCachedForAShorterTime() {
+        when(userRepository.findByEmail("nadie@test.com")).thenReturn(Optional.empty());
+
+        assertThat(cache.findByEmail("nadie@test.com")).isEmpty();
+        assertThat(cache.findByEmail("nadie@test.com")).isEmpty();
+        verify(userRepository, times(1)).findByEmail("nadie@test.com");
+        assertThat(meterRegistry.get("auth.user.cache.negative.hits").counter().count()).isEqualTo(1.0);
+
+        ticker.addAndGet(Duration.ofSeconds(31).toNanos());
+        cache.findByEmail("nadie@test.com");
+        verify(userRepository, times(2)).findByEmail("nadie@test.com");
+    }
+
+    @Test
+    void evict_InsideTransaction_AlsoInvalidatesAfterCommit() {
+        when(userRepository.findByEmail("john@test.com")).thenReturn(Optional.of(user()));
+        cache.findByEmail("john@test.com");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.evict("john@test.com");
+            // Una lectura concurrente antes del commit vuelve a cargar el valor anterior...
+            cache.findByEmail("john@test.com");
+            verifyNoInteractions(broadcaster);
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCommit());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // ...y el commit lo descarta, aquí y en las demás réplicas
+        cache.findByEmail("john@test.com");
+        verify(userRepository, times(3)).findByEmail("john@test.com");
+        verify(broadcaster).broadcast("john@test.com");
+    }
+
+    private static User user() {
+        return User.builder()
+                .id(1L)
+                .fullName("John Doe")
+                .email("john@test.com")
+                .password("hash")
+                .role(Role.ROLE_USER)
+                .active(true)
+                .build();
+    }
+}
@@ -0,0 +1,13 @@
+package com.university.common.constants;
+
+/**
+ * Cabeceras Kafka de los eventos de dominio. Permiten a los consumidores enrutar y
+ * descartar registros sin deserializar el payload.
+ */
+public final class EventHeaders {
+    private EventHeaders() {}
+
+    public static final String EVENT_TYPE = "event-type";
+    public static final String ENTITY_TYPE = "entity-type";
+    public static final String ENTITY_ID = "entity-id";
+}
@@ -0,0 +1,77 @@
+package com.university.common.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Mensaje del outbox que el {@link OutboxRelay} dejó de reintentar: agotó
+ * {@code outbox.relay.max-attempts} o su payload no se puede reconstruir. Conserva el
+ * identificador y el contenido originales para poder inspeccionarlo y, si procede, volver
+ * a insertarlo en {@code outbox_event}.
+ */
+@MappedSuperclass
+@Getter
+@NoArgsConstructor
+public abstract class DeadLetterMessage {
+
+    @Id
+    @Column(name = "outbox_id")
+    private Long id;
+
+    @Column(name = "aggregate_type", nullable = false, length = 50)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false, length = 100)
+    private String aggregateId;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @Column(name = "destination", nullable = false, length = 20)
+    private String destination;
+
+    @Column(name = "channel", nullable = false)
+    private String channel;
+
+    @Column(name = "message_key")
+    private String messageKey;
+
+    @Column(name = "payload_type", nullable = false)
+    private String payloadType;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "dead_at", nullable = false)
+    private LocalDateTime deadAt;
+
+    protected DeadLetterMessage(OutboxMessage message, LocalDateTime deadAt) {
+        this.id = message.getId();
+        this.aggregateType = message.getAggregateType();
+        this.aggregateId = message.getAggregateId();
+        this.eventType = message.getEventType();
+        this.destination = message.getDestination();
+        this.channel = message.getChannel();
+        this.messageKey = message.getMessageKey();
+        this.payloadType = message.getPayloadType();
+        this.payload = message.getPayload();
+        this.createdAt = message.getCreatedAt();
+        this.attempts = message.getAttempts();
+        this.lastError = message.getLastError();
+        this.deadAt = deadAt;
+    }
+}
@@ -0,0 +1,43 @@
+package com.university.common.outbox;
+
+import com.university.common.constants.EventHeaders;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Publica en Kafka. El futuro de {@link KafkaTemplate#send} se completa con el ack del
+ * broker; su duración la acotan {@code max.block.ms} y {@code delivery.timeout.ms} del productor.
+ */
+@RequiredArgsConstructor
+public class KafkaOutboxPublisher implements OutboxPublisher {
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Override
+    public String destination() {
+        return OutboxMessage.DESTINATION_KAFKA;
+    }
+
+    @Override
+    public CompletableFuture<?> publish(OutboxMessage message, Object payload) {
+        return kafkaTemplate.send(toRecord(message, payload));
+    }
+
+    /**
+     * Las cabeceras salen de las columnas del outbox: los consumidores pueden filtrar por tipo
+     * de evento o de entidad sin deserializar el payload.
+     */
+    private ProducerRecord<String, Object> toRecord(OutboxMessage message, Object payload) {
+        ProducerRecord<String, Object> producerRecord =
+                new ProducerRecord<>(message.getChannel(), message.getMessageKey(), payload);
+        producerRecord.headers()
+                .add(EventHeaders.EVENT_TYPE, message.getEventType().getBytes(StandardCharsets.UTF_8))
+                .add(EventHeaders.ENTITY_TYPE, message.getAggregateType().getBytes(StandardCharsets.UTF_8))
+                .add(EventHeaders.ENTITY_ID, message.getAggregateId().getBytes(StandardCharsets.UTF_8));
+        return producerRecord;
+    }
+}
@@ -0,0 +1,79 @@
+package com.university.common.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.SequenceGenerator;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Mensaje pendiente de publicación (patrón outbox). Cada servicio lo mapea a su tabla
+ * {@code outbox_event} con una entidad propia; el {@link OutboxRelay} lo publica después
+ * del commit y elimina la fila cuando el broker confirma la recepción.
+ */
+@MappedSuperclass
+@Getter
+@Setter
+@NoArgsConstructor
+@SuperBuilder
+public abstract class OutboxMessage {
+
+    public static final String DESTINATION_KAFKA = "KAFKA";
+    public static final String DESTINATION_RABBITMQ = "RABBITMQ";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+    @Column(name = "outbox_id")
+    private Long id;
+
+    @Column(name = "aggregate_type", nullable = false, length = 50)
+    private String aggregateType;
+
+    // Junto con aggregateType define el orden: los mensajes de una misma entidad se publican en secuencia
+    @Column(name = "aggregate_id", nullable = false, length = 100)
+    private String aggregateId;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @Column(name = "destination", nullable = false, length = 20)
+    private String destination;
+
+    // Topic de Kafka o exchange de RabbitMQ
+    @Column(name = "channel", nullable = false)
+    private String channel;
+
+    // Clave del mensaje en Kafka o routing key en RabbitMQ
+    @Column(name = "message_key")
+    private String messageKey;
+
+    @Column(name = "payload_type", nullable = false)
+    private String payloadType;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    public String orderingKey() {
+        return aggregateType + ":" + aggregateId;
+    }
+}
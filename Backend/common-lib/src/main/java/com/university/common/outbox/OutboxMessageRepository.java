@@ -0,0 +1,32 @@
+package com.university.common.outbox;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Consultas del relay sobre la tabla outbox; cada servicio la extiende con su entidad.
+ */
+@NoRepositoryBean
+public interface OutboxMessageRepository<M extends OutboxMessage> extends JpaRepository<M, Long> {
+
+    /**
+     * Lote más antiguo de mensajes listos para enviar, bloqueado (SELECT ... FOR UPDATE) hasta el
+     * fin de la transacción: si varias réplicas drenan a la vez, procesan los lotes de a uno.
+     * Se excluyen los mensajes en espera de reintento y los posteriores de su misma entidad, así
+     * que una entidad detenida no ocupa el lote ni adelanta mensajes fuera de orden.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM #{#entityName} o WHERE o.nextAttemptAt <= :now AND NOT EXISTS ("
+            + "SELECT 1 FROM #{#entityName} p WHERE p.aggregateType = o.aggregateType "
+            + "AND p.aggregateId = o.aggregateId AND p.id < o.id AND p.nextAttemptAt > :now) "
+            + "ORDER BY o.id")
+    List<M> lockDue(@Param("now") LocalDateTime now, Limit limit);
+}
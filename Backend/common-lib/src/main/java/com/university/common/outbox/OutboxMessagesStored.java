@@ -0,0 +1,8 @@
+package com.university.common.outbox;
+
+/**
+ * Señal publicada por cada mensaje registrado en el outbox; el {@link OutboxRelay} la atiende
+ * tras el commit para no esperar al siguiente sondeo.
+ */
+public record OutboxMessagesStored() {
+}
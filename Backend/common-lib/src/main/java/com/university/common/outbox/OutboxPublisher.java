@@ -0,0 +1,17 @@
+package com.university.common.outbox;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Envío de un mensaje del outbox a su broker. El futuro se completa cuando el broker
+ * confirma la recepción; hasta entonces la fila no se elimina.
+ */
+public interface OutboxPublisher {
+
+    /**
+     * Valor de {@link OutboxMessage#getDestination()} que atiende este publicador.
+     */
+    String destination();
+
+    CompletableFuture<?> publish(OutboxMessage message, Object payload);
+}
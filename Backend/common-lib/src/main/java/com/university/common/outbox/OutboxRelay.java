@@ -0,0 +1,305 @@
+package com.university.common.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Publica los mensajes de la tabla outbox en su broker ({@link OutboxPublisher} por destino).
+ * <p>
+ * Cada lote se procesa en "olas": en cada ola se envía como máximo un mensaje por entidad
+ * y se esperan todas las confirmaciones antes de la siguiente, así que entidades distintas
+ * se publican en paralelo y los mensajes de una misma entidad conservan su orden. Si un envío
+ * falla, la entidad queda detenida hasta su próximo reintento (backoff exponencial) y sus
+ * mensajes no se leen mientras tanto. Tras {@code max-attempts} intentos, o si el payload no se
+ * puede reconstruir, el mensaje pasa a la tabla de mensajes muertos y la entidad continúa.
+ * <p>
+ * Los envíos se hacen con las filas bloqueadas, por lo que cada ola comparte un único plazo
+ * ({@code send-timeout}): no se inician envíos una vez vencido y lo que no se confirmó a tiempo
+ * cuenta como fallo. Las filas confirmadas se eliminan en la misma transacción que las bloqueó.
+ * <p>
+ * Cada servicio lo registra como bean con sus entidades. Se despierta tras cada commit que
+ * registra mensajes y, como respaldo, cada {@code outbox.relay.poll-interval-ms}.
+ */
+@Slf4j
+public class OutboxRelay<M extends OutboxMessage, D extends DeadLetterMessage> {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    /**
+     * @param payloadPackages paquetes cuyas clases se pueden reconstruir desde la columna payload_type
+     */
+    public record Settings(int batchSize, Duration sendTimeout, Duration backoffInitial, Duration backoffMax,
+                           int maxAttempts, List<String> payloadPackages) {
+    }
+
+    private final OutboxMessageRepository<M> outboxRepository;
+    private final CrudRepository<D, Long> deadLetterRepository;
+    private final BiFunction<M, LocalDateTime, D> deadLetterFactory;
+    private final Map<String, OutboxPublisher> publishers;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Settings settings;
+    private final MeterRegistry meterRegistry;
+
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+    private final AtomicBoolean wakeUpQueued = new AtomicBoolean();
+    private final ExecutorService wakeUpExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, Class<?>> payloadTypes = new ConcurrentHashMap<>();
+
+    private final Timer lag;
+
+    public OutboxRelay(OutboxMessageRepository<M> outboxRepository,
+                       CrudRepository<D, Long> deadLetterRepository,
+                       BiFunction<M, LocalDateTime, D> deadLetterFactory,
+                       List<OutboxPublisher> publishers,
+                       ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       Settings settings) {
+        this.outboxRepository = outboxRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.deadLetterFactory = deadLetterFactory;
+        this.publishers = publishers.stream()
+                .collect(Collectors.toMap(OutboxPublisher::destination, Function.identity()));
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.settings = settings;
+
+        this.lag = Timer.builder("outbox.events.lag")
+                .description("Tiempo entre el registro del mensaje y su confirmación")
+                .register(meterRegistry);
+        // Se consulta solo al leer la métrica
+        Gauge.builder("outbox.events.pending", outboxRepository, OutboxMessageRepository::count)
+                .description("Mensajes pendientes en la tabla outbox")
+                .register(meterRegistry);
+        Gauge.builder("outbox.events.dead", deadLetterRepository, CrudRepository::count)
+                .description("Mensajes que agotaron sus reintentos, en la tabla de mensajes muertos")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMessagesStored(OutboxMessagesStored signal) {
+        // Si ya hay un drenaje en curso, drainRequested hace que repita la lectura al terminar
+        drainRequested.set(true);
+        if (wakeUpQueued.compareAndSet(false, true)) {
+            wakeUpExecutor.execute(() -> {
+                wakeUpQueued.set(false);
+                drain();
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:1000}")
+    public void poll() {
+        drain();
+    }
+
+    /**
+     * Procesa lotes mientras haya avance y queden mensajes (lote completo o aviso nuevo).
+     */
+    public void drain() {
+        if (!drainLock.tryLock()) {
+            return;
+        }
+        try {
+            boolean again;
+            do {
+                drainRequested.set(false);
+                BatchResult result = transactionTemplate.execute(status -> relayBatch());
+                again = result != null && result.handled() > 0
+                        && (result.read() == settings.batchSize() || drainRequested.get());
+            } while (again);
+        } catch (RuntimeException e) {
+            log.error("Error al procesar el outbox: {}", e.getMessage());
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        wakeUpExecutor.shutdownNow();
+    }
+
+    private BatchResult relayBatch() {
+        List<M> batch = outboxRepository.lockDue(LocalDateTime.now(), Limit.of(settings.batchSize()));
+        if (batch.isEmpty()) {
+            return new BatchResult(0, 0);
+        }
+
+        Map<String, Deque<M>> porEntidad = new LinkedHashMap<>();
+        for (M message : batch) {
+            porEntidad.computeIfAbsent(message.orderingKey(), key -> new ArrayDeque<>()).add(message);
+        }
+
+        List<M> publicados = new ArrayList<>();
+        List<M> muertos = new ArrayList<>();
+        while (!porEntidad.isEmpty()) {
+            long deadline = System.nanoTime() + settings.sendTimeout().toNanos();
+            Map<M, CompletableFuture<?>> enVuelo = new LinkedHashMap<>();
+            for (Deque<M> cola : porEntidad.values()) {
+                // Con el plazo vencido (broker sin responder) no se inician más envíos en esta ola
+                if (System.nanoTime() - deadline >= 0) {
+                    break;
+                }
+                enVuelo.put(cola.peek(), send(cola.peek()));
+            }
+            // Las entidades que no llegaron a enviarse esperan al siguiente drenaje sin contar un intento
+            porEntidad.values().removeIf(cola -> !enVuelo.containsKey(cola.peek()));
+
+            enVuelo.forEach((message, future) -> {
+                try {
+                    future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    porEntidad.get(message.orderingKey()).poll();
+                    publicados.add(message);
+                    counter("outbox.events.published", message).increment();
+                    lag.record(Duration.between(message.getCreatedAt(), LocalDateTime.now()));
+                } catch (Exception e) {
+                    if (e instanceof InterruptedException) {
+                        Thread.currentThread().interrupt();
+                    }
+                    if (recordFailure(message, e)) {
+                        porEntidad.get(message.orderingKey()).poll();
+                        muertos.add(message);
+                    } else {
+                        porEntidad.remove(message.orderingKey());
+                    }
+                }
+            });
+            porEntidad.values().removeIf(Deque::isEmpty);
+        }
+
+        if (!muertos.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            deadLetterRepository.saveAll(muertos.stream().map(message -> deadLetterFactory.apply(message, now)).toList());
+        }
+        List<M> eliminados = new ArrayList<>(publicados);
+        eliminados.addAll(muertos);
+        outboxRepository.deleteAllInBatch(eliminados);
+        if (!eliminados.isEmpty()) {
+            log.debug("Outbox: {} mensaje(s) publicados y {} descartados de {} leídos",
+                    publicados.size(), muertos.size(), batch.size());
+        }
+        return new BatchResult(batch.size(), eliminados.size());
+    }
+
+    private CompletableFuture<?> send(M message) {
+        try {
+            OutboxPublisher publisher = publishers.get(message.getDestination());
+            if (publisher == null) {
+                throw new UnpublishableMessageException("Destino sin publicador: " + message.getDestination(), null);
+            }
+            return publisher.publish(message, readPayload(message));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private Object readPayload(M message) {
+        try {
+            return objectMapper.readValue(message.getPayload(), payloadType(message.getPayloadType()));
+        } catch (UnpublishableMessageException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new UnpublishableMessageException("Payload ilegible: " + e.getMessage(), e);
+        }
+    }
+
+    private Class<?> payloadType(String className) {
+        return payloadTypes.computeIfAbsent(className, name -> {
+            // Solo se reconstruyen clases propias: la columna no debe poder instanciar tipos arbitrarios
+            if (settings.payloadPackages().stream().noneMatch(name::startsWith)) {
+                throw new UnpublishableMessageException("Tipo de mensaje no permitido en el outbox: " + name, null);
+            }
+            try {
+                return Class.forName(name);
+            } catch (ClassNotFoundException e) {
+                throw new UnpublishableMessageException("Tipo de mensaje desconocido en el outbox: " + name, e);
+            }
+        });
+    }
+
+    /**
+     * Registra el fallo: programa el reintento o, si el mensaje no se podrá publicar nunca o agotó
+     * sus intentos, indica que debe pasar a la tabla de mensajes muertos.
+     */
+    private boolean recordFailure(M message, Exception error) {
+        Throwable causa = error.getCause() != null ? error.getCause() : error;
+        String detalle = causa.getClass().getSimpleName() + ": " + causa.getMessage();
+
+        int attempts = message.getAttempts() + 1;
+        long delayMs = settings.backoffInitial().toMillis() << Math.min(attempts - 1, 20);
+        message.setAttempts(attempts);
+        message.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(Math.min(delayMs, settings.backoffMax().toMillis()))));
+        message.setLastError(detalle.length() > MAX_ERROR_LENGTH ? detalle.substring(0, MAX_ERROR_LENGTH) : detalle);
+        counter("outbox.events.failed", message).increment();
+
+        boolean dead = error instanceof UnpublishableMessageException
+                || causa instanceof UnpublishableMessageException
+                || attempts >= settings.maxAttempts();
+        if (dead) {
+            counter("outbox.events.dead-lettered", message).increment();
+            log.error("Mensaje {} del outbox ({} {}) descartado tras {} intento(s), pasa a mensajes muertos: {}",
+                    message.getId(), message.getEventType(), message.orderingKey(), attempts, detalle);
+        } else {
+            log.warn("Error al publicar el mensaje {} del outbox ({} {}), intento {}: {}",
+                    message.getId(), message.getEventType(), message.orderingKey(), attempts, detalle);
+        }
+        return dead;
+    }
+
+    private Counter counter(String name, OutboxMessage message) {
+        return Counter.builder(name)
+                .tag("destination", message.getDestination())
+                .register(meterRegistry);
+    }
+
+    private record BatchResult(int read, int handled) {
+    }
+
+    /**
+     * El mensaje no se podrá publicar aunque se reintente (payload o destino inválidos).
+     */
+    private static class UnpublishableMessageException extends RuntimeException {
+        UnpublishableMessageException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
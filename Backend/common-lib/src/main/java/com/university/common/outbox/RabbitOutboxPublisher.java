@@ -0,0 +1,47 @@
+package com.university.common.outbox;
+
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Publica en RabbitMQ con confirmaciones del broker ({@code publisher-confirm-type: correlated})
+ * y {@code mandatory}: el futuro solo se completa con el ack, y falla si el broker rechaza el
+ * mensaje o lo devuelve por no tener cola enlazada. Sin confirmaciones, la fila se eliminaría
+ * antes de que el broker guarde el mensaje y un canal caído lo perdería.
+ */
+public class RabbitOutboxPublisher implements OutboxPublisher {
+
+    private final RabbitTemplate rabbitTemplate;
+
+    public RabbitOutboxPublisher(RabbitTemplate rabbitTemplate) {
+        if (!rabbitTemplate.getConnectionFactory().isPublisherConfirms()) {
+            throw new IllegalStateException(
+                    "El outbox necesita spring.rabbitmq.publisher-confirm-type=correlated para publicar en RabbitMQ");
+        }
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    @Override
+    public String destination() {
+        return OutboxMessage.DESTINATION_RABBITMQ;
+    }
+
+    @Override
+    public CompletableFuture<?> publish(OutboxMessage message, Object payload) {
+        CorrelationData correlation = new CorrelationData(String.valueOf(message.getId()));
+        rabbitTemplate.convertAndSend(message.getChannel(), message.getMessageKey(), payload, correlation);
+        return correlation.getFuture().thenApply(confirm -> {
+            ReturnedMessage returned = correlation.getReturned();
+            if (returned != null) {
+                throw new IllegalStateException("Mensaje devuelto por el broker: " + returned.getReplyText());
+            }
+            if (!confirm.isAck()) {
+                throw new IllegalStateException("El broker rechazó el mensaje: " + confirm.getReason());
+            }
+            return confirm;
+        });
+    }
+}
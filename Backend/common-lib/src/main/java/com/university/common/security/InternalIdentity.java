@@ -0,0 +1,16 @@
+package com.university.common.security;
+
+/**
+ * Identidad del usuario autenticado que el gateway propaga a los servicios en la cabecera
+ * {@link #HEADER}, firmada con {@link InternalIdentitySigner}.
+ *
+ * @param subject   subject del JWT (email del usuario)
+ * @param userId    claim {@code userId}; puede ser {@code null}
+ * @param email     claim {@code email}; puede ser {@code null}
+ * @param role      claim {@code role}
+ * @param expiresAt instante de expiración de la cabecera (epoch en ms)
+ */
+public record InternalIdentity(String subject, Long userId, String email, String role, long expiresAt) {
+
+    public static final String HEADER = "X-Internal-Identity";
+}
@@ -0,0 +1,137 @@
+package com.university.common.security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Firma y verifica la cabecera de identidad interna ({@link InternalIdentity#HEADER}).
+ * <p>
+ * Formato: {@code v1.<payload>.<mac>}, ambos en Base64 URL sin relleno. El payload son los
+ * campos de la identidad separados por saltos de línea y el MAC es HMAC-SHA256 con una clave
+ * interna distinta de {@code jwt.secret}. La cabecera vive solo {@code ttl}: basta para cruzar
+ * del gateway al servicio y limita su reutilización si se filtrara. Verificarla cuesta un HMAC,
+ * sin parsear JSON ni consultar nada.
+ */
+public class InternalIdentitySigner {
+
+    private static final String VERSION = "v1";
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_KEY_BYTES = 32;
+    private static final int FIELDS = 5;
+    // Tolerancia entre relojes del gateway y de los servicios
+    private static final long MAX_CLOCK_SKEW_MILLIS = Duration.ofSeconds(5).toMillis();
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final Mac macPrototype;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    public InternalIdentitySigner(String key, Duration ttl) {
+        this(key, ttl, Clock.systemUTC());
+    }
+
+    InternalIdentitySigner(String key, Duration ttl, Clock clock) {
+        byte[] keyBytes = key == null ? new byte[0] : key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length < MIN_KEY_BYTES) {
+            throw new IllegalArgumentException(
+                    "La clave de identidad interna debe tener al menos " + MIN_KEY_BYTES + " bytes");
+        }
+        try {
+            this.macPrototype = Mac.getInstance(ALGORITHM);
+            this.macPrototype.init(new SecretKeySpec(keyBytes, ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " no disponible", e);
+        }
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Valor de la cabecera para la identidad indicada, válido durante el TTL configurado.
+     */
+    public String sign(String subject, Long userId, String email, String role) {
+        String payload = String.join("\n",
+                field(subject),
+                userId != null ? userId.toString() : "",
+                field(email),
+                field(role),
+                Long.toString(clock.millis() + ttlMillis));
+        String signed = VERSION + "." + ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return signed + "." + ENCODER.encodeToString(mac(signed));
+    }
+
+    /**
+     * Identidad contenida en la cabecera si el MAC es correcto y no ha expirado.
+     */
+    public Optional<InternalIdentity> verify(String header) {
+        if (header == null) {
+            return Optional.empty();
+        }
+        int macSeparator = header.lastIndexOf('.');
+        if (macSeparator < 0 || !header.startsWith(VERSION + ".")) {
+            return Optional.empty();
+        }
+
+        try {
+            String signed = header.substring(0, macSeparator);
+            byte[] expected = mac(signed);
+            byte[] received = DECODER.decode(header.substring(macSeparator + 1));
+            if (!MessageDigest.isEqual(expected, received)) {
+                return Optional.empty();
+            }
+
+            String payload = new String(DECODER.decode(signed.substring(VERSION.length() + 1)), StandardCharsets.UTF_8);
+            String[] fields = payload.split("\n", -1);
+            if (fields.length != FIELDS) {
+                return Optional.empty();
+            }
+            long expiresAt = Long.parseLong(fields[4]);
+            long now = clock.millis();
+            // Ni expirada ni con una vigencia mayor que el TTL (firmada con otra configuración)
+            if (expiresAt <= now || expiresAt > now + ttlMillis + MAX_CLOCK_SKEW_MILLIS) {
+                return Optional.empty();
+            }
+            return Optional.of(new InternalIdentity(
+                    emptyToNull(fields[0]),
+                    fields[1].isEmpty() ? null : Long.valueOf(fields[1]),
+                    emptyToNull(fields[2]),
+                    emptyToNull(fields[3]),
+                    expiresAt));
+        } catch (IllegalArgumentException e) {
+            // Base64 o números mal formados
+            return Optional.empty();
+        }
+    }
+
+    private byte[] mac(String data) {
+        try {
+            Mac mac = (Mac) macPrototype.clone();
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String field(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf('\n') >= 0) {
+            throw new IllegalArgumentException("Los campos de la identidad no pueden contener saltos de línea");
+        }
+        return value;
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
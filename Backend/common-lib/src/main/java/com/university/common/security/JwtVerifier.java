@@ -0,0 +1,126 @@
+package com.university.common.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verificación de los JWT emitidos por Auth Service (HMAC con {@code jwt.secret}), compartida
+ * por el gateway y los filtros de los servicios.
+ * <p>
+ * La clave y el parser se construyen una sola vez (el parser de jjwt es inmutable y seguro
+ * entre hilos). Los claims de cada token verificado se guardan en una caché acotada, indexada
+ * por el SHA-256 del token, hasta su expiración: las siguientes peticiones con el mismo token
+ * no vuelven a comprobar la firma ni a parsear el JSON. Los tokens inválidos no se guardan.
+ * <p>
+ * Con una {@link RevocationList}, cada verificación (también las servidas desde la caché)
+ * rechaza además los tokens revocados.
+ */
+public class JwtVerifier {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final JwtParser parser;
+    private final Cache<ByteBuffer, Claims> verified;
+    private final Clock clock;
+    private final MessageDigest digestPrototype;
+    private final RevocationList revocations;
+
+    public JwtVerifier(String secret, long maximumCachedTokens) {
+        this(secret, maximumCachedTokens, null);
+    }
+
+    public JwtVerifier(String secret, long maximumCachedTokens, RevocationList revocations) {
+        this(secret, maximumCachedTokens, revocations, Clock.systemUTC(), Ticker.systemTicker());
+    }
+
+    JwtVerifier(String secret, long maximumCachedTokens, RevocationList revocations, Clock clock, Ticker ticker) {
+        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.clock = clock;
+        this.revocations = revocations;
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .clock(() -> Date.from(clock.instant()))
+                .build();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maximumCachedTokens)
+                .expireAfter(new UntilTokenExpiry())
+                .ticker(ticker)
+                .build();
+        try {
+            this.digestPrototype = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(DIGEST_ALGORITHM + " no disponible", e);
+        }
+    }
+
+    /**
+     * Claims del token si la firma es válida, no ha expirado y no fue revocado.
+     *
+     * @throws JwtException si el token es inválido, está mal formado, expiró o fue revocado
+     */
+    public Claims verify(String token) {
+        if (token == null || token.isBlank()) {
+            throw new JwtException("Token vacío");
+        }
+        Claims claims = verified.get(digest(token), key -> parser.parseSignedClaims(token).getPayload());
+        if (revocations != null && revocations.isRevoked(claims)) {
+            throw new JwtException("Token revocado");
+        }
+        return claims;
+    }
+
+    public long cachedTokens() {
+        return verified.estimatedSize();
+    }
+
+    private ByteBuffer digest(String token) {
+        MessageDigest digest;
+        try {
+            digest = (MessageDigest) digestPrototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+        return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Cada entrada vive hasta el {@code exp} de su token; sin {@code exp} no se guarda.
+     */
+    private final class UntilTokenExpiry implements Expiry<ByteBuffer, Claims> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0L;
+            }
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0L, expiration.getTime() - clock.millis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
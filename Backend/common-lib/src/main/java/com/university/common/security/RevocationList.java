@@ -0,0 +1,137 @@
+package com.university.common.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Clock;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lista local de tokens revocados que consulta {@link JwtVerifier} en cada verificación.
+ * <p>
+ * Los {@code jti} revocados se guardan en un conjunto exacto y en un {@link BloomFilter}: para
+ * un token no revocado (el caso habitual) basta con consultar el filtro, sin tocar el mapa ni
+ * la red; solo un acierto del filtro se confirma en el conjunto. Las revocaciones por usuario
+ * (todos sus tokens emitidos antes de un instante) son pocas y van en un mapa aparte.
+ * <p>
+ * Las escrituras llegan del topic de revocaciones, son escasas y se serializan; las lecturas no
+ * bloquean. Las entradas se olvidan cuando expiran los tokens a los que afectan; al purgarlas se
+ * reconstruye el filtro, con más capacidad si el conjunto ha crecido.
+ */
+public class RevocationList {
+
+    private static final long PURGE_INTERVAL_MILLIS = 60_000L;
+
+    private final int expectedTokens;
+    private final double falsePositiveRate;
+    private final Clock clock;
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<Long, Cutoff> userCutoffs = new ConcurrentHashMap<>();
+    private final LongAdder falsePositives = new LongAdder();
+    private volatile BloomFilter tokenFilter;
+    private long lastPurge;
+
+    public RevocationList(int expectedTokens, double falsePositiveRate) {
+        this(expectedTokens, falsePositiveRate, Clock.systemUTC());
+    }
+
+    RevocationList(int expectedTokens, double falsePositiveRate, Clock clock) {
+        this.expectedTokens = expectedTokens;
+        this.falsePositiveRate = falsePositiveRate;
+        this.clock = clock;
+        this.tokenFilter = new BloomFilter(expectedTokens, falsePositiveRate);
+        this.lastPurge = clock.millis();
+    }
+
+    /**
+     * {@code true} si el token (ya verificado) fue revocado por su {@code jti} o por un corte
+     * de su usuario.
+     */
+    public boolean isRevoked(Claims claims) {
+        if (!userCutoffs.isEmpty()) {
+            Long userId = claims.get("userId", Long.class);
+            Cutoff cutoff = userId != null ? userCutoffs.get(userId) : null;
+            if (cutoff != null) {
+                Date issuedAt = claims.getIssuedAt();
+                // iat tiene resolución de segundos: un token del mismo segundo que el corte también cae
+                if (issuedAt == null || issuedAt.getTime() <= cutoff.issuedBefore()) {
+                    return true;
+                }
+            }
+        }
+
+        String jti = claims.getId();
+        if (jti == null || !tokenFilter.mightContain(jti)) {
+            return false;
+        }
+        if (revokedTokens.containsKey(jti)) {
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    public synchronized void apply(TokenRevocation revocation) {
+        long now = clock.millis();
+        if (revocation.expiresAt() <= now) {
+            return;
+        }
+        if (revocation.type() == TokenRevocation.Type.TOKEN && revocation.jti() != null) {
+            // Primero el conjunto: un lector que vea los bits en el filtro ya encuentra la entrada
+            if (revokedTokens.merge(revocation.jti(), revocation.expiresAt(), Math::max) == revocation.expiresAt()) {
+                tokenFilter.put(revocation.jti());
+            }
+        } else if (revocation.type() == TokenRevocation.Type.USER && revocation.userId() != null) {
+            userCutoffs.merge(revocation.userId(), new Cutoff(revocation.issuedBefore(), revocation.expiresAt()),
+                    Cutoff::latest);
+        }
+
+        if (now - lastPurge >= PURGE_INTERVAL_MILLIS || revokedTokens.size() > tokenFilter.capacity()) {
+            purgeExpired(now);
+        }
+    }
+
+    /**
+     * Descarta las entradas expiradas y reconstruye el filtro. Se llama sola desde {@link #apply}.
+     */
+    public synchronized void purgeExpired() {
+        purgeExpired(clock.millis());
+    }
+
+    public int revokedTokens() {
+        return revokedTokens.size();
+    }
+
+    public int revokedUsers() {
+        return userCutoffs.size();
+    }
+
+    /**
+     * Tokens no revocados que el filtro dejó pasar al conjunto exacto.
+     */
+    public long falsePositives() {
+        return falsePositives.sum();
+    }
+
+    private void purgeExpired(long now) {
+        lastPurge = now;
+        userCutoffs.values().removeIf(cutoff -> cutoff.expiresAt() <= now);
+        boolean removed = revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        if (removed || revokedTokens.size() > tokenFilter.capacity()) {
+            // El filtro nuevo se llena antes de publicarlo: los lectores nunca ven uno a medias
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedTokens, revokedTokens.size() * 2),
+                    falsePositiveRate);
+            revokedTokens.keySet().forEach(rebuilt::put);
+            tokenFilter = rebuilt;
+        }
+    }
+
+    private record Cutoff(long issuedBefore, long expiresAt) {
+
+        static Cutoff latest(Cutoff a, Cutoff b) {
+            return new Cutoff(Math.max(a.issuedBefore, b.issuedBefore), Math.max(a.expiresAt, b.expiresAt));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.university.common.security;
+
+/**
+ * Revocación publicada por Auth Service en el topic de revocaciones y aplicada por cada
+ * verificador en su {@link RevocationList}. Los instantes van en milisegundos epoch.
+ *
+ * @param type         {@link Type#TOKEN}: un access token concreto ({@code jti});
+ *                     {@link Type#USER}: todos los tokens del usuario emitidos hasta {@code issuedBefore}
+ * @param expiresAt    a partir de aquí la entrada ya no hace falta: los tokens afectados expiraron
+ */
+public record TokenRevocation(Type type, String jti, Long userId, long issuedBefore, long expiresAt) {
+
+    public enum Type {
+        TOKEN,
+        USER
+    }
+
+    public static TokenRevocation token(String jti, long expiresAt) {
+        return new TokenRevocation(Type.TOKEN, jti, null, 0L, expiresAt);
+    }
+
+    public static TokenRevocation user(Long userId, long issuedBefore, long expiresAt) {
+        return new TokenRevocation(Type.USER, null, userId, issuedBefore, expiresAt);
+    }
+}
@@ -0,0 +1,26 @@
+package com.university.common.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Fuera de servicio mientras {@link TokenRevocationListener} no haya alcanzado el final del topic
+ * de revocaciones: una instancia recién arrancada aceptaría tokens ya revocados. Se incluye en
+ * el grupo {@code readiness} de cada servicio.
+ */
+@RequiredArgsConstructor
+public class TokenRevocationHealthIndicator implements HealthIndicator {
+
+    private final TokenRevocationListener listener;
+    private final RevocationList revocationList;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = listener.isCaughtUp() ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("revokedTokens", revocationList.revokedTokens())
+                .withDetail("revokedUsers", revocationList.revokedUsers())
+                .build();
+    }
+}
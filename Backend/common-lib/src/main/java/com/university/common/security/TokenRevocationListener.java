@@ -0,0 +1,213 @@
+package com.university.common.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Aplica en la {@link RevocationList} local las revocaciones que publica Auth Service.
+ * <p>
+ * Cada instancia se asigna todas las particiones del topic sin grupo de consumidores (no deja
+ * grupos huérfanos en el broker ni depende de offsets guardados) y al arrancar lo lee desde el
+ * principio: su retención es la vida de un access token, así que recupera justo las revocaciones
+ * vigentes. El arranque espera a alcanzar los offsets finales del momento, como mucho
+ * {@code catchUpTimeout}; hasta entonces {@link #isCaughtUp()} es falso y
+ * {@link TokenRevocationHealthIndicator} mantiene la instancia fuera de servicio.
+ */
+@Slf4j
+public class TokenRevocationListener implements SmartLifecycle {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+    private static final Duration METADATA_TIMEOUT = Duration.ofSeconds(5);
+    private static final long RETRY_DELAY_MS = 2000L;
+
+    private final Supplier<Consumer<String, byte[]>> consumerFactory;
+    private final String topic;
+    private final RevocationList revocationList;
+    private final ObjectMapper objectMapper;
+    private final Duration catchUpTimeout;
+    private final boolean autoStartup;
+
+    private final CountDownLatch caughtUpLatch = new CountDownLatch(1);
+    private volatile boolean caughtUp;
+    private volatile boolean running;
+    private volatile Consumer<String, byte[]> consumer;
+    private Thread thread;
+
+    public TokenRevocationListener(String bootstrapServers, String topic, RevocationList revocationList,
+                                   ObjectMapper objectMapper, Duration catchUpTimeout, boolean autoStartup) {
+        this(() -> new KafkaConsumer<>(Map.of(
+                        ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                        ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false),
+                        new StringDeserializer(), new ByteArrayDeserializer()),
+                topic, revocationList, objectMapper, catchUpTimeout, autoStartup);
+    }
+
+    TokenRevocationListener(Supplier<Consumer<String, byte[]>> consumerFactory, String topic,
+                            RevocationList revocationList, ObjectMapper objectMapper,
+                            Duration catchUpTimeout, boolean autoStartup) {
+        this.consumerFactory = consumerFactory;
+        this.topic = topic;
+        this.revocationList = revocationList;
+        this.objectMapper = objectMapper;
+        this.catchUpTimeout = catchUpTimeout;
+        this.autoStartup = autoStartup;
+    }
+
+    /**
+     * {@code true} cuando ya se aplicaron todas las revocaciones publicadas antes del arranque.
+     */
+    public boolean isCaughtUp() {
+        return caughtUp;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "token-revocations");
+        thread.setDaemon(true);
+        thread.start();
+        try {
+            if (!caughtUpLatch.await(catchUpTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Revocaciones de {} sin leer tras {}: la instancia no estará lista hasta alcanzarlas",
+                        topic, catchUpTimeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Consumer<String, byte[]> current = consumer;
+        if (current != null) {
+            current.wakeup();
+        }
+        if (thread != null) {
+            try {
+                thread.join(POLL_TIMEOUT.toMillis() * 5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return autoStartup;
+    }
+
+    // Antes del servidor web y del registro en Eureka (fase 0): no se reciben peticiones sin revocaciones
+    @Override
+    public int getPhase() {
+        return -1;
+    }
+
+    private void run() {
+        while (running) {
+            try (Consumer<String, byte[]> current = consumerFactory.get()) {
+                consumer = current;
+                consume(current);
+            } catch (WakeupException e) {
+                // stop()
+            } catch (KafkaException e) {
+                log.error("Error leyendo revocaciones de {}: {}; se reintenta", topic, e.getMessage());
+                pause();
+            } finally {
+                consumer = null;
+            }
+        }
+    }
+
+    private void consume(Consumer<String, byte[]> current) {
+        List<TopicPartition> partitions = awaitPartitions(current);
+        if (partitions.isEmpty()) {
+            return;
+        }
+        current.assign(partitions);
+        current.seekToBeginning(partitions);
+        Map<TopicPartition, Long> endOffsets = current.endOffsets(partitions);
+        log.info("Leyendo revocaciones de {} desde el principio ({} particiones)", topic, partitions.size());
+
+        checkCaughtUp(current, endOffsets);
+        while (running) {
+            current.poll(POLL_TIMEOUT).forEach(this::apply);
+            if (!caughtUp) {
+                checkCaughtUp(current, endOffsets);
+            }
+        }
+    }
+
+    private List<TopicPartition> awaitPartitions(Consumer<String, byte[]> current) {
+        while (running) {
+            List<PartitionInfo> partitions;
+            try {
+                partitions = current.partitionsFor(topic, METADATA_TIMEOUT);
+            } catch (TimeoutException e) {
+                partitions = null;
+            }
+            if (partitions != null && !partitions.isEmpty()) {
+                return partitions.stream()
+                        .map(partition -> new TopicPartition(partition.topic(), partition.partition()))
+                        .toList();
+            }
+            log.warn("Topic de revocaciones {} no disponible todavía", topic);
+            pause();
+        }
+        return List.of();
+    }
+
+    private void checkCaughtUp(Consumer<String, byte[]> current, Map<TopicPartition, Long> endOffsets) {
+        boolean reached = endOffsets.entrySet().stream()
+                .allMatch(end -> current.position(end.getKey()) >= end.getValue());
+        if (reached) {
+            caughtUp = true;
+            caughtUpLatch.countDown();
+            log.info("Revocaciones de {} al día: {} tokens y {} usuarios revocados", topic,
+                    revocationList.revokedTokens(), revocationList.revokedUsers());
+        }
+    }
+
+    private void apply(ConsumerRecord<String, byte[]> consumerRecord) {
+        try {
+            revocationList.apply(objectMapper.readValue(consumerRecord.value(), TokenRevocation.class));
+        } catch (IOException e) {
+            log.error("Revocación ilegible en {} (offset {}): {}", consumerRecord.topic(),
+                    consumerRecord.offset(), e.getMessage());
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(RETRY_DELAY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
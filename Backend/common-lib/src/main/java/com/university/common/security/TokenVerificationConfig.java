@@ -0,0 +1,64 @@
+package com.university.common.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Verificación de JWT con lista de revocaciones, común a todos los servicios que validan
+ * tokens; cada uno la incorpora con {@code @Import}. La lista se llena desde el topic de
+ * revocaciones con {@link TokenRevocationListener} y, con actuator, el indicador
+ * {@code revocations} mantiene la instancia fuera de servicio hasta alcanzar su final.
+ */
+@Configuration(proxyBeanMethods = false)
+public class TokenVerificationConfig {
+
+    /**
+     * Tokens revocados por Auth Service, consultados en memoria en cada verificación.
+     */
+    @Bean
+    public RevocationList revocationList(@Value("${security.revocation.expected-tokens:100000}") int expectedTokens,
+                                         @Value("${security.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        return new RevocationList(expectedTokens, falsePositiveRate);
+    }
+
+    /**
+     * Clave y parser construidos una sola vez; los tokens ya verificados se reutilizan
+     * hasta su expiración sin volver a comprobar la firma (sí la revocación).
+     */
+    @Bean
+    public JwtVerifier jwtVerifier(@Value("${jwt.secret}") String secret,
+                                   @Value("${jwt.verified-cache-size:10000}") long verifiedCacheSize,
+                                   RevocationList revocationList) {
+        return new JwtVerifier(secret, verifiedCacheSize, revocationList);
+    }
+
+    /**
+     * Relee el topic de revocaciones al arrancar y lo sigue en segundo plano; la instancia no
+     * está lista hasta alcanzar su final.
+     */
+    @Bean
+    public TokenRevocationListener tokenRevocationListener(RevocationList revocationList, ObjectMapper objectMapper,
+                                                           @Value("${spring.kafka.bootstrap-servers}") String bootstrapServers,
+                                                           @Value("${kafka.topics.token-revocations}") String topic,
+                                                           @Value("${security.revocation.catch-up-timeout:30s}") Duration catchUpTimeout,
+                                                           @Value("${spring.kafka.listener.auto-startup:true}") boolean autoStartup) {
+        return new TokenRevocationListener(bootstrapServers, topic, revocationList, objectMapper,
+                catchUpTimeout, autoStartup);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.health.HealthIndicator")
+    static class RevocationHealthConfig {
+
+        @Bean
+        public TokenRevocationHealthIndicator revocationsHealthIndicator(TokenRevocationListener tokenRevocationListener,
+                                                                         RevocationList revocationList) {
+            return new TokenRevocationHealthIndicator(tokenRevocationListener, revocationList);
+        }
+    }
+}
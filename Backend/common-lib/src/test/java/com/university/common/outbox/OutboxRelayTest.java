@@ -0,0 +1,207 @@
+package com.university.common.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.common.constants.EventHeaders;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxMessageRepository<TestMessage> outboxRepository;
+
+    @Mock
+    private CrudRepository<TestDeadLetter, Long> deadLetterRepository;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay<TestMessage, TestDeadLetter> relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        relay = relay(Duration.ofSeconds(1), 5);
+    }
+
+    @Test
+    void drain_FailureStopsOnlyThatEntity_AndKeepsItsMessagesInOrder() throws Exception {
+        TestMessage f1First = message(1L, "1", "FACULTY_CREATED");
+        TestMessage f2 = message(2L, "2", "FACULTY_CREATED");
+        TestMessage f1Second = message(3L, "1", "FACULTY_UPDATED");
+        when(outboxRepository.lockDue(any(LocalDateTime.class), any(Limit.class))).thenReturn(List.of(f1First, f2, f1Second));
+
+        List<String> enviados = new ArrayList<>();
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenAnswer(invocation -> {
+            ProducerRecord<String, Object> producerRecord = invocation.getArgument(0);
+            TestPayload payload = (TestPayload) producerRecord.value();
+            assertThat(header(producerRecord, EventHeaders.EVENT_TYPE)).isEqualTo(payload.eventType());
+            assertThat(header(producerRecord, EventHeaders.ENTITY_TYPE)).isEqualTo("FACULTY");
+            enviados.add(producerRecord.key() + ":" + payload.eventType());
+            return "1".equals(producerRecord.key())
+                    ? CompletableFuture.failedFuture(new IllegalStateException("broker caído"))
+                    : CompletableFuture.completedFuture(mock(SendResult.class));
+        });
+
+        relay.drain();
+
+        // El segundo mensaje de la facultad 1 no se envía mientras el primero no se confirme
+        assertThat(enviados).containsExactlyInAnyOrder("1:FACULTY_CREATED", "2:FACULTY_CREATED");
+        assertThat(deleted()).containsExactly(f2);
+
+        assertThat(f1First.getAttempts()).isEqualTo(1);
+        assertThat(f1First.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        assertThat(f1First.getLastError()).contains("broker caído");
+        assertThat(f1Second.getAttempts()).isZero();
+        assertThat(meterRegistry.counter("outbox.events.published", "destination", "KAFKA").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("outbox.events.failed", "destination", "KAFKA").count()).isEqualTo(1.0);
+        verify(deadLetterRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void drain_LastAttemptFails_MovesMessageToDeadLettersAndEntityContinues() throws Exception {
+        TestMessage poison = message(1L, "1", "FACULTY_CREATED");
+        poison.setAttempts(4);
+        TestMessage next = message(2L, "1", "FACULTY_UPDATED");
+        when(outboxRepository.lockDue(any(LocalDateTime.class), any(Limit.class))).thenReturn(List.of(poison, next));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenAnswer(invocation -> {
+            TestPayload payload = (TestPayload) ((ProducerRecord<?, ?>) invocation.getArgument(0)).value();
+            return "FACULTY_CREATED".equals(payload.eventType())
+                    ? CompletableFuture.failedFuture(new IllegalStateException("registro rechazado"))
+                    : CompletableFuture.completedFuture(mock(SendResult.class));
+        });
+
+        relay.drain();
+
+        assertThat(deadLetters()).singleElement().satisfies(deadLetter -> {
+            assertThat(deadLetter.getId()).isEqualTo(1L);
+            assertThat(deadLetter.getAttempts()).isEqualTo(5);
+            assertThat(deadLetter.getLastError()).contains("registro rechazado");
+        });
+        assertThat(deleted()).containsExactlyInAnyOrder(poison, next);
+        assertThat(meterRegistry.counter("outbox.events.dead-lettered", "destination", "KAFKA").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void drain_UnreadablePayload_IsDeadLetteredWithoutRetrying() throws Exception {
+        TestMessage message = message(1L, "1", "FACULTY_CREATED");
+        message.setPayloadType("java.lang.ProcessBuilder");
+        when(outboxRepository.lockDue(any(LocalDateTime.class), any(Limit.class))).thenReturn(List.of(message));
+
+        relay.drain();
+
+        verify(kafkaTemplate, never()).send(any(ProducerRecord.class));
+        assertThat(deadLetters()).singleElement()
+                .satisfies(deadLetter -> assertThat(deadLetter.getLastError()).contains("no permitido"));
+        assertThat(deleted()).containsExactly(message);
+    }
+
+    @Test
+    void drain_UnconfirmedSend_FailsWhenTheWaveDeadlineExpires() throws Exception {
+        relay = relay(Duration.ofMillis(200), 5);
+        TestMessage stuck = message(1L, "1", "FACULTY_CREATED");
+        TestMessage ok = message(2L, "2", "FACULTY_CREATED");
+        when(outboxRepository.lockDue(any(LocalDateTime.class), any(Limit.class))).thenReturn(List.of(stuck, ok));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenAnswer(invocation ->
+                "1".equals(((ProducerRecord<?, ?>) invocation.getArgument(0)).key())
+                        ? new CompletableFuture<>()
+                        : CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        long start = System.nanoTime();
+        relay.drain();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(deleted()).containsExactly(ok);
+        assertThat(stuck.getAttempts()).isEqualTo(1);
+        assertThat(stuck.getLastError()).contains("TimeoutException");
+    }
+
+    private OutboxRelay<TestMessage, TestDeadLetter> relay(Duration sendTimeout, int maxAttempts) {
+        OutboxRelay.Settings settings = new OutboxRelay.Settings(10, sendTimeout, Duration.ofSeconds(1),
+                Duration.ofMinutes(1), maxAttempts, List.of("com.university.common."));
+        return new OutboxRelay<>(outboxRepository, deadLetterRepository, TestDeadLetter::new,
+                List.of(new KafkaOutboxPublisher(kafkaTemplate)), objectMapper, transactionManager,
+                meterRegistry, settings);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<TestMessage> deleted() {
+        ArgumentCaptor<List<TestMessage>> eliminados = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository).deleteAllInBatch(eliminados.capture());
+        return eliminados.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<TestDeadLetter> deadLetters() {
+        ArgumentCaptor<List<TestDeadLetter>> muertos = ArgumentCaptor.forClass(List.class);
+        verify(deadLetterRepository).saveAll(muertos.capture());
+        return muertos.getValue();
+    }
+
+    private static String header(ProducerRecord<String, Object> producerRecord, String name) {
+        return new String(producerRecord.headers().lastHeader(name).value(), StandardCharsets.UTF_8);
+    }
+
+    private TestMessage message(Long id, String aggregateId, String eventType) throws Exception {
+        return TestMessage.builder()
+                .id(id)
+                .aggregateType("FACULTY")
+                .aggregateId(aggregateId)
+                .eventType(eventType)
+                .destination(OutboxMessage.DESTINATION_KAFKA)
+                .channel("catalog.events")
+                .messageKey(aggregateId)
+                .payloadType(TestPayload.class.getName())
+                .payload(objectMapper.writeValueAsString(new TestPayload(eventType)))
+                .createdAt(LocalDateTime.now().minusSeconds(1))
+                .nextAttemptAt(LocalDateTime.now().minusSeconds(1))
+                .build();
+    }
+
+    record TestPayload(String eventType) {
+    }
+
+    @NoArgsConstructor
+    @SuperBuilder
+    static class TestMessage extends OutboxMessage {
+    }
+
+    static class TestDeadLetter extends DeadLetterMessage {
+        TestDeadLetter(OutboxMessage message, LocalDateTime deadAt) {
+            super(message, deadAt);
+        }
+    }
+}
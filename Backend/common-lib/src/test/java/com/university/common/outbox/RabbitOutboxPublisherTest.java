@@ -0,0 +1,89 @@
+package com.university.common.outbox;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RabbitOutboxPublisherTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    private final OutboxRelayTest.TestMessage message = OutboxRelayTest.TestMessage.builder()
+            .id(7L)
+            .destination(OutboxMessage.DESTINATION_RABBITMQ)
+            .channel("email.exchange")
+            .messageKey("email.routing.key")
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+    }
+
+    @Test
+    void publish_CompletesOnlyWhenTheBrokerAcks() {
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+
+        CompletableFuture<?> future = new RabbitOutboxPublisher(rabbitTemplate).publish(message, "hola");
+        CorrelationData correlation = sentCorrelation();
+
+        assertThat(correlation.getId()).isEqualTo("7");
+        assertThat(future).isNotDone();
+        correlation.getFuture().complete(new CorrelationData.Confirm(true, null));
+        assertThat(future).isCompleted();
+    }
+
+    @Test
+    void publish_NackOrReturnedMessage_Fails() {
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        RabbitOutboxPublisher publisher = new RabbitOutboxPublisher(rabbitTemplate);
+
+        CompletableFuture<?> nacked = publisher.publish(message, "hola");
+        sentCorrelation().getFuture().complete(new CorrelationData.Confirm(false, "cola llena"));
+        assertThat(nacked).isCompletedExceptionally();
+
+        CompletableFuture<?> returned = publisher.publish(message, "hola");
+        CorrelationData correlation = sentCorrelation();
+        correlation.setReturned(new ReturnedMessage(mock(Message.class), 312, "NO_ROUTE", "email.exchange", "email.routing.key"));
+        correlation.getFuture().complete(new CorrelationData.Confirm(true, null));
+        assertThat(returned).isCompletedExceptionally();
+    }
+
+    @Test
+    void constructor_WithoutPublisherConfirms_Fails() {
+        assertThatThrownBy(() -> new RabbitOutboxPublisher(rabbitTemplate))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("publisher-confirm-type");
+    }
+
+    private CorrelationData sentCorrelation() {
+        ArgumentCaptor<CorrelationData> correlation = ArgumentCaptor.forClass(CorrelationData.class);
+        verify(rabbitTemplate, atLeastOnce())
+                .convertAndSend(eq("email.exchange"), eq("email.routing.key"), any(Object.class), correlation.capture());
+        return correlation.getValue();
+    }
+}
@@ -0,0 +1,84 @@
+package com.university.common.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InternalIdentitySignerTest {
+
+    private static final String KEY = "clave-interna-de-pruebas-de-al-menos-32-bytes";
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final InternalIdentitySigner signer = signer(KEY, Duration.ofSeconds(30), NOW);
+
+    @Test
+    void verify_SignedHeader_ReturnsIdentity() {
+        String header = signer.sign("john@test.com", 7L, "john@test.com", "ROLE_ADMIN");
+
+        InternalIdentity identity = signer.verify(header).orElseThrow();
+
+        assertThat(identity.subject()).isEqualTo("john@test.com");
+        assertThat(identity.userId()).isEqualTo(7L);
+        assertThat(identity.role()).isEqualTo("ROLE_ADMIN");
+        assertThat(identity.expiresAt()).isEqualTo(NOW.plusSeconds(30).toEpochMilli());
+    }
+
+    @Test
+    void verify_OptionalFieldsMissing_ReturnsNulls() {
+        String header = signer.sign("john@test.com", null, null, "ROLE_USER");
+
+        InternalIdentity identity = signer.verify(header).orElseThrow();
+
+        assertThat(identity.userId()).isNull();
+        assertThat(identity.email()).isNull();
+    }
+
+    @Test
+    void verify_TamperedPayload_Rejected() {
+        String header = signer.sign("john@test.com", 7L, "john@test.com", "ROLE_USER");
+        String[] parts = header.split("\\.");
+        String forged = signer.sign("john@test.com", 7L, "john@test.com", "ROLE_ADMIN").split("\\.")[1];
+
+        assertThat(signer.verify(parts[0] + "." + forged + "." + parts[2])).isEmpty();
+        assertThat(signer.verify("v1.no-es-base64!.abc")).isEmpty();
+        assertThat(signer.verify("cualquier-cosa")).isEmpty();
+    }
+
+    @Test
+    void verify_SignedWithAnotherKey_Rejected() {
+        InternalIdentitySigner other = signer("otra-clave-interna-de-al-menos-32-bytes!!", Duration.ofSeconds(30), NOW);
+
+        assertThat(signer.verify(other.sign("john@test.com", 7L, null, "ROLE_USER"))).isEmpty();
+    }
+
+    @Test
+    void verify_Expired_Rejected() {
+        String header = signer.sign("john@test.com", 7L, null, "ROLE_USER");
+        InternalIdentitySigner later = signer(KEY, Duration.ofSeconds(30), NOW.plusSeconds(31));
+
+        assertThat(later.verify(header)).isEmpty();
+    }
+
+    @Test
+    void verify_LifetimeLongerThanTtl_Rejected() {
+        InternalIdentitySigner longLived = signer(KEY, Duration.ofHours(1), NOW);
+
+        assertThat(signer.verify(longLived.sign("john@test.com", 7L, null, "ROLE_USER"))).isEmpty();
+    }
+
+    @Test
+    void constructor_ShortKey_Throws() {
+        assertThatThrownBy(() -> new InternalIdentitySigner("corta", Duration.ofSeconds(30)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static InternalIdentitySigner signer(String key, Duration ttl, Instant now) {
+        return new InternalIdentitySigner(key, ttl, Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,126 @@
+package com.university.common.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtVerifierTest {
+
+    private static final String SECRET = "test-secret-key-must-be-at-least-256-bits-long-for-hs256-algorithm";
+
+    private MutableClock clock;
+    private RevocationList revocations;
+    private JwtVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        revocations = new RevocationList(1000, 0.001, clock);
+        verifier = new JwtVerifier(SECRET, 100, revocations, clock,
+                () -> TimeUnit.MILLISECONDS.toNanos(clock.millis()));
+    }
+
+    @Test
+    void verify_ValidToken_ReturnsClaimsAndReusesThem() {
+        String token = token(SECRET, Duration.ofHours(1));
+
+        Claims first = verifier.verify(token);
+        Claims second = verifier.verify(token);
+
+        assertThat(first.getSubject()).isEqualTo("john@test.com");
+        assertThat(first.get("role", String.class)).isEqualTo("ROLE_USER");
+        assertThat(second).isSameAs(first);
+        assertThat(verifier.cachedTokens()).isEqualTo(1);
+    }
+
+    @Test
+    void verify_WrongSignature_ThrowsAndIsNotCached() {
+        String token = token("otra-clave-secreta-de-al-menos-256-bits-para-firmar-el-token-hs256", Duration.ofHours(1));
+
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(JwtException.class);
+        assertThat(verifier.cachedTokens()).isZero();
+    }
+
+    @Test
+    void verify_CachedTokenPastExpiry_ThrowsExpired() {
+        String token = token(SECRET, Duration.ofMinutes(1));
+        verifier.verify(token);
+
+        clock.advance(Duration.ofMinutes(1).plusSeconds(1));
+
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void verify_RevokedCachedToken_Throws() {
+        String token = token(SECRET, Duration.ofHours(1));
+        verifier.verify(token);
+
+        revocations.apply(TokenRevocation.token("jti-1", clock.millis() + Duration.ofHours(1).toMillis()));
+
+        assertThatThrownBy(() -> verifier.verify(token))
+                .isInstanceOf(JwtException.class)
+                .hasMessageContaining("revocado");
+    }
+
+    @Test
+    void verify_BlankToken_Throws() {
+        assertThatThrownBy(() -> verifier.verify(" ")).isInstanceOf(JwtException.class);
+    }
+
+    private String token(String secret, Duration validity) {
+        Instant now = clock.instant();
+        return Jwts.builder()
+                .id("jti-1")
+                .subject("john@test.com")
+                .claim("role", "ROLE_USER")
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(validity)))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
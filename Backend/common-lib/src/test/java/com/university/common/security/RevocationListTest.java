@@ -0,0 +1,113 @@
+package com.university.common.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RevocationListTest {
+
+    private static final long HOUR = Duration.ofHours(1).toMillis();
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private final RevocationList revocations = new RevocationList(1000, 0.001, clock);
+
+    @Test
+    void isRevoked_RevokedJti_OnlyThatToken() {
+        revocations.apply(TokenRevocation.token("revocado", clock.millis() + HOUR));
+
+        assertThat(revocations.isRevoked(claims("revocado", 7L, clock.instant()))).isTrue();
+        assertThat(revocations.isRevoked(claims("otro", 7L, clock.instant()))).isFalse();
+        assertThat(revocations.isRevoked(claims(null, 7L, clock.instant()))).isFalse();
+    }
+
+    @Test
+    void isRevoked_UserCutoff_RevokesTokensIssuedUntilThen() {
+        Instant issued = clock.instant();
+        clock.advance(Duration.ofMinutes(5));
+        revocations.apply(TokenRevocation.user(7L, clock.millis(), clock.millis() + HOUR));
+
+        assertThat(revocations.isRevoked(claims("a", 7L, issued))).isTrue();
+        assertThat(revocations.isRevoked(claims("b", 8L, issued))).isFalse();
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(revocations.isRevoked(claims("c", 7L, clock.instant()))).isFalse();
+    }
+
+    @Test
+    void purgeExpired_ForgetsEntriesOnceTheirTokensExpired() {
+        revocations.apply(TokenRevocation.token("corto", clock.millis() + HOUR));
+        revocations.apply(TokenRevocation.token("largo", clock.millis() + 3 * HOUR));
+        revocations.apply(TokenRevocation.user(7L, clock.millis(), clock.millis() + HOUR));
+        // Una revocación ya vencida al llegar (relectura del topic) no se guarda
+        revocations.apply(TokenRevocation.token("viejo", clock.millis() - 1));
+
+        clock.advance(Duration.ofHours(2));
+        revocations.purgeExpired();
+
+        assertThat(revocations.revokedTokens()).isEqualTo(1);
+        assertThat(revocations.revokedUsers()).isZero();
+        assertThat(revocations.isRevoked(claims("largo", 7L, clock.instant()))).isTrue();
+        assertThat(revocations.isRevoked(claims("corto", 7L, clock.instant()))).isFalse();
+    }
+
+    @Test
+    void isRevoked_ManyRevocations_GrowsFilterAndKeepsFalsePositivesRare() {
+        for (int i = 0; i < 5000; i++) {
+            revocations.apply(TokenRevocation.token("revocado-" + i, clock.millis() + HOUR));
+        }
+
+        for (int i = 0; i < 5000; i++) {
+            assertThat(revocations.isRevoked(claims("revocado-" + i, 7L, clock.instant()))).isTrue();
+        }
+        for (int i = 0; i < 100_000; i++) {
+            assertThat(revocations.isRevoked(claims(UUID.randomUUID().toString(), 7L, clock.instant()))).isFalse();
+        }
+        // Capacidad reconstruida al doble del conjunto con un 0,1 % de falsos positivos
+        assertThat(revocations.falsePositives()).isLessThan(500);
+    }
+
+    private static Claims claims(String jti, Long userId, Instant issuedAt) {
+        return Jwts.claims()
+                .id(jti)
+                .add("userId", userId)
+                .issuedAt(Date.from(issuedAt))
+                .build();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
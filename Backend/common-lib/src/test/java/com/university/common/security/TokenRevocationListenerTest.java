@@ -0,0 +1,78 @@
+package com.university.common.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationListenerTest {
+
+    private static final String TOPIC = "auth.revocations";
+    private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+    private static final long FUTURE = System.currentTimeMillis() + Duration.ofHours(1).toMillis();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RevocationList revocationList = new RevocationList(1000, 0.001);
+    private final MockConsumer<String, byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.NONE);
+    private TokenRevocationListener listener;
+
+    @AfterEach
+    void tearDown() {
+        listener.stop();
+    }
+
+    @Test
+    void start_ReadsTheTopicFromTheBeginningBeforeReturning() throws Exception {
+        topicWithEndOffset(2L);
+        byte[] first = objectMapper.writeValueAsBytes(TokenRevocation.token("jti-1", FUTURE));
+        byte[] second = objectMapper.writeValueAsBytes(TokenRevocation.user(7L, FUTURE - 1, FUTURE));
+        consumer.schedulePollTask(() -> {
+            consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, 0L, null, first));
+            consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, 1L, null, second));
+        });
+        listener = listener(Duration.ofSeconds(5));
+
+        listener.start();
+
+        assertThat(listener.isCaughtUp()).isTrue();
+        assertThat(consumer.subscription()).isEmpty();
+        assertThat(consumer.assignment()).containsExactly(PARTITION);
+        assertThat(revocationList.revokedTokens()).isEqualTo(1);
+        assertThat(revocationList.revokedUsers()).isEqualTo(1);
+        assertThat(new TokenRevocationHealthIndicator(listener, revocationList).health().getStatus().getCode())
+                .isEqualTo("UP");
+    }
+
+    @Test
+    void start_BehindTheEndOffsets_StaysOutOfServiceAfterTheTimeout() {
+        topicWithEndOffset(1L);
+        listener = listener(Duration.ofMillis(200));
+
+        listener.start();
+
+        assertThat(listener.isCaughtUp()).isFalse();
+        assertThat(new TokenRevocationHealthIndicator(listener, revocationList).health().getStatus().getCode())
+                .isEqualTo("OUT_OF_SERVICE");
+    }
+
+    private void topicWithEndOffset(long endOffset) {
+        consumer.updatePartitions(TOPIC, List.of(new PartitionInfo(TOPIC, 0, Node.noNode(), new Node[0], new Node[0])));
+        consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+        consumer.updateEndOffsets(Map.of(PARTITION, endOffset));
+    }
+
+    private TokenRevocationListener listener(Duration catchUpTimeout) {
+        return new TokenRevocationListener(() -> consumer, TOPIC, revocationList, objectMapper, catchUpTimeout, true);
+    }
+}
@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+# Compara throughput y latencia p99 de matriculas-service entre el modo de pool de hilos
+# de plataforma (Tomcat) y el modo de hilos virtuales.
+#
+# Uso:
+#   1. Levantar el servicio en un modo:
+#        VIRTUAL_THREADS_ENABLED=false java -jar target/matriculas-service-*.jar   # plataforma
+#        VIRTUAL_THREADS_ENABLED=true  java -jar target/matriculas-service-*.jar   # virtual (JDK 21, -Pjava21)
+#   2. Ejecutar: ./benchmark/thread-modes.sh <etiqueta-modo> [base-url]
+#   3. Repetir con el otro modo; los resultados se acumulan en benchmark/results.csv
+#
+# Requiere wrk (https://github.com/wg/wrk). Variables opcionales:
+#   DURATION (30s), THREADS (4), CONNECTIONS ("50 200 800"), SEARCH_TERM (Ing)
+
+set -euo pipefail
+
+MODE="${1:?Indique la etiqueta del modo (platform | virtual)}"
+BASE_URL="${2:-http://localhost:8080/api/v1}"
+DURATION="${DURATION:-30s}"
+THREADS="${THREADS:-4}"
+CONNECTIONS="${CONNECTIONS:-50 200 800}"
+SEARCH_TERM="${SEARCH_TERM:-Ing}"
+RESULTS="$(dirname "$0")/results.csv"
+
+command -v wrk >/dev/null || { echo "wrk no está instalado" >&2; exit 1; }
+
+# Escenarios: lectura servida por la caché local y dos lecturas que consultan PostgreSQL
+declare -A SCENARIOS=(
+  [cache]="/facultades/1"
+  [search]="/facultades/buscar?nombre=${SEARCH_TERM}"
+  [page]="/carreras?limit=50"
+)
+
+[[ -f "$RESULTS" ]] || echo "mode,scenario,connections,requests_per_sec,p50_ms,p99_ms,errors" > "$RESULTS"
+
+to_ms() {
+  # Convierte la latencia de wrk (us, ms, s) a milisegundos
+  awk -v v="$1" 'BEGIN {
+    if (v ~ /us$/) { sub(/us$/, "", v); printf "%.2f", v / 1000 }
+    else if (v ~ /ms$/) { sub(/ms$/, "", v); printf "%.2f", v }
+    else if (v ~ /s$/) { sub(/s$/, "", v); printf "%.2f", v * 1000 }
+    else { printf "%s", v }
+  }'
+}
+
+for scenario in "${!SCENARIOS[@]}"; do
+  url="${BASE_URL}${SCENARIOS[$scenario]}"
+  # Calentamiento: JIT, caché y pool de conexiones
+  wrk -t"$THREADS" -c50 -d10s "$url" >/dev/null
+
+  for connections in $CONNECTIONS; do
+    output="$(wrk -t"$THREADS" -c"$connections" -d"$DURATION" --latency "$url")"
+    rps="$(awk '/^Requests\/sec/ {print $2}' <<<"$output")"
+    p50="$(to_ms "$(awk '$1 == "50%" {print $2}' <<<"$output")")"
+    p99="$(to_ms "$(awk '$1 == "99%" {print $2}' <<<"$output")")"
+    errors="$(awk '/Non-2xx or 3xx responses/ {print $5}' <<<"$output")"
+
+    echo "${MODE},${scenario},${connections},${rps},${p50},${p99},${errors:-0}" | tee -a "$RESULTS"
+  done
+done
@@ -0,0 +1,52 @@
+package com.springback.apimatriculas.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.springback.apimatriculas.util.Constants;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Caché local (near-cache) de lecturas del catálogo.
+ * Cada réplica mantiene su propia copia acotada por tamaño y tiempo; la invalidación
+ * entre réplicas la realiza {@code CatalogCacheInvalidationConsumer} a partir de los
+ * eventos faculty.* y career.* publicados en Kafka.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    private static final List<String> CATALOG_CACHES = List.of(
+            Constants.CACHE_FACULTADES,
+            Constants.CACHE_FACULTADES_ACTIVAS,
+            Constants.CACHE_CARRERAS,
+            Constants.CACHE_CARRERAS_ACTIVAS,
+            Constants.CACHE_CARRERAS_POR_FACULTAD
+    );
+
+    @Value("${catalog.cache.maximum-size:1000}")
+    private long maximumSize;
+
+    @Value("${catalog.cache.expire-after-write:10m}")
+    private Duration expireAfterWrite;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        // Nombres fijos: no se crean cachés dinámicas y actuator registra las métricas
+        // de cada una al inicio (cache.gets, cache.evictions, cache.size)
+        cacheManager.setCacheNames(CATALOG_CACHES);
+        return cacheManager;
+    }
+}
@@ -0,0 +1,26 @@
+package com.springback.apimatriculas.config;
+
+import com.university.common.security.InternalIdentitySigner;
+import com.university.common.security.TokenVerificationConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+
+@Configuration
+@Import(TokenVerificationConfig.class)
+public class JwtConfig {
+
+    /**
+     * Verifica la identidad que el gateway propaga en {@code X-Internal-Identity}.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "security.internal-identity.enabled", havingValue = "true")
+    public InternalIdentitySigner internalIdentitySigner(@Value("${security.internal-identity.key}") String key,
+                                                         @Value("${security.internal-identity.ttl:30s}") Duration ttl) {
+        return new InternalIdentitySigner(key, ttl);
+    }
+}
@@ -1,16 +1,28 @@
 package com.springback.apimatriculas.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springback.apimatriculas.consumer.HeaderRecordFilter;
+import com.springback.apimatriculas.util.Constants;
+import com.university.common.constants.EventHeaders;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.converter.ByteArrayJsonMessageConverter;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Configuration
@@ -19,6 +31,16 @@ public class KafkaConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    // Acotan cuánto puede esperar el relay del outbox a un broker caído con las filas bloqueadas
+    @Value("${kafka.producer.max-block-ms:5000}")
+    private int maxBlockMs;
+
+    @Value("${kafka.producer.request-timeout-ms:5000}")
+    private int requestTimeoutMs;
+
+    @Value("${kafka.producer.delivery-timeout-ms:10000}")
+    private int deliveryTimeoutMs;
+
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
@@ -26,6 +48,9 @@ public class KafkaConfig {
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
         configProps.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
+        configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
+        configProps.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, requestTimeoutMs);
+        configProps.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, deliveryTimeoutMs);
 
         return new DefaultKafkaProducerFactory<>(configProps);
     }
@@ -34,4 +59,24 @@ public class KafkaConfig {
     public KafkaTemplate<String, Object> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
+
+    /**
+     * Listeners de eventos del catálogo: los registros se filtran por la cabecera entity-type
+     * y solo los aceptados se convierten de bytes a JSON.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> catalogEventsListenerFactory(
+            KafkaProperties kafkaProperties, SslBundles sslBundles, ObjectMapper objectMapper,
+            @Value("${spring.kafka.listener.auto-startup:true}") boolean autoStartup) {
+        Map<String, Object> consumerProps = kafkaProperties.buildConsumerProperties(sslBundles);
+        consumerProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(consumerProps));
+        factory.setRecordMessageConverter(new ByteArrayJsonMessageConverter(objectMapper));
+        factory.setRecordFilterStrategy(new HeaderRecordFilter(EventHeaders.ENTITY_TYPE,
+                List.of(Constants.ENTITY_FACULTY, Constants.ENTITY_CAREER)));
+        factory.setAutoStartup(autoStartup);
+        return factory;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.springback.apimatriculas.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springback.apimatriculas.domain.model.OutboxDeadLetter;
+import com.springback.apimatriculas.domain.model.OutboxEvent;
+import com.springback.apimatriculas.repository.OutboxDeadLetterRepository;
+import com.springback.apimatriculas.repository.OutboxEventRepository;
+import com.university.common.outbox.KafkaOutboxPublisher;
+import com.university.common.outbox.OutboxRelay;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Relay del outbox (common-lib) con las entidades del servicio; publica solo en Kafka.
+ */
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+    public OutboxRelay<OutboxEvent, OutboxDeadLetter> outboxRelay(
+            OutboxEventRepository outboxRepository,
+            OutboxDeadLetterRepository deadLetterRepository,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${outbox.relay.batch-size:200}") int batchSize,
+            @Value("${outbox.relay.send-timeout-ms:10000}") long sendTimeoutMs,
+            @Value("${outbox.relay.backoff-initial-ms:1000}") long backoffInitialMs,
+            @Value("${outbox.relay.backoff-max-ms:300000}") long backoffMaxMs,
+            @Value("${outbox.relay.max-attempts:20}") int maxAttempts) {
+        OutboxRelay.Settings settings = new OutboxRelay.Settings(batchSize, Duration.ofMillis(sendTimeoutMs),
+                Duration.ofMillis(backoffInitialMs), Duration.ofMillis(backoffMaxMs), maxAttempts,
+                List.of("com.springback.apimatriculas."));
+        return new OutboxRelay<>(outboxRepository, deadLetterRepository, OutboxDeadLetter::new,
+                List.of(new KafkaOutboxPublisher(kafkaTemplate)), objectMapper, transactionManager,
+                meterRegistry, settings);
+    }
+}
@@ -0,0 +1,86 @@
+package com.springback.apimatriculas.config;
+
+import com.springback.apimatriculas.datasource.ConsistencyTokenListener;
+import com.springback.apimatriculas.datasource.ReplicaPool;
+import com.springback.apimatriculas.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Réplicas de lectura de PostgreSQL ({@code matriculas.datasource.replicas.enabled=true}).
+ * Sustituye el DataSource autoconfigurado por {@link ReplicaRoutingDataSource}: el primario se
+ * construye con las mismas propiedades {@code spring.datasource.*} y cada réplica usa las URLs
+ * de {@code matriculas.datasource.replicas.urls} con un pool propio de solo lectura.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "matriculas.datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    private static final String PREFIX = "matriculas.datasource.replicas.";
+
+    @Bean
+    public ReplicaRoutingDataSource dataSource(DataSourceProperties properties, Environment environment,
+                                               MeterRegistry meterRegistry) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        String[] urls = environment.getProperty(PREFIX + "urls", String[].class, new String[0]);
+        if (urls.length == 0) {
+            throw new IllegalStateException("Réplicas habilitadas sin URLs en " + PREFIX + "urls");
+        }
+
+        List<ReplicaPool.Replica> replicas = new ArrayList<>(urls.length);
+        for (int i = 0; i < urls.length; i++) {
+            replicas.add(new ReplicaPool.Replica("replica-" + (i + 1),
+                    replicaDataSource(properties, environment, urls[i].trim(), i + 1)));
+        }
+
+        ReplicaPool pool = new ReplicaPool(replicas,
+                environment.getRequiredProperty(PREFIX + "lag-query"),
+                environment.getProperty(PREFIX + "max-lag", Duration.class, Duration.ofSeconds(5)),
+                environment.getProperty(PREFIX + "health-check-interval", Duration.class, Duration.ofSeconds(1)));
+        pool.start();
+        log.info("Lecturas de solo lectura enrutadas a {} réplica(s): {}", urls.length, Arrays.toString(urls));
+        return new ReplicaRoutingDataSource(primary, pool,
+                environment.getRequiredProperty(PREFIX + "primary-position-query"), meterRegistry);
+    }
+
+    @Bean
+    public ConsistencyTokenListener consistencyTokenListener(ReplicaRoutingDataSource dataSource) {
+        return new ConsistencyTokenListener(dataSource);
+    }
+
+    private static HikariDataSource replicaDataSource(DataSourceProperties properties, Environment environment,
+                                                      String url, int number) {
+        HikariDataSource replica = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(environment.getProperty(PREFIX + "username", properties.determineUsername()))
+                .password(environment.getProperty(PREFIX + "password", properties.determinePassword()))
+                .build();
+        replica.setPoolName("replica-" + number);
+        replica.setReadOnly(true);
+        replica.setMaximumPoolSize(environment.getProperty(PREFIX + "pool-size", Integer.class, 10));
+        replica.setMinimumIdle(Math.min(replica.getMaximumPoolSize(), 2));
+        // Con la réplica saturada o caída es preferible leer del primario que esperar 30 s
+        replica.setConnectionTimeout(environment.getProperty(PREFIX + "connection-timeout",
+                Duration.class, Duration.ofSeconds(1)).toMillis());
+        // No bloquear el arranque si una réplica no responde: la verificación de salud la excluye
+        replica.setInitializationFailTimeout(-1);
+        return replica;
+    }
+}
@@ -0,0 +1,63 @@
+package com.springback.apimatriculas.config;
+
+import com.springback.apimatriculas.datasource.ConnectionLimitingDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Modo de hilos virtuales ({@code spring.threads.virtual.enabled=true}, requiere Java 21):
+ * Tomcat, el executor de tareas y los listeners atienden cada petición en un hilo virtual.
+ * Sin el límite del pool de Tomcat, el acceso a la base de datos se acota con
+ * {@link ConnectionLimitingDataSource} y se vigilan los bloqueos de hilos portadores.
+ * En Java 17 o con la propiedad desactivada nada de esto se registra.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(
+            Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        int maxCallers = environment.getProperty("matriculas.virtual-threads.max-db-callers", Integer.class, 40);
+        Duration acquireTimeout = environment.getProperty("matriculas.virtual-threads.db-acquire-timeout",
+                Duration.class, Duration.ofSeconds(2));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionLimitingDataSource) {
+                    return bean;
+                }
+                ConnectionLimitingDataSource limited =
+                        new ConnectionLimitingDataSource(dataSource, maxCallers, acquireTimeout);
+                meterRegistry.ifAvailable(registry -> Gauge
+                        .builder("db.callers.available", limited, ConnectionLimitingDataSource::getAvailablePermits)
+                        .description("Accesos concurrentes a la base de datos aún disponibles")
+                        .register(registry));
+                log.info("DataSource '{}' limitado a {} accesos concurrentes (espera máxima {} ms)",
+                        beanName, maxCallers, acquireTimeout.toMillis());
+                return limited;
+            }
+        };
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(Environment environment,
+                                                                   MeterRegistry meterRegistry) {
+        Duration threshold = environment.getProperty("matriculas.virtual-threads.pinning-threshold",
+                Duration.class, Duration.ofMillis(20));
+        return new VirtualThreadPinningMonitor(threshold, meterRegistry);
+    }
+}
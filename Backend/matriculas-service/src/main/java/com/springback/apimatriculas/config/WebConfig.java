@@ -0,0 +1,24 @@
+package com.springback.apimatriculas.config;
+
+import com.springback.apimatriculas.interceptor.CatalogETagInterceptor;
+import com.springback.apimatriculas.interceptor.ReadConsistencyInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ReadConsistencyInterceptor readConsistencyInterceptor;
+    private final CatalogETagInterceptor catalogETagInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Primero: las lecturas que haga el resto de la petición ya deben respetar el token
+        registry.addInterceptor(readConsistencyInterceptor);
+        registry.addInterceptor(catalogETagInterceptor)
+                .addPathPatterns("/facultades", "/facultades/**", "/carreras", "/carreras/**");
+    }
+}
@@ -0,0 +1,98 @@
+package com.springback.apimatriculas.consumer;
+
+import com.springback.apimatriculas.datasource.ConsistencyTokenListener;
+import com.springback.apimatriculas.dto.kafka.AuditEvent;
+import com.springback.apimatriculas.service.CatalogCacheInvalidator;
+import com.springback.apimatriculas.service.CatalogNameIndex;
+import com.springback.apimatriculas.service.CatalogVersionService;
+import com.springback.apimatriculas.service.EventPublisherService;
+import com.springback.apimatriculas.util.Constants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Mantiene coherentes la caché local, el índice de nombres y la versión del catálogo entre réplicas.
+ * Cada instancia se suscribe con un group-id propio, de modo que todas reciben todos los eventos
+ * del stream del catálogo (incluidos los que publicó ella misma). Los eventos de otras entidades
+ * se descartan por cabecera sin deserializarlos (ver {@code catalogEventsListenerFactory}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogCacheInvalidationConsumer {
+
+    private final CatalogCacheInvalidator catalogCache;
+    private final CatalogVersionService catalogVersion;
+    private final CatalogNameIndex catalogNames;
+    private final ObjectProvider<ConsistencyTokenListener> readConsistency;
+
+    @KafkaListener(
+            topics = "${kafka.topics.catalog-events}",
+            groupId = "${catalog.cache.invalidation.group-id}",
+            containerFactory = "catalogEventsListenerFactory"
+    )
+    public void consumeCatalogEvent(
+            @Payload AuditEvent event,
+            @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+        invalidate(event, topic);
+    }
+
+    /**
+     * Topics por tipo de versiones anteriores: solo se escuchan durante la migración al stream único.
+     */
+    @KafkaListener(
+            id = "catalog-legacy-topics",
+            topics = {
+                    "${kafka.topics.faculty-created}",
+                    "${kafka.topics.faculty-updated}",
+                    "${kafka.topics.faculty-deleted}",
+                    "${kafka.topics.career-created}",
+                    "${kafka.topics.career-updated}",
+                    "${kafka.topics.career-deleted}"
+            },
+            groupId = "${catalog.cache.invalidation.group-id}",
+            containerFactory = "catalogEventsListenerFactory",
+            autoStartup = "${kafka.events.legacy-topics:false}"
+    )
+    public void consumeLegacyCatalogEvent(
+            @Payload AuditEvent event,
+            @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+        invalidate(event, topic);
+    }
+
+    private void invalidate(AuditEvent event, String topic) {
+        log.debug("Invalidación de caché por evento {} desde topic {}", event.getEventType(), topic);
+        // El cambio ya está confirmado en el primario: hasta que las réplicas reproduzcan su WAL
+        // actual, las relecturas de esta instancia (índice, versión y caché) se hacen en el primario
+        readConsistency.ifAvailable(ConsistencyTokenListener::recordPrimaryPosition);
+
+        if (EventPublisherService.EVENT_FACULTY_IMPORTED.equals(event.getEventType())) {
+            // Importación masiva: se descarta toda la caché y se recarga el índice de facultades
+            catalogCache.evictAll();
+            catalogNames.reloadFacultades();
+        } else if (EventPublisherService.EVENT_CAREER_IMPORTED.equals(event.getEventType())) {
+            catalogCache.evictAll();
+            catalogNames.reloadCarreras();
+        } else if (Constants.ENTITY_FACULTY.equals(event.getEntityType())) {
+            catalogCache.evictFacultad(event.getEntityId());
+            catalogNames.reloadFacultad(event.getEntityId());
+        } else if (Constants.ENTITY_CAREER.equals(event.getEntityType())) {
+            List<Long> facultadIds = event.getRelatedEntityIds() != null ? event.getRelatedEntityIds() : List.of();
+            catalogCache.evictCarrera(event.getEntityId(), facultadIds);
+            catalogNames.reloadCarrera(event.getEntityId());
+        } else {
+            log.warn("Evento de catálogo con tipo de entidad desconocido: {}", event.getEntityType());
+        }
+
+        // Los ETag de esta réplica pasan a reflejar el cambio
+        catalogVersion.refresh();
+    }
+}
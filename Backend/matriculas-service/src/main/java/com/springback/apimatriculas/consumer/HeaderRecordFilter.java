@@ -0,0 +1,31 @@
+package com.springback.apimatriculas.consumer;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.listener.adapter.RecordFilterStrategy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Descarta registros según el valor de una cabecera, antes de convertir el payload.
+ * Los registros sin la cabecera (publicados por versiones anteriores en los topics por tipo)
+ * se entregan siempre y el listener decide con el contenido del evento.
+ */
+public final class HeaderRecordFilter implements RecordFilterStrategy<String, byte[]> {
+
+    private final String header;
+    private final Set<String> accepted;
+
+    public HeaderRecordFilter(String header, Collection<String> accepted) {
+        this.header = header;
+        this.accepted = Set.copyOf(accepted);
+    }
+
+    @Override
+    public boolean filter(ConsumerRecord<String, byte[]> consumerRecord) {
+        Header value = consumerRecord.headers().lastHeader(header);
+        return value != null && !accepted.contains(new String(value.value(), StandardCharsets.UTF_8));
+    }
+}
@@ -1,9 +1,15 @@
 package com.springback.apimatriculas.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.springback.apimatriculas.dto.request.CarreraRequestDTO;
+import com.springback.apimatriculas.dto.response.AutocompleteResponseDTO;
+import com.springback.apimatriculas.dto.response.BulkImportResponseDTO;
 import com.springback.apimatriculas.dto.response.CarreraResponseDTO;
+import com.springback.apimatriculas.dto.response.CursorPageResponseDTO;
 import com.springback.apimatriculas.exception.ErrorResponse;
 import com.springback.apimatriculas.service.interfaces.ICarreraService;
+import com.springback.apimatriculas.util.Constants;
+import com.springback.apimatriculas.util.NdjsonWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,14 +17,17 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @Slf4j
@@ -29,6 +38,7 @@ import java.util.List;
 public class CarreraController {
 
     private final ICarreraService carreraService;
+    private final ObjectMapper objectMapper;
 
     @Operation(summary = "Crear una nueva carrera", description = "Crea una nueva carrera en el sistema asociada a una facultad")
     @ApiResponses(value = {
@@ -50,6 +60,40 @@ public class CarreraController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @Operation(summary = "Importar carreras en lote (JSON)",
+            description = "Valida todo el lote en memoria, crea las filas válidas en una sola transacción " +
+                    "y devuelve el resultado de cada fila. Máximo " + Constants.IMPORT_MAX_ROWS + " filas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote procesado; ver el estado de cada fila",
+                    content = @Content(schema = @Schema(implementation = BulkImportResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Lote vacío o demasiado grande",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping(value = "/importar", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<BulkImportResponseDTO> importar(
+            @RequestBody List<CarreraRequestDTO> requestDTOs) {
+        log.info("POST /carreras/importar - Importando lote JSON");
+        BulkImportResponseDTO response = carreraService.importar(requestDTOs);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Importar carreras en lote (CSV)",
+            description = "Igual que la importación JSON, con un CSV cuya primera línea es la cabecera: facultadId,nombre,descripcion,duracionSemestres,tituloOtorgado,activo")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote procesado; ver el estado de cada fila",
+                    content = @Content(schema = @Schema(implementation = BulkImportResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "CSV mal formado, vacío o demasiado grande",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping(value = "/importar", consumes = "text/csv")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<BulkImportResponseDTO> importarCsv(@RequestBody String csv) {
+        log.info("POST /carreras/importar - Importando lote CSV");
+        BulkImportResponseDTO response = carreraService.importarCsv(csv);
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "Obtener carrera por ID", description = "Obtiene los detalles de una carrera específica por su ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Carrera encontrada",
@@ -78,6 +122,34 @@ public class CarreraController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Listar todas las carreras (paginado por cursor)",
+            description = "Devuelve una página ordenada por ID. Envíe 'after' con el nextCursor de la página anterior")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página obtenida exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Parámetros de paginación inválidos",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPageResponseDTO<CarreraResponseDTO>> getAllPage(
+            @Parameter(description = "Cantidad máxima de elementos por página", example = "20")
+            @RequestParam int limit,
+            @Parameter(description = "ID del último elemento recibido (nextCursor)", example = "20")
+            @RequestParam(required = false) Long after) {
+        log.info("GET /carreras - Página después de {} (limit {})", after, limit);
+        CursorPageResponseDTO<CarreraResponseDTO> response = carreraService.getAll(after, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Listar todas las carreras (streaming NDJSON)",
+            description = "Transmite un elemento JSON por línea leyendo la base de datos con un cursor, " +
+                    "sin cargar la lista completa en memoria. Requiere 'Accept: application/x-ndjson'")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void getAllStream(
+            HttpServletResponse response) throws IOException {
+        log.info("GET /carreras - Transmitiendo NDJSON");
+        NdjsonWriter.<CarreraResponseDTO>write(response, objectMapper, consumer -> carreraService.streamAll(consumer));
+    }
+
     @Operation(summary = "Listar carreras activas", description = "Obtiene una lista de todas las carreras activas")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de carreras activas obtenida exitosamente",
@@ -90,6 +162,34 @@ public class CarreraController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Listar carreras activas (paginado por cursor)",
+            description = "Devuelve una página ordenada por ID. Envíe 'after' con el nextCursor de la página anterior")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página obtenida exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Parámetros de paginación inválidos",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping(value = "/activas", params = "limit")
+    public ResponseEntity<CursorPageResponseDTO<CarreraResponseDTO>> getAllActivePage(
+            @Parameter(description = "Cantidad máxima de elementos por página", example = "20")
+            @RequestParam int limit,
+            @Parameter(description = "ID del último elemento recibido (nextCursor)", example = "20")
+            @RequestParam(required = false) Long after) {
+        log.info("GET /carreras/activas - Página después de {} (limit {})", after, limit);
+        CursorPageResponseDTO<CarreraResponseDTO> response = carreraService.getAllActive(after, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Listar carreras activas (streaming NDJSON)",
+            description = "Transmite un elemento JSON por línea leyendo la base de datos con un cursor, " +
+                    "sin cargar la lista completa en memoria. Requiere 'Accept: application/x-ndjson'")
+    @GetMapping(value = "/activas", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void getAllActiveStream(
+            HttpServletResponse response) throws IOException {
+        log.info("GET /carreras/activas - Transmitiendo NDJSON");
+        NdjsonWriter.<CarreraResponseDTO>write(response, objectMapper, consumer -> carreraService.streamAllActive(consumer));
+    }
+
     @Operation(summary = "Listar carreras por facultad", description = "Obtiene todas las carreras asociadas a una facultad específica")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de carreras de la facultad obtenida exitosamente",
@@ -106,6 +206,58 @@ public class CarreraController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Listar carreras por facultad (paginado por cursor)",
+            description = "Devuelve una página ordenada por ID. Envíe 'after' con el nextCursor de la página anterior")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página obtenida exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Parámetros de paginación inválidos",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping(value = "/facultad/{facultadId}", params = "limit")
+    public ResponseEntity<CursorPageResponseDTO<CarreraResponseDTO>> getByFacultadIdPage(
+            @Parameter(description = "ID de la facultad", example = "1")
+            @PathVariable Long facultadId,
+            @Parameter(description = "Cantidad máxima de elementos por página", example = "20")
+            @RequestParam int limit,
+            @Parameter(description = "ID del último elemento recibido (nextCursor)", example = "20")
+            @RequestParam(required = false) Long after) {
+        log.info("GET /carreras/facultad/{} - Página después de {} (limit {})", facultadId, after, limit);
+        CursorPageResponseDTO<CarreraResponseDTO> response = carreraService.getByFacultadId(facultadId, after, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Listar carreras por facultad (streaming NDJSON)",
+            description = "Transmite un elemento JSON por línea leyendo la base de datos con un cursor, " +
+                    "sin cargar la lista completa en memoria. Requiere 'Accept: application/x-ndjson'")
+    @GetMapping(value = "/facultad/{facultadId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void getByFacultadIdStream(
+            @Parameter(description = "ID de la facultad", example = "1")
+            @PathVariable Long facultadId,
+            HttpServletResponse response) throws IOException {
+        log.info("GET /carreras/facultad/{} - Transmitiendo NDJSON", facultadId);
+        NdjsonWriter.<CarreraResponseDTO>write(response, objectMapper, consumer -> carreraService.streamByFacultadId(facultadId, consumer));
+    }
+
+    @Operation(summary = "Autocompletar carreras por prefijo",
+            description = "Devuelve las carreras activas cuyo nombre empieza por el prefijo indicado, " +
+                    "sin distinguir mayúsculas ni tildes. Se resuelve con el índice de nombres en memoria")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sugerencias obtenidas exitosamente",
+                    content = @Content(schema = @Schema(implementation = AutocompleteResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Límite inválido",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<AutocompleteResponseDTO>> autocomplete(
+            @Parameter(description = "Prefijo del nombre", example = "Ingeniería de Sis")
+            @RequestParam String prefijo,
+            @Parameter(description = "Cantidad máxima de sugerencias", example = "10")
+            @RequestParam(defaultValue = "" + Constants.AUTOCOMPLETE_DEFAULT_LIMIT) int limit) {
+        log.debug("GET /carreras/autocomplete?prefijo={} - Autocompletando carreras", prefijo);
+        List<AutocompleteResponseDTO> response = carreraService.autocomplete(prefijo, limit);
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "Buscar carreras por nombre", description = "Busca carreras que contengan el texto especificado en su nombre")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Búsqueda realizada exitosamente",
@@ -120,6 +272,38 @@ public class CarreraController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Buscar carreras por nombre (paginado por cursor)",
+            description = "Devuelve una página ordenada por ID. Envíe 'after' con el nextCursor de la página anterior")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página obtenida exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Parámetros de paginación inválidos",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping(value = "/buscar", params = "limit")
+    public ResponseEntity<CursorPageResponseDTO<CarreraResponseDTO>> searchByNombrePage(
+            @Parameter(description = "Texto a buscar en el nombre", example = "Sistemas")
+            @RequestParam String nombre,
+            @Parameter(description = "Cantidad máxima de elementos por página", example = "20")
+            @RequestParam int limit,
+            @Parameter(description = "ID del último elemento recibido (nextCursor)", example = "20")
+            @RequestParam(required = false) Long after) {
+        log.info("GET /carreras/buscar - Página después de {} (limit {})", after, limit);
+        CursorPageResponseDTO<CarreraResponseDTO> response = carreraService.searchByNombre(nombre, after, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Buscar carreras por nombre (streaming NDJSON)",
+            description = "Transmite un elemento JSON por línea leyendo la base de datos con un cursor, " +
+                    "sin cargar la lista completa en memoria. Requiere 'Accept: application/x-ndjson'")
+    @GetMapping(value = "/buscar", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void searchByNombreStream(
+            @Parameter(description = "Texto a buscar en el nombre", example = "Sistemas")
+            @RequestParam String nombre,
+            HttpServletResponse response) throws IOException {
+        log.info("GET /carreras/buscar - Transmitiendo NDJSON");
+        NdjsonWriter.<CarreraResponseDTO>write(response, objectMapper, consumer -> carreraService.streamByNombre(nombre, consumer));
+    }
+
     @Operation(summary = "Actualizar una carrera", description = "Actualiza los datos de una carrera existente")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Carrera actualizada exitosamente",
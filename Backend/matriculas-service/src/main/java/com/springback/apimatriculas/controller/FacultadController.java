@@ -1,9 +1,15 @@
 package com.springback.apimatriculas.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.springback.apimatriculas.dto.request.FacultadRequestDTO;
+import com.springback.apimatriculas.dto.response.AutocompleteResponseDTO;
+import com.springback.apimatriculas.dto.response.BulkImportResponseDTO;
 import com.springback.apimatriculas.dto.response.FacultadResponseDTO;
+import com.springback.apimatriculas.dto.response.CursorPageResponseDTO;
 import com.springback.apimatriculas.exception.ErrorResponse;
 import com.springback.apimatriculas.service.interfaces.IFacultadService;
+import com.springback.apimatriculas.util.Constants;
+import com.springback.apimatriculas.util.NdjsonWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,14 +17,17 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @Slf4j
@@ -29,6 +38,7 @@ import java.util.List;
 public class FacultadController {
 
     private final IFacultadService facultadService;
+    private final ObjectMapper objectMapper;
 
     @Operation(summary = "Crear una nueva facultad", description = "Crea una nueva facultad en el sistema")
     @ApiResponses(value = {
@@ -48,6 +58,40 @@ public class FacultadController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @Operation(summary = "Importar facultades en lote (JSON)",
+            description = "Valida todo el lote en memoria, crea las filas válidas en una sola transacción " +
+                    "y devuelve el resultado de cada fila. Máximo " + Constants.IMPORT_MAX_ROWS + " filas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote procesado; ver el estado de cada fila",
+                    content = @Content(schema = @Schema(implementation = BulkImportResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Lote vacío o demasiado grande",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping(value = "/importar", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<BulkImportResponseDTO> importar(
+            @RequestBody List<FacultadRequestDTO> requestDTOs) {
+        log.info("POST /facultades/importar - Importando lote JSON");
+        BulkImportResponseDTO response = facultadService.importar(requestDTOs);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Importar facultades en lote (CSV)",
+            description = "Igual que la importación JSON, con un CSV cuya primera línea es la cabecera: nombre,descripcion,ubicacion,decano,activo")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote procesado; ver el estado de cada fila",
+                    content = @Content(schema = @Schema(implementation = BulkImportResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "CSV mal formado, vacío o demasiado grande",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping(value = "/importar", consumes = "text/csv")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<BulkImportResponseDTO> importarCsv(@RequestBody String csv) {
+        log.info("POST /facultades/importar - Importando lote CSV");
+        BulkImportResponseDTO response = facultadService.importarCsv(csv);
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "Obtener facultad por ID", description = "Obtiene los detalles de una facultad específica por su ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Facultad encontrada",
@@ -76,6 +120,34 @@ public class FacultadController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Listar todas las facultades (paginado por cursor)",
+            description = "Devuelve una página ordenada por ID. Envíe 'after' con el nextCursor de la página anterior")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página obtenida exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Parámetros de paginación inválidos",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPageResponseDTO<FacultadResponseDTO>> getAllPage(
+            @Parameter(description = "Cantidad máxima de elementos por página", example = "20")
+            @RequestParam int limit,
+            @Parameter(description = "ID del último elemento recibido (nextCursor)", example = "20")
+            @RequestParam(required = false) Long after) {
+        log.info("GET /facultades - Página después de {} (limit {})", after, limit);
+        CursorPageResponseDTO<FacultadResponseDTO> response = facultadService.getAll(after, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Listar todas las facultades (streaming NDJSON)",
+            description = "Transmite un elemento JSON por línea leyendo la base de datos con un cursor, " +
+                    "sin cargar la lista completa en memoria. Requiere 'Accept: application/x-ndjson'")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void getAllStream(
+            HttpServletResponse response) throws IOException {
+        log.info("GET /facultades - Transmitiendo NDJSON");
+        NdjsonWriter.<FacultadResponseDTO>write(response, objectMapper, consumer -> facultadService.streamAll(consumer));
+    }
+
     @Operation(summary = "Listar facultades activas", description = "Obtiene una lista de todas las facultades activas")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de facultades activas obtenida exitosamente",
@@ -88,6 +160,54 @@ public class FacultadController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Listar facultades activas (paginado por cursor)",
+            description = "Devuelve una página ordenada por ID. Envíe 'after' con el nextCursor de la página anterior")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página obtenida exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Parámetros de paginación inválidos",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping(value = "/activas", params = "limit")
+    public ResponseEntity<CursorPageResponseDTO<FacultadResponseDTO>> getAllActivePage(
+            @Parameter(description = "Cantidad máxima de elementos por página", example = "20")
+            @RequestParam int limit,
+            @Parameter(description = "ID del último elemento recibido (nextCursor)", example = "20")
+            @RequestParam(required = false) Long after) {
+        log.info("GET /facultades/activas - Página después de {} (limit {})", after, limit);
+        CursorPageResponseDTO<FacultadResponseDTO> response = facultadService.getAllActive(after, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Listar facultades activas (streaming NDJSON)",
+            description = "Transmite un elemento JSON por línea leyendo la base de datos con un cursor, " +
+                    "sin cargar la lista completa en memoria. Requiere 'Accept: application/x-ndjson'")
+    @GetMapping(value = "/activas", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void getAllActiveStream(
+            HttpServletResponse response) throws IOException {
+        log.info("GET /facultades/activas - Transmitiendo NDJSON");
+        NdjsonWriter.<FacultadResponseDTO>write(response, objectMapper, consumer -> facultadService.streamAllActive(consumer));
+    }
+
+    @Operation(summary = "Autocompletar facultades por prefijo",
+            description = "Devuelve las facultades activas cuyo nombre empieza por el prefijo indicado, " +
+                    "sin distinguir mayúsculas ni tildes. Se resuelve con el índice de nombres en memoria")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sugerencias obtenidas exitosamente",
+                    content = @Content(schema = @Schema(implementation = AutocompleteResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Límite inválido",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<AutocompleteResponseDTO>> autocomplete(
+            @Parameter(description = "Prefijo del nombre", example = "Ingeniería")
+            @RequestParam String prefijo,
+            @Parameter(description = "Cantidad máxima de sugerencias", example = "10")
+            @RequestParam(defaultValue = "" + Constants.AUTOCOMPLETE_DEFAULT_LIMIT) int limit) {
+        log.debug("GET /facultades/autocomplete?prefijo={} - Autocompletando facultades", prefijo);
+        List<AutocompleteResponseDTO> response = facultadService.autocomplete(prefijo, limit);
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "Buscar facultades por nombre", description = "Busca facultades que contengan el texto especificado en su nombre")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Búsqueda realizada exitosamente",
@@ -102,6 +222,38 @@ public class FacultadController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Buscar facultades por nombre (paginado por cursor)",
+            description = "Devuelve una página ordenada por ID. Envíe 'after' con el nextCursor de la página anterior")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página obtenida exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Parámetros de paginación inválidos",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping(value = "/buscar", params = "limit")
+    public ResponseEntity<CursorPageResponseDTO<FacultadResponseDTO>> searchByNombrePage(
+            @Parameter(description = "Texto a buscar en el nombre", example = "Ingeniería")
+            @RequestParam String nombre,
+            @Parameter(description = "Cantidad máxima de elementos por página", example = "20")
+            @RequestParam int limit,
+            @Parameter(description = "ID del último elemento recibido (nextCursor)", example = "20")
+            @RequestParam(required = false) Long after) {
+        log.info("GET /facultades/buscar - Página después de {} (limit {})", after, limit);
+        CursorPageResponseDTO<FacultadResponseDTO> response = facultadService.searchByNombre(nombre, after, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Buscar facultades por nombre (streaming NDJSON)",
+            description = "Transmite un elemento JSON por línea leyendo la base de datos con un cursor, " +
+                    "sin cargar la lista completa en memoria. Requiere 'Accept: application/x-ndjson'")
+    @GetMapping(value = "/buscar", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void searchByNombreStream(
+            @Parameter(description = "Texto a buscar en el nombre", example = "Ingeniería")
+            @RequestParam String nombre,
+            HttpServletResponse response) throws IOException {
+        log.info("GET /facultades/buscar - Transmitiendo NDJSON");
+        NdjsonWriter.<FacultadResponseDTO>write(response, objectMapper, consumer -> facultadService.streamByNombre(nombre, consumer));
+    }
+
     @Operation(summary = "Actualizar una facultad", description = "Actualiza los datos de una facultad existente")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Facultad actualizada exitosamente",
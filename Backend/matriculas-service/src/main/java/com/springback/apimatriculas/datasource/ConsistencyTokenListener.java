@@ -0,0 +1,60 @@
+package com.springback.apimatriculas.datasource;
+
+import com.springback.apimatriculas.util.Constants;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.sql.SQLException;
+
+/**
+ * Tras el commit de una transacción de escritura iniciada por una petición HTTP, lee la posición
+ * actual del WAL del primario (que ya incluye ese commit), la registra en {@link ReadConsistency}
+ * y la devuelve en la cabecera {@code X-Consistency-Token}. El cliente que la reenvía no leerá de
+ * una réplica que no haya reproducido el WAL hasta esa posición, en esta o en otra instancia.
+ * Las escrituras internas (relay del outbox) no afectan a las lecturas.
+ */
+@Slf4j
+public class ConsistencyTokenListener implements TransactionExecutionListener {
+
+    private final ReplicaRoutingDataSource dataSource;
+
+    public ConsistencyTokenListener(ReplicaRoutingDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure != null || transaction.isReadOnly() || !transaction.isNewTransaction()) {
+            return;
+        }
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+
+        Long position = recordPrimaryPosition();
+        HttpServletResponse response = attributes.getResponse();
+        if (position != null && response != null && !response.isCommitted()) {
+            response.setHeader(Constants.HEADER_CONSISTENCY_TOKEN, WalPosition.format(position));
+        }
+    }
+
+    /**
+     * Exige a las lecturas de esta instancia la posición actual del primario; se usa también
+     * cuando otra instancia notifica un cambio ya confirmado. Devuelve {@code null} si el
+     * primario no responde: ese cambio queda sin garantía de lectura propia.
+     */
+    public Long recordPrimaryPosition() {
+        try {
+            long position = dataSource.primaryPosition();
+            ReadConsistency.recordWrite(position);
+            return position;
+        } catch (SQLException | RuntimeException e) {
+            log.warn("No se pudo leer la posición WAL del primario: {}", e.getMessage());
+            return null;
+        }
+    }
+}
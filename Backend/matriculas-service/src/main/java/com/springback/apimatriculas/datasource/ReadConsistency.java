@@ -0,0 +1,60 @@
+package com.springback.apimatriculas.datasource;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Posición mínima del WAL del primario ({@link WalPosition}) que debe haber aplicado una réplica
+ * para atender una lectura sin devolver datos anteriores a una escritura ya confirmada.
+ * <p>
+ * Combina dos exigencias:
+ * <ul>
+ *   <li>Global: la última escritura conocida por esta instancia (commit propio o evento de
+ *       otra instancia). Así la caché, los ETag y el índice de nombres nunca se rellenan
+ *       desde una réplica atrasada.</li>
+ *   <li>Por petición: el token de consistencia que devuelve una escritura y que el cliente
+ *       reenvía en la cabecera {@code X-Consistency-Token} (lee sus propias escrituras aunque
+ *       la siguiente petición llegue a otra instancia).</li>
+ * </ul>
+ */
+public final class ReadConsistency {
+
+    private static final AtomicLong lastWrite = new AtomicLong();
+    private static final ThreadLocal<Long> requested = new ThreadLocal<>();
+
+    private ReadConsistency() {
+        throw new IllegalStateException("Clase de utilidad - No se puede instanciar");
+    }
+
+    /**
+     * Registra una escritura confirmada cuya posición en el WAL del primario es, como mucho,
+     * {@code position}.
+     */
+    public static void recordWrite(long position) {
+        lastWrite.accumulateAndGet(position, WalPosition::max);
+    }
+
+    /**
+     * Exige para la petición actual datos al menos hasta la posición {@code position}. Un token
+     * manipulado solo hace que las lecturas de esa petición vayan al primario.
+     */
+    public static void require(long position) {
+        Long current = requested.get();
+        if (current == null || !WalPosition.isAtLeast(current, position)) {
+            requested.set(position);
+        }
+    }
+
+    public static long required() {
+        Long current = requested.get();
+        return current != null ? WalPosition.max(current, lastWrite.get()) : lastWrite.get();
+    }
+
+    public static void clear() {
+        requested.remove();
+    }
+
+    static void reset() {
+        lastWrite.set(0L);
+        requested.remove();
+    }
+}
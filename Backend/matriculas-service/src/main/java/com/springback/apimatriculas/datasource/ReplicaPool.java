@@ -0,0 +1,197 @@
+package com.springback.apimatriculas.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Réplicas de solo lectura con su estado de salud.
+ * <p>
+ * Cada {@code healthCheckInterval} se ejecuta {@code lagQuery} en cada réplica; debe devolver
+ * el retraso de replicación en segundos y la posición WAL ya reproducida ({@code X/Y}). Una
+ * réplica es elegible si respondió, su retraso no supera {@code maxLag} y la posición medida
+ * alcanza la que exige {@link ReadConsistency}. Entre las elegibles se reparte en round-robin.
+ * <p>
+ * La posición es exacta: una réplica que aún no recibió el WAL de un commit no atiende las
+ * lecturas que lo exigen. El retraso en segundos, en cambio, solo acota la antigüedad de las
+ * lecturas sin exigencia: una réplica que no recibe WAL informa 0 aunque vaya atrasada.
+ */
+@Slf4j
+public class ReplicaPool implements Closeable {
+
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final Duration healthCheckInterval;
+    private final AtomicInteger next = new AtomicInteger();
+    private ScheduledExecutorService healthChecker;
+
+    public ReplicaPool(List<Replica> replicas, String lagQuery, Duration maxLag, Duration healthCheckInterval) {
+        this.replicas = List.copyOf(replicas);
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLag.toMillis();
+        this.healthCheckInterval = healthCheckInterval;
+    }
+
+    /**
+     * Inicia la verificación periódica; la primera se ejecuta de inmediato.
+     */
+    public synchronized void start() {
+        if (healthChecker != null) {
+            return;
+        }
+        healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, 0,
+                healthCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void bindMetrics(MeterRegistry meterRegistry) {
+        for (Replica replica : replicas) {
+            Gauge.builder("db.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .description("1 si la réplica responde y su retraso está dentro del límite")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+            Gauge.builder("db.replica.lag", replica, r -> r.lagMillis)
+                    .description("Retraso de replicación medido en la última verificación")
+                    .baseUnit("milliseconds")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+    }
+
+    public void checkHealth() {
+        replicas.forEach(this::check);
+    }
+
+    /**
+     * Siguiente réplica elegible para una lectura que necesita el WAL hasta
+     * {@code requiredPosition}, o {@code null} si ninguna sirve.
+     */
+    public Replica select(long requiredPosition) {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy && WalPosition.isAtLeast(replica.replayedUpTo, requiredPosition)) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    public boolean anyHealthy() {
+        return replicas.stream().anyMatch(replica -> replica.healthy);
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+            healthChecker = null;
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Error al cerrar la réplica {}: {}", replica.name, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void check(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout((int) Math.max(1, healthCheckInterval.toSeconds()));
+            try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                if (!resultSet.next()) {
+                    throw new SQLException("La consulta de retraso no devolvió filas");
+                }
+                double lagSeconds = resultSet.getDouble(1);
+                if (resultSet.wasNull()) {
+                    throw new SQLException("La réplica no informa su retraso de replicación");
+                }
+                String replayed = resultSet.getString(2);
+                if (replayed == null) {
+                    throw new SQLException("La réplica no informa su posición WAL reproducida");
+                }
+                long lagMillis = Math.max(0L, Math.round(lagSeconds * 1000));
+                replica.lagMillis = lagMillis;
+                replica.replayedUpTo = WalPosition.parse(replayed.trim());
+                updateHealth(replica, lagMillis <= maxLagMillis,
+                        "retraso de " + lagMillis + " ms (máximo " + maxLagMillis + " ms)");
+            }
+        } catch (SQLException | RuntimeException e) {
+            markDown(replica, e);
+        }
+    }
+
+    /**
+     * Retira la réplica hasta la próxima verificación exitosa.
+     */
+    public void markDown(Replica replica, Exception cause) {
+        updateHealth(replica, false, cause.getMessage());
+    }
+
+    private void updateHealth(Replica replica, boolean healthy, String detail) {
+        boolean previous = replica.healthy;
+        replica.healthy = healthy;
+        if (previous && !healthy) {
+            log.warn("Réplica {} fuera de servicio: {}", replica.name, detail);
+        } else if (!previous && healthy) {
+            log.info("Réplica {} disponible (retraso {} ms)", replica.name, replica.lagMillis);
+        }
+    }
+
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+        private volatile long lagMillis;
+        private volatile long replayedUpTo;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        public long getLagMillis() {
+            return lagMillis;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.springback.apimatriculas.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource principal cuando hay réplicas de lectura configuradas.
+ * <p>
+ * La conexión física se obtiene de forma perezosa, en la primera sentencia: para entonces el
+ * gestor de transacciones ya marcó la conexión como de solo lectura si la transacción es
+ * {@code @Transactional(readOnly = true)}. Esas transacciones van a una réplica elegible de
+ * {@link ReplicaPool}; las escrituras, y las lecturas sin réplica disponible o suficientemente
+ * actualizada, van al primario. {@code positionQuery} devuelve la posición WAL actual del primario
+ * (texto {@code X/Y}) y marca qué debe haber reproducido una réplica tras una escritura.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    static final String TARGET_PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final ReplicaPool replicas;
+    private final String positionQuery;
+
+    private final Counter toReplica;
+    private final Counter fallbackUnavailable;
+    private final Counter fallbackConsistency;
+    private final Counter fallbackError;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaPool replicas, String positionQuery,
+                                    MeterRegistry meterRegistry) {
+        super(primary);
+        this.primary = primary;
+        this.replicas = replicas;
+        this.positionQuery = positionQuery;
+        setReadOnlyDataSource(new ReadOnlyDataSource());
+
+        this.toReplica = readCounter(meterRegistry, "replica", "replica");
+        this.fallbackUnavailable = readCounter(meterRegistry, TARGET_PRIMARY, "unavailable");
+        this.fallbackConsistency = readCounter(meterRegistry, TARGET_PRIMARY, "consistency");
+        this.fallbackError = readCounter(meterRegistry, TARGET_PRIMARY, "error");
+        replicas.bindMetrics(meterRegistry);
+    }
+
+    public ReplicaPool getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Posición WAL actual del primario; leída después de un commit, lo incluye.
+     */
+    public long primaryPosition() throws SQLException {
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(positionQuery)) {
+            if (!resultSet.next() || resultSet.getString(1) == null) {
+                throw new SQLException("El primario no informa su posición WAL");
+            }
+            return WalPosition.parse(resultSet.getString(1).trim());
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.close();
+        if (primary instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Error al cerrar el DataSource primario: {}", e.getMessage());
+            }
+        }
+    }
+
+    private Connection readOnlyConnection() throws SQLException {
+        ReplicaPool.Replica replica = replicas.select(ReadConsistency.required());
+        if (replica == null) {
+            (replicas.anyHealthy() ? fallbackConsistency : fallbackUnavailable).increment();
+            return primary.getConnection();
+        }
+
+        try {
+            Connection connection = replica.getDataSource().getConnection();
+            toReplica.increment();
+            return connection;
+        } catch (SQLException e) {
+            replicas.markDown(replica, e);
+            fallbackError.increment();
+            return primary.getConnection();
+        }
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("db.reads.routed")
+                .description("Transacciones de solo lectura por destino y motivo")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private class ReadOnlyDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return readOnlyConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return primary.getConnection(username, password);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.springback.apimatriculas.datasource;
+
+/**
+ * Posición en el WAL de PostgreSQL ({@code pg_lsn}) como {@code long} sin signo: la parte alta
+ * y la baja del texto {@code X/Y} ocupan los 32 bits superiores e inferiores. Las posiciones de
+ * un mismo clúster (primario y sus réplicas) son comparables entre sí.
+ */
+public final class WalPosition {
+
+    private WalPosition() {
+        throw new IllegalStateException("Clase de utilidad - No se puede instanciar");
+    }
+
+    /**
+     * Convierte el texto {@code X/Y} en hexadecimal que devuelve PostgreSQL.
+     *
+     * @throws IllegalArgumentException si no tiene ese formato
+     */
+    public static long parse(String text) {
+        int slash = text.indexOf('/');
+        if (slash <= 0 || slash == text.length() - 1 || slash > 8 || text.length() - slash - 1 > 8) {
+            throw new IllegalArgumentException("Posición WAL inválida: " + text);
+        }
+        try {
+            long high = Long.parseLong(text, 0, slash, 16);
+            long low = Long.parseLong(text, slash + 1, text.length(), 16);
+            return high << 32 | low;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Posición WAL inválida: " + text, e);
+        }
+    }
+
+    public static String format(long position) {
+        return Long.toHexString(position >>> 32).toUpperCase()
+                + "/" + Long.toHexString(position & 0xFFFFFFFFL).toUpperCase();
+    }
+
+    public static boolean isAtLeast(long position, long required) {
+        return Long.compareUnsigned(position, required) >= 0;
+    }
+
+    static long max(long a, long b) {
+        return isAtLeast(a, b) ? a : b;
+    }
+}
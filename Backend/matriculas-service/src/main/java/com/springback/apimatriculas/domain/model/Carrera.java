@@ -17,8 +17,11 @@ import java.time.LocalDateTime;
 @Builder
 public class Carrera {
 
+    // Secuencia con asignación por bloques (pooled): Hibernate obtiene 50 IDs por cada nextval,
+    // lo que permite agrupar los INSERT en lotes JDBC (IDENTITY obliga a insertar fila por fila)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "carrera_seq")
+    @SequenceGenerator(name = "carrera_seq", sequenceName = "carrera_seq", allocationSize = 50)
     @Column(name = "carrera_id")
     private Long carreraId;
 
@@ -0,0 +1,27 @@
+package com.springback.apimatriculas.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Versión global del catálogo (facultades y carreras). Fila única que se incrementa
+ * en la misma transacción de cada alta, modificación o baja; las réplicas derivan de
+ * ella los ETag de las respuestas de lectura.
+ */
+@Entity
+@Table(name = "catalog_version")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogVersion {
+
+    public static final Integer SINGLETON_ID = 1;
+
+    @Id
+    @Column(name = "id")
+    private Integer id;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+}
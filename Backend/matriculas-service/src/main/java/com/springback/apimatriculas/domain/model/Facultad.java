@@ -17,8 +17,11 @@ import java.util.List;
 @Builder
 public class Facultad {
 
+    // Secuencia con asignación por bloques (pooled): Hibernate obtiene 50 IDs por cada nextval,
+    // lo que permite agrupar los INSERT en lotes JDBC (IDENTITY obliga a insertar fila por fila)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "facultad_seq")
+    @SequenceGenerator(name = "facultad_seq", sequenceName = "facultad_seq", allocationSize = 50)
     @Column(name = "facultad_id")
     private Long facultadId;
 
@@ -0,0 +1,19 @@
+package com.springback.apimatriculas.domain.model;
+
+import com.university.common.outbox.OutboxMessage;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Mensaje pendiente de publicación (patrón outbox). Se inserta en la misma transacción
+ * que el cambio de dominio y el {@code OutboxRelay} de common-lib lo publica después del
+ * commit; la fila se elimina cuando el broker confirma la recepción.
+ */
+@Entity
+@Table(name = "outbox_event")
+@NoArgsConstructor
+@SuperBuilder
+public class OutboxEvent extends OutboxMessage {
+}
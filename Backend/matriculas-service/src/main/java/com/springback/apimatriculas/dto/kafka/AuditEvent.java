@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -21,4 +22,7 @@ public class AuditEvent {
     private String status;
     private String entityType;
     private Long entityId;
+    // Facultades afectadas por un cambio de carrera (actual y anterior si cambió),
+    // o IDs creados en los eventos resumidos de importación masiva (*_IMPORTED)
+    private List<Long> relatedEntityIds;
 }
\ No newline at end of file
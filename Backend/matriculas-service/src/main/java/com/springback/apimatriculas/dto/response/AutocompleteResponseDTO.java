@@ -0,0 +1,14 @@
+package com.springback.apimatriculas.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Sugerencia de autocompletado por prefijo de nombre")
+public record AutocompleteResponseDTO(
+
+        @Schema(description = "ID del registro", example = "1")
+        Long id,
+
+        @Schema(description = "Nombre del registro", example = "Ingeniería de Sistemas")
+        String nombre
+) {
+}
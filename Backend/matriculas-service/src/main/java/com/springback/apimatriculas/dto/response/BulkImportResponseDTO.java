@@ -0,0 +1,28 @@
+package com.springback.apimatriculas.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Reporte de una importación masiva: las filas válidas se crean y las inválidas se informan")
+public record BulkImportResponseDTO(
+
+        @Schema(description = "Filas recibidas", example = "120")
+        int total,
+
+        @Schema(description = "Filas creadas", example = "118")
+        int creados,
+
+        @Schema(description = "Filas rechazadas", example = "2")
+        int rechazados,
+
+        @Schema(description = "Resultado por fila, en el orden recibido")
+        List<BulkImportRowResultDTO> filas
+) {
+    public static BulkImportResponseDTO of(List<BulkImportRowResultDTO> filas) {
+        int creados = (int) filas.stream()
+                .filter(fila -> BulkImportRowResultDTO.CREADO.equals(fila.estado()))
+                .count();
+        return new BulkImportResponseDTO(filas.size(), creados, filas.size() - creados, filas);
+    }
+}
@@ -0,0 +1,35 @@
+package com.springback.apimatriculas.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Resultado de una fila de la importación masiva")
+public record BulkImportRowResultDTO(
+
+        @Schema(description = "Número de fila dentro del lote (desde 1, sin contar la cabecera CSV)", example = "3")
+        int fila,
+
+        @Schema(description = "Nombre informado en la fila", example = "Ingeniería de Sistemas")
+        String nombre,
+
+        @Schema(description = "Resultado de la fila", example = "CREADO", allowableValues = {"CREADO", "RECHAZADO"})
+        String estado,
+
+        @Schema(description = "ID asignado si la fila fue creada", example = "15")
+        Long id,
+
+        @Schema(description = "Motivos del rechazo")
+        List<String> errores
+) {
+    public static final String CREADO = "CREADO";
+    public static final String RECHAZADO = "RECHAZADO";
+
+    public static BulkImportRowResultDTO creado(int fila, String nombre, Long id) {
+        return new BulkImportRowResultDTO(fila, nombre, CREADO, id, List.of());
+    }
+
+    public static BulkImportRowResultDTO rechazado(int fila, String nombre, List<String> errores) {
+        return new BulkImportRowResultDTO(fila, nombre, RECHAZADO, null, List.copyOf(errores));
+    }
+}
@@ -0,0 +1,35 @@
+package com.springback.apimatriculas.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Schema(description = "Página de resultados paginada por cursor (keyset) sobre la clave primaria")
+public record CursorPageResponseDTO<T>(
+
+        @Schema(description = "Elementos de la página, ordenados por ID ascendente")
+        List<T> content,
+
+        @Schema(description = "Cantidad máxima de elementos solicitada", example = "20")
+        int limit,
+
+        @Schema(description = "Cursor a enviar como 'after' para obtener la siguiente página; nulo si no hay más",
+                example = "20")
+        Long nextCursor,
+
+        @Schema(description = "Indica si existen más elementos después de esta página", example = "true")
+        boolean hasNext
+) {
+
+    /**
+     * Construye la página a partir de una consulta que pidió {@code limit + 1} filas:
+     * la fila extra solo indica que hay una página siguiente y no se devuelve.
+     */
+    public static <T> CursorPageResponseDTO<T> of(List<T> rows, int limit, Function<T, Long> idExtractor) {
+        boolean hasNext = rows.size() > limit;
+        List<T> content = hasNext ? List.copyOf(rows.subList(0, limit)) : List.copyOf(rows);
+        Long nextCursor = hasNext ? idExtractor.apply(content.get(content.size() - 1)) : null;
+        return new CursorPageResponseDTO<>(content, limit, nextCursor, hasNext);
+    }
+}
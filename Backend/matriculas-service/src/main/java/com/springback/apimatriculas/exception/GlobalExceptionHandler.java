@@ -5,14 +5,20 @@ import com.springback.apimatriculas.exception.custom.DuplicateResourceException;
 import com.springback.apimatriculas.exception.custom.ResourceNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import java.sql.SQLTransientConnectionException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -20,6 +26,8 @@ import java.util.stream.Collectors;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final int RETRY_AFTER_SECONDS = 1;
+
     /**
      * Maneja excepciones cuando un recurso no es encontrado
      */
@@ -37,7 +45,7 @@ public class GlobalExceptionHandler {
                 request.getRequestURI()
         );
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+        return buildResponse(errorResponse, HttpStatus.NOT_FOUND);
     }
 
     /**
@@ -57,7 +65,7 @@ public class GlobalExceptionHandler {
                 request.getRequestURI()
         );
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+        return buildResponse(errorResponse, HttpStatus.CONFLICT);
     }
 
     /**
@@ -77,7 +85,7 @@ public class GlobalExceptionHandler {
                 request.getRequestURI()
         );
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        return buildResponse(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
     /**
@@ -107,7 +115,7 @@ public class GlobalExceptionHandler {
                 validationErrors
         );
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        return buildResponse(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
     /**
@@ -137,7 +145,7 @@ public class GlobalExceptionHandler {
                 request.getRequestURI()
         );
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+        return buildResponse(errorResponse, HttpStatus.CONFLICT);
     }
 
     /**
@@ -163,7 +171,35 @@ public class GlobalExceptionHandler {
                 request.getRequestURI()
         );
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        return buildResponse(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Maneja la falta de conexiones a la base de datos (límite de accesos concurrentes o
+     * timeout del pool): es una sobrecarga transitoria, por lo que se responde 503 con Retry-After
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ErrorResponse> handleConnectionUnavailable(
+            NestedRuntimeException ex,
+            HttpServletRequest request) {
+
+        if (!(ex.getMostSpecificCause() instanceof SQLTransientConnectionException)) {
+            return handleGlobalException(ex, request);
+        }
+
+        log.warn("Base de datos saturada en {}: {}", request.getRequestURI(), ex.getMostSpecificCause().getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Servicio saturado",
+                "El servicio está atendiendo demasiadas solicitudes. Intente nuevamente en unos segundos",
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorResponse);
     }
 
     /**
@@ -183,6 +219,16 @@ public class GlobalExceptionHandler {
                 request.getRequestURI()
         );
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+        return buildResponse(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    /**
+     * Fija el Content-Type JSON de forma explícita para que el error pueda escribirse
+     * aunque el cliente haya solicitado otro formato (por ejemplo, application/x-ndjson)
+     */
+    private ResponseEntity<ErrorResponse> buildResponse(ErrorResponse errorResponse, HttpStatus status) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorResponse);
     }
 }
@@ -0,0 +1,110 @@
+package com.springback.apimatriculas.interceptor;
+
+import com.springback.apimatriculas.service.CatalogVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * GET condicional para el catálogo. El ETag se deriva de la versión del catálogo
+ * (en memoria) y de la representación solicitada (ruta, query y Accept), por lo que
+ * una petición con If-None-Match vigente recibe 304 antes de invocar al controlador:
+ * sin consultas a la base de datos ni serialización JSON.
+ * <p>
+ * Con {@code catalog.http.shared-max-age} las cachés compartidas (la caché de respuestas del
+ * gateway, que se invalida con los eventos del catálogo) pueden servir la respuesta durante ese
+ * tiempo sin revalidarla; los clientes la siguen revalidando siempre.
+ * <p>
+ * Salvo en el 304, el ETag y el Cache-Control no se escriben aquí: quedan pendientes en la
+ * petición y solo se aplican cuando la respuesta es 2xx ({@link CatalogCacheHeadersAdvice} y
+ * {@link com.springback.apimatriculas.util.NdjsonWriter}). Así un 404, un 500 o un 503 no
+ * llevan cabeceras que permitan a una caché compartida guardarlos ni a un cliente revalidarlos.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogETagInterceptor implements HandlerInterceptor {
+
+    private static final String PENDING_CACHE_HEADERS = CatalogETagInterceptor.class.getName() + ".PENDING";
+
+    private final CatalogVersionService catalogVersionService;
+
+    @Value("${catalog.http.shared-max-age:0s}")
+    private Duration sharedMaxAge;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+
+        String eTag = buildETag(request);
+        // Sin la respuesta, checkNotModified solo evalúa If-None-Match y no escribe cabeceras
+        if (new ServletWebRequest(request).checkNotModified(eTag)) {
+            log.debug("GET {} - 304 Not Modified ({})", request.getRequestURI(), eTag);
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            writeCacheHeaders(response, eTag);
+            return false;
+        }
+        request.setAttribute(PENDING_CACHE_HEADERS, (Consumer<HttpServletResponse>) r -> writeCacheHeaders(r, eTag));
+        return true;
+    }
+
+    /**
+     * Escribe el ETag y el Cache-Control pendientes si la respuesta es 2xx. Debe llamarse antes de
+     * confirmar la respuesta; no hace nada fuera de las rutas del catálogo ni en respuestas de error.
+     */
+    @SuppressWarnings("unchecked")
+    public static void applyCacheHeaders(HttpServletRequest request, HttpServletResponse response) {
+        Object pending = request.getAttribute(PENDING_CACHE_HEADERS);
+        if (pending == null) {
+            return;
+        }
+        request.removeAttribute(PENDING_CACHE_HEADERS);
+        if (HttpStatus.valueOf(response.getStatus()).is2xxSuccessful()) {
+            ((Consumer<HttpServletResponse>) pending).accept(response);
+        }
+    }
+
+    private void writeCacheHeaders(HttpServletResponse response, String eTag) {
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        // Evita que se aplique el "no-store" por defecto de Spring Security: el cliente
+        // puede guardar la respuesta, pero debe revalidarla siempre con el ETag
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl().getHeaderValue());
+    }
+
+    private CacheControl cacheControl() {
+        if (sharedMaxAge == null || sharedMaxAge.isZero()) {
+            return CacheControl.noCache();
+        }
+        return CacheControl.maxAge(Duration.ZERO).mustRevalidate().sMaxAge(sharedMaxAge);
+    }
+
+    private String buildETag(HttpServletRequest request) {
+        CRC32 representation = new CRC32();
+        representation.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+        if (request.getQueryString() != null) {
+            representation.update('?');
+            representation.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept != null) {
+            representation.update(accept.getBytes(StandardCharsets.UTF_8));
+        }
+        return "\"" + catalogVersionService.current() + "-" + Long.toHexString(representation.getValue()) + "\"";
+    }
+}
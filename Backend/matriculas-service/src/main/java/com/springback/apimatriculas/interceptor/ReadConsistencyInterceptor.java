@@ -0,0 +1,45 @@
+package com.springback.apimatriculas.interceptor;
+
+import com.springback.apimatriculas.datasource.ReadConsistency;
+import com.springback.apimatriculas.datasource.WalPosition;
+import com.springback.apimatriculas.util.Constants;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Aplica a la petición el token de consistencia recibido en {@code X-Consistency-Token}
+ * (devuelto por una escritura anterior): sus lecturas no se sirven desde una réplica que
+ * aún no haya aplicado ese cambio. Un token inválido se ignora.
+ */
+@Slf4j
+@Component
+public class ReadConsistencyInterceptor implements AsyncHandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String token = request.getHeader(Constants.HEADER_CONSISTENCY_TOKEN);
+        if (token != null && !token.isBlank()) {
+            try {
+                ReadConsistency.require(WalPosition.parse(token.trim()));
+            } catch (IllegalArgumentException e) {
+                log.debug("Token de consistencia inválido ignorado: {}", token);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        ReadConsistency.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        ReadConsistency.clear();
+    }
+}
@@ -1,27 +1,101 @@
 package com.springback.apimatriculas.repository;
 
 import com.springback.apimatriculas.domain.model.Carrera;
+import com.springback.apimatriculas.dto.response.CarreraResponseDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface CarreraRepository extends JpaRepository<Carrera, Long> {
+public interface CarreraRepository extends JpaRepository<Carrera, Long>, CarreraSearchRepository {
+
+    /**
+     * Proyección directa a DTO para paginación y streaming: no deja entidades administradas
+     * en el contexto de persistencia, por lo que la memoria no crece con el tamaño del catálogo.
+     */
+    String SELECT_RESPONSE_DTO = "SELECT new com.springback.apimatriculas.dto.response.CarreraResponseDTO(" +
+            "c.carreraId, f.facultadId, f.nombre, c.nombre, c.descripcion, c.duracionSemestres, " +
+            "c.tituloOtorgado, c.fechaRegistro, c.activo) " +
+            "FROM Carrera c JOIN c.facultad f ";
+
+    /**
+     * Filas leídas por cada ida y vuelta del cursor JDBC en los métodos stream*.
+     */
+    String STREAM_FETCH_SIZE = "200";
 
     Optional<Carrera> findByNombre(String nombre);
     boolean existsByNombre(String nombre);
+
+    // Importación masiva: nombres del lote que ya están registrados, en una sola consulta
+    @Query("SELECT c.nombre FROM Carrera c WHERE c.nombre IN :nombres")
+    List<String> findNombresExistentes(Collection<String> nombres);
+
+    // Carga del índice de nombres en memoria
+    @Query("SELECT c.carreraId AS id, c.nombre AS nombre, c.activo AS activo FROM Carrera c")
+    List<NombreCatalogoView> findAllNombres();
+    @Query("SELECT c.carreraId AS id, c.nombre AS nombre, c.activo AS activo FROM Carrera c WHERE c.carreraId = :id")
+    Optional<NombreCatalogoView> findNombreById(Long id);
     List<Carrera> findByActivoTrue();
     List<Carrera> findByActivoFalse();
     List<Carrera> findByFacultad_FacultadId(Long facultadId);
 
     @Query("SELECT c FROM Carrera c WHERE c.facultad.facultadId = :facultadId AND c.activo = true")
     List<Carrera> findActivasByFacultadId(Long facultadId);
-    @Query("SELECT c FROM Carrera c WHERE LOWER(c.nombre) LIKE LOWER(CONCAT('%', :nombre, '%'))")
-    List<Carrera> findByNombreContaining(String nombre);
     @Query("SELECT CASE WHEN COUNT(c) > 0 THEN true ELSE false END FROM Carrera c " +
             "WHERE c.nombre = :nombre AND c.carreraId <> :carreraId")
     boolean existsByNombreAndCarreraIdNot(String nombre, Long carreraId);
-}
\ No newline at end of file
+
+    // Listados con la facultad cargada en el mismo JOIN (evita N+1 al mapear nombreFacultad)
+    @Query("SELECT c FROM Carrera c JOIN FETCH c.facultad ORDER BY c.carreraId")
+    List<Carrera> findAllConFacultad();
+    @Query("SELECT c FROM Carrera c JOIN FETCH c.facultad WHERE c.activo = true ORDER BY c.carreraId")
+    List<Carrera> findActivasConFacultad();
+    @Query("SELECT c FROM Carrera c JOIN FETCH c.facultad f WHERE f.facultadId = :facultadId ORDER BY c.carreraId")
+    List<Carrera> findByFacultadIdConFacultad(Long facultadId);
+
+    // Paginación keyset: siguiente página a partir del último ID entregado
+    @Query(SELECT_RESPONSE_DTO + "WHERE c.carreraId > :after ORDER BY c.carreraId")
+    List<CarreraResponseDTO> findPage(Long after, Limit limit);
+    @Query(SELECT_RESPONSE_DTO + "WHERE c.activo = true AND c.carreraId > :after ORDER BY c.carreraId")
+    List<CarreraResponseDTO> findActivasPage(Long after, Limit limit);
+    @Query(SELECT_RESPONSE_DTO + "WHERE f.facultadId = :facultadId AND c.carreraId > :after ORDER BY c.carreraId")
+    List<CarreraResponseDTO> findByFacultadIdPage(Long facultadId, Long after, Limit limit);
+    @Query(SELECT_RESPONSE_DTO + "WHERE LOWER(c.nombre) LIKE LOWER(CONCAT('%', :nombre, '%')) " +
+            "AND c.carreraId > :after ORDER BY c.carreraId")
+    List<CarreraResponseDTO> findByNombreContainingPage(String nombre, Long after, Limit limit);
+
+    // Streaming con cursor JDBC de solo avance; deben consumirse dentro de una transacción
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_RESPONSE_DTO + "ORDER BY c.carreraId")
+    Stream<CarreraResponseDTO> streamAll();
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_RESPONSE_DTO + "WHERE c.activo = true ORDER BY c.carreraId")
+    Stream<CarreraResponseDTO> streamActivas();
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_RESPONSE_DTO + "WHERE f.facultadId = :facultadId ORDER BY c.carreraId")
+    Stream<CarreraResponseDTO> streamByFacultadId(Long facultadId);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_RESPONSE_DTO + "WHERE LOWER(c.nombre) LIKE LOWER(CONCAT('%', :nombre, '%')) ORDER BY c.carreraId")
+    Stream<CarreraResponseDTO> streamByNombreContaining(String nombre);
+}
@@ -0,0 +1,13 @@
+package com.springback.apimatriculas.repository;
+
+import com.springback.apimatriculas.dto.response.CarreraResponseDTO;
+
+import java.util.List;
+
+public interface CarreraSearchRepository {
+
+    /**
+     * Carreras cuyo nombre contiene el texto, ordenadas por relevancia y limitadas a {@code limit}
+     */
+    List<CarreraResponseDTO> searchByRelevance(String nombre, int limit);
+}
@@ -0,0 +1,29 @@
+package com.springback.apimatriculas.repository;
+
+import com.springback.apimatriculas.dto.response.CarreraResponseDTO;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class CarreraSearchRepositoryImpl implements CarreraSearchRepository {
+
+    private final EntityManager entityManager;
+    private final RelevanceSearchSupport relevanceSearch;
+
+    @Override
+    public List<CarreraResponseDTO> searchByRelevance(String nombre, int limit) {
+        List<Long> ids = relevanceSearch.searchIds("carrera", "carrera_id", nombre, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        List<CarreraResponseDTO> rows = entityManager.createQuery(
+                        CarreraRepository.SELECT_RESPONSE_DTO + "WHERE c.carreraId IN :ids", CarreraResponseDTO.class)
+                .setParameter("ids", ids)
+                .getResultList();
+
+        return RelevanceSearchSupport.inRelevanceOrder(ids, rows, CarreraResponseDTO::carreraId);
+    }
+}
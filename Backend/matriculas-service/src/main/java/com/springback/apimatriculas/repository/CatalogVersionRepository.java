@@ -0,0 +1,20 @@
+package com.springback.apimatriculas.repository;
+
+import com.springback.apimatriculas.domain.model.CatalogVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, Integer> {
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CatalogVersion v SET v.version = v.version + 1 WHERE v.id = :id")
+    int increment(Integer id);
+
+    @Query("SELECT v.version FROM CatalogVersion v WHERE v.id = :id")
+    Optional<Long> findVersion(Integer id);
+}
@@ -1,23 +1,86 @@
 package com.springback.apimatriculas.repository;
 
 import com.springback.apimatriculas.domain.model.Facultad;
+import com.springback.apimatriculas.dto.response.FacultadResponseDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface FacultadRepository extends JpaRepository<Facultad, Long> {
+public interface FacultadRepository extends JpaRepository<Facultad, Long>, FacultadSearchRepository {
+
+    /**
+     * Proyección común de listados: la cantidad de carreras activas se resuelve con una
+     * subconsulta correlacionada, de modo que cada listado se ejecuta en una sola sentencia SQL.
+     */
+    String SELECT_RESPONSE_DTO = "SELECT new com.springback.apimatriculas.dto.response.FacultadResponseDTO(" +
+            "f.facultadId, f.nombre, f.descripcion, f.ubicacion, f.decano, f.fechaRegistro, f.activo, " +
+            "(SELECT COUNT(c) FROM Carrera c WHERE c.facultad = f AND c.activo = true)) " +
+            "FROM Facultad f ";
+
+    /**
+     * Filas leídas por cada ida y vuelta del cursor JDBC en los métodos stream*.
+     */
+    String STREAM_FETCH_SIZE = "200";
 
     Optional<Facultad> findByNombre(String nombre);
     boolean existsByNombre(String nombre);
+
+    // Importación masiva: nombres del lote que ya están registrados, en una sola consulta
+    @Query("SELECT f.nombre FROM Facultad f WHERE f.nombre IN :nombres")
+    List<String> findNombresExistentes(Collection<String> nombres);
+
+    // Carga del índice de nombres en memoria
+    @Query("SELECT f.facultadId AS id, f.nombre AS nombre, f.activo AS activo FROM Facultad f")
+    List<NombreCatalogoView> findAllNombres();
+    @Query("SELECT f.facultadId AS id, f.nombre AS nombre, f.activo AS activo FROM Facultad f WHERE f.facultadId = :id")
+    Optional<NombreCatalogoView> findNombreById(Long id);
     List<Facultad> findByActivoTrue();
     List<Facultad> findByActivoFalse();
 
-    @Query("SELECT f FROM Facultad f WHERE LOWER(f.nombre) LIKE LOWER(CONCAT('%', :nombre, '%'))")
-    List<Facultad> findByNombreContaining(String nombre);
     @Query("SELECT COUNT(c) FROM Carrera c WHERE c.facultad.facultadId = :facultadId AND c.activo = true")
     Long countCarrerasActivasByFacultadId(Long facultadId);
-}
\ No newline at end of file
+
+    @Query(SELECT_RESPONSE_DTO + "ORDER BY f.facultadId")
+    List<FacultadResponseDTO> findAllConCantidadCarreras();
+    @Query(SELECT_RESPONSE_DTO + "WHERE f.activo = true ORDER BY f.facultadId")
+    List<FacultadResponseDTO> findActivasConCantidadCarreras();
+
+    // Paginación keyset: siguiente página a partir del último ID entregado
+    @Query(SELECT_RESPONSE_DTO + "WHERE f.facultadId > :after ORDER BY f.facultadId")
+    List<FacultadResponseDTO> findPageConCantidadCarreras(Long after, Limit limit);
+    @Query(SELECT_RESPONSE_DTO + "WHERE f.activo = true AND f.facultadId > :after ORDER BY f.facultadId")
+    List<FacultadResponseDTO> findActivasPageConCantidadCarreras(Long after, Limit limit);
+    @Query(SELECT_RESPONSE_DTO + "WHERE LOWER(f.nombre) LIKE LOWER(CONCAT('%', :nombre, '%')) " +
+            "AND f.facultadId > :after ORDER BY f.facultadId")
+    List<FacultadResponseDTO> findByNombreContainingPageConCantidadCarreras(String nombre, Long after, Limit limit);
+
+    // Streaming con cursor JDBC de solo avance; deben consumirse dentro de una transacción
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_RESPONSE_DTO + "ORDER BY f.facultadId")
+    Stream<FacultadResponseDTO> streamAllConCantidadCarreras();
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_RESPONSE_DTO + "WHERE f.activo = true ORDER BY f.facultadId")
+    Stream<FacultadResponseDTO> streamActivasConCantidadCarreras();
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_RESPONSE_DTO + "WHERE LOWER(f.nombre) LIKE LOWER(CONCAT('%', :nombre, '%')) ORDER BY f.facultadId")
+    Stream<FacultadResponseDTO> streamByNombreContainingConCantidadCarreras(String nombre);
+}
@@ -0,0 +1,13 @@
+package com.springback.apimatriculas.repository;
+
+import com.springback.apimatriculas.dto.response.FacultadResponseDTO;
+
+import java.util.List;
+
+public interface FacultadSearchRepository {
+
+    /**
+     * Facultades cuyo nombre contiene el texto, ordenadas por relevancia y limitadas a {@code limit}
+     */
+    List<FacultadResponseDTO> searchByRelevance(String nombre, int limit);
+}
@@ -0,0 +1,29 @@
+package com.springback.apimatriculas.repository;
+
+import com.springback.apimatriculas.dto.response.FacultadResponseDTO;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class FacultadSearchRepositoryImpl implements FacultadSearchRepository {
+
+    private final EntityManager entityManager;
+    private final RelevanceSearchSupport relevanceSearch;
+
+    @Override
+    public List<FacultadResponseDTO> searchByRelevance(String nombre, int limit) {
+        List<Long> ids = relevanceSearch.searchIds("facultad", "facultad_id", nombre, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        List<FacultadResponseDTO> rows = entityManager.createQuery(
+                        FacultadRepository.SELECT_RESPONSE_DTO + "WHERE f.facultadId IN :ids", FacultadResponseDTO.class)
+                .setParameter("ids", ids)
+                .getResultList();
+
+        return RelevanceSearchSupport.inRelevanceOrder(ids, rows, FacultadResponseDTO::facultadId);
+    }
+}
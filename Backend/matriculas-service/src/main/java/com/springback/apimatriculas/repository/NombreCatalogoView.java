@@ -0,0 +1,13 @@
+package com.springback.apimatriculas.repository;
+
+/**
+ * Proyección mínima (ID, nombre y estado) con la que se carga el índice de nombres del catálogo.
+ */
+public interface NombreCatalogoView {
+
+    Long getId();
+
+    String getNombre();
+
+    Boolean getActivo();
+}
@@ -0,0 +1,9 @@
+package com.springback.apimatriculas.repository;
+
+import com.springback.apimatriculas.domain.model.OutboxEvent;
+import com.university.common.outbox.OutboxMessageRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxEventRepository extends OutboxMessageRepository<OutboxEvent> {
+}
@@ -0,0 +1,92 @@
+package com.springback.apimatriculas.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Búsqueda por nombre ordenada por relevancia, compartida por los repositorios del catálogo.
+ * En PostgreSQL el filtro LIKE sobre LOWER(nombre) se resuelve con los índices GIN de
+ * trigramas (pg_trgm, migración V4) y el orden usa similarity(). En otras bases (H2 en
+ * tests) se usa un orden equivalente y portable: coincidencia exacta, prefijo y longitud.
+ */
+@Slf4j
+@Component
+class RelevanceSearchSupport {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private final EntityManager entityManager;
+    private final boolean trigramSupported;
+
+    RelevanceSearchSupport(EntityManager entityManager, DataSource dataSource) {
+        this.entityManager = entityManager;
+        this.trigramSupported = isPostgreSql(dataSource);
+        log.info("Búsqueda por nombre con {}", trigramSupported ? "índices de trigramas (pg_trgm)" : "orden portable (sin pg_trgm)");
+    }
+
+    /**
+     * IDs de las filas cuyo nombre contiene el texto, de la más a la menos relevante
+     */
+    @SuppressWarnings("unchecked")
+    List<Long> searchIds(String table, String idColumn, String nombre, int limit) {
+        String sql = "SELECT t." + idColumn + " FROM " + table + " t " +
+                "WHERE LOWER(t.nombre) LIKE :pattern ESCAPE '\\' " +
+                "ORDER BY CASE WHEN LOWER(t.nombre) = :texto THEN 0 " +
+                "WHEN LOWER(t.nombre) LIKE :prefix ESCAPE '\\' THEN 1 ELSE 2 END, " +
+                (trigramSupported ? "similarity(LOWER(t.nombre), :texto) DESC, " : "LENGTH(t.nombre), ") +
+                "t.nombre, t." + idColumn;
+
+        String texto = nombre.toLowerCase(Locale.ROOT);
+        String literal = escapeLike(texto);
+        List<Number> ids = entityManager.createNativeQuery(sql)
+                .setParameter("pattern", "%" + literal + "%")
+                .setParameter("prefix", literal + "%")
+                .setParameter("texto", texto)
+                .setMaxResults(limit)
+                .getResultList();
+
+        return ids.stream().map(Number::longValue).toList();
+    }
+
+    /**
+     * Reordena las filas cargadas por ID según el orden de relevancia de {@code ids}
+     */
+    static <T> List<T> inRelevanceOrder(List<Long> ids, List<T> rows, Function<T, Long> idExtractor) {
+        Map<Long, Integer> position = new HashMap<>(ids.size() * 2);
+        for (int i = 0; i < ids.size(); i++) {
+            position.put(ids.get(i), i);
+        }
+        return rows.stream()
+                .sorted(Comparator.comparing(row -> position.get(idExtractor.apply(row))))
+                .toList();
+    }
+
+    /**
+     * Escapa los comodines de LIKE para que el texto buscado se compare literalmente
+     */
+    static String escapeLike(String texto) {
+        return texto.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static boolean isPostgreSql(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return POSTGRESQL.equalsIgnoreCase(product);
+        } catch (MetaDataAccessException e) {
+            log.warn("No se pudo determinar la base de datos; se usa búsqueda portable: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -1,14 +1,15 @@
 package com.springback.apimatriculas.security;
 
+import com.university.common.security.InternalIdentity;
+import com.university.common.security.InternalIdentitySigner;
+import com.university.common.security.JwtVerifier;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -17,17 +18,26 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import javax.crypto.SecretKey;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.Optional;
 
+/**
+ * Autentica la petición con la identidad firmada por el gateway ({@code X-Internal-Identity}),
+ * que solo cuesta una comprobación HMAC. Si no llega o no es válida (tráfico directo, modo
+ * desactivado) se verifica el JWT del header Authorization como siempre.
+ */
 @Slf4j
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final JwtVerifier jwtVerifier;
+    private final InternalIdentitySigner identitySigner;
+
+    public JwtAuthenticationFilter(JwtVerifier jwtVerifier, ObjectProvider<InternalIdentitySigner> identitySigner) {
+        this.jwtVerifier = jwtVerifier;
+        this.identitySigner = identitySigner.getIfAvailable();
+    }
 
     @Override
     protected void doFilterInternal(
@@ -36,6 +46,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
 
+        // Identidad ya verificada por el gateway
+        if (identitySigner != null) {
+            String identityHeader = request.getHeader(InternalIdentity.HEADER);
+            if (identityHeader != null) {
+                Optional<InternalIdentity> identity = identitySigner.verify(identityHeader);
+                if (identity.isPresent()) {
+                    InternalIdentity user = identity.get();
+                    authenticate(user.subject(), user.role(), user.userId(), request);
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+                log.warn("Identidad interna inválida o expirada, se verifica el JWT");
+            }
+        }
+
         // Obtener el header Authorization
         final String authHeader = request.getHeader("Authorization");
 
@@ -49,42 +74,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // Extraer el token (quitar "Bearer ")
             final String jwt = authHeader.substring(7);
 
-            // Crear la clave secreta
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-
-            // Parsear y validar el token
-            Claims claims = Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(jwt)
-                    .getPayload();
+            // Validar el token (clave, parser y tokens ya verificados se reutilizan; los revocados se rechazan)
+            Claims claims = jwtVerifier.verify(jwt);
 
             // Extraer información del usuario
             String username = claims.getSubject(); // email del usuario
             String role = claims.get("role", String.class);
             Long userId = claims.get("userId", Long.class);
 
-            // Si el token es válido y no hay autenticación previa
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-
-                // Crear la autoridad (rol)
-                SimpleGrantedAuthority authority = new SimpleGrantedAuthority(role);
-
-                // Crear el objeto de autenticación
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        username,
-                        null,
-                        Collections.singletonList(authority)
-                );
-
-                // Agregar detalles adicionales del request
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                // Establecer la autenticación en el contexto de seguridad
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-
-                log.debug("Usuario autenticado: {} (ID: {}) con rol: {}", username, userId, role);
-            }
+            authenticate(username, role, userId, request);
 
         } catch (Exception e) {
             log.error("Error al validar JWT: {}", e.getMessage());
@@ -93,4 +91,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private void authenticate(String username, String role, Long userId, HttpServletRequest request) {
+        // Si el usuario es válido y no hay autenticación previa
+        if (username == null || role == null || SecurityContextHolder.getContext().getAuthentication() != null) {
+            return;
+        }
+
+        // Crear la autoridad (rol)
+        SimpleGrantedAuthority authority = new SimpleGrantedAuthority(role);
+
+        // Crear el objeto de autenticación
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                username,
+                null,
+                Collections.singletonList(authority)
+        );
+
+        // Agregar detalles adicionales del request
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+        // Establecer la autenticación en el contexto de seguridad
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+
+        log.debug("Usuario autenticado: {} (ID: {}) con rol: {}", username, userId, role);
+    }
 }
@@ -0,0 +1,106 @@
+package com.springback.apimatriculas.service;
+
+import com.springback.apimatriculas.dto.response.CarreraResponseDTO;
+import com.springback.apimatriculas.util.Constants;
+import com.springback.apimatriculas.util.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Invalida las entradas de la caché local del catálogo afectadas por un cambio.
+ * Lo usan los servicios de escritura (en la réplica que hizo el cambio) y el
+ * consumidor de eventos faculty.* / career.* (en el resto de réplicas).
+ * Dentro de una transacción la invalidación se difiere hasta el commit; si se hiciera
+ * antes, una lectura concurrente podría volver a cachear el valor anterior.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Una facultad fue creada, actualizada o desactivada. Además de su propia entrada,
+     * se descartan las carreras que muestran su nombre (por ID y por facultad).
+     */
+    public void evictFacultad(Long facultadId) {
+        TransactionCallbacks.afterCommit(() -> {
+            evict(Constants.CACHE_FACULTADES, facultadId);
+            clear(Constants.CACHE_FACULTADES_ACTIVAS);
+            evict(Constants.CACHE_CARRERAS_POR_FACULTAD, facultadId);
+            clear(Constants.CACHE_CARRERAS_ACTIVAS);
+            evictCarrerasDeFacultad(facultadId);
+
+            log.debug("Caché invalidada para facultad con ID: {}", facultadId);
+        });
+    }
+
+    /**
+     * Una carrera fue creada, actualizada o desactivada. Se descartan su entrada y las
+     * de las facultades indicadas (listado por facultad y cantidad de carreras).
+     * Si no se conocen las facultades, se vacían por completo esas dos cachés.
+     */
+    public void evictCarrera(Long carreraId, Collection<Long> facultadIds) {
+        TransactionCallbacks.afterCommit(() -> {
+            evict(Constants.CACHE_CARRERAS, carreraId);
+            clear(Constants.CACHE_CARRERAS_ACTIVAS);
+            if (facultadIds.isEmpty()) {
+                clear(Constants.CACHE_CARRERAS_POR_FACULTAD);
+                clear(Constants.CACHE_FACULTADES);
+            }
+            facultadIds.stream()
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .forEach(facultadId -> {
+                        evict(Constants.CACHE_CARRERAS_POR_FACULTAD, facultadId);
+                        evict(Constants.CACHE_FACULTADES, facultadId);
+                    });
+            clear(Constants.CACHE_FACULTADES_ACTIVAS);
+
+            log.debug("Caché invalidada para carrera con ID: {} (facultades: {})", carreraId, facultadIds);
+        });
+    }
+
+    /**
+     * Cambio masivo (importación): se vacían todas las cachés del catálogo.
+     */
+    public void evictAll() {
+        TransactionCallbacks.afterCommit(() -> {
+            cacheManager.getCacheNames().forEach(this::clear);
+
+            log.debug("Caché del catálogo vaciada por completo");
+        });
+    }
+
+    private void evictCarrerasDeFacultad(Long facultadId) {
+        Cache cache = cacheManager.getCache(Constants.CACHE_CARRERAS);
+        if (cache instanceof CaffeineCache caffeineCache) {
+            caffeineCache.getNativeCache().asMap().values().removeIf(value ->
+                    value instanceof CarreraResponseDTO carrera && facultadId.equals(carrera.facultadId()));
+        } else if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
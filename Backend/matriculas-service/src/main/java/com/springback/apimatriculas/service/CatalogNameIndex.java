@@ -0,0 +1,148 @@
+package com.springback.apimatriculas.service;
+
+import com.springback.apimatriculas.domain.model.Carrera;
+import com.springback.apimatriculas.domain.model.Facultad;
+import com.springback.apimatriculas.dto.response.AutocompleteResponseDTO;
+import com.springback.apimatriculas.exception.custom.BusinessRuleException;
+import com.springback.apimatriculas.repository.CarreraRepository;
+import com.springback.apimatriculas.repository.FacultadRepository;
+import com.springback.apimatriculas.repository.NombreCatalogoView;
+import com.springback.apimatriculas.util.Constants;
+import com.springback.apimatriculas.util.NameIndex;
+import com.springback.apimatriculas.util.TransactionCallbacks;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Índices en memoria de los nombres de facultades y carreras.
+ * Sirven el autocompletado por prefijo sin consultar la base de datos y permiten omitir
+ * {@code existsByNombre} cuando el nombre no existe; si el índice indica que podría existir,
+ * se consulta la base de datos, y la restricción única de la tabla sigue siendo la autoridad.
+ * Se cargan al iniciar y se actualizan tras el commit local y al consumir los eventos
+ * faculty.* / career.* publicados por otras réplicas.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogNameIndex {
+
+    private final FacultadRepository facultadRepository;
+    private final CarreraRepository carreraRepository;
+    private final NameIndex facultades = new NameIndex();
+    private final NameIndex carreras = new NameIndex();
+
+    @PostConstruct
+    void init() {
+        try {
+            reloadAll();
+            log.info("Índice de nombres cargado: {} facultades, {} carreras", facultades.size(), carreras.size());
+        } catch (RuntimeException e) {
+            // Sin índice cargado todas las validaciones consultan la base de datos
+            log.warn("No se pudo cargar el índice de nombres del catálogo: {}", e.getMessage());
+        }
+    }
+
+    public void reloadAll() {
+        reloadFacultades();
+        reloadCarreras();
+    }
+
+    public void reloadFacultades() {
+        facultades.replaceAll(toEntries(facultadRepository.findAllNombres()));
+    }
+
+    public void reloadCarreras() {
+        carreras.replaceAll(toEntries(carreraRepository.findAllNombres()));
+    }
+
+    public boolean mightContainFacultad(String nombre) {
+        return facultades.mightContain(nombre);
+    }
+
+    public boolean mightContainCarrera(String nombre) {
+        return carreras.mightContain(nombre);
+    }
+
+    public List<AutocompleteResponseDTO> autocompleteFacultades(String prefijo, int limit) {
+        return toResponse(facultades.autocomplete(prefijo, normalizarLimite(limit)));
+    }
+
+    public List<AutocompleteResponseDTO> autocompleteCarreras(String prefijo, int limit) {
+        return toResponse(carreras.autocomplete(prefijo, normalizarLimite(limit)));
+    }
+
+    /**
+     * Registra el nombre actual de una facultad cuando la transacción confirma.
+     */
+    public void putFacultad(Long id, String nombre, boolean activo) {
+        TransactionCallbacks.afterCommit(() -> facultades.upsert(id, nombre, activo));
+    }
+
+    /**
+     * Registra el nombre actual de una carrera cuando la transacción confirma.
+     */
+    public void putCarrera(Long id, String nombre, boolean activo) {
+        TransactionCallbacks.afterCommit(() -> carreras.upsert(id, nombre, activo));
+    }
+
+    /**
+     * Registra las facultades de una importación masiva cuando la transacción confirma.
+     */
+    public void putAllFacultades(List<Facultad> creadas) {
+        List<NameIndex.Entry> entries = creadas.stream()
+                .map(f -> new NameIndex.Entry(f.getFacultadId(), f.getNombre(), Boolean.TRUE.equals(f.getActivo())))
+                .toList();
+        TransactionCallbacks.afterCommit(() -> facultades.upsertAll(entries));
+    }
+
+    /**
+     * Registra las carreras de una importación masiva cuando la transacción confirma.
+     */
+    public void putAllCarreras(List<Carrera> creadas) {
+        List<NameIndex.Entry> entries = creadas.stream()
+                .map(c -> new NameIndex.Entry(c.getCarreraId(), c.getNombre(), Boolean.TRUE.equals(c.getActivo())))
+                .toList();
+        TransactionCallbacks.afterCommit(() -> carreras.upsertAll(entries));
+    }
+
+    /**
+     * Relee de la base de datos el nombre de una facultad modificada en otra réplica.
+     */
+    public void reloadFacultad(Long id) {
+        facultadRepository.findNombreById(id).ifPresentOrElse(
+                view -> facultades.upsert(view.getId(), view.getNombre(), Boolean.TRUE.equals(view.getActivo())),
+                () -> facultades.remove(id));
+    }
+
+    /**
+     * Relee de la base de datos el nombre de una carrera modificada en otra réplica.
+     */
+    public void reloadCarrera(Long id) {
+        carreraRepository.findNombreById(id).ifPresentOrElse(
+                view -> carreras.upsert(view.getId(), view.getNombre(), Boolean.TRUE.equals(view.getActivo())),
+                () -> carreras.remove(id));
+    }
+
+    private static int normalizarLimite(int limit) {
+        if (limit < 1) {
+            throw new BusinessRuleException("El parámetro 'limit' debe ser mayor o igual a 1");
+        }
+        return Math.min(limit, Constants.AUTOCOMPLETE_MAX_LIMIT);
+    }
+
+    private static List<NameIndex.Entry> toEntries(List<NombreCatalogoView> views) {
+        return views.stream()
+                .map(view -> new NameIndex.Entry(view.getId(), view.getNombre(), Boolean.TRUE.equals(view.getActivo())))
+                .toList();
+    }
+
+    private static List<AutocompleteResponseDTO> toResponse(List<NameIndex.Entry> entries) {
+        return entries.stream()
+                .map(entry -> new AutocompleteResponseDTO(entry.id(), entry.nombre()))
+                .toList();
+    }
+}
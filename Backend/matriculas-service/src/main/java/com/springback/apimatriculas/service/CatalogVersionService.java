@@ -0,0 +1,76 @@
+package com.springback.apimatriculas.service;
+
+import com.springback.apimatriculas.domain.model.CatalogVersion;
+import com.springback.apimatriculas.repository.CatalogVersionRepository;
+import com.springback.apimatriculas.util.TransactionCallbacks;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versión monotónica del catálogo. El valor autoritativo vive en base de datos y se
+ * incrementa dentro de cada transacción de escritura; cada réplica mantiene una copia
+ * en memoria que se consulta en cada GET sin acceder a la base de datos.
+ * La copia avanza tras el commit local y al consumir los eventos faculty.* / career.*.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogVersionService {
+
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final AtomicLong currentVersion = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        try {
+            if (!catalogVersionRepository.existsById(CatalogVersion.SINGLETON_ID)) {
+                catalogVersionRepository.saveAndFlush(new CatalogVersion(CatalogVersion.SINGLETON_ID, 1L));
+            }
+        } catch (DataIntegrityViolationException e) {
+            log.debug("La versión del catálogo ya fue inicializada por otra réplica");
+        }
+        refresh();
+        log.info("Versión del catálogo inicial: {}", currentVersion.get());
+    }
+
+    /**
+     * Versión conocida por esta réplica
+     */
+    public long current() {
+        return currentVersion.get();
+    }
+
+    /**
+     * Incrementa la versión en la transacción de escritura actual. La copia local
+     * solo avanza si la transacción confirma.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void increment() {
+        catalogVersionRepository.increment(CatalogVersion.SINGLETON_ID);
+        long version = readVersion();
+        TransactionCallbacks.afterCommit(() -> advanceTo(version));
+    }
+
+    /**
+     * Relee la versión desde la base de datos (p. ej. al recibir un evento de otra réplica)
+     */
+    @Transactional(readOnly = true)
+    public void refresh() {
+        advanceTo(readVersion());
+    }
+
+    private long readVersion() {
+        return catalogVersionRepository.findVersion(CatalogVersion.SINGLETON_ID).orElse(0L);
+    }
+
+    private void advanceTo(long version) {
+        currentVersion.accumulateAndGet(version, Math::max);
+    }
+}
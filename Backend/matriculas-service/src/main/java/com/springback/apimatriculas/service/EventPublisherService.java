@@ -1,34 +1,40 @@
 package com.springback.apimatriculas.service;
 
 import com.springback.apimatriculas.dto.kafka.AuditEvent;
+import com.springback.apimatriculas.util.Constants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EventPublisherService {
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxService outboxService;
     private static final String STATUS_SUCCESS = "SUCCESS";
-    private static final String ENTITY_FACULTY = "FACULTY";
-    private static final String ENTITY_CAREER = "CAREER";
     private static final String EVENT_FACULTY_CREATED = "FACULTY_CREATED";
     private static final String EVENT_FACULTY_UPDATED = "FACULTY_UPDATED";
     private static final String EVENT_FACULTY_DELETED = "FACULTY_DELETED";
     private static final String EVENT_CAREER_CREATED = "CAREER_CREATED";
     private static final String EVENT_CAREER_UPDATED = "CAREER_UPDATED";
     private static final String EVENT_CAREER_DELETED = "CAREER_DELETED";
+    // Clave de orden para los eventos resumidos de importación, que no tienen una entidad única
+    private static final String BATCH_AGGREGATE_ID = "IMPORT";
+    public static final String EVENT_FACULTY_IMPORTED = "FACULTY_IMPORTED";
+    public static final String EVENT_CAREER_IMPORTED = "CAREER_IMPORTED";
 
-    @Value("${kafka.topics.audit}")
-    private String auditTopic;
+    @Value("${kafka.topics.catalog-events}")
+    private String catalogEventsTopic;
+
+    @Value("${kafka.events.legacy-topics:false}")
+    private boolean legacyTopics;
 
     @Value("${kafka.topics.faculty-created}")
     private String facultyCreatedTopic;
@@ -58,50 +64,69 @@ public class EventPublisherService {
 
     /**
      * Construye y publica el evento evitando la duplicación de código.
+     * El topic específico solo se usa con {@code kafka.events.legacy-topics} activo.
      */
     private void createAndPublishEvent(String specificTopic, String eventType, String action,
                                        String details, String entityType, Long entityId) {
-        try {
-            String userEmail = getAuthenticatedUserEmail();
-
-            AuditEvent event = AuditEvent.builder()
-                    .eventType(eventType)
-                    .userEmail(userEmail)
-                    .action(action)
-                    .details(details)
-                    .timestamp(LocalDateTime.now())
-                    .status(STATUS_SUCCESS)
-                    .entityType(entityType)
-                    .entityId(entityId)
-                    .build();
-
-            // Publicar en topics
-            kafkaTemplate.send(specificTopic, event);
-            kafkaTemplate.send(auditTopic, event);
-
-            log.info("Evento {} publicado. Entidad: {} ID: {} por usuario: {}",
-                    eventType, entityType, entityId, userEmail);
-
-        } catch (Exception e) {
-            log.error("Error al publicar evento {}: {}", eventType, e.getMessage());
+        createAndPublishEvent(specificTopic, eventType, action, details, entityType, entityId, null);
+    }
+
+    private void createAndPublishEvent(String specificTopic, String eventType, String action,
+                                       String details, String entityType, Long entityId,
+                                       List<Long> relatedEntityIds) {
+        String userEmail = getAuthenticatedUserEmail();
+
+        AuditEvent event = AuditEvent.builder()
+                .eventType(eventType)
+                .userEmail(userEmail)
+                .action(action)
+                .details(details)
+                .timestamp(LocalDateTime.now())
+                .status(STATUS_SUCCESS)
+                .entityType(entityType)
+                .entityId(entityId)
+                .relatedEntityIds(relatedEntityIds)
+                .build();
+
+        // Registrar en el outbox dentro de la transacción de negocio: el relay publica solo si la
+        // operación se confirma, y un Kafka caído no bloquea ni pierde el evento.
+        // Un único envío al stream del catálogo; auditoría e invalidación filtran por cabeceras.
+        Object aggregateId = entityId != null ? entityId : BATCH_AGGREGATE_ID;
+        outboxService.enqueueKafka(entityType, aggregateId, eventType, catalogEventsTopic, event);
+        if (legacyTopics) {
+            outboxService.enqueueKafka(entityType, aggregateId, eventType, specificTopic, event);
         }
+
+        log.info("Evento {} registrado. Entidad: {} ID: {} por usuario: {}",
+                eventType, entityType, entityId, userEmail);
     }
 
     // --- FACULTADES ---
 
     public void publishFacultyCreatedEvent(Long facultyId, String facultyName) {
         createAndPublishEvent(facultyCreatedTopic, EVENT_FACULTY_CREATED, "Facultad creada",
-                "Nueva facultad: " + facultyName, ENTITY_FACULTY, facultyId);
+                "Nueva facultad: " + facultyName, Constants.ENTITY_FACULTY, facultyId);
     }
 
     public void publishFacultyUpdatedEvent(Long facultyId, String facultyName) {
         createAndPublishEvent(facultyUpdatedTopic, EVENT_FACULTY_UPDATED, "Facultad actualizada",
-                "Facultad actualizada: " + facultyName, ENTITY_FACULTY, facultyId);
+                "Facultad actualizada: " + facultyName, Constants.ENTITY_FACULTY, facultyId);
     }
 
     public void publishFacultyDeletedEvent(Long facultyId, String facultyName) {
         createAndPublishEvent(facultyDeletedTopic, EVENT_FACULTY_DELETED, "Facultad eliminada",
-                "Facultad eliminada: " + facultyName, ENTITY_FACULTY, facultyId);
+                "Facultad eliminada: " + facultyName, Constants.ENTITY_FACULTY, facultyId);
+    }
+
+    /**
+     * Un único evento resumido por lote importado: entityId va vacío y relatedEntityIds
+     * lleva los IDs creados, en lugar de un evento por fila.
+     */
+    public void publishFacultiesImportedEvent(List<Long> facultyIds, int rejected) {
+        String details = String.format("Importación masiva: %d facultad(es) creada(s), %d fila(s) rechazada(s)",
+                facultyIds.size(), rejected);
+        createAndPublishEvent(facultyCreatedTopic, EVENT_FACULTY_IMPORTED, "Facultades importadas",
+                details, Constants.ENTITY_FACULTY, null, facultyIds);
     }
 
     // --- CARRERAS ---
@@ -109,17 +134,28 @@ public class EventPublisherService {
     public void publishCareerCreatedEvent(Long careerId, String careerName, Long facultyId, String facultyName) {
         String details = String.format("Nueva carrera: %s en facultad: %s", careerName, facultyName);
         createAndPublishEvent(careerCreatedTopic, EVENT_CAREER_CREATED, "Carrera creada",
-                details, ENTITY_CAREER, careerId);
+                details, Constants.ENTITY_CAREER, careerId, List.of(facultyId));
     }
 
-    public void publishCareerUpdatedEvent(Long careerId, String careerName, Long facultyId, String facultyName) {
+    public void publishCareerUpdatedEvent(Long careerId, String careerName, Long facultyId, String facultyName,
+                                          Long previousFacultyId) {
         String details = String.format("Carrera actualizada: %s en facultad: %s", careerName, facultyName);
+        List<Long> facultyIds = facultyId.equals(previousFacultyId)
+                ? List.of(facultyId)
+                : List.of(facultyId, previousFacultyId);
         createAndPublishEvent(careerUpdatedTopic, EVENT_CAREER_UPDATED, "Carrera actualizada",
-                details, ENTITY_CAREER, careerId);
+                details, Constants.ENTITY_CAREER, careerId, facultyIds);
     }
 
-    public void publishCareerDeletedEvent(Long careerId, String careerName) {
+    public void publishCareerDeletedEvent(Long careerId, String careerName, Long facultyId) {
         createAndPublishEvent(careerDeletedTopic, EVENT_CAREER_DELETED, "Carrera eliminada",
-                "Carrera eliminada: " + careerName, ENTITY_CAREER, careerId);
+                "Carrera eliminada: " + careerName, Constants.ENTITY_CAREER, careerId, List.of(facultyId));
+    }
+
+    public void publishCareersImportedEvent(List<Long> careerIds, int rejected) {
+        String details = String.format("Importación masiva: %d carrera(s) creada(s), %d fila(s) rechazada(s)",
+                careerIds.size(), rejected);
+        createAndPublishEvent(careerCreatedTopic, EVENT_CAREER_IMPORTED, "Carreras importadas",
+                details, Constants.ENTITY_CAREER, null, careerIds);
     }
-}
\ No newline at end of file
+}
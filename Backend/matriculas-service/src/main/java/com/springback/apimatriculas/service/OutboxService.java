@@ -0,0 +1,65 @@
+package com.springback.apimatriculas.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springback.apimatriculas.domain.model.OutboxEvent;
+import com.springback.apimatriculas.repository.OutboxEventRepository;
+import com.university.common.outbox.OutboxMessage;
+import com.university.common.outbox.OutboxMessagesStored;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registra los mensajes salientes en la tabla outbox dentro de la transacción de negocio.
+ * Si la transacción se revierte, el mensaje desaparece con ella; si confirma, el
+ * {@code OutboxRelay} lo publica en segundo plano y la petición no espera al broker.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxEventRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher applicationEvents;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueKafka(String aggregateType, Object aggregateId, String eventType,
+                             String topic, Object payload) {
+        LocalDateTime now = LocalDateTime.now();
+        String id = String.valueOf(aggregateId);
+
+        OutboxEvent message = OutboxEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(id)
+                .eventType(eventType)
+                .destination(OutboxMessage.DESTINATION_KAFKA)
+                .channel(topic)
+                .messageKey(id)
+                .payloadType(payload.getClass().getName())
+                .payload(toJson(payload))
+                .createdAt(now)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .build();
+
+        outboxRepository.save(message);
+        applicationEvents.publishEvent(new OutboxMessagesStored());
+
+        log.debug("Evento {} registrado en el outbox para {} {} (topic {})", eventType, aggregateType, id, topic);
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el evento " + payload.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -4,21 +4,39 @@ import com.springback.apimatriculas.domain.model.Carrera;
 import com.springback.apimatriculas.domain.model.Facultad;
 import com.springback.apimatriculas.dto.mapper.CarreraMapper;
 import com.springback.apimatriculas.dto.request.CarreraRequestDTO;
+import com.springback.apimatriculas.dto.response.AutocompleteResponseDTO;
+import com.springback.apimatriculas.dto.response.BulkImportResponseDTO;
 import com.springback.apimatriculas.dto.response.CarreraResponseDTO;
+import com.springback.apimatriculas.dto.response.CursorPageResponseDTO;
 import com.springback.apimatriculas.exception.custom.BusinessRuleException;
 import com.springback.apimatriculas.exception.custom.DuplicateResourceException;
 import com.springback.apimatriculas.exception.custom.ResourceNotFoundException;
 import com.springback.apimatriculas.repository.CarreraRepository;
 import com.springback.apimatriculas.repository.FacultadRepository;
+import com.springback.apimatriculas.service.CatalogCacheInvalidator;
+import com.springback.apimatriculas.service.CatalogNameIndex;
+import com.springback.apimatriculas.service.CatalogVersionService;
 import com.springback.apimatriculas.service.EventPublisherService;
 import com.springback.apimatriculas.service.interfaces.ICarreraService;
 import com.springback.apimatriculas.util.Constants;
+import com.springback.apimatriculas.util.CsvParser;
+import com.springback.apimatriculas.util.CursorPagination;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -29,6 +47,10 @@ public class CarreraServiceImpl implements ICarreraService {
     private final FacultadRepository facultadRepository;
     private final CarreraMapper carreraMapper;
     private final EventPublisherService eventPublisher;
+    private final CatalogCacheInvalidator catalogCache;
+    private final CatalogVersionService catalogVersion;
+    private final CatalogNameIndex catalogNames;
+    private final Validator validator;
 
     @Override
     @Transactional
@@ -44,7 +66,9 @@ public class CarreraServiceImpl implements ICarreraService {
         }
 
         // Validar que no exista una carrera con el mismo nombre
-        if (carreraRepository.existsByNombre(requestDTO.nombre())) {
+        // (el índice en memoria evita la consulta cuando el nombre es nuevo)
+        if (catalogNames.mightContainCarrera(requestDTO.nombre()) &&
+                carreraRepository.existsByNombre(requestDTO.nombre())) {
             throw new DuplicateResourceException(Constants.CARRERA, Constants.FIELD_NOMBRE, requestDTO.nombre());
         }
 
@@ -57,6 +81,11 @@ public class CarreraServiceImpl implements ICarreraService {
 
         log.info("Carrera creada exitosamente con ID: {}", savedCarrera.getCarreraId());
 
+        // INVALIDAR CACHÉ, ACTUALIZAR ÍNDICE DE NOMBRES Y AVANZAR VERSIÓN DEL CATÁLOGO
+        catalogCache.evictCarrera(savedCarrera.getCarreraId(), List.of(facultad.getFacultadId()));
+        catalogNames.putCarrera(savedCarrera.getCarreraId(), savedCarrera.getNombre(), Boolean.TRUE.equals(savedCarrera.getActivo()));
+        catalogVersion.increment();
+
         // PUBLICAR EVENTO EN KAFKA
         eventPublisher.publishCareerCreatedEvent(
                 savedCarrera.getCarreraId(),
@@ -70,6 +99,7 @@ public class CarreraServiceImpl implements ICarreraService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = Constants.CACHE_CARRERAS, key = "#id")
     public CarreraResponseDTO getById(Long id) {
         log.info("Buscando carrera con ID: {}", id);
 
@@ -84,32 +114,32 @@ public class CarreraServiceImpl implements ICarreraService {
     public List<CarreraResponseDTO> getAll() {
         log.info("Obteniendo todas las carreras");
 
-        List<Carrera> carreras = carreraRepository.findAll();
+        List<Carrera> carreras = carreraRepository.findAllConFacultad();
 
         return carreraMapper.toResponseDTOList(carreras);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(Constants.CACHE_CARRERAS_ACTIVAS)
     public List<CarreraResponseDTO> getAllActive() {
         log.info("Obteniendo todas las carreras activas");
 
-        List<Carrera> carreras = carreraRepository.findByActivoTrue();
+        List<Carrera> carreras = carreraRepository.findActivasConFacultad();
 
         return carreraMapper.toResponseDTOList(carreras);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = Constants.CACHE_CARRERAS_POR_FACULTAD, key = "#facultadId")
     public List<CarreraResponseDTO> getByFacultadId(Long facultadId) {
         log.info("Obteniendo carreras de la facultad con ID: {}", facultadId);
 
         // Validar que la facultad exista
-        if (!facultadRepository.existsById(facultadId)) {
-            throw new ResourceNotFoundException(Constants.FACULTAD, facultadId);
-        }
+        validarFacultadExiste(facultadId);
 
-        List<Carrera> carreras = carreraRepository.findByFacultad_FacultadId(facultadId);
+        List<Carrera> carreras = carreraRepository.findByFacultadIdConFacultad(facultadId);
 
         return carreraMapper.toResponseDTOList(carreras);
     }
@@ -124,6 +154,7 @@ public class CarreraServiceImpl implements ICarreraService {
                 .orElseThrow(() -> new ResourceNotFoundException(Constants.CARRERA, id));
 
         // Validar que la nueva facultad exista y esté activa (si cambió)
+        Long facultadAnteriorId = carrera.getFacultad().getFacultadId();
         Facultad facultad = carrera.getFacultad();
         if (!carrera.getFacultad().getFacultadId().equals(requestDTO.facultadId())) {
             Facultad nuevaFacultad = facultadRepository.findById(requestDTO.facultadId())
@@ -139,6 +170,7 @@ public class CarreraServiceImpl implements ICarreraService {
 
         // Validar que el nombre no esté duplicado (si cambió)
         if (!carrera.getNombre().equals(requestDTO.nombre()) &&
+                catalogNames.mightContainCarrera(requestDTO.nombre()) &&
                 carreraRepository.existsByNombre(requestDTO.nombre())) {
             throw new DuplicateResourceException(Constants.CARRERA, Constants.FIELD_NOMBRE, requestDTO.nombre());
         }
@@ -151,12 +183,18 @@ public class CarreraServiceImpl implements ICarreraService {
 
         log.info("Carrera actualizada exitosamente con ID: {}", updatedCarrera.getCarreraId());
 
+        // INVALIDAR CACHÉ, ACTUALIZAR ÍNDICE DE NOMBRES Y AVANZAR VERSIÓN DEL CATÁLOGO
+        catalogCache.evictCarrera(updatedCarrera.getCarreraId(), List.of(facultad.getFacultadId(), facultadAnteriorId));
+        catalogNames.putCarrera(updatedCarrera.getCarreraId(), updatedCarrera.getNombre(), Boolean.TRUE.equals(updatedCarrera.getActivo()));
+        catalogVersion.increment();
+
         // PUBLICAR EVENTO EN KAFKA
         eventPublisher.publishCareerUpdatedEvent(
                 updatedCarrera.getCarreraId(),
                 updatedCarrera.getNombre(),
                 facultad.getFacultadId(),
-                facultad.getNombre()
+                facultad.getNombre(),
+                facultadAnteriorId
         );
 
         return carreraMapper.toResponseDTO(updatedCarrera);
@@ -177,10 +215,16 @@ public class CarreraServiceImpl implements ICarreraService {
 
         log.info("Carrera eliminada (desactivada) exitosamente con ID: {}", id);
 
+        // INVALIDAR CACHÉ, ACTUALIZAR ÍNDICE DE NOMBRES Y AVANZAR VERSIÓN DEL CATÁLOGO
+        catalogCache.evictCarrera(carrera.getCarreraId(), List.of(carrera.getFacultad().getFacultadId()));
+        catalogNames.putCarrera(carrera.getCarreraId(), carrera.getNombre(), Boolean.TRUE.equals(carrera.getActivo()));
+        catalogVersion.increment();
+
         // PUBLICAR EVENTO EN KAFKA
         eventPublisher.publishCareerDeletedEvent(
                 carrera.getCarreraId(),
-                carrera.getNombre()
+                carrera.getNombre(),
+                carrera.getFacultad().getFacultadId()
         );
     }
 
@@ -189,8 +233,213 @@ public class CarreraServiceImpl implements ICarreraService {
     public List<CarreraResponseDTO> searchByNombre(String nombre) {
         log.info("Buscando carreras por nombre: {}", nombre);
 
-        List<Carrera> carreras = carreraRepository.findByNombreContaining(nombre);
+        return carreraRepository.searchByRelevance(nombre, Constants.SEARCH_MAX_RESULTS);
+    }
+
+    @Override
+    public List<AutocompleteResponseDTO> autocomplete(String prefijo, int limit) {
+        log.debug("Autocompletando carreras por prefijo: {}", prefijo);
 
-        return carreraMapper.toResponseDTOList(carreras);
+        return catalogNames.autocompleteCarreras(prefijo, limit);
+    }
+
+    @Override
+    @Transactional
+    public BulkImportResponseDTO importar(List<CarreraRequestDTO> requestDTOs) {
+        log.info("Importando lote de {} carreras", requestDTOs != null ? requestDTOs.size() : 0);
+
+        return importarLote(ImportBatch.of(requestDTOs, CarreraRequestDTO::nombre));
+    }
+
+    @Override
+    @Transactional
+    public BulkImportResponseDTO importarCsv(String csv) {
+        List<Map<String, String>> registros = CsvParser.parse(csv);
+        log.info("Importando lote CSV de {} carreras", registros.size());
+
+        List<CarreraRequestDTO> rows = new ArrayList<>(registros.size());
+        Map<Integer, List<String>> erroresFormato = new HashMap<>();
+        for (int i = 0; i < registros.size(); i++) {
+            Map<String, String> registro = registros.get(i);
+            List<String> errores = new ArrayList<>();
+            rows.add(new CarreraRequestDTO(
+                    CsvParser.enteroLargo(registro, "facultadId", errores),
+                    CsvParser.texto(registro, "nombre"),
+                    CsvParser.texto(registro, "descripcion"),
+                    CsvParser.entero(registro, "duracionSemestres", errores),
+                    CsvParser.texto(registro, "tituloOtorgado"),
+                    CsvParser.booleano(registro, "activo", errores)
+            ));
+            if (!errores.isEmpty()) {
+                erroresFormato.put(i, errores);
+            }
+        }
+
+        ImportBatch<CarreraRequestDTO> batch = ImportBatch.of(rows, CarreraRequestDTO::nombre);
+        erroresFormato.forEach(batch::rejectAll);
+        return importarLote(batch);
+    }
+
+    private BulkImportResponseDTO importarLote(ImportBatch<CarreraRequestDTO> batch) {
+        // Validar el lote completo en memoria
+        batch.validate(validator);
+        batch.rejectRepeatedNames();
+
+        // Nombres ya registrados: una sola consulta, solo con los que el índice no descarta
+        List<String> candidatos = batch.pendingNames().stream()
+                .filter(catalogNames::mightContainCarrera)
+                .toList();
+        if (!candidatos.isEmpty()) {
+            batch.rejectExistingNames(carreraRepository.findNombresExistentes(candidatos), Constants.CARRERA);
+        }
+
+        // Resolver todas las facultades del lote con una sola consulta
+        Set<Long> facultadIds = batch.pending().stream()
+                .map(index -> batch.row(index).facultadId())
+                .collect(Collectors.toSet());
+        Map<Long, Facultad> facultades = facultadIds.isEmpty() ? Map.of() :
+                facultadRepository.findAllById(facultadIds).stream()
+                        .collect(Collectors.toMap(Facultad::getFacultadId, Function.identity()));
+        for (int index : batch.pending()) {
+            Facultad facultad = facultades.get(batch.row(index).facultadId());
+            if (facultad == null) {
+                batch.reject(index, String.format("%s no encontrado con ID: %d",
+                        Constants.FACULTAD, batch.row(index).facultadId()));
+            } else if (!facultad.getActivo()) {
+                batch.reject(index, "No se puede crear una carrera en una facultad inactiva");
+            }
+        }
+
+        // Insertar las filas válidas (Hibernate las agrupa en lotes JDBC al hacer flush)
+        List<Integer> pendientes = batch.pending();
+        List<Carrera> carreras = pendientes.stream()
+                .map(index -> {
+                    Carrera carrera = carreraMapper.toEntity(batch.row(index));
+                    carrera.setFacultad(facultades.get(batch.row(index).facultadId()));
+                    return carrera;
+                })
+                .toList();
+        List<Carrera> creadas = carreraRepository.saveAll(carreras);
+        for (int i = 0; i < creadas.size(); i++) {
+            batch.created(pendientes.get(i), creadas.get(i).getCarreraId());
+        }
+
+        BulkImportResponseDTO response = batch.toResponse();
+        log.info("Importación de carreras finalizada: {} creadas, {} rechazadas",
+                response.creados(), response.rechazados());
+
+        if (!creadas.isEmpty()) {
+            // INVALIDAR CACHÉ, ACTUALIZAR ÍNDICE DE NOMBRES Y AVANZAR VERSIÓN DEL CATÁLOGO
+            catalogCache.evictAll();
+            catalogNames.putAllCarreras(creadas);
+            catalogVersion.increment();
+
+            // PUBLICAR UN ÚNICO EVENTO RESUMIDO EN KAFKA
+            eventPublisher.publishCareersImportedEvent(
+                    creadas.stream().map(Carrera::getCarreraId).toList(),
+                    response.rechazados()
+            );
+        }
+
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<CarreraResponseDTO> getAll(Long after, int limit) {
+        log.info("Obteniendo página de carreras después del ID: {} (limit {})", after, limit);
+
+        int pageLimit = CursorPagination.normalizarLimite(limit);
+        List<CarreraResponseDTO> rows = carreraRepository.findPage(
+                CursorPagination.normalizarCursor(after), CursorPagination.limiteConSiguiente(pageLimit));
+
+        return CursorPageResponseDTO.of(rows, pageLimit, CarreraResponseDTO::carreraId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<CarreraResponseDTO> getAllActive(Long after, int limit) {
+        log.info("Obteniendo página de carreras activas después del ID: {} (limit {})", after, limit);
+
+        int pageLimit = CursorPagination.normalizarLimite(limit);
+        List<CarreraResponseDTO> rows = carreraRepository.findActivasPage(
+                CursorPagination.normalizarCursor(after), CursorPagination.limiteConSiguiente(pageLimit));
+
+        return CursorPageResponseDTO.of(rows, pageLimit, CarreraResponseDTO::carreraId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<CarreraResponseDTO> getByFacultadId(Long facultadId, Long after, int limit) {
+        log.info("Obteniendo página de carreras de la facultad con ID: {} después del ID: {} (limit {})",
+                facultadId, after, limit);
+
+        validarFacultadExiste(facultadId);
+
+        int pageLimit = CursorPagination.normalizarLimite(limit);
+        List<CarreraResponseDTO> rows = carreraRepository.findByFacultadIdPage(
+                facultadId, CursorPagination.normalizarCursor(after), CursorPagination.limiteConSiguiente(pageLimit));
+
+        return CursorPageResponseDTO.of(rows, pageLimit, CarreraResponseDTO::carreraId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<CarreraResponseDTO> searchByNombre(String nombre, Long after, int limit) {
+        log.info("Buscando página de carreras por nombre: {} después del ID: {} (limit {})", nombre, after, limit);
+
+        int pageLimit = CursorPagination.normalizarLimite(limit);
+        List<CarreraResponseDTO> rows = carreraRepository.findByNombreContainingPage(
+                nombre, CursorPagination.normalizarCursor(after), CursorPagination.limiteConSiguiente(pageLimit));
+
+        return CursorPageResponseDTO.of(rows, pageLimit, CarreraResponseDTO::carreraId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<CarreraResponseDTO> consumer) {
+        log.info("Transmitiendo todas las carreras");
+
+        try (Stream<CarreraResponseDTO> carreras = carreraRepository.streamAll()) {
+            carreras.forEach(consumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllActive(Consumer<CarreraResponseDTO> consumer) {
+        log.info("Transmitiendo carreras activas");
+
+        try (Stream<CarreraResponseDTO> carreras = carreraRepository.streamActivas()) {
+            carreras.forEach(consumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamByFacultadId(Long facultadId, Consumer<CarreraResponseDTO> consumer) {
+        log.info("Transmitiendo carreras de la facultad con ID: {}", facultadId);
+
+        validarFacultadExiste(facultadId);
+
+        try (Stream<CarreraResponseDTO> carreras = carreraRepository.streamByFacultadId(facultadId)) {
+            carreras.forEach(consumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamByNombre(String nombre, Consumer<CarreraResponseDTO> consumer) {
+        log.info("Transmitiendo carreras por nombre: {}", nombre);
+
+        try (Stream<CarreraResponseDTO> carreras = carreraRepository.streamByNombreContaining(nombre)) {
+            carreras.forEach(consumer);
+        }
+    }
+
+    private void validarFacultadExiste(Long facultadId) {
+        if (!facultadRepository.existsById(facultadId)) {
+            throw new ResourceNotFoundException(Constants.FACULTAD, facultadId);
+        }
     }
-}
+}
\ No newline at end of file
@@ -3,20 +3,35 @@ package com.springback.apimatriculas.service.impl;
 import com.springback.apimatriculas.domain.model.Facultad;
 import com.springback.apimatriculas.dto.mapper.FacultadMapper;
 import com.springback.apimatriculas.dto.request.FacultadRequestDTO;
+import com.springback.apimatriculas.dto.response.AutocompleteResponseDTO;
+import com.springback.apimatriculas.dto.response.BulkImportResponseDTO;
+import com.springback.apimatriculas.dto.response.CursorPageResponseDTO;
 import com.springback.apimatriculas.dto.response.FacultadResponseDTO;
 import com.springback.apimatriculas.exception.custom.BusinessRuleException;
 import com.springback.apimatriculas.exception.custom.DuplicateResourceException;
 import com.springback.apimatriculas.exception.custom.ResourceNotFoundException;
 import com.springback.apimatriculas.repository.FacultadRepository;
+import com.springback.apimatriculas.service.CatalogCacheInvalidator;
+import com.springback.apimatriculas.service.CatalogNameIndex;
+import com.springback.apimatriculas.service.CatalogVersionService;
 import com.springback.apimatriculas.service.EventPublisherService;
 import com.springback.apimatriculas.service.interfaces.IFacultadService;
 import com.springback.apimatriculas.util.Constants;
+import com.springback.apimatriculas.util.CsvParser;
+import com.springback.apimatriculas.util.CursorPagination;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -26,6 +41,10 @@ public class FacultadServiceImpl implements IFacultadService {
     private final FacultadRepository facultadRepository;
     private final FacultadMapper facultadMapper;
     private final EventPublisherService eventPublisher;
+    private final CatalogCacheInvalidator catalogCache;
+    private final CatalogVersionService catalogVersion;
+    private final CatalogNameIndex catalogNames;
+    private final Validator validator;
 
     @Override
     @Transactional
@@ -33,7 +52,9 @@ public class FacultadServiceImpl implements IFacultadService {
         log.info("Creando nueva facultad con nombre: {}", requestDTO.nombre());
 
         // Validar que no exista una facultad con el mismo nombre
-        if (facultadRepository.existsByNombre(requestDTO.nombre())) {
+        // (el índice en memoria evita la consulta cuando el nombre es nuevo)
+        if (catalogNames.mightContainFacultad(requestDTO.nombre()) &&
+                facultadRepository.existsByNombre(requestDTO.nombre())) {
             throw new DuplicateResourceException(Constants.FACULTAD, Constants.FIELD_NOMBRE, requestDTO.nombre());
         }
 
@@ -45,6 +66,11 @@ public class FacultadServiceImpl implements IFacultadService {
 
         log.info("Facultad creada exitosamente con ID: {}", savedFacultad.getFacultadId());
 
+        // INVALIDAR CACHÉ, ACTUALIZAR ÍNDICE DE NOMBRES Y AVANZAR VERSIÓN DEL CATÁLOGO
+        catalogCache.evictFacultad(savedFacultad.getFacultadId());
+        catalogNames.putFacultad(savedFacultad.getFacultadId(), savedFacultad.getNombre(), Boolean.TRUE.equals(savedFacultad.getActivo()));
+        catalogVersion.increment();
+
         // PUBLICAR EVENTO EN KAFKA
         eventPublisher.publishFacultyCreatedEvent(
                 savedFacultad.getFacultadId(),
@@ -57,6 +83,7 @@ public class FacultadServiceImpl implements IFacultadService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = Constants.CACHE_FACULTADES, key = "#id")
     public FacultadResponseDTO getById(Long id) {
         log.info("Buscando facultad con ID: {}", id);
 
@@ -71,19 +98,16 @@ public class FacultadServiceImpl implements IFacultadService {
     public List<FacultadResponseDTO> getAll() {
         log.info("Obteniendo todas las facultades");
 
-        List<Facultad> facultades = facultadRepository.findAll();
-
-        return facultadMapper.toResponseDTOList(facultades);
+        return facultadRepository.findAllConCantidadCarreras();
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(Constants.CACHE_FACULTADES_ACTIVAS)
     public List<FacultadResponseDTO> getAllActive() {
         log.info("Obteniendo todas las facultades activas");
 
-        List<Facultad> facultades = facultadRepository.findByActivoTrue();
-
-        return facultadMapper.toResponseDTOList(facultades);
+        return facultadRepository.findActivasConCantidadCarreras();
     }
 
     @Override
@@ -97,6 +121,7 @@ public class FacultadServiceImpl implements IFacultadService {
 
         // Validar que el nombre no esté duplicado (si cambió)
         if (!facultad.getNombre().equals(requestDTO.nombre()) &&
+                catalogNames.mightContainFacultad(requestDTO.nombre()) &&
                 facultadRepository.existsByNombre(requestDTO.nombre())) {
             throw new DuplicateResourceException(Constants.FACULTAD, Constants.FIELD_NOMBRE, requestDTO.nombre());
         }
@@ -109,6 +134,11 @@ public class FacultadServiceImpl implements IFacultadService {
 
         log.info("Facultad actualizada exitosamente con ID: {}", updatedFacultad.getFacultadId());
 
+        // INVALIDAR CACHÉ, ACTUALIZAR ÍNDICE DE NOMBRES Y AVANZAR VERSIÓN DEL CATÁLOGO
+        catalogCache.evictFacultad(updatedFacultad.getFacultadId());
+        catalogNames.putFacultad(updatedFacultad.getFacultadId(), updatedFacultad.getNombre(), Boolean.TRUE.equals(updatedFacultad.getActivo()));
+        catalogVersion.increment();
+
         // PUBLICAR EVENTO EN KAFKA
         eventPublisher.publishFacultyUpdatedEvent(
                 updatedFacultad.getFacultadId(),
@@ -142,6 +172,11 @@ public class FacultadServiceImpl implements IFacultadService {
 
         log.info("Facultad eliminada (desactivada) exitosamente con ID: {}", id);
 
+        // INVALIDAR CACHÉ, ACTUALIZAR ÍNDICE DE NOMBRES Y AVANZAR VERSIÓN DEL CATÁLOGO
+        catalogCache.evictFacultad(facultad.getFacultadId());
+        catalogNames.putFacultad(facultad.getFacultadId(), facultad.getNombre(), Boolean.TRUE.equals(facultad.getActivo()));
+        catalogVersion.increment();
+
         // PUBLICAR EVENTO EN KAFKA
         eventPublisher.publishFacultyDeletedEvent(
                 facultad.getFacultadId(),
@@ -154,8 +189,158 @@ public class FacultadServiceImpl implements IFacultadService {
     public List<FacultadResponseDTO> searchByNombre(String nombre) {
         log.info("Buscando facultades por nombre: {}", nombre);
 
-        List<Facultad> facultades = facultadRepository.findByNombreContaining(nombre);
+        return facultadRepository.searchByRelevance(nombre, Constants.SEARCH_MAX_RESULTS);
+    }
+
+    @Override
+    public List<AutocompleteResponseDTO> autocomplete(String prefijo, int limit) {
+        log.debug("Autocompletando facultades por prefijo: {}", prefijo);
+
+        return catalogNames.autocompleteFacultades(prefijo, limit);
+    }
+
+    @Override
+    @Transactional
+    public BulkImportResponseDTO importar(List<FacultadRequestDTO> requestDTOs) {
+        log.info("Importando lote de {} facultades", requestDTOs != null ? requestDTOs.size() : 0);
+
+        return importarLote(ImportBatch.of(requestDTOs, FacultadRequestDTO::nombre));
+    }
+
+    @Override
+    @Transactional
+    public BulkImportResponseDTO importarCsv(String csv) {
+        List<Map<String, String>> registros = CsvParser.parse(csv);
+        log.info("Importando lote CSV de {} facultades", registros.size());
+
+        List<FacultadRequestDTO> rows = new ArrayList<>(registros.size());
+        Map<Integer, List<String>> erroresFormato = new HashMap<>();
+        for (int i = 0; i < registros.size(); i++) {
+            Map<String, String> registro = registros.get(i);
+            List<String> errores = new ArrayList<>();
+            rows.add(new FacultadRequestDTO(
+                    CsvParser.texto(registro, "nombre"),
+                    CsvParser.texto(registro, "descripcion"),
+                    CsvParser.texto(registro, "ubicacion"),
+                    CsvParser.texto(registro, "decano"),
+                    CsvParser.booleano(registro, "activo", errores)
+            ));
+            if (!errores.isEmpty()) {
+                erroresFormato.put(i, errores);
+            }
+        }
+
+        ImportBatch<FacultadRequestDTO> batch = ImportBatch.of(rows, FacultadRequestDTO::nombre);
+        erroresFormato.forEach(batch::rejectAll);
+        return importarLote(batch);
+    }
+
+    private BulkImportResponseDTO importarLote(ImportBatch<FacultadRequestDTO> batch) {
+        // Validar el lote completo en memoria
+        batch.validate(validator);
+        batch.rejectRepeatedNames();
+
+        // Nombres ya registrados: una sola consulta, solo con los que el índice no descarta
+        List<String> candidatos = batch.pendingNames().stream()
+                .filter(catalogNames::mightContainFacultad)
+                .toList();
+        if (!candidatos.isEmpty()) {
+            batch.rejectExistingNames(facultadRepository.findNombresExistentes(candidatos), Constants.FACULTAD);
+        }
+
+        // Insertar las filas válidas (Hibernate las agrupa en lotes JDBC al hacer flush)
+        List<Integer> pendientes = batch.pending();
+        List<Facultad> facultades = pendientes.stream()
+                .map(index -> facultadMapper.toEntity(batch.row(index)))
+                .toList();
+        List<Facultad> creadas = facultadRepository.saveAll(facultades);
+        for (int i = 0; i < creadas.size(); i++) {
+            batch.created(pendientes.get(i), creadas.get(i).getFacultadId());
+        }
 
-        return facultadMapper.toResponseDTOList(facultades);
+        BulkImportResponseDTO response = batch.toResponse();
+        log.info("Importación de facultades finalizada: {} creadas, {} rechazadas",
+                response.creados(), response.rechazados());
+
+        if (!creadas.isEmpty()) {
+            // INVALIDAR CACHÉ, ACTUALIZAR ÍNDICE DE NOMBRES Y AVANZAR VERSIÓN DEL CATÁLOGO
+            catalogCache.evictAll();
+            catalogNames.putAllFacultades(creadas);
+            catalogVersion.increment();
+
+            // PUBLICAR UN ÚNICO EVENTO RESUMIDO EN KAFKA
+            eventPublisher.publishFacultiesImportedEvent(
+                    creadas.stream().map(Facultad::getFacultadId).toList(),
+                    response.rechazados()
+            );
+        }
+
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<FacultadResponseDTO> getAll(Long after, int limit) {
+        log.info("Obteniendo página de facultades después del ID: {} (limit {})", after, limit);
+
+        int pageLimit = CursorPagination.normalizarLimite(limit);
+        List<FacultadResponseDTO> rows = facultadRepository.findPageConCantidadCarreras(
+                CursorPagination.normalizarCursor(after), CursorPagination.limiteConSiguiente(pageLimit));
+
+        return CursorPageResponseDTO.of(rows, pageLimit, FacultadResponseDTO::facultadId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<FacultadResponseDTO> getAllActive(Long after, int limit) {
+        log.info("Obteniendo página de facultades activas después del ID: {} (limit {})", after, limit);
+
+        int pageLimit = CursorPagination.normalizarLimite(limit);
+        List<FacultadResponseDTO> rows = facultadRepository.findActivasPageConCantidadCarreras(
+                CursorPagination.normalizarCursor(after), CursorPagination.limiteConSiguiente(pageLimit));
+
+        return CursorPageResponseDTO.of(rows, pageLimit, FacultadResponseDTO::facultadId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<FacultadResponseDTO> searchByNombre(String nombre, Long after, int limit) {
+        log.info("Buscando página de facultades por nombre: {} después del ID: {} (limit {})", nombre, after, limit);
+
+        int pageLimit = CursorPagination.normalizarLimite(limit);
+        List<FacultadResponseDTO> rows = facultadRepository.findByNombreContainingPageConCantidadCarreras(
+                nombre, CursorPagination.normalizarCursor(after), CursorPagination.limiteConSiguiente(pageLimit));
+
+        return CursorPageResponseDTO.of(rows, pageLimit, FacultadResponseDTO::facultadId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<FacultadResponseDTO> consumer) {
+        log.info("Transmitiendo todas las facultades");
+
+        try (Stream<FacultadResponseDTO> facultades = facultadRepository.streamAllConCantidadCarreras()) {
+            facultades.forEach(consumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllActive(Consumer<FacultadResponseDTO> consumer) {
+        log.info("Transmitiendo facultades activas");
+
+        try (Stream<FacultadResponseDTO> facultades = facultadRepository.streamActivasConCantidadCarreras()) {
+            facultades.forEach(consumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamByNombre(String nombre, Consumer<FacultadResponseDTO> consumer) {
+        log.info("Transmitiendo facultades por nombre: {}", nombre);
+
+        try (Stream<FacultadResponseDTO> facultades = facultadRepository.streamByNombreContainingConCantidadCarreras(nombre)) {
+            facultades.forEach(consumer);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,141 @@
+package com.springback.apimatriculas.service.impl;
+
+import com.springback.apimatriculas.dto.response.BulkImportResponseDTO;
+import com.springback.apimatriculas.dto.response.BulkImportRowResultDTO;
+import com.springback.apimatriculas.exception.custom.BusinessRuleException;
+import com.springback.apimatriculas.util.Constants;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Estado de un lote de importación masiva: filas recibidas, errores por fila e IDs asignados.
+ * Todas las validaciones se hacen en memoria sobre el lote completo; los servicios solo
+ * consultan la base de datos una vez por tipo de dato (nombres existentes, facultades).
+ */
+final class ImportBatch<T> {
+
+    private final List<T> rows;
+    private final Function<T, String> nombre;
+    private final Map<Integer, List<String>> errores = new HashMap<>();
+    private final Map<Integer, Long> ids = new HashMap<>();
+
+    private ImportBatch(List<T> rows, Function<T, String> nombre) {
+        this.rows = rows;
+        this.nombre = nombre;
+    }
+
+    static <T> ImportBatch<T> of(List<T> rows, Function<T, String> nombre) {
+        if (rows == null || rows.isEmpty()) {
+            throw new BusinessRuleException("El lote de importación no contiene filas");
+        }
+        if (rows.size() > Constants.IMPORT_MAX_ROWS) {
+            throw new BusinessRuleException(String.format(
+                    "El lote de importación no puede superar las %d filas", Constants.IMPORT_MAX_ROWS));
+        }
+        return new ImportBatch<>(rows, nombre);
+    }
+
+    T row(int index) {
+        return rows.get(index);
+    }
+
+    void reject(int index, String error) {
+        errores.computeIfAbsent(index, key -> new ArrayList<>()).add(error);
+    }
+
+    void rejectAll(int index, Collection<String> mensajes) {
+        mensajes.forEach(mensaje -> reject(index, mensaje));
+    }
+
+    void created(int index, Long id) {
+        ids.put(index, id);
+    }
+
+    /**
+     * Índices de las filas que aún no tienen errores, en el orden recibido.
+     */
+    List<Integer> pending() {
+        return IntStream.range(0, rows.size())
+                .filter(index -> !errores.containsKey(index))
+                .boxed()
+                .toList();
+    }
+
+    /**
+     * Aplica las anotaciones de Bean Validation del DTO a cada fila pendiente.
+     */
+    void validate(Validator validator) {
+        for (int index : pending()) {
+            T row = rows.get(index);
+            if (row == null) {
+                reject(index, "La fila está vacía");
+                continue;
+            }
+            validator.validate(row).stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .forEach(mensaje -> reject(index, mensaje));
+        }
+    }
+
+    /**
+     * Rechaza las filas que repiten el nombre de una fila anterior del mismo lote.
+     */
+    void rejectRepeatedNames() {
+        Map<String, Integer> primeraFila = new HashMap<>();
+        for (int index : pending()) {
+            String valor = nombre.apply(rows.get(index));
+            Integer anterior = primeraFila.putIfAbsent(valor, index);
+            if (anterior != null) {
+                reject(index, String.format("El nombre '%s' ya aparece en la fila %d del lote", valor, anterior + 1));
+            }
+        }
+    }
+
+    /**
+     * Rechaza las filas cuyo nombre ya está registrado en la base de datos.
+     */
+    void rejectExistingNames(Collection<String> existentes, String recurso) {
+        if (existentes.isEmpty()) {
+            return;
+        }
+        Set<String> registrados = Set.copyOf(existentes);
+        for (int index : pending()) {
+            String valor = nombre.apply(rows.get(index));
+            if (registrados.contains(valor)) {
+                reject(index, String.format("%s con nombre '%s' ya existe", recurso, valor));
+            }
+        }
+    }
+
+    Set<String> pendingNames() {
+        Set<String> nombres = new LinkedHashSet<>();
+        pending().forEach(index -> nombres.add(nombre.apply(rows.get(index))));
+        return nombres;
+    }
+
+    BulkImportResponseDTO toResponse() {
+        List<BulkImportRowResultDTO> filas = new ArrayList<>(rows.size());
+        for (int index = 0; index < rows.size(); index++) {
+            T row = rows.get(index);
+            String valor = row != null ? nombre.apply(row) : null;
+            if (ids.containsKey(index)) {
+                filas.add(BulkImportRowResultDTO.creado(index + 1, valor, ids.get(index)));
+            } else {
+                filas.add(BulkImportRowResultDTO.rechazado(index + 1, valor,
+                        errores.getOrDefault(index, List.of())));
+            }
+        }
+        return BulkImportResponseDTO.of(filas);
+    }
+}
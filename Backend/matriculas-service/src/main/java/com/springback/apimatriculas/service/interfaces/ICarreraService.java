@@ -1,9 +1,13 @@
 package com.springback.apimatriculas.service.interfaces;
 
 import com.springback.apimatriculas.dto.request.CarreraRequestDTO;
+import com.springback.apimatriculas.dto.response.AutocompleteResponseDTO;
+import com.springback.apimatriculas.dto.response.BulkImportResponseDTO;
 import com.springback.apimatriculas.dto.response.CarreraResponseDTO;
+import com.springback.apimatriculas.dto.response.CursorPageResponseDTO;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ICarreraService {
 
@@ -15,4 +19,23 @@ public interface ICarreraService {
     CarreraResponseDTO update(Long id, CarreraRequestDTO requestDTO);
     void delete(Long id);
     List<CarreraResponseDTO> searchByNombre(String nombre);
-}
\ No newline at end of file
+
+    // Autocompletado por prefijo sobre el índice de nombres en memoria
+    List<AutocompleteResponseDTO> autocomplete(String prefijo, int limit);
+
+    // Importación masiva: valida el lote completo y crea las filas válidas en lotes JDBC
+    BulkImportResponseDTO importar(List<CarreraRequestDTO> requestDTOs);
+    BulkImportResponseDTO importarCsv(String csv);
+
+    // Paginación por cursor (keyset) sobre carreraId
+    CursorPageResponseDTO<CarreraResponseDTO> getAll(Long after, int limit);
+    CursorPageResponseDTO<CarreraResponseDTO> getAllActive(Long after, int limit);
+    CursorPageResponseDTO<CarreraResponseDTO> getByFacultadId(Long facultadId, Long after, int limit);
+    CursorPageResponseDTO<CarreraResponseDTO> searchByNombre(String nombre, Long after, int limit);
+
+    // Streaming: entrega cada elemento al consumidor mientras se recorre el cursor JDBC
+    void streamAll(Consumer<CarreraResponseDTO> consumer);
+    void streamAllActive(Consumer<CarreraResponseDTO> consumer);
+    void streamByFacultadId(Long facultadId, Consumer<CarreraResponseDTO> consumer);
+    void streamByNombre(String nombre, Consumer<CarreraResponseDTO> consumer);
+}
@@ -1,9 +1,13 @@
 package com.springback.apimatriculas.service.interfaces;
 
 import com.springback.apimatriculas.dto.request.FacultadRequestDTO;
+import com.springback.apimatriculas.dto.response.AutocompleteResponseDTO;
+import com.springback.apimatriculas.dto.response.BulkImportResponseDTO;
+import com.springback.apimatriculas.dto.response.CursorPageResponseDTO;
 import com.springback.apimatriculas.dto.response.FacultadResponseDTO;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IFacultadService {
 
@@ -14,4 +18,21 @@ public interface IFacultadService {
     FacultadResponseDTO update(Long id, FacultadRequestDTO requestDTO);
     void delete(Long id);
     List<FacultadResponseDTO> searchByNombre(String nombre);
+
+    // Autocompletado por prefijo sobre el índice de nombres en memoria
+    List<AutocompleteResponseDTO> autocomplete(String prefijo, int limit);
+
+    // Importación masiva: valida el lote completo y crea las filas válidas en lotes JDBC
+    BulkImportResponseDTO importar(List<FacultadRequestDTO> requestDTOs);
+    BulkImportResponseDTO importarCsv(String csv);
+
+    // Paginación por cursor (keyset) sobre facultadId
+    CursorPageResponseDTO<FacultadResponseDTO> getAll(Long after, int limit);
+    CursorPageResponseDTO<FacultadResponseDTO> getAllActive(Long after, int limit);
+    CursorPageResponseDTO<FacultadResponseDTO> searchByNombre(String nombre, Long after, int limit);
+
+    // Streaming: entrega cada elemento al consumidor mientras se recorre el cursor JDBC
+    void streamAll(Consumer<FacultadResponseDTO> consumer);
+    void streamAllActive(Consumer<FacultadResponseDTO> consumer);
+    void streamByNombre(String nombre, Consumer<FacultadResponseDTO> consumer);
 }
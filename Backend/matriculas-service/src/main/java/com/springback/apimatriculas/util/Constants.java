@@ -27,4 +27,32 @@ public final class Constants {
 
     // Valores por defecto
     public static final boolean DEFAULT_ACTIVO = true;
-}
\ No newline at end of file
+
+    // Paginación por cursor (keyset)
+    public static final int MAX_PAGE_LIMIT = 200;
+    public static final long CURSOR_INICIAL = 0L;
+
+    // Búsqueda por nombre ordenada por relevancia
+    public static final int SEARCH_MAX_RESULTS = 50;
+
+    // Autocompletado sobre el índice de nombres en memoria
+    public static final int AUTOCOMPLETE_DEFAULT_LIMIT = 10;
+    public static final int AUTOCOMPLETE_MAX_LIMIT = 50;
+
+    // Importación masiva (JSON o CSV)
+    public static final int IMPORT_MAX_ROWS = 1000;
+
+    // Nombres de caché del catálogo
+    public static final String CACHE_FACULTADES = "facultades";
+    public static final String CACHE_FACULTADES_ACTIVAS = "facultadesActivas";
+    public static final String CACHE_CARRERAS = "carreras";
+    public static final String CACHE_CARRERAS_ACTIVAS = "carrerasActivas";
+    public static final String CACHE_CARRERAS_POR_FACULTAD = "carrerasPorFacultad";
+
+    // Tipos de entidad de los eventos del catálogo
+    public static final String ENTITY_FACULTY = "FACULTY";
+    public static final String ENTITY_CAREER = "CAREER";
+
+    // Cabecera HTTP con el instante de la última escritura (lecturas consistentes con réplicas)
+    public static final String HEADER_CONSISTENCY_TOKEN = "X-Consistency-Token";
+}
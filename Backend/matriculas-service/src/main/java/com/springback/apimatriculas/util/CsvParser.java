@@ -0,0 +1,157 @@
+package com.springback.apimatriculas.util;
+
+import com.springback.apimatriculas.exception.custom.BusinessRuleException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lector CSV mínimo (RFC 4180) para las importaciones masivas del catálogo.
+ * La primera línea es la cabecera; los nombres de columna se comparan sin distinguir
+ * mayúsculas, espacios ni guiones bajos ("duracion_semestres" equivale a "duracionSemestres").
+ * Admite campos entre comillas con comas, saltos de línea y comillas dobles escapadas ("").
+ */
+public final class CsvParser {
+
+    private static final char SEPARADOR = ',';
+    private static final char COMILLA = '"';
+
+    private CsvParser() {
+        throw new IllegalStateException("Clase de utilidad - No se puede instanciar");
+    }
+
+    /**
+     * Devuelve un mapa por fila de datos (columna normalizada → valor sin espacios extremos).
+     * Las filas completamente vacías se ignoran.
+     */
+    public static List<Map<String, String>> parse(String contenido) {
+        List<List<String>> lineas = leerLineas(contenido == null ? "" : contenido);
+        if (lineas.isEmpty()) {
+            throw new BusinessRuleException("El archivo CSV está vacío o no tiene cabecera");
+        }
+
+        List<String> cabecera = lineas.get(0).stream().map(CsvParser::normalizarColumna).toList();
+        List<Map<String, String>> registros = new ArrayList<>(lineas.size() - 1);
+        for (List<String> campos : lineas.subList(1, lineas.size())) {
+            Map<String, String> registro = new HashMap<>();
+            for (int i = 0; i < cabecera.size() && i < campos.size(); i++) {
+                registro.put(cabecera.get(i), campos.get(i).trim());
+            }
+            registros.add(registro);
+        }
+        return registros;
+    }
+
+    public static String normalizarColumna(String columna) {
+        return columna.replace("_", "").replace(" ", "").trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Valor de texto de la columna, o {@code null} si no existe o está vacío.
+     */
+    public static String texto(Map<String, String> registro, String columna) {
+        String valor = registro.get(normalizarColumna(columna));
+        return valor == null || valor.isEmpty() ? null : valor;
+    }
+
+    /**
+     * Valor entero de la columna; si no es numérico se agrega el error y se devuelve {@code null}.
+     */
+    public static Integer entero(Map<String, String> registro, String columna, List<String> errores) {
+        Long valor = enteroLargo(registro, columna, errores);
+        if (valor == null) {
+            return null;
+        }
+        if (valor < Integer.MIN_VALUE || valor > Integer.MAX_VALUE) {
+            errores.add(String.format("Valor fuera de rango en la columna '%s': '%d'", columna, valor));
+            return null;
+        }
+        return valor.intValue();
+    }
+
+    /**
+     * Valor entero largo (IDs) de la columna; si no es numérico se agrega el error y se devuelve {@code null}.
+     */
+    public static Long enteroLargo(Map<String, String> registro, String columna, List<String> errores) {
+        String valor = texto(registro, columna);
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(valor);
+        } catch (NumberFormatException e) {
+            errores.add(String.format("Valor numérico inválido en la columna '%s': '%s'", columna, valor));
+            return null;
+        }
+    }
+
+    /**
+     * Valor booleano de la columna (true/false); otro valor agrega el error y devuelve {@code null}.
+     */
+    public static Boolean booleano(Map<String, String> registro, String columna, List<String> errores) {
+        String valor = texto(registro, columna);
+        if (valor == null) {
+            return null;
+        }
+        if ("true".equalsIgnoreCase(valor) || "false".equalsIgnoreCase(valor)) {
+            return Boolean.parseBoolean(valor);
+        }
+        errores.add(String.format("Valor booleano inválido en la columna '%s': '%s'", columna, valor));
+        return null;
+    }
+
+    private static List<List<String>> leerLineas(String contenido) {
+        List<List<String>> lineas = new ArrayList<>();
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+        // Se omite la marca BOM que agregan algunas hojas de cálculo al exportar
+        int i = contenido.startsWith("\uFEFF") ? 1 : 0;
+
+        while (i < contenido.length()) {
+            char c = contenido.charAt(i);
+            if (entreComillas) {
+                if (c == COMILLA && i + 1 < contenido.length() && contenido.charAt(i + 1) == COMILLA) {
+                    campo.append(COMILLA);
+                    i++;
+                } else if (c == COMILLA) {
+                    entreComillas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == COMILLA) {
+                entreComillas = true;
+            } else if (c == SEPARADOR) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < contenido.length() && contenido.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                agregarLinea(lineas, campos, campo);
+                campos = new ArrayList<>();
+            } else {
+                campo.append(c);
+            }
+            i++;
+        }
+
+        if (entreComillas) {
+            throw new BusinessRuleException("El archivo CSV tiene un campo entre comillas sin cerrar");
+        }
+        agregarLinea(lineas, campos, campo);
+        return lineas;
+    }
+
+    private static void agregarLinea(List<List<String>> lineas, List<String> campos, StringBuilder campo) {
+        campos.add(campo.toString());
+        campo.setLength(0);
+        boolean vacia = campos.stream().allMatch(String::isBlank);
+        if (!vacia) {
+            lineas.add(campos);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.springback.apimatriculas.util;
+
+import com.springback.apimatriculas.exception.custom.BusinessRuleException;
+import org.springframework.data.domain.Limit;
+
+public final class CursorPagination {
+
+    private CursorPagination() {
+        throw new IllegalStateException("Clase de utilidad - No se puede instanciar");
+    }
+
+    /**
+     * Valida el tamaño de página solicitado y lo acota a {@link Constants#MAX_PAGE_LIMIT}.
+     */
+    public static int normalizarLimite(int limit) {
+        if (limit < 1) {
+            throw new BusinessRuleException("El parámetro 'limit' debe ser mayor o igual a 1");
+        }
+        return Math.min(limit, Constants.MAX_PAGE_LIMIT);
+    }
+
+    /**
+     * Convierte el cursor recibido en el último ID entregado; sin cursor se empieza desde el inicio.
+     */
+    public static long normalizarCursor(Long after) {
+        if (after == null) {
+            return Constants.CURSOR_INICIAL;
+        }
+        if (after < 0) {
+            throw new BusinessRuleException("El parámetro 'after' no puede ser negativo");
+        }
+        return after;
+    }
+
+    /**
+     * Pide una fila más que el tamaño de página para saber si existe una página siguiente.
+     */
+    public static Limit limiteConSiguiente(int limit) {
+        return Limit.of(limit + 1);
+    }
+}
@@ -0,0 +1,182 @@
+package com.springback.apimatriculas.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice en memoria de nombres normalizados (sin tildes, en minúsculas y con espacios
+ * colapsados) sobre un {@link RadixTrie}. Admite lecturas concurrentes; las escrituras,
+ * poco frecuentes, toman el candado exclusivo.
+ * Mientras no se haya cargado, {@link #mightContain(String)} responde siempre {@code true}
+ * para que la validación caiga en la base de datos.
+ */
+public final class NameIndex {
+
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+
+    public record Entry(Long id, String nombre, boolean activo) {
+    }
+
+    // Varios nombres distintos pueden normalizarse a la misma clave ("Física" y "Fisica")
+    private final RadixTrie<List<Entry>> trie = new RadixTrie<>();
+    private final Map<Long, Entry> byId = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    public static String normalizar(String nombre) {
+        if (nombre == null) {
+            return "";
+        }
+        String sinTildes = DIACRITICOS.matcher(Normalizer.normalize(nombre, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACIOS.matcher(sinTildes.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reemplaza todo el contenido del índice y lo marca como cargado.
+     */
+    public void replaceAll(Collection<Entry> entries) {
+        lock.writeLock().lock();
+        try {
+            List<Long> ids = new ArrayList<>(byId.keySet());
+            ids.forEach(this::removeUnlocked);
+            entries.forEach(this::upsertUnlocked);
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsert(Long id, String nombre, boolean activo) {
+        lock.writeLock().lock();
+        try {
+            upsertUnlocked(new Entry(id, nombre, activo));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsertAll(Collection<Entry> entries) {
+        lock.writeLock().lock();
+        try {
+            entries.forEach(this::upsertUnlocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Chequeo negativo rápido: {@code false} garantiza que ningún registro (activo o no) tiene
+     * un nombre equivalente. {@code true} solo indica que hay que consultar la base de datos.
+     */
+    public boolean mightContain(String nombre) {
+        if (!loaded) {
+            return true;
+        }
+        String key = normalizar(nombre);
+        lock.readLock().lock();
+        try {
+            return trie.get(key) != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Hasta {@code limit} registros activos cuyo nombre normalizado empieza por el prefijo,
+     * en orden alfabético.
+     */
+    public List<Entry> autocomplete(String prefijo, int limit) {
+        String key = normalizar(prefijo);
+        List<Entry> result = new ArrayList<>(Math.min(limit, 16));
+        if (key.isEmpty() || limit <= 0) {
+            return result;
+        }
+
+        lock.readLock().lock();
+        try {
+            trie.forEachWithPrefix(key, entries -> {
+                for (Entry entry : entries) {
+                    if (entry.activo()) {
+                        result.add(entry);
+                        if (result.size() == limit) {
+                            return false;
+                        }
+                    }
+                }
+                return true;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    private void upsertUnlocked(Entry entry) {
+        removeUnlocked(entry.id());
+        String key = normalizar(entry.nombre());
+        if (key.isEmpty()) {
+            return;
+        }
+
+        List<Entry> current = trie.get(key);
+        List<Entry> updated = new ArrayList<>(current != null ? current.size() + 1 : 1);
+        if (current != null) {
+            updated.addAll(current);
+        }
+        updated.add(entry);
+        trie.put(key, List.copyOf(updated));
+        byId.put(entry.id(), entry);
+    }
+
+    private void removeUnlocked(Long id) {
+        Entry previous = byId.remove(id);
+        if (previous == null) {
+            return;
+        }
+
+        String key = normalizar(previous.nombre());
+        List<Entry> current = trie.get(key);
+        if (current == null) {
+            return;
+        }
+        List<Entry> remaining = current.stream()
+                .filter(entry -> !entry.id().equals(id))
+                .toList();
+        if (remaining.isEmpty()) {
+            trie.remove(key);
+        } else {
+            trie.put(key, remaining);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.springback.apimatriculas.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.springback.apimatriculas.interceptor.CatalogETagInterceptor;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+public final class NdjsonWriter {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private NdjsonWriter() {
+        throw new IllegalStateException("Clase de utilidad - No se puede instanciar");
+    }
+
+    /**
+     * Escribe cada elemento entregado por {@code source} como una línea JSON (NDJSON).
+     * Los elementos se serializan a medida que llegan, sin acumular la colección en memoria;
+     * el buffer se vacía por bloques y no por elemento.
+     * <p>
+     * Las cabeceras de caché del catálogo se aplican al llegar el primer elemento (o al final si
+     * no hay ninguno): si la consulta falla antes, el error se responde sin ETag ni Cache-Control.
+     */
+    public static <T> void write(HttpServletResponse response, ObjectMapper objectMapper,
+                                 Consumer<Consumer<T>> source) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        ObjectWriter writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        OutputStream out = new BufferedOutputStream(response.getOutputStream(), BUFFER_SIZE);
+        boolean[] started = new boolean[1];
+
+        try {
+            source.accept(item -> {
+                if (!started[0]) {
+                    started[0] = true;
+                    applyCacheHeaders(response);
+                }
+                try {
+                    writer.writeValue(out, item);
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (!started[0]) {
+            applyCacheHeaders(response);
+        }
+        out.flush();
+    }
+
+    private static void applyCacheHeaders(HttpServletResponse response) {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            CatalogETagInterceptor.applyCacheHeaders(attributes.getRequest(), response);
+        }
+    }
+}
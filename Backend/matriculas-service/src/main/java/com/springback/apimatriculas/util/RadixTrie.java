@@ -0,0 +1,222 @@
+package com.springback.apimatriculas.util;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * Árbol radix (trie compacto): cada arista guarda una secuencia de caracteres en lugar
+ * de uno solo, así que la profundidad depende de las bifurcaciones y no de la longitud
+ * de las claves. Los hijos se mantienen ordenados por su primer carácter, por lo que el
+ * recorrido por prefijo entrega las claves en orden lexicográfico.
+ * No es seguro para escrituras concurrentes; {@link NameIndex} lo protege con un candado.
+ */
+public final class RadixTrie<V> {
+
+    private final Node<V> root = new Node<>("");
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public V get(String key) {
+        Node<V> node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node<V> child = node.child(key.charAt(i));
+            if (child == null || !key.startsWith(child.label, i)) {
+                return null;
+            }
+            i += child.label.length();
+            node = child;
+        }
+        return node.value;
+    }
+
+    public V put(String key, V value) {
+        Node<V> node = root;
+        int i = 0;
+        while (i < key.length()) {
+            int index = node.indexOf(key.charAt(i));
+            if (index < 0) {
+                node.insertChild(-index - 1, new Node<>(key.substring(i), value));
+                size++;
+                return null;
+            }
+
+            Node<V> child = node.children[index];
+            int common = commonPrefixLength(child.label, key, i);
+            if (common < child.label.length()) {
+                // Dividir la arista: el tramo compartido pasa a ser un nodo intermedio
+                Node<V> middle = new Node<>(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.insertChild(0, child);
+                node.children[index] = middle;
+                child = middle;
+            }
+            i += common;
+            node = child;
+        }
+
+        V previous = node.value;
+        node.value = value;
+        if (previous == null) {
+            size++;
+        }
+        return previous;
+    }
+
+    public V remove(String key) {
+        Node<V> parent = null;
+        Node<V> node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node<V> child = node.child(key.charAt(i));
+            if (child == null || !key.startsWith(child.label, i)) {
+                return null;
+            }
+            i += child.label.length();
+            parent = node;
+            node = child;
+        }
+
+        V previous = node.value;
+        if (previous == null || parent == null) {
+            if (parent == null && previous != null) {
+                root.value = null;
+                size--;
+            }
+            return previous;
+        }
+        node.value = null;
+        size--;
+
+        // Compactar: un nodo sin valor y sin hijos desaparece; con un único hijo se fusiona con él
+        if (node.children.length == 0) {
+            parent.removeChild(parent.indexOf(node.label.charAt(0)));
+            if (parent != root && parent.value == null && parent.children.length == 1) {
+                parent.mergeWithOnlyChild();
+            }
+        } else if (node.children.length == 1) {
+            node.mergeWithOnlyChild();
+        }
+        return previous;
+    }
+
+    /**
+     * Recorre en orden lexicográfico los valores cuyas claves empiezan por {@code prefix}.
+     * El recorrido se detiene cuando el visitante devuelve {@code false}.
+     */
+    public void forEachWithPrefix(String prefix, Predicate<? super V> visitor) {
+        Node<V> node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node<V> child = node.child(prefix.charAt(i));
+            if (child == null) {
+                return;
+            }
+            int remaining = prefix.length() - i;
+            if (child.label.length() >= remaining) {
+                // El prefijo termina dentro de esta arista
+                if (!child.label.startsWith(prefix.substring(i))) {
+                    return;
+                }
+                node = child;
+                break;
+            }
+            if (!prefix.startsWith(child.label, i)) {
+                return;
+            }
+            i += child.label.length();
+            node = child;
+        }
+        visit(node, visitor);
+    }
+
+    private boolean visit(Node<V> node, Predicate<? super V> visitor) {
+        if (node.value != null && !visitor.test(node.value)) {
+            return false;
+        }
+        for (Node<V> child : node.children) {
+            if (!visit(child, visitor)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final class Node<V> {
+
+        private static final Node<?>[] NO_CHILDREN = new Node<?>[0];
+
+        private String label;
+        private V value;
+        // Arreglo ordenado por el primer carácter de cada etiqueta: más compacto que un mapa
+        private Node<V>[] children = (Node<V>[]) NO_CHILDREN;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private Node(String label, V value) {
+            this.label = label;
+            this.value = value;
+        }
+
+        private Node<V> child(char first) {
+            int index = indexOf(first);
+            return index >= 0 ? children[index] : null;
+        }
+
+        /**
+         * Búsqueda binaria por primer carácter; si no existe devuelve (-(punto de inserción) - 1).
+         */
+        private int indexOf(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char c = children[mid].label.charAt(0);
+                if (c < first) {
+                    low = mid + 1;
+                } else if (c > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private void insertChild(int position, Node<V> child) {
+            Node<V>[] updated = Arrays.copyOf(children, children.length + 1);
+            System.arraycopy(updated, position, updated, position + 1, children.length - position);
+            updated[position] = child;
+            children = updated;
+        }
+
+        private void removeChild(int position) {
+            Node<V>[] updated = (Node<V>[]) new Node<?>[children.length - 1];
+            System.arraycopy(children, 0, updated, 0, position);
+            System.arraycopy(children, position + 1, updated, position, children.length - position - 1);
+            children = updated.length == 0 ? (Node<V>[]) NO_CHILDREN : updated;
+        }
+
+        private void mergeWithOnlyChild() {
+            Node<V> only = children[0];
+            label = label + only.label;
+            value = only.value;
+            children = only.children;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+-- Versión global del catálogo (usada para los ETag de las lecturas)
+CREATE TABLE IF NOT EXISTS catalog_version (
+    id INTEGER PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+INSERT INTO catalog_version (id, version)
+SELECT 1, 1
+WHERE NOT EXISTS (SELECT 1 FROM catalog_version WHERE id = 1);
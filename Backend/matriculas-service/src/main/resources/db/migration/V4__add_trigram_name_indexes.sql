@@ -0,0 +1,7 @@
+-- Búsqueda por subcadena en nombres: LOWER(nombre) LIKE '%texto%' no puede usar los
+-- índices btree idx_facultad_nombre / idx_carrera_nombre. Los índices GIN de trigramas
+-- sí resuelven ese patrón y además permiten ordenar por similarity().
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_facultad_nombre_trgm ON facultad USING gin (LOWER(nombre) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_carrera_nombre_trgm ON carrera USING gin (LOWER(nombre) gin_trgm_ops);
@@ -0,0 +1,30 @@
+-- Facultad y Carrera pasan de IDENTITY/SERIAL a secuencias con incremento 50 (optimizador
+-- pooled de Hibernate). Cada nextval reserva el bloque (valor - 49 .. valor), por lo que la
+-- secuencia se posiciona de modo que el primer bloque empiece justo después del mayor ID actual.
+
+CREATE SEQUENCE IF NOT EXISTS facultad_seq INCREMENT BY 50 MINVALUE 1;
+CREATE SEQUENCE IF NOT EXISTS carrera_seq INCREMENT BY 50 MINVALUE 1;
+
+SELECT setval('facultad_seq', COALESCE((SELECT MAX(facultad_id) FROM facultad), 0) + 50, false);
+SELECT setval('carrera_seq', COALESCE((SELECT MAX(carrera_id) FROM carrera), 0) + 50, false);
+
+-- Las tablas creadas por Hibernate usan columnas IDENTITY; las de V1 usan SERIAL.
+-- En ambos casos el valor por defecto pasa a tomarse de la nueva secuencia para que los
+-- INSERT manuales no colisionen con los bloques asignados por la aplicación.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'facultad' AND column_name = 'facultad_id' AND is_identity = 'YES') THEN
+        ALTER TABLE facultad ALTER COLUMN facultad_id DROP IDENTITY;
+    END IF;
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'carrera' AND column_name = 'carrera_id' AND is_identity = 'YES') THEN
+        ALTER TABLE carrera ALTER COLUMN carrera_id DROP IDENTITY;
+    END IF;
+END $$;
+
+ALTER TABLE facultad ALTER COLUMN facultad_id SET DEFAULT nextval('facultad_seq');
+ALTER TABLE carrera ALTER COLUMN carrera_id SET DEFAULT nextval('carrera_seq');
+
+ALTER SEQUENCE facultad_seq OWNED BY facultad.facultad_id;
+ALTER SEQUENCE carrera_seq OWNED BY carrera.carrera_id;
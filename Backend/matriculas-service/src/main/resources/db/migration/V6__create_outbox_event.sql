@@ -0,0 +1,21 @@
+-- Mensajes pendientes de publicación (patrón outbox): se insertan en la misma
+-- transacción que el cambio de dominio y el relay los elimina al publicarlos.
+CREATE SEQUENCE IF NOT EXISTS outbox_event_seq INCREMENT BY 50 MINVALUE 1;
+
+CREATE TABLE IF NOT EXISTS outbox_event (
+    outbox_id       BIGINT       PRIMARY KEY DEFAULT nextval('outbox_event_seq'),
+    aggregate_type  VARCHAR(50)  NOT NULL,
+    aggregate_id    VARCHAR(100) NOT NULL,
+    event_type      VARCHAR(50)  NOT NULL,
+    destination     VARCHAR(20)  NOT NULL,
+    channel         VARCHAR(255) NOT NULL,
+    message_key     VARCHAR(255),
+    payload_type    VARCHAR(255) NOT NULL,
+    payload         TEXT         NOT NULL,
+    created_at      TIMESTAMP    NOT NULL,
+    attempts        INTEGER      NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP    NOT NULL,
+    last_error      VARCHAR(500)
+);
+
+ALTER SEQUENCE outbox_event_seq OWNED BY outbox_event.outbox_id;
@@ -0,0 +1,21 @@
+-- El relay solo lee los mensajes listos (next_attempt_at vencido) cuya entidad no tenga
+-- uno anterior en espera de reintento; este índice resuelve esa comprobación por entidad.
+CREATE INDEX IF NOT EXISTS idx_outbox_event_entity
+    ON outbox_event (aggregate_type, aggregate_id, outbox_id);
+
+-- Mensajes que agotaron sus reintentos o cuyo payload no se puede reconstruir.
+CREATE TABLE IF NOT EXISTS outbox_dead_letter (
+    outbox_id       BIGINT       PRIMARY KEY,
+    aggregate_type  VARCHAR(50)  NOT NULL,
+    aggregate_id    VARCHAR(100) NOT NULL,
+    event_type      VARCHAR(50)  NOT NULL,
+    destination     VARCHAR(20)  NOT NULL,
+    channel         VARCHAR(255) NOT NULL,
+    message_key     VARCHAR(255),
+    payload_type    VARCHAR(255) NOT NULL,
+    payload         TEXT         NOT NULL,
+    created_at      TIMESTAMP    NOT NULL,
+    attempts        INTEGER      NOT NULL,
+    last_error      VARCHAR(500),
+    dead_at         TIMESTAMP    NOT NULL
+);
@@ -0,0 +1,35 @@
+package com.springback.apimatriculas.consumer;
+
+import com.springback.apimatriculas.util.Constants;
+import com.university.common.constants.EventHeaders;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeaderRecordFilterTest {
+
+    private final HeaderRecordFilter filter = new HeaderRecordFilter(EventHeaders.ENTITY_TYPE,
+            List.of(Constants.ENTITY_FACULTY, Constants.ENTITY_CAREER));
+
+    @Test
+    void filter_DiscardsOnlyRecordsWithUnacceptedHeader() {
+        assertThat(filter.filter(record("FACULTY"))).isFalse();
+        assertThat(filter.filter(record("CAREER"))).isFalse();
+        assertThat(filter.filter(record("ENROLLMENT"))).isTrue();
+    }
+
+    @Test
+    void filter_RecordWithoutHeader_IsDelivered() {
+        assertThat(filter.filter(new ConsumerRecord<>("faculty.created", 0, 0L, "1", new byte[0]))).isFalse();
+    }
+
+    private static ConsumerRecord<String, byte[]> record(String entityType) {
+        ConsumerRecord<String, byte[]> consumerRecord = new ConsumerRecord<>("catalog.events", 0, 0L, "1", new byte[0]);
+        consumerRecord.headers().add(EventHeaders.ENTITY_TYPE, entityType.getBytes(StandardCharsets.UTF_8));
+        return consumerRecord;
+    }
+}
@@ -0,0 +1,168 @@
+package com.springback.apimatriculas.datasource;
+
+import com.springback.apimatriculas.util.Constants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dos bases H2 en memoria hacen de primario y réplica; cada una guarda su propio nombre
+ * en la tabla {@code origen} para saber desde dónde se leyó y su posición WAL simulada en
+ * la tabla {@code wal}.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final String LAG_OK = "SELECT 0, posicion FROM wal";
+    private static final String PRIMARY_POSITION = "SELECT posicion FROM wal";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReplicaRoutingDataSource dataSource;
+    private ReplicaPool pool;
+    private DataSource primary;
+    private DataSource replica;
+    private DataSourceTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        ReadConsistency.reset();
+        RequestContextHolder.resetRequestAttributes();
+        dataSource.close();
+    }
+
+    @Test
+    void readOnlyTransaction_HealthyReplica_ReadsFromReplicaAndWritesGoToPrimary() {
+        setUp(LAG_OK);
+        pool.checkHealth();
+
+        assertThat(readOrigin()).isEqualTo("replica");
+        assertThat(writeOrigin()).isEqualTo("primary");
+        assertThat(routed("replica", "replica")).isEqualTo(1.0);
+    }
+
+    @Test
+    void readOnlyTransaction_ReplicaLagAboveLimit_FallsBackToPrimary() {
+        setUp("SELECT 10, posicion FROM wal");
+        pool.checkHealth();
+
+        assertThat(pool.getReplicas().get(0).isHealthy()).isFalse();
+        assertThat(pool.getReplicas().get(0).getLagMillis()).isEqualTo(10_000L);
+        assertThat(readOrigin()).isEqualTo("primary");
+        assertThat(routed(ReplicaRoutingDataSource.TARGET_PRIMARY, "unavailable")).isEqualTo(1.0);
+    }
+
+    @Test
+    void readOnlyTransaction_ReplicaFailsHealthCheck_FallsBackToPrimary() {
+        setUp("SELECT retraso FROM tabla_inexistente");
+        pool.checkHealth();
+
+        assertThat(readOrigin()).isEqualTo("primary");
+    }
+
+    @Test
+    void readOnlyTransaction_WriteNotYetReplayed_ReadsFromPrimaryUntilReplicaCatchesUp() throws SQLException {
+        setUp(LAG_OK);
+        pool.checkHealth();
+
+        // Sin retraso medido, pero la réplica aún no recibió el WAL de la escritura
+        setPosition(primary, "0/1A0");
+        ReadConsistency.recordWrite(dataSource.primaryPosition());
+        pool.checkHealth();
+        assertThat(pool.getReplicas().get(0).isHealthy()).isTrue();
+        assertThat(readOrigin()).isEqualTo("primary");
+        assertThat(routed(ReplicaRoutingDataSource.TARGET_PRIMARY, "consistency")).isEqualTo(1.0);
+
+        setPosition(replica, "0/1A0");
+        pool.checkHealth();
+        assertThat(readOrigin()).isEqualTo("replica");
+    }
+
+    @Test
+    void readOnlyTransaction_TokenAheadOfReplica_ReadsFromPrimaryForThatRequestOnly() {
+        setUp(LAG_OK);
+        pool.checkHealth();
+
+        ReadConsistency.require(WalPosition.parse("1/0"));
+        assertThat(readOrigin()).isEqualTo("primary");
+
+        ReadConsistency.clear();
+        assertThat(readOrigin()).isEqualTo("replica");
+    }
+
+    @Test
+    void writeTransaction_InsideRequest_ReturnsConsistencyToken() {
+        setUp(LAG_OK);
+        setPosition(primary, "2/3B0");
+        transactionManager.addListener(new ConsistencyTokenListener(dataSource));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest(), response));
+
+        writeOrigin();
+
+        String token = response.getHeader(Constants.HEADER_CONSISTENCY_TOKEN);
+        assertThat(token).isEqualTo("2/3B0");
+        assertThat(ReadConsistency.required()).isEqualTo(WalPosition.parse(token));
+    }
+
+    private void setUp(String lagQuery) {
+        primary = database("primary");
+        replica = database("replica");
+        pool = new ReplicaPool(List.of(new ReplicaPool.Replica("replica-1", replica)),
+                lagQuery, Duration.ofSeconds(5), Duration.ofSeconds(1));
+        dataSource = new ReplicaRoutingDataSource(primary, pool, PRIMARY_POSITION, meterRegistry);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    private String readOrigin() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> new JdbcTemplate(dataSource)
+                .queryForObject("SELECT nombre FROM origen", String.class));
+    }
+
+    private String writeOrigin() {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            jdbc.update("UPDATE origen SET escrituras = escrituras + 1");
+            return jdbc.queryForObject("SELECT nombre FROM origen", String.class);
+        });
+    }
+
+    private double routed(String target, String reason) {
+        return meterRegistry.get("db.reads.routed").tag("target", target).tag("reason", reason).counter().count();
+    }
+
+    private static void setPosition(DataSource database, String position) {
+        new JdbcTemplate(database).update("UPDATE wal SET posicion = ?", position);
+    }
+
+    private static DataSource database(String nombre) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:routing-" + nombre + ";DB_CLOSE_DELAY=-1");
+        h2.setUser("sa");
+        JdbcTemplate jdbc = new JdbcTemplate(h2);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS origen (nombre VARCHAR(20), escrituras INT)");
+        jdbc.update("DELETE FROM origen");
+        jdbc.update("INSERT INTO origen (nombre, escrituras) VALUES (?, 0)", nombre);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS wal (posicion VARCHAR(20))");
+        jdbc.update("DELETE FROM wal");
+        jdbc.update("INSERT INTO wal (posicion) VALUES ('0/100')");
+        return h2;
+    }
+}
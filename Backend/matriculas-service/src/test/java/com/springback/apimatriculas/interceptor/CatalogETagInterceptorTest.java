@@ -0,0 +1,124 @@
+package com.springback.apimatriculas.interceptor;
+
+import com.springback.apimatriculas.service.CatalogVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogETagInterceptorTest {
+
+    @Mock
+    private CatalogVersionService catalogVersionService;
+
+    @InjectMocks
+    private CatalogETagInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        when(catalogVersionService.current()).thenReturn(7L);
+    }
+
+    @Test
+    void preHandle_WithoutIfNoneMatch_SetsETagOnSuccessfulResponse() {
+        MockHttpServletRequest request = get("/facultades");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean proceed = interceptor.preHandle(request, response, null);
+
+        assertThat(proceed).isTrue();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+
+        CatalogETagInterceptor.applyCacheHeaders(request, response);
+
+        assertThat(response.getHeader(HttpHeaders.ETAG)).startsWith("\"7-");
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache");
+    }
+
+    @Test
+    void applyCacheHeaders_ErrorResponse_LeavesItWithoutETagOrCacheControl() {
+        ReflectionTestUtils.setField(interceptor, "sharedMaxAge", Duration.ofSeconds(30));
+        MockHttpServletRequest request = get("/facultades/99");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+        response.setStatus(HttpStatus.NOT_FOUND.value());
+        CatalogETagInterceptor.applyCacheHeaders(request, response);
+
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isNull();
+    }
+
+    @Test
+    void preHandle_SharedMaxAge_AllowsSharedCachesOnly() {
+        ReflectionTestUtils.setField(interceptor, "sharedMaxAge", Duration.ofSeconds(30));
+        MockHttpServletRequest request = get("/facultades");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+        CatalogETagInterceptor.applyCacheHeaders(request, response);
+
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("max-age=0, must-revalidate, s-maxage=30");
+    }
+
+    @Test
+    void preHandle_MatchingIfNoneMatch_Returns304WithoutCallingHandler() {
+        MockHttpServletResponse first = served(get("/facultades"));
+
+        MockHttpServletRequest request = get("/facultades");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, first.getHeader(HttpHeaders.ETAG));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean proceed = interceptor.preHandle(request, response, null);
+
+        assertThat(proceed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(first.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void preHandle_AfterVersionChange_ReturnsFullResponse() {
+        MockHttpServletResponse first = served(get("/carreras/1"));
+        when(catalogVersionService.current()).thenReturn(8L);
+
+        MockHttpServletRequest request = get("/carreras/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, first.getHeader(HttpHeaders.ETAG));
+
+        assertThat(interceptor.preHandle(request, new MockHttpServletResponse(), null)).isTrue();
+    }
+
+    @Test
+    void preHandle_DifferentRepresentation_HasDifferentETag() {
+        MockHttpServletResponse json = served(get("/carreras"));
+
+        MockHttpServletRequest ndjsonRequest = get("/carreras");
+        ndjsonRequest.addHeader(HttpHeaders.ACCEPT, "application/x-ndjson");
+        MockHttpServletResponse ndjson = served(ndjsonRequest);
+
+        assertThat(ndjson.getHeader(HttpHeaders.ETAG)).isNotEqualTo(json.getHeader(HttpHeaders.ETAG));
+    }
+
+    private MockHttpServletResponse served(MockHttpServletRequest request) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, null);
+        CatalogETagInterceptor.applyCacheHeaders(request, response);
+        return response;
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
@@ -0,0 +1,88 @@
+package com.springback.apimatriculas.repository;
+
+import com.springback.apimatriculas.domain.model.Carrera;
+import com.springback.apimatriculas.domain.model.Facultad;
+import com.springback.apimatriculas.dto.response.CarreraResponseDTO;
+import com.springback.apimatriculas.dto.response.FacultadResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Se ejecuta sobre H2, por lo que cubre el orden portable que sustituye a pg_trgm.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(RelevanceSearchSupport.class)
+class RelevanceSearchRepositoryTest {
+
+    @Autowired
+    private FacultadRepository facultadRepository;
+
+    @Autowired
+    private CarreraRepository carreraRepository;
+
+    private Facultad ingenieria;
+
+    @BeforeEach
+    void setUp() {
+        ingenieria = facultadRepository.save(facultad("Facultad de Ingeniería"));
+        facultadRepository.save(facultad("Ingeniería"));
+        facultadRepository.save(facultad("Ingeniería y Arquitectura"));
+        facultadRepository.save(facultad("Medicina"));
+
+        carreraRepository.save(carrera("Ingeniería de Sistemas e Informática"));
+        carreraRepository.save(carrera("Sistemas"));
+        carreraRepository.save(carrera("Ingeniería de Sistemas"));
+        carreraRepository.save(carrera("Derecho"));
+    }
+
+    @Test
+    void facultadSearch_OrdersExactThenPrefixThenSubstring() {
+        List<FacultadResponseDTO> result = facultadRepository.searchByRelevance("ingeniería", 10);
+
+        assertThat(result).extracting(FacultadResponseDTO::nombre)
+                .containsExactly("Ingeniería", "Ingeniería y Arquitectura", "Facultad de Ingeniería");
+        assertThat(result.get(2).cantidadCarreras()).isEqualTo(4L);
+    }
+
+    @Test
+    void carreraSearch_AppliesLimitAfterRanking() {
+        List<CarreraResponseDTO> result = carreraRepository.searchByRelevance("SISTEMAS", 2);
+
+        assertThat(result).extracting(CarreraResponseDTO::nombre)
+                .containsExactly("Sistemas", "Ingeniería de Sistemas");
+        assertThat(result.get(0).nombreFacultad()).isEqualTo("Facultad de Ingeniería");
+    }
+
+    @Test
+    void search_WithoutMatches_ReturnsEmptyList() {
+        assertThat(carreraRepository.searchByRelevance("zzz", 10)).isEmpty();
+    }
+
+    @Test
+    void search_WithLikeWildcards_MatchesThemLiterally() {
+        carreraRepository.save(carrera("Sistemas_Online 100%"));
+
+        assertThat(carreraRepository.searchByRelevance("_", 10)).extracting(CarreraResponseDTO::nombre)
+                .containsExactly("Sistemas_Online 100%");
+        assertThat(carreraRepository.searchByRelevance("100%", 10)).hasSize(1);
+        assertThat(facultadRepository.searchByRelevance("%", 10)).isEmpty();
+        assertThat(facultadRepository.searchByRelevance("\\", 10)).isEmpty();
+    }
+
+    private static Facultad facultad(String nombre) {
+        return Facultad.builder().nombre(nombre).activo(true).build();
+    }
+
+    private Carrera carrera(String nombre) {
+        return Carrera.builder().nombre(nombre).facultad(ingenieria).duracionSemestres(10).activo(true).build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.springback.apimatriculas.security;
+
+import com.university.common.security.InternalIdentity;
+import com.university.common.security.InternalIdentitySigner;
+import com.university.common.security.JwtVerifier;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String JWT_SECRET = "test-secret-key-must-be-at-least-256-bits-long-for-hs256-algorithm";
+    private static final String IDENTITY_KEY = "clave-interna-de-pruebas-de-al-menos-32-bytes";
+
+    private final InternalIdentitySigner signer = new InternalIdentitySigner(IDENTITY_KEY, Duration.ofSeconds(30));
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_ValidInternalIdentity_AuthenticatesWithoutJwt() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(InternalIdentity.HEADER, signer.sign("admin@test.com", 1L, "admin@test.com", "ROLE_ADMIN"));
+
+        Authentication authentication = filter(provider(signer), request);
+
+        assertThat(authentication.getName()).isEqualTo("admin@test.com");
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void doFilter_ForgedIdentity_FallsBackToJwt() throws Exception {
+        InternalIdentitySigner forger = new InternalIdentitySigner("clave-del-atacante-de-al-menos-32-bytes!", Duration.ofSeconds(30));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(InternalIdentity.HEADER, forger.sign("admin@test.com", 1L, null, "ROLE_ADMIN"));
+        request.addHeader("Authorization", "Bearer " + jwt("user@test.com", "ROLE_USER"));
+
+        Authentication authentication = filter(provider(signer), request);
+
+        assertThat(authentication.getName()).isEqualTo("user@test.com");
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void doFilter_IdentityModeDisabled_IgnoresHeader() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(InternalIdentity.HEADER, signer.sign("admin@test.com", 1L, null, "ROLE_ADMIN"));
+
+        assertThat(filter(provider(null), request)).isNull();
+    }
+
+    private static Authentication filter(ObjectProvider<InternalIdentitySigner> signer,
+                                         MockHttpServletRequest request) throws Exception {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(new JwtVerifier(JWT_SECRET, 100), signer);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static ObjectProvider<InternalIdentitySigner> provider(InternalIdentitySigner signer) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        if (signer != null) {
+            beanFactory.addBean("internalIdentitySigner", signer);
+        }
+        return beanFactory.getBeanProvider(InternalIdentitySigner.class);
+    }
+
+    private static String jwt(String subject, String role) {
+        return Jwts.builder()
+                .subject(subject)
+                .claim("role", role)
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(JWT_SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
@@ -0,0 +1,89 @@
+package com.springback.apimatriculas.service;
+
+import com.springback.apimatriculas.config.CacheConfig;
+import com.springback.apimatriculas.dto.response.CarreraResponseDTO;
+import com.springback.apimatriculas.dto.response.FacultadResponseDTO;
+import com.springback.apimatriculas.util.Constants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogCacheInvalidatorTest {
+
+    private CacheManager cacheManager;
+    private CatalogCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        CacheConfig cacheConfig = new CacheConfig();
+        ReflectionTestUtils.setField(cacheConfig, "maximumSize", 100L);
+        ReflectionTestUtils.setField(cacheConfig, "expireAfterWrite", Duration.ofMinutes(10));
+        cacheManager = cacheConfig.cacheManager();
+        invalidator = new CatalogCacheInvalidator(cacheManager);
+
+        cacheManager.getCache(Constants.CACHE_FACULTADES).put(1L, facultad(1L));
+        cacheManager.getCache(Constants.CACHE_FACULTADES).put(2L, facultad(2L));
+        cacheManager.getCache(Constants.CACHE_FACULTADES_ACTIVAS).put(SimpleKey.EMPTY, List.of(facultad(1L)));
+        cacheManager.getCache(Constants.CACHE_CARRERAS).put(10L, carrera(10L, 1L));
+        cacheManager.getCache(Constants.CACHE_CARRERAS).put(20L, carrera(20L, 2L));
+        cacheManager.getCache(Constants.CACHE_CARRERAS_ACTIVAS).put(SimpleKey.EMPTY, List.of(carrera(10L, 1L)));
+        cacheManager.getCache(Constants.CACHE_CARRERAS_POR_FACULTAD).put(1L, List.of(carrera(10L, 1L)));
+        cacheManager.getCache(Constants.CACHE_CARRERAS_POR_FACULTAD).put(2L, List.of(carrera(20L, 2L)));
+    }
+
+    @Test
+    void evictFacultad_RemovesFacultadAndItsCarrerasOnly() {
+        invalidator.evictFacultad(1L);
+
+        assertThat(cached(Constants.CACHE_FACULTADES, 1L)).isFalse();
+        assertThat(cached(Constants.CACHE_FACULTADES, 2L)).isTrue();
+        assertThat(cached(Constants.CACHE_CARRERAS, 10L)).isFalse();
+        assertThat(cached(Constants.CACHE_CARRERAS, 20L)).isTrue();
+        assertThat(cached(Constants.CACHE_CARRERAS_POR_FACULTAD, 1L)).isFalse();
+        assertThat(cached(Constants.CACHE_CARRERAS_POR_FACULTAD, 2L)).isTrue();
+        assertThat(cached(Constants.CACHE_FACULTADES_ACTIVAS, SimpleKey.EMPTY)).isFalse();
+        assertThat(cached(Constants.CACHE_CARRERAS_ACTIVAS, SimpleKey.EMPTY)).isFalse();
+    }
+
+    @Test
+    void evictCarrera_RemovesCarreraAndAffectedFacultades() {
+        invalidator.evictCarrera(20L, List.of(2L));
+
+        assertThat(cached(Constants.CACHE_CARRERAS, 20L)).isFalse();
+        assertThat(cached(Constants.CACHE_CARRERAS, 10L)).isTrue();
+        assertThat(cached(Constants.CACHE_CARRERAS_POR_FACULTAD, 2L)).isFalse();
+        assertThat(cached(Constants.CACHE_CARRERAS_POR_FACULTAD, 1L)).isTrue();
+        assertThat(cached(Constants.CACHE_FACULTADES, 2L)).isFalse();
+        assertThat(cached(Constants.CACHE_FACULTADES, 1L)).isTrue();
+    }
+
+    @Test
+    void evictCarrera_WithoutFacultades_ClearsFacultadCaches() {
+        invalidator.evictCarrera(20L, List.of());
+
+        assertThat(cached(Constants.CACHE_CARRERAS, 10L)).isTrue();
+        assertThat(cached(Constants.CACHE_CARRERAS_POR_FACULTAD, 1L)).isFalse();
+        assertThat(cached(Constants.CACHE_FACULTADES, 1L)).isFalse();
+    }
+
+    private boolean cached(String cacheName, Object key) {
+        return cacheManager.getCache(cacheName).get(key) != null;
+    }
+
+    private static FacultadResponseDTO facultad(Long id) {
+        return new FacultadResponseDTO(id, "Facultad " + id, null, null, null, LocalDateTime.now(), true, 1L);
+    }
+
+    private static CarreraResponseDTO carrera(Long id, Long facultadId) {
+        return new CarreraResponseDTO(id, facultadId, "Facultad " + facultadId, "Carrera " + id,
+                null, 10, null, LocalDateTime.now(), true);
+    }
+}
@@ -4,29 +4,44 @@ import com.springback.apimatriculas.domain.model.Carrera;
 import com.springback.apimatriculas.domain.model.Facultad;
 import com.springback.apimatriculas.dto.mapper.CarreraMapper;
 import com.springback.apimatriculas.dto.request.CarreraRequestDTO;
+import com.springback.apimatriculas.dto.response.BulkImportResponseDTO;
+import com.springback.apimatriculas.dto.response.BulkImportRowResultDTO;
 import com.springback.apimatriculas.dto.response.CarreraResponseDTO;
+import com.springback.apimatriculas.dto.response.CursorPageResponseDTO;
 import com.springback.apimatriculas.exception.custom.BusinessRuleException;
 import com.springback.apimatriculas.exception.custom.DuplicateResourceException;
 import com.springback.apimatriculas.exception.custom.ResourceNotFoundException;
 import com.springback.apimatriculas.repository.CarreraRepository;
 import com.springback.apimatriculas.repository.FacultadRepository;
+import com.springback.apimatriculas.service.CatalogCacheInvalidator;
+import com.springback.apimatriculas.service.CatalogNameIndex;
+import com.springback.apimatriculas.service.CatalogVersionService;
 import com.springback.apimatriculas.service.EventPublisherService;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,6 +59,18 @@ class CarreraServiceImplTest {
     @Mock
     private EventPublisherService eventPublisher;
 
+    @Mock
+    private CatalogCacheInvalidator catalogCache;
+
+    @Mock
+    private CatalogVersionService catalogVersion;
+
+    @Mock
+    private CatalogNameIndex catalogNames;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private CarreraServiceImpl carreraService;
 
@@ -96,6 +123,7 @@ class CarreraServiceImplTest {
     @Test
     void create_Success() {
         when(facultadRepository.findById(1L)).thenReturn(Optional.of(facultad));
+        when(catalogNames.mightContainCarrera(anyString())).thenReturn(true);
         when(carreraRepository.existsByNombre(anyString())).thenReturn(false);
         when(carreraMapper.toEntity(any(CarreraRequestDTO.class))).thenReturn(carrera);
         when(carreraRepository.save(any(Carrera.class))).thenReturn(carrera);
@@ -108,6 +136,9 @@ class CarreraServiceImplTest {
         verify(facultadRepository).findById(1L);
         verify(carreraRepository).save(any(Carrera.class));
         verify(eventPublisher).publishCareerCreatedEvent(anyLong(), anyString(), anyLong(), anyString());
+        verify(catalogCache).evictCarrera(1L, List.of(1L));
+        verify(catalogNames).putCarrera(1L, "Ingeniería de Sistemas", true);
+        verify(catalogVersion).increment();
     }
 
     @Test
@@ -135,6 +166,7 @@ class CarreraServiceImplTest {
     @Test
     void create_DuplicateName_ThrowsException() {
         when(facultadRepository.findById(1L)).thenReturn(Optional.of(facultad));
+        when(catalogNames.mightContainCarrera(anyString())).thenReturn(true);
         when(carreraRepository.existsByNombre(anyString())).thenReturn(true);
 
         assertThatThrownBy(() -> carreraService.create(requestDTO))
@@ -143,6 +175,20 @@ class CarreraServiceImplTest {
         verify(carreraRepository, never()).save(any(Carrera.class));
     }
 
+    @Test
+    void create_NameNotInIndex_SkipsExistsQuery() {
+        when(facultadRepository.findById(1L)).thenReturn(Optional.of(facultad));
+        when(catalogNames.mightContainCarrera(anyString())).thenReturn(false);
+        when(carreraMapper.toEntity(any(CarreraRequestDTO.class))).thenReturn(carrera);
+        when(carreraRepository.save(any(Carrera.class))).thenReturn(carrera);
+        when(carreraMapper.toResponseDTO(any(Carrera.class))).thenReturn(responseDTO);
+
+        carreraService.create(requestDTO);
+
+        verify(carreraRepository, never()).existsByNombre(anyString());
+        verify(carreraRepository).save(any(Carrera.class));
+    }
+
     @Test
     void getById_Success() {
         when(carreraRepository.findById(1L)).thenReturn(Optional.of(carrera));
@@ -168,13 +214,13 @@ class CarreraServiceImplTest {
         List<Carrera> carreras = Arrays.asList(carrera);
         List<CarreraResponseDTO> responses = Arrays.asList(responseDTO);
 
-        when(carreraRepository.findAll()).thenReturn(carreras);
+        when(carreraRepository.findAllConFacultad()).thenReturn(carreras);
         when(carreraMapper.toResponseDTOList(anyList())).thenReturn(responses);
 
         List<CarreraResponseDTO> result = carreraService.getAll();
 
         assertThat(result).hasSize(1);
-        verify(carreraRepository).findAll();
+        verify(carreraRepository).findAllConFacultad();
     }
 
     @Test
@@ -182,13 +228,13 @@ class CarreraServiceImplTest {
         List<Carrera> carreras = Arrays.asList(carrera);
         List<CarreraResponseDTO> responses = Arrays.asList(responseDTO);
 
-        when(carreraRepository.findByActivoTrue()).thenReturn(carreras);
+        when(carreraRepository.findActivasConFacultad()).thenReturn(carreras);
         when(carreraMapper.toResponseDTOList(anyList())).thenReturn(responses);
 
         List<CarreraResponseDTO> result = carreraService.getAllActive();
 
         assertThat(result).hasSize(1);
-        verify(carreraRepository).findByActivoTrue();
+        verify(carreraRepository).findActivasConFacultad();
     }
 
     @Test
@@ -197,13 +243,13 @@ class CarreraServiceImplTest {
         List<CarreraResponseDTO> responses = Arrays.asList(responseDTO);
 
         when(facultadRepository.existsById(1L)).thenReturn(true);
-        when(carreraRepository.findByFacultad_FacultadId(1L)).thenReturn(carreras);
+        when(carreraRepository.findByFacultadIdConFacultad(1L)).thenReturn(carreras);
         when(carreraMapper.toResponseDTOList(anyList())).thenReturn(responses);
 
         List<CarreraResponseDTO> result = carreraService.getByFacultadId(1L);
 
         assertThat(result).hasSize(1);
-        verify(carreraRepository).findByFacultad_FacultadId(1L);
+        verify(carreraRepository).findByFacultadIdConFacultad(1L);
     }
 
     @Test
@@ -213,7 +259,7 @@ class CarreraServiceImplTest {
         assertThatThrownBy(() -> carreraService.getByFacultadId(1L))
                 .isInstanceOf(ResourceNotFoundException.class);
 
-        verify(carreraRepository, never()).findByFacultad_FacultadId(anyLong());
+        verify(carreraRepository, never()).findByFacultadIdConFacultad(anyLong());
     }
 
     @Test
@@ -227,7 +273,9 @@ class CarreraServiceImplTest {
         assertThat(result).isNotNull();
         verify(carreraMapper).updateEntityFromDTO(any(CarreraRequestDTO.class), any(Carrera.class));
         verify(carreraRepository).save(any(Carrera.class));
-        verify(eventPublisher).publishCareerUpdatedEvent(anyLong(), anyString(), anyLong(), anyString());
+        verify(eventPublisher).publishCareerUpdatedEvent(anyLong(), anyString(), anyLong(), anyString(), anyLong());
+        verify(catalogCache).evictCarrera(1L, List.of(1L, 1L));
+        verify(catalogVersion).increment();
     }
 
     @Test
@@ -238,20 +286,101 @@ class CarreraServiceImplTest {
         carreraService.delete(1L);
 
         verify(carreraRepository).save(any(Carrera.class));
-        verify(eventPublisher).publishCareerDeletedEvent(anyLong(), anyString());
+        verify(eventPublisher).publishCareerDeletedEvent(anyLong(), anyString(), anyLong());
+        verify(catalogCache).evictCarrera(1L, List.of(1L));
+        verify(catalogVersion).increment();
     }
 
     @Test
     void searchByNombre_ReturnsMatchingCarreras() {
-        List<Carrera> carreras = Arrays.asList(carrera);
         List<CarreraResponseDTO> responses = Arrays.asList(responseDTO);
 
-        when(carreraRepository.findByNombreContaining("Sistemas")).thenReturn(carreras);
-        when(carreraMapper.toResponseDTOList(anyList())).thenReturn(responses);
+        when(carreraRepository.searchByRelevance("Sistemas", 50)).thenReturn(responses);
 
         List<CarreraResponseDTO> result = carreraService.searchByNombre("Sistemas");
 
         assertThat(result).hasSize(1);
-        verify(carreraRepository).findByNombreContaining("Sistemas");
+        verify(carreraRepository).searchByRelevance("Sistemas", 50);
+        verifyNoInteractions(carreraMapper);
+    }
+
+    @Test
+    void getByFacultadIdPage_ClampsLimitToMaximum() {
+        when(facultadRepository.existsById(1L)).thenReturn(true);
+        when(carreraRepository.findByFacultadIdPage(1L, 0L, Limit.of(201))).thenReturn(List.of(responseDTO));
+
+        CursorPageResponseDTO<CarreraResponseDTO> result = carreraService.getByFacultadId(1L, null, 5000);
+
+        assertThat(result.limit()).isEqualTo(200);
+        assertThat(result.content()).hasSize(1);
+        assertThat(result.hasNext()).isFalse();
+    }
+
+    @Test
+    void getByFacultadIdPage_FacultadNotFound_ThrowsException() {
+        when(facultadRepository.existsById(1L)).thenReturn(false);
+
+        assertThatThrownBy(() -> carreraService.getByFacultadId(1L, null, 20))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        verify(carreraRepository, never()).findByFacultadIdPage(anyLong(), anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void searchByNombrePage_NegativeCursor_ThrowsException() {
+        assertThatThrownBy(() -> carreraService.searchByNombre("Sistemas", -1L, 20))
+                .isInstanceOf(BusinessRuleException.class);
+
+        verifyNoInteractions(carreraRepository);
+    }
+
+    @Test
+    void streamAllActive_DeliversEveryRow() {
+        when(carreraRepository.streamActivas()).thenReturn(Stream.of(responseDTO));
+
+        List<CarreraResponseDTO> received = new ArrayList<>();
+        carreraService.streamAllActive(received::add);
+
+        assertThat(received).containsExactly(responseDTO);
+        verifyNoInteractions(carreraMapper);
+    }
+
+    @Test
+    void importar_ValidatesWholeBatchAndInsertsValidRows() {
+        List<CarreraRequestDTO> rows = List.of(
+                requestDTO,
+                new CarreraRequestDTO(1L, "Medicina Humana", null, 14, null, true),
+                new CarreraRequestDTO(1L, "Ingeniería de Sistemas", null, 10, null, true),
+                new CarreraRequestDTO(99L, "Derecho", null, 12, null, true),
+                new CarreraRequestDTO(1L, "Arquitectura", null, 0, null, true)
+        );
+        when(catalogNames.mightContainCarrera(anyString())).thenReturn(true);
+        when(carreraRepository.findNombresExistentes(anyCollection())).thenReturn(List.of("Medicina Humana"));
+        when(facultadRepository.findAllById(anyCollection())).thenReturn(List.of(facultad));
+        when(carreraMapper.toEntity(any(CarreraRequestDTO.class))).thenReturn(carrera);
+        when(carreraRepository.saveAll(anyList())).thenReturn(List.of(carrera));
+
+        BulkImportResponseDTO result = carreraService.importar(rows);
+
+        assertThat(result.total()).isEqualTo(5);
+        assertThat(result.creados()).isEqualTo(1);
+        assertThat(result.rechazados()).isEqualTo(4);
+        assertThat(result.filas()).extracting(BulkImportRowResultDTO::estado).containsExactly(
+                BulkImportRowResultDTO.CREADO, BulkImportRowResultDTO.RECHAZADO, BulkImportRowResultDTO.RECHAZADO,
+                BulkImportRowResultDTO.RECHAZADO, BulkImportRowResultDTO.RECHAZADO);
+        assertThat(result.filas().get(3).errores()).containsExactly("Facultad no encontrado con ID: 99");
+        verify(facultadRepository).findAllById(anyCollection());
+        verify(carreraRepository, never()).existsByNombre(anyString());
+        verify(catalogCache).evictAll();
+        verify(catalogVersion).increment();
+        verify(eventPublisher).publishCareersImportedEvent(List.of(1L), 4);
+    }
+
+    @Test
+    void importar_EmptyBatch_ThrowsException() {
+        assertThatThrownBy(() -> carreraService.importar(List.of()))
+                .isInstanceOf(BusinessRuleException.class);
+
+        verifyNoInteractions(carreraRepository, eventPublisher);
     }
-}
\ No newline at end of file
+}
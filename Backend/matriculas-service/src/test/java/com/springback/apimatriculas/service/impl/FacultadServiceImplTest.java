@@ -3,11 +3,15 @@ package com.springback.apimatriculas.service.impl;
 import com.springback.apimatriculas.domain.model.Facultad;
 import com.springback.apimatriculas.dto.mapper.FacultadMapper;
 import com.springback.apimatriculas.dto.request.FacultadRequestDTO;
+import com.springback.apimatriculas.dto.response.CursorPageResponseDTO;
 import com.springback.apimatriculas.dto.response.FacultadResponseDTO;
 import com.springback.apimatriculas.exception.custom.BusinessRuleException;
 import com.springback.apimatriculas.exception.custom.DuplicateResourceException;
 import com.springback.apimatriculas.exception.custom.ResourceNotFoundException;
 import com.springback.apimatriculas.repository.FacultadRepository;
+import com.springback.apimatriculas.service.CatalogCacheInvalidator;
+import com.springback.apimatriculas.service.CatalogNameIndex;
+import com.springback.apimatriculas.service.CatalogVersionService;
 import com.springback.apimatriculas.service.EventPublisherService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,11 +19,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -39,6 +46,15 @@ class FacultadServiceImplTest {
     @Mock
     private EventPublisherService eventPublisher;
 
+    @Mock
+    private CatalogCacheInvalidator catalogCache;
+
+    @Mock
+    private CatalogVersionService catalogVersion;
+
+    @Mock
+    private CatalogNameIndex catalogNames;
+
     @InjectMocks
     private FacultadServiceImpl facultadService;
 
@@ -80,6 +96,7 @@ class FacultadServiceImplTest {
 
     @Test
     void create_Success() {
+        when(catalogNames.mightContainFacultad(anyString())).thenReturn(true);
         when(facultadRepository.existsByNombre(anyString())).thenReturn(false);
         when(facultadMapper.toEntity(any(FacultadRequestDTO.class))).thenReturn(facultad);
         when(facultadRepository.save(any(Facultad.class))).thenReturn(facultad);
@@ -92,16 +109,34 @@ class FacultadServiceImplTest {
         verify(facultadRepository).existsByNombre("Facultad de Ingeniería");
         verify(facultadRepository).save(any(Facultad.class));
         verify(eventPublisher).publishFacultyCreatedEvent(anyLong(), anyString());
+        verify(catalogCache).evictFacultad(1L);
+        verify(catalogNames).putFacultad(1L, "Facultad de Ingeniería", true);
+        verify(catalogVersion).increment();
     }
 
     @Test
     void create_DuplicateName_ThrowsException() {
+        when(catalogNames.mightContainFacultad(anyString())).thenReturn(true);
         when(facultadRepository.existsByNombre(anyString())).thenReturn(true);
 
         assertThatThrownBy(() -> facultadService.create(requestDTO))
                 .isInstanceOf(DuplicateResourceException.class);
 
         verify(facultadRepository, never()).save(any(Facultad.class));
+        verifyNoInteractions(catalogVersion);
+    }
+
+    @Test
+    void create_NameNotInIndex_SkipsExistsQuery() {
+        when(catalogNames.mightContainFacultad(anyString())).thenReturn(false);
+        when(facultadMapper.toEntity(any(FacultadRequestDTO.class))).thenReturn(facultad);
+        when(facultadRepository.save(any(Facultad.class))).thenReturn(facultad);
+        when(facultadMapper.toResponseDTO(any(Facultad.class))).thenReturn(responseDTO);
+
+        facultadService.create(requestDTO);
+
+        verify(facultadRepository, never()).existsByNombre(anyString());
+        verify(facultadRepository).save(any(Facultad.class));
     }
 
     @Test
@@ -126,30 +161,28 @@ class FacultadServiceImplTest {
 
     @Test
     void getAll_ReturnsAllFacultades() {
-        List<Facultad> facultades = Arrays.asList(facultad);
         List<FacultadResponseDTO> responses = Arrays.asList(responseDTO);
 
-        when(facultadRepository.findAll()).thenReturn(facultades);
-        when(facultadMapper.toResponseDTOList(anyList())).thenReturn(responses);
+        when(facultadRepository.findAllConCantidadCarreras()).thenReturn(responses);
 
         List<FacultadResponseDTO> result = facultadService.getAll();
 
         assertThat(result).hasSize(1);
-        verify(facultadRepository).findAll();
+        verify(facultadRepository).findAllConCantidadCarreras();
+        verifyNoInteractions(facultadMapper);
     }
 
     @Test
     void getAllActive_ReturnsActiveFacultades() {
-        List<Facultad> facultades = Arrays.asList(facultad);
         List<FacultadResponseDTO> responses = Arrays.asList(responseDTO);
 
-        when(facultadRepository.findByActivoTrue()).thenReturn(facultades);
-        when(facultadMapper.toResponseDTOList(anyList())).thenReturn(responses);
+        when(facultadRepository.findActivasConCantidadCarreras()).thenReturn(responses);
 
         List<FacultadResponseDTO> result = facultadService.getAllActive();
 
         assertThat(result).hasSize(1);
-        verify(facultadRepository).findByActivoTrue();
+        verify(facultadRepository).findActivasConCantidadCarreras();
+        verifyNoInteractions(facultadMapper);
     }
 
     @Test
@@ -164,6 +197,8 @@ class FacultadServiceImplTest {
         verify(facultadMapper).updateEntityFromDTO(any(FacultadRequestDTO.class), any(Facultad.class));
         verify(facultadRepository).save(any(Facultad.class));
         verify(eventPublisher).publishFacultyUpdatedEvent(anyLong(), anyString());
+        verify(catalogCache).evictFacultad(1L);
+        verify(catalogVersion).increment();
     }
 
     @Test
@@ -186,6 +221,8 @@ class FacultadServiceImplTest {
 
         verify(facultadRepository).save(any(Facultad.class));
         verify(eventPublisher).publishFacultyDeletedEvent(anyLong(), anyString());
+        verify(catalogCache).evictFacultad(1L);
+        verify(catalogVersion).increment();
     }
 
     @Test
@@ -202,15 +239,61 @@ class FacultadServiceImplTest {
 
     @Test
     void searchByNombre_ReturnsMatchingFacultades() {
-        List<Facultad> facultades = Arrays.asList(facultad);
         List<FacultadResponseDTO> responses = Arrays.asList(responseDTO);
 
-        when(facultadRepository.findByNombreContaining("Ingeniería")).thenReturn(facultades);
-        when(facultadMapper.toResponseDTOList(anyList())).thenReturn(responses);
+        when(facultadRepository.searchByRelevance("Ingeniería", 50)).thenReturn(responses);
 
         List<FacultadResponseDTO> result = facultadService.searchByNombre("Ingeniería");
 
         assertThat(result).hasSize(1);
-        verify(facultadRepository).findByNombreContaining("Ingeniería");
+        verify(facultadRepository).searchByRelevance("Ingeniería", 50);
+    }
+
+    @Test
+    void getAllPage_MoreRowsThanLimit_ReturnsNextCursor() {
+        FacultadResponseDTO second = new FacultadResponseDTO(
+                2L, "Facultad de Ciencias", null, null, null, LocalDateTime.now(), true, 0L);
+        FacultadResponseDTO third = new FacultadResponseDTO(
+                3L, "Facultad de Letras", null, null, null, LocalDateTime.now(), true, 0L);
+
+        when(facultadRepository.findPageConCantidadCarreras(0L, Limit.of(3)))
+                .thenReturn(Arrays.asList(responseDTO, second, third));
+
+        CursorPageResponseDTO<FacultadResponseDTO> result = facultadService.getAll(null, 2);
+
+        assertThat(result.content()).hasSize(2);
+        assertThat(result.hasNext()).isTrue();
+        assertThat(result.nextCursor()).isEqualTo(2L);
+    }
+
+    @Test
+    void getAllActivePage_LastPage_ReturnsNoCursor() {
+        when(facultadRepository.findActivasPageConCantidadCarreras(1L, Limit.of(11)))
+                .thenReturn(List.of(responseDTO));
+
+        CursorPageResponseDTO<FacultadResponseDTO> result = facultadService.getAllActive(1L, 10);
+
+        assertThat(result.content()).hasSize(1);
+        assertThat(result.hasNext()).isFalse();
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    void getAllPage_InvalidLimit_ThrowsException() {
+        assertThatThrownBy(() -> facultadService.getAll(null, 0))
+                .isInstanceOf(BusinessRuleException.class);
+
+        verifyNoInteractions(facultadRepository);
+    }
+
+    @Test
+    void streamByNombre_DeliversEveryRow() {
+        when(facultadRepository.streamByNombreContainingConCantidadCarreras("Ingeniería"))
+                .thenReturn(Stream.of(responseDTO));
+
+        List<FacultadResponseDTO> received = new ArrayList<>();
+        facultadService.streamByNombre("Ingeniería", received::add);
+
+        assertThat(received).containsExactly(responseDTO);
     }
-}
\ No newline at end of file
+}
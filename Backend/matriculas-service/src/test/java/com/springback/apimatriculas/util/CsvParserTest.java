@@ -0,0 +1,48 @@
+package com.springback.apimatriculas.util;
+
+import com.springback.apimatriculas.exception.custom.BusinessRuleException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvParserTest {
+
+    @Test
+    void parse_QuotedFieldsAndFlexibleHeaders() {
+        String csv = "\uFEFFfacultad_id,Nombre,Duracion Semestres\r\n"
+                + "1,\"Ingeniería, Sistemas\",10\r\n"
+                + "\r\n"
+                + "2,\"Diseño \"\"Gráfico\"\"\nDigital\",8\n";
+
+        List<Map<String, String>> registros = CsvParser.parse(csv);
+
+        assertThat(registros).hasSize(2);
+        assertThat(CsvParser.texto(registros.get(0), "nombre")).isEqualTo("Ingeniería, Sistemas");
+        assertThat(CsvParser.texto(registros.get(1), "nombre")).isEqualTo("Diseño \"Gráfico\"\nDigital");
+        assertThat(CsvParser.enteroLargo(registros.get(1), "facultadId", new ArrayList<>())).isEqualTo(2L);
+        assertThat(CsvParser.entero(registros.get(0), "duracionSemestres", new ArrayList<>())).isEqualTo(10);
+    }
+
+    @Test
+    void entero_InvalidValue_AddsErrorAndReturnsNull() {
+        List<String> errores = new ArrayList<>();
+
+        Integer valor = CsvParser.entero(Map.of("duracionsemestres", "diez"), "duracionSemestres", errores);
+
+        assertThat(valor).isNull();
+        assertThat(errores).containsExactly("Valor numérico inválido en la columna 'duracionSemestres': 'diez'");
+    }
+
+    @Test
+    void parse_UnclosedQuote_ThrowsException() {
+        assertThatThrownBy(() -> CsvParser.parse("nombre\n\"Sin cerrar"))
+                .isInstanceOf(BusinessRuleException.class);
+        assertThatThrownBy(() -> CsvParser.parse("  "))
+                .isInstanceOf(BusinessRuleException.class);
+    }
+}
@@ -0,0 +1,98 @@
+package com.springback.apimatriculas.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NameIndexTest {
+
+    private NameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NameIndex();
+        index.replaceAll(List.of(
+                new NameIndex.Entry(1L, "Ingeniería de Sistemas", true),
+                new NameIndex.Entry(2L, "Ingeniería Civil", true),
+                new NameIndex.Entry(3L, "Ingeniería Industrial", false),
+                new NameIndex.Entry(4L, "Medicina Humana", true),
+                new NameIndex.Entry(5L, "Informática", true)
+        ));
+    }
+
+    @Test
+    void normalizar_RemovesAccentsCaseAndExtraSpaces() {
+        assertThat(NameIndex.normalizar("  Ingeniería   de  SISTEMAS ")).isEqualTo("ingenieria de sistemas");
+        assertThat(NameIndex.normalizar(null)).isEmpty();
+    }
+
+    @Test
+    void mightContain_MatchesFoldedNamesIncludingInactive() {
+        assertThat(index.mightContain("ingenieria de sistemas")).isTrue();
+        assertThat(index.mightContain("INGENIERÍA INDUSTRIAL")).isTrue();
+        assertThat(index.mightContain("Ingeniería")).isFalse();
+        assertThat(index.mightContain("Derecho")).isFalse();
+    }
+
+    @Test
+    void mightContain_NotLoaded_AlwaysTrue() {
+        assertThat(new NameIndex().mightContain("Derecho")).isTrue();
+    }
+
+    @Test
+    void autocomplete_ReturnsActiveMatchesInAlphabeticalOrder() {
+        List<NameIndex.Entry> result = index.autocomplete("ingen", 10);
+
+        assertThat(result).extracting(NameIndex.Entry::id).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void autocomplete_RespectsLimitAndSharedPrefixes() {
+        assertThat(index.autocomplete("in", 2)).extracting(NameIndex.Entry::id).containsExactly(5L, 2L);
+        assertThat(index.autocomplete("ingenieria c", 10)).extracting(NameIndex.Entry::id).containsExactly(2L);
+        assertThat(index.autocomplete("x", 10)).isEmpty();
+        assertThat(index.autocomplete("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void upsert_RenameReplacesPreviousKey() {
+        index.upsert(4L, "Medicina Veterinaria", true);
+
+        assertThat(index.mightContain("Medicina Humana")).isFalse();
+        assertThat(index.autocomplete("medicina", 10)).extracting(NameIndex.Entry::nombre)
+                .containsExactly("Medicina Veterinaria");
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+    @Test
+    void upsert_SameFoldedNameKeepsBothEntries() {
+        index.upsert(6L, "Informatica", true);
+        index.remove(5L);
+
+        assertThat(index.mightContain("Informática")).isTrue();
+        assertThat(index.autocomplete("info", 10)).extracting(NameIndex.Entry::id).containsExactly(6L);
+    }
+
+    @Test
+    void radixTrie_RemoveCompactsAndKeepsOtherKeys() {
+        RadixTrie<String> trie = new RadixTrie<>();
+        for (String key : List.of("carrera", "carro", "car", "casa", "c")) {
+            trie.put(key, key);
+        }
+
+        assertThat(trie.remove("car")).isEqualTo("car");
+        assertThat(trie.remove("carrera")).isEqualTo("carrera");
+        assertThat(trie.remove("nada")).isNull();
+
+        List<String> visited = new ArrayList<>();
+        trie.forEachWithPrefix("", visited::add);
+        assertThat(visited).containsExactly("c", "carro", "casa");
+        assertThat(trie.get("carro")).isEqualTo("carro");
+        assertThat(trie.get("car")).isNull();
+        assertThat(trie.size()).isEqualTo(3);
+    }
+}
@@ -1,5 +1,6 @@
 import { authService } from '../services/authService';
-import type { Facultad, Carrera } from '../types';
+import { jwtDecoder } from '../utils/jwtDecoder';
+import type { Facultad, Carrera, FacultadDetalle } from '../types';
 
 const API_BASE_URL = import.meta.env.VITE_API_BASE_URL || 'http://localhost:8080/api/v1';
 
@@ -24,7 +25,13 @@ const getAuthHeaders = (): HeadersInit => {
 
 const handleResponse = async <T>(response: Response): Promise<T | null> => {
     if (response.status === 401) {
-        authService.logout();
+        // Token vencido: se renueva sin volver a pedir la contraseña y se recarga con la sesión nueva.
+        // Un 401 con el token vigente no se reintenta (evita recargas en bucle)
+        const token = authService.getToken();
+        const renewed = token && jwtDecoder.isExpired(token) ? await authService.refresh() : null;
+        if (!renewed) {
+            authService.logout();
+        }
         window.location.reload();
         throw new Error('Sesión expirada');
     }
@@ -79,6 +86,13 @@ export const api = {
             }).then(response => handleResponse<Facultad>(response)) as Promise<Facultad>;
         },
 
+        // Facultad y sus carreras en una sola llamada; es pública y sin token la cachea el gateway
+        getDetalle: async (id: number): Promise<FacultadDetalle> => {
+            log(`GET /bff/facultades/${id}`);
+            return fetch(`${API_BASE_URL}/bff/facultades/${id}`)
+                .then(response => handleResponse<FacultadDetalle>(response)) as Promise<FacultadDetalle>;
+        },
+
         create: async (data: FacultadCreateRequest): Promise<Facultad> => {
             log('POST /matriculas/facultades', data);
             return fetch(`${API_BASE_URL}/matriculas/facultades`, {
@@ -13,6 +13,7 @@ export interface RegisterRequest {
 
 export interface AuthResponse {
     token: string;
+    refreshToken?: string;
     type: string;
     userId: number;
     email: string;
@@ -22,6 +23,9 @@ export interface AuthResponse {
 
 const API_BASE_URL = import.meta.env.VITE_API_BASE_URL || 'http://localhost:8080/api/v1';
 
+// Cada refresh token es de un solo uso: las peticiones que reciben 401 a la vez comparten una renovación
+let refreshInFlight: Promise<AuthResponse | null> | null = null;
+
 export const authService = {
     async login(credentials: LoginRequest): Promise<AuthResponse> {
         const response = await fetch(`${API_BASE_URL}/auth/login`, {
@@ -57,9 +61,60 @@ export const authService = {
         return response.json();
     },
 
+    /**
+     * Renueva la sesión con el refresh token guardado; devuelve null si ya no es válido
+     */
+    refresh(): Promise<AuthResponse | null> {
+        const refreshToken = this.getUser()?.refreshToken;
+        if (!refreshToken) {
+            return Promise.resolve(null);
+        }
+
+        if (!refreshInFlight) {
+            refreshInFlight = fetch(`${API_BASE_URL}/auth/refresh`, {
+                method: 'POST',
+                headers: {
+                    'Content-Type': 'application/json',
+                },
+                body: JSON.stringify({ refreshToken }),
+            })
+                .then(async response => {
+                    if (!response.ok) {
+                        return null;
+                    }
+                    const authData: AuthResponse = await response.json();
+                    this.saveAuth(authData);
+                    return authData;
+                })
+                .catch(() => null)
+                .finally(() => {
+                    refreshInFlight = null;
+                });
+        }
+        return refreshInFlight;
+    },
+
+    /**
+     * Cierra la sesión local y pide al servidor que revoque el token y su refresh token
+     * (sin esperar la respuesta: la sesión local se cierra igualmente)
+     */
     logout() {
+        const token = this.getToken();
+        const refreshToken = this.getUser()?.refreshToken;
         localStorage.removeItem('auth_token');
         localStorage.removeItem('auth_user');
+
+        if (token) {
+            fetch(`${API_BASE_URL}/auth/logout`, {
+                method: 'POST',
+                headers: {
+                    'Content-Type': 'application/json',
+                    'Authorization': `Bearer ${token}`,
+                },
+                body: JSON.stringify({ refreshToken }),
+                keepalive: true,
+            }).catch(() => undefined);
+        }
     },
 
     getToken(): string | null {
@@ -20,3 +20,15 @@ export interface Carrera {
   fechaRegistro: string;
   activo: boolean;
 }
+
+// Respuesta agregada del gateway (BFF): facultad + carreras activas + conteos
+export interface FacultadDetalle {
+  facultad: Facultad | null;
+  carreras: Carrera[] | null;
+  conteos: {
+    carrerasActivas: number | null;
+    carrerasTotales: number | null;
+  };
+  parcial: boolean;
+  omitidos: { parte: string; motivo: string }[];
+}